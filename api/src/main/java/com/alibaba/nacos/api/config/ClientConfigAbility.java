@@ -29,6 +29,11 @@ public class ClientConfigAbility {
      */
     private boolean supportRemoteMetrics;
     
+    /**
+     * support handle {@link com.alibaba.nacos.api.config.remote.request.ConfigChangeBatchNotifyRequest}.
+     */
+    private boolean supportBatchNotify;
+    
     public boolean isSupportRemoteMetrics() {
         return supportRemoteMetrics;
     }
@@ -36,4 +41,12 @@ public class ClientConfigAbility {
     public void setSupportRemoteMetrics(boolean supportRemoteMetrics) {
         this.supportRemoteMetrics = supportRemoteMetrics;
     }
+    
+    public boolean isSupportBatchNotify() {
+        return supportBatchNotify;
+    }
+    
+    public void setSupportBatchNotify(boolean supportBatchNotify) {
+        this.supportBatchNotify = supportBatchNotify;
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.api.naming.remote.request;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.remote.request.ServerRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Notify subscriber with the changed instances between {@code baseRevision} and {@code revision}.
+ *
+ * <p>Client should apply this request only when the revision of local service info is {@code baseRevision}, otherwise
+ * client should reply a failed response and server will push full service info instead.
+ *
+ * @author nacos
+ */
+public class NotifySubscriberDeltaRequest extends ServerRequest {
+    
+    private static final String MODULE = "naming";
+    
+    private String serviceName;
+    
+    private String groupName;
+    
+    private String clusters;
+    
+    private long cacheMillis;
+    
+    private long lastRefTime;
+    
+    private String checksum;
+    
+    private boolean reachProtectionThreshold;
+    
+    private long baseRevision;
+    
+    private long revision;
+    
+    private List<Instance> addedInstances = new ArrayList<Instance>();
+    
+    private List<Instance> removedInstances = new ArrayList<Instance>();
+    
+    private List<Instance> changedInstances = new ArrayList<Instance>();
+    
+    public NotifySubscriberDeltaRequest() {
+    }
+    
+    /**
+     * Build delta request with header of target service info.
+     *
+     * @param serviceInfo  target service info
+     * @param baseRevision revision which the delta based on
+     * @param revision     revision of target service info
+     * @return delta request without any instances
+     */
+    public static NotifySubscriberDeltaRequest buildDeltaRequest(ServiceInfo serviceInfo, long baseRevision,
+            long revision) {
+        NotifySubscriberDeltaRequest result = new NotifySubscriberDeltaRequest();
+        result.setServiceName(serviceInfo.getName());
+        result.setGroupName(serviceInfo.getGroupName());
+        result.setClusters(serviceInfo.getClusters());
+        result.setCacheMillis(serviceInfo.getCacheMillis());
+        result.setLastRefTime(serviceInfo.getLastRefTime());
+        result.setChecksum(serviceInfo.getChecksum());
+        result.setReachProtectionThreshold(serviceInfo.isReachProtectionThreshold());
+        result.setBaseRevision(baseRevision);
+        result.setRevision(revision);
+        return result;
+    }
+    
+    /**
+     * Build the key to identify an instance in delta.
+     *
+     * @param instance instance
+     * @return instance key
+     */
+    public static String buildInstanceKey(Instance instance) {
+        return instance.toInetAddr() + "#" + instance.getClusterName();
+    }
+    
+    @Override
+    public String getModule() {
+        return MODULE;
+    }
+    
+    public String getServiceName() {
+        return serviceName;
+    }
+    
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+    
+    public String getGroupName() {
+        return groupName;
+    }
+    
+    public void setGroupName(String groupName) {
+        this.groupName = groupName;
+    }
+    
+    public String getClusters() {
+        return clusters;
+    }
+    
+    public void setClusters(String clusters) {
+        this.clusters = clusters;
+    }
+    
+    public long getCacheMillis() {
+        return cacheMillis;
+    }
+    
+    public void setCacheMillis(long cacheMillis) {
+        this.cacheMillis = cacheMillis;
+    }
+    
+    public long getLastRefTime() {
+        return lastRefTime;
+    }
+    
+    public void setLastRefTime(long lastRefTime) {
+        this.lastRefTime = lastRefTime;
+    }
+    
+    public String getChecksum() {
+        return checksum;
+    }
+    
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+    
+    public boolean isReachProtectionThreshold() {
+        return reachProtectionThreshold;
+    }
+    
+    public void setReachProtectionThreshold(boolean reachProtectionThreshold) {
+        this.reachProtectionThreshold = reachProtectionThreshold;
+    }
+    
+    public long getBaseRevision() {
+        return baseRevision;
+    }
+    
+    public void setBaseRevision(long baseRevision) {
+        this.baseRevision = baseRevision;
+    }
+    
+    public long getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+    
+    public List<Instance> getAddedInstances() {
+        return addedInstances;
+    }
+    
+    public void setAddedInstances(List<Instance> addedInstances) {
+        this.addedInstances = addedInstances;
+    }
+    
+    public List<Instance> getRemovedInstances() {
+        return removedInstances;
+    }
+    
+    public void setRemovedInstances(List<Instance> removedInstances) {
+        this.removedInstances = removedInstances;
+    }
+    
+    public List<Instance> getChangedInstances() {
+        return changedInstances;
+    }
+    
+    public void setChangedInstances(List<Instance> changedInstances) {
+        this.changedInstances = changedInstances;
+    }
+}
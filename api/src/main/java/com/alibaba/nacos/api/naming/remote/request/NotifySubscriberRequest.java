@@ -36,6 +36,11 @@ public class NotifySubscriberRequest extends ServerRequest {
     
     private ServiceInfo serviceInfo;
     
+    /**
+     * Revision of the pushed service info, 0 means server doesn't support delta push.
+     */
+    private long revision;
+    
     public NotifySubscriberRequest() {
     }
     
@@ -70,6 +75,14 @@ public class NotifySubscriberRequest extends ServerRequest {
         this.serviceInfo = serviceInfo;
     }
     
+    public long getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+    
     public String getNamespace() {
         return namespace;
     }
@@ -35,6 +35,8 @@ public class ConnectionSetupRequest extends InternalRequest {
     
     private String tenant;
     
+    private String payloadCodec;
+    
     private Map<String, String> labels = new HashMap<String, String>();
     
     public ConnectionSetupRequest() {
@@ -71,4 +73,12 @@ public class ConnectionSetupRequest extends InternalRequest {
     public void setAbilities(ClientAbilities abilities) {
         this.abilities = abilities;
     }
+    
+    public String getPayloadCodec() {
+        return payloadCodec;
+    }
+    
+    public void setPayloadCodec(String payloadCodec) {
+        this.payloadCodec = payloadCodec;
+    }
 }
@@ -16,6 +16,8 @@
 
 package com.alibaba.nacos.api.remote.response;
 
+import java.util.List;
+
 /**
  * response of server check.
  *
@@ -26,6 +28,8 @@ public class ServerCheckResponse extends Response {
     
     private String connectionId;
     
+    private List<String> supportedPayloadCodecs;
+    
     public ServerCheckResponse() {
     
     }
@@ -41,4 +45,12 @@ public class ServerCheckResponse extends Response {
     public void setConnectionId(String connectionId) {
         this.connectionId = connectionId;
     }
+    
+    public List<String> getSupportedPayloadCodecs() {
+        return supportedPayloadCodecs;
+    }
+    
+    public void setSupportedPayloadCodecs(List<String> supportedPayloadCodecs) {
+        this.supportedPayloadCodecs = supportedPayloadCodecs;
+    }
 }
@@ -38,6 +38,7 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -103,6 +104,11 @@ public class CacheData {
      */
     private volatile boolean isSyncWithServer = false;
     
+    /**
+     * if is cache data waiting in the dirty queue of listen loop.
+     */
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    
     private String type;
     
     public boolean isInitializing() {
@@ -387,6 +393,22 @@ public class CacheData {
         isSyncWithServer = syncWithServer;
     }
     
+    /**
+     * Mark cache data dirty.
+     *
+     * @return true if it was not dirty, the caller should enqueue it
+     */
+    boolean markDirty() {
+        return dirty.compareAndSet(false, true);
+    }
+    
+    /**
+     * Clear the dirty mark before cache data is checked, so that a change during checking marks it again.
+     */
+    void clearDirty() {
+        dirty.set(false);
+    }
+    
     public CacheData(ConfigFilterChainManager configFilterChainManager, String name, String dataId, String group) {
         if (null == dataId || null == group) {
             throw new IllegalArgumentException("dataId=" + dataId + ", group=" + group);
@@ -23,6 +23,7 @@ import com.alibaba.nacos.api.config.ConfigType;
 import com.alibaba.nacos.api.config.listener.Listener;
 import com.alibaba.nacos.api.config.remote.request.ClientConfigMetricRequest;
 import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigChangeBatchNotifyRequest;
 import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
 import com.alibaba.nacos.api.config.remote.request.ConfigPublishRequest;
 import com.alibaba.nacos.api.config.remote.request.ConfigQueryRequest;
@@ -68,6 +69,7 @@ import com.google.gson.JsonObject;
 import org.slf4j.Logger;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -76,13 +78,16 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.alibaba.nacos.api.common.Constants.ENCODE;
@@ -146,7 +151,7 @@ public class ClientWorker implements Closeable {
                 cache.addListener(listener);
             }
             cache.setSyncWithServer(false);
-            agent.notifyListenConfig();
+            agent.notifyListenConfig(cache);
             
         }
     }
@@ -169,7 +174,7 @@ public class ClientWorker implements Closeable {
                 cache.addListener(listener);
             }
             cache.setSyncWithServer(false);
-            agent.notifyListenConfig();
+            agent.notifyListenConfig(cache);
         }
         
     }
@@ -194,7 +199,7 @@ public class ClientWorker implements Closeable {
                 cache.addListener(listener);
             }
             cache.setSyncWithServer(false);
-            agent.notifyListenConfig();
+            agent.notifyListenConfig(cache);
         }
         
     }
@@ -214,7 +219,7 @@ public class ClientWorker implements Closeable {
                 cache.removeListener(listener);
                 if (cache.getListeners().isEmpty()) {
                     cache.setSyncWithServer(false);
-                    agent.removeCache(dataId, group);
+                    agent.notifyListenConfig(cache);
                 }
             }
             
@@ -237,7 +242,7 @@ public class ClientWorker implements Closeable {
                 cache.removeListener(listener);
                 if (cache.getListeners().isEmpty()) {
                     cache.setSyncWithServer(false);
-                    agent.removeCache(dataId, group);
+                    agent.notifyListenConfig(cache);
                 }
             }
         }
@@ -579,6 +584,16 @@ public class ClientWorker implements Closeable {
         
         private long lastAllSyncTime = System.currentTimeMillis();
         
+        /**
+         * Cache data changed since last listen, only these are checked unless all cache data need to be synced.
+         */
+        private final Queue<CacheData> dirtyCaches = new ConcurrentLinkedQueue<CacheData>();
+        
+        /**
+         * Whether all cache data need to be synced in next listen, such as after reconnecting.
+         */
+        private final AtomicBoolean allSyncRequired = new AtomicBoolean(false);
+        
         /**
          * 5 minutes to check all listen cache keys.
          */
@@ -651,14 +666,27 @@ public class ClientWorker implements Closeable {
                             .getKeyTenant(configChangeNotifyRequest.getDataId(), configChangeNotifyRequest.getGroup(),
                                     configChangeNotifyRequest.getTenant());
                     
-                    CacheData cacheData = cacheMap.get().get(groupKey);
-                    if (cacheData != null) {
-                        synchronized (cacheData) {
-                            cacheData.getLastModifiedTs().set(System.currentTimeMillis());
-                            cacheData.setSyncWithServer(false);
-                            notifyListenConfig();
-                        }
-                        
+                    if (markCacheDataChanged(groupKey)) {
+                        notifyListenConfig();
+                    }
+                    return new ConfigChangeNotifyResponse();
+                }
+                return null;
+            });
+            
+            rpcClientInner.registerServerRequestHandler((request) -> {
+                if (request instanceof ConfigChangeBatchNotifyRequest) {
+                    ConfigChangeBatchNotifyRequest batchNotifyRequest = (ConfigChangeBatchNotifyRequest) request;
+                    LOGGER.info("[{}] [server-push] batch config changed. size={}", rpcClientInner.getName(),
+                            batchNotifyRequest.getConfigContexts().size());
+                    boolean changed = false;
+                    for (ConfigChangeBatchNotifyRequest.ConfigContext each : batchNotifyRequest
+                            .getConfigContexts()) {
+                        String groupKey = GroupKey.getKeyTenant(each.getDataId(), each.getGroup(), each.getTenant());
+                        changed |= markCacheDataChanged(groupKey);
+                    }
+                    if (changed) {
+                        notifyListenConfig();
                     }
                     return new ConfigChangeNotifyResponse();
                 }
@@ -679,6 +707,7 @@ public class ClientWorker implements Closeable {
                 @Override
                 public void onConnected() {
                     LOGGER.info("[{}] Connected,notify listen context...", rpcClientInner.getName());
+                    allSyncRequired.set(true);
                     notifyListenConfig();
                 }
                 
@@ -765,14 +794,63 @@ public class ClientWorker implements Closeable {
             listenExecutebell.offer(bellItem);
         }
         
+        @Override
+        public void notifyListenConfig(CacheData cacheData) {
+            addDirtyCache(cacheData);
+            notifyListenConfig();
+        }
+        
+        private void addDirtyCache(CacheData cacheData) {
+            if (cacheData.markDirty()) {
+                dirtyCaches.offer(cacheData);
+            }
+        }
+        
+        /**
+         * Poll the dirty cache data which are still in cache map.
+         *
+         * @return dirty cache data
+         */
+        private List<CacheData> pollDirtyCaches() {
+            Map<String, CacheData> currentCacheMap = cacheMap.get();
+            List<CacheData> caches = new ArrayList<CacheData>();
+            for (CacheData cache = dirtyCaches.poll(); cache != null; cache = dirtyCaches.poll()) {
+                cache.clearDirty();
+                if (currentCacheMap.get(GroupKey.getKeyTenant(cache.dataId, cache.group, cache.tenant)) == cache) {
+                    caches.add(cache);
+                }
+            }
+            return caches;
+        }
+        
+        /**
+         * Enqueue the checked cache data again if it is still not consistent, it will be checked in next listen.
+         *
+         * @param caches checked cache data
+         */
+        private void requeueInconsistentCaches(Collection<CacheData> caches) {
+            Map<String, CacheData> currentCacheMap = cacheMap.get();
+            for (CacheData cache : caches) {
+                if (currentCacheMap.get(GroupKey.getKeyTenant(cache.dataId, cache.group, cache.tenant)) != cache
+                        || cache.isUseLocalConfigInfo()) {
+                    continue;
+                }
+                if (!cache.isSyncWithServer() || !cache.checkListenersMd5Consistent()) {
+                    addDirtyCache(cache);
+                }
+            }
+        }
+        
         @Override
         public void executeConfigListen() {
             
             Map<String, List<CacheData>> listenCachesMap = new HashMap<String, List<CacheData>>(16);
             Map<String, List<CacheData>> removeListenCachesMap = new HashMap<String, List<CacheData>>(16);
             long now = System.currentTimeMillis();
-            boolean needAllSync = now - lastAllSyncTime >= ALL_SYNC_INTERNAL;
-            for (CacheData cache : cacheMap.get().values()) {
+            boolean needAllSync = allSyncRequired.getAndSet(false) || now - lastAllSyncTime >= ALL_SYNC_INTERNAL;
+            List<CacheData> dirtyCacheList = pollDirtyCaches();
+            Collection<CacheData> checkCaches = needAllSync ? cacheMap.get().values() : dirtyCacheList;
+            for (CacheData cache : checkCaches) {
                 
                 synchronized (cache) {
                     
@@ -919,6 +997,7 @@ public class ClientWorker implements Closeable {
             if (needAllSync) {
                 lastAllSyncTime = now;
             }
+            requeueInconsistentCaches(checkCaches);
             //If has changed keys,notify re sync md5.
             if (hasChangedKeys) {
                 notifyListenConfig();
@@ -950,9 +1029,29 @@ public class ClientWorker implements Closeable {
             ClientAbilities clientAbilities = new ClientAbilities();
             clientAbilities.getRemoteAbility().setSupportRemoteConnection(true);
             clientAbilities.getConfigAbility().setSupportRemoteMetrics(true);
+            clientAbilities.getConfigAbility().setSupportBatchNotify(true);
             return clientAbilities;
         }
         
+        /**
+         * Mark the cache data of group key is not sync with server.
+         *
+         * @param groupKey group key
+         * @return true if cache data exists
+         */
+        private boolean markCacheDataChanged(String groupKey) {
+            CacheData cacheData = cacheMap.get().get(groupKey);
+            if (cacheData == null) {
+                return false;
+            }
+            synchronized (cacheData) {
+                cacheData.getLastModifiedTs().set(System.currentTimeMillis());
+                cacheData.setSyncWithServer(false);
+            }
+            addDirtyCache(cacheData);
+            return true;
+        }
+        
         /**
          * build config string.
          *
@@ -292,6 +292,13 @@ public abstract class ConfigTransportClient {
      **/
     public abstract void notifyListenConfig();
     
+    /**
+     * notify listen config of the changed cache data.
+     *
+     * @param cacheData changed cache data.
+     */
+    public abstract void notifyListenConfig(CacheData cacheData);
+    
     /**
      * listen change .
      */
@@ -211,7 +211,7 @@ public class FailoverReactor implements Closeable {
                         continue;
                     }
                     
-                    if (file.getName().equals(UtilAndComs.FAILOVER_SWITCH)) {
+                    if (file.getName().equals(UtilAndComs.FAILOVER_SWITCH) || DiskCache.isTempFile(file)) {
                         continue;
                     }
                     
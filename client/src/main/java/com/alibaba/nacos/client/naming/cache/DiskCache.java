@@ -25,9 +25,13 @@ import com.alibaba.nacos.common.utils.StringUtils;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
 import java.io.StringReader;
 import java.net.URLDecoder;
 import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,24 +46,27 @@ import static com.alibaba.nacos.client.utils.LogUtils.NAMING_LOGGER;
  */
 public class DiskCache {
     
+    private static final String TEMP_FILE_PREFIX = ".";
+    
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    
     /**
      * Write service info to dir.
      *
+     * <p>The content is written to a temp file first and then renamed to the cache file, so readers never see a
+     * partially written cache file.
+     *
      * @param dom service info
      * @param dir directory
      */
     public static void write(ServiceInfo dom, String dir) {
         
+        File tempFile = null;
         try {
-            makeSureCacheDirExists(dir);
+            File cacheDir = makeSureCacheDirExists(dir);
             
-            File file = new File(dir, dom.getKeyEncoded());
-            if (!file.exists()) {
-                // add another !file.exists() to avoid conflicted creating-new-file from multi-instances
-                if (!file.createNewFile() && !file.exists()) {
-                    throw new IllegalStateException("failed to create cache file");
-                }
-            }
+            File file = new File(cacheDir, dom.getKeyEncoded());
+            tempFile = File.createTempFile(TEMP_FILE_PREFIX + file.getName(), TEMP_FILE_SUFFIX, cacheDir);
             
             StringBuilder keyContentBuffer = new StringBuilder();
             
@@ -72,13 +79,38 @@ public class DiskCache {
             keyContentBuffer.append(json);
             
             //Use the concurrent API to ensure the consistency.
-            ConcurrentDiskUtil.writeFileContent(file, keyContentBuffer.toString(), Charset.defaultCharset().toString());
+            ConcurrentDiskUtil
+                    .writeFileContent(tempFile, keyContentBuffer.toString(), Charset.defaultCharset().toString());
+            moveFile(tempFile, file);
             
         } catch (Throwable e) {
             NAMING_LOGGER.error("[NA] failed to write cache for dom:" + dom.getName(), e);
+            if (null != tempFile && tempFile.exists() && !tempFile.delete()) {
+                NAMING_LOGGER.warn("[NA] failed to delete temp cache file: " + tempFile.getName());
+            }
         }
     }
     
+    private static void moveFile(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    /**
+     * Whether the file is a temp file left by writing cache.
+     *
+     * @param file file in cache dir
+     * @return {@code true} if the file is temp file
+     */
+    public static boolean isTempFile(File file) {
+        String fileName = file.getName();
+        return fileName.startsWith(TEMP_FILE_PREFIX) && fileName.endsWith(TEMP_FILE_SUFFIX);
+    }
+    
     public static String getLineSeparator() {
         return System.getProperty("line.separator");
     }
@@ -92,7 +124,6 @@ public class DiskCache {
     public static Map<String, ServiceInfo> read(String cacheDir) {
         Map<String, ServiceInfo> domMap = new HashMap<String, ServiceInfo>(16);
         
-        BufferedReader reader = null;
         try {
             File[] files = makeSureCacheDirExists(cacheDir).listFiles();
             if (files == null || files.length == 0) {
@@ -100,7 +131,7 @@ public class DiskCache {
             }
             
             for (File file : files) {
-                if (!file.isFile()) {
+                if (!file.isFile() || isTempFile(file)) {
                     continue;
                 }
                 
@@ -108,48 +139,8 @@ public class DiskCache {
                 
                 if (!(fileName.endsWith(Constants.SERVICE_INFO_SPLITER + "meta") || fileName
                         .endsWith(Constants.SERVICE_INFO_SPLITER + "special-url"))) {
-                    ServiceInfo dom = new ServiceInfo(fileName);
-                    List<Instance> ips = new ArrayList<Instance>();
-                    dom.setHosts(ips);
-                    
-                    ServiceInfo newFormat = null;
-                    
-                    try {
-                        String dataString = ConcurrentDiskUtil
-                                .getFileContent(file, Charset.defaultCharset().toString());
-                        reader = new BufferedReader(new StringReader(dataString));
-                        
-                        String json;
-                        while ((json = reader.readLine()) != null) {
-                            try {
-                                if (!json.startsWith("{")) {
-                                    continue;
-                                }
-                                
-                                newFormat = JacksonUtils.toObj(json, ServiceInfo.class);
-                                
-                                if (StringUtils.isEmpty(newFormat.getName())) {
-                                    ips.add(JacksonUtils.toObj(json, Instance.class));
-                                }
-                            } catch (Throwable e) {
-                                NAMING_LOGGER.error("[NA] error while parsing cache file: " + json, e);
-                            }
-                        }
-                    } catch (Exception e) {
-                        NAMING_LOGGER.error("[NA] failed to read cache for dom: " + file.getName(), e);
-                    } finally {
-                        try {
-                            if (reader != null) {
-                                reader.close();
-                            }
-                        } catch (Exception e) {
-                            //ignore
-                        }
-                    }
-                    if (newFormat != null && !StringUtils.isEmpty(newFormat.getName()) && !CollectionUtils
-                            .isEmpty(newFormat.getHosts())) {
-                        domMap.put(dom.getKey(), newFormat);
-                    } else if (!CollectionUtils.isEmpty(dom.getHosts())) {
+                    ServiceInfo dom = readFile(file, fileName);
+                    if (null != dom) {
                         domMap.put(dom.getKey(), dom);
                     }
                 }
@@ -162,6 +153,74 @@ public class DiskCache {
         return domMap;
     }
     
+    /**
+     * Read service info of one service from disk.
+     *
+     * @param cacheDir   cache file dir
+     * @param serviceKey key of service info
+     * @return service info, {@code null} if no cache of service
+     */
+    public static ServiceInfo read(String cacheDir, String serviceKey) {
+        try {
+            File file = new File(cacheDir, new ServiceInfo(serviceKey).getKeyEncoded());
+            if (!file.isFile()) {
+                return null;
+            }
+            return readFile(file, URLDecoder.decode(file.getName(), "UTF-8"));
+        } catch (Throwable e) {
+            NAMING_LOGGER.error("[NA] failed to read cache file for service: " + serviceKey, e);
+            return null;
+        }
+    }
+    
+    private static ServiceInfo readFile(File file, String fileName) {
+        ServiceInfo dom = new ServiceInfo(fileName);
+        List<Instance> ips = new ArrayList<Instance>();
+        dom.setHosts(ips);
+        
+        ServiceInfo newFormat = null;
+        
+        BufferedReader reader = null;
+        try {
+            String dataString = ConcurrentDiskUtil.getFileContent(file, Charset.defaultCharset().toString());
+            reader = new BufferedReader(new StringReader(dataString));
+            
+            String json;
+            while ((json = reader.readLine()) != null) {
+                try {
+                    if (!json.startsWith("{")) {
+                        continue;
+                    }
+                    
+                    newFormat = JacksonUtils.toObj(json, ServiceInfo.class);
+                    
+                    if (StringUtils.isEmpty(newFormat.getName())) {
+                        ips.add(JacksonUtils.toObj(json, Instance.class));
+                    }
+                } catch (Throwable e) {
+                    NAMING_LOGGER.error("[NA] error while parsing cache file: " + json, e);
+                }
+            }
+        } catch (Exception e) {
+            NAMING_LOGGER.error("[NA] failed to read cache for dom: " + file.getName(), e);
+        } finally {
+            try {
+                if (reader != null) {
+                    reader.close();
+                }
+            } catch (Exception e) {
+                //ignore
+            }
+        }
+        if (newFormat != null && !StringUtils.isEmpty(newFormat.getName()) && !CollectionUtils
+                .isEmpty(newFormat.getHosts())) {
+            return newFormat;
+        } else if (!CollectionUtils.isEmpty(dom.getHosts())) {
+            return dom;
+        }
+        return null;
+    }
+    
     private static File makeSureCacheDirExists(String dir) {
         File cacheDir = new File(dir);
         
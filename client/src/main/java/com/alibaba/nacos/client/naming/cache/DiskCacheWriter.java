@@ -0,0 +1,105 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.client.naming.cache;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.common.lifecycle.Closeable;
+import com.alibaba.nacos.common.utils.ThreadUtils;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.alibaba.nacos.client.utils.LogUtils.NAMING_LOGGER;
+
+/**
+ * Write-behind writer of {@link DiskCache}.
+ *
+ * <p>Service infos are written to disk asynchronously, and multiple changes of one service in a flush interval are
+ * coalesced into one write of the latest service info.
+ *
+ * @author nacos
+ */
+public class DiskCacheWriter implements Closeable {
+    
+    private static final long FLUSH_INTERVAL_MILLIS = 1000L;
+    
+    private final String cacheDir;
+    
+    private final ConcurrentMap<String, ServiceInfo> pendingServiceInfos = new ConcurrentHashMap<String, ServiceInfo>(
+            16);
+    
+    private final ScheduledExecutorService executorService;
+    
+    public DiskCacheWriter(String cacheDir) {
+        this.cacheDir = cacheDir;
+        this.executorService = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r);
+                thread.setDaemon(true);
+                thread.setName("com.alibaba.nacos.client.naming.cache.writer");
+                return thread;
+            }
+        });
+        this.executorService.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Submit service info to write, the service info will be written in next flush.
+     *
+     * @param serviceInfo service info
+     */
+    public void write(ServiceInfo serviceInfo) {
+        pendingServiceInfos.put(serviceInfo.getKey(), serviceInfo);
+    }
+    
+    /**
+     * Write all pending service infos to disk.
+     */
+    public synchronized void flush() {
+        Iterator<Map.Entry<String, ServiceInfo>> iterator = pendingServiceInfos.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, ServiceInfo> entry = iterator.next();
+            ServiceInfo serviceInfo = entry.getValue();
+            // Keep the newer service info submitted during writing to next flush.
+            if (pendingServiceInfos.remove(entry.getKey(), serviceInfo)) {
+                DiskCache.write(serviceInfo, cacheDir);
+            }
+        }
+    }
+    
+    @Override
+    public void shutdown() throws NacosException {
+        String className = this.getClass().getName();
+        NAMING_LOGGER.info("{} do shutdown begin", className);
+        ThreadUtils.shutdownThreadPool(executorService, NAMING_LOGGER);
+        flush();
+        NAMING_LOGGER.info("{} do shutdown stop", className);
+    }
+}
@@ -20,6 +20,7 @@ import com.alibaba.nacos.api.PropertyKeyConst;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
 import com.alibaba.nacos.api.naming.utils.NamingUtils;
 import com.alibaba.nacos.client.monitor.MetricsMonitor;
 import com.alibaba.nacos.client.naming.backups.FailoverReactor;
@@ -34,6 +35,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -60,19 +62,29 @@ public class ServiceInfoHolder implements Closeable {
     
     private final ConcurrentMap<String, ServiceInfo> serviceInfoMap;
     
+    /**
+     * Revision of service info pushed by server, which is the base of delta push.
+     */
+    private final ConcurrentMap<String, Long> serviceRevisionMap = new ConcurrentHashMap<String, Long>(16);
+    
     private final FailoverReactor failoverReactor;
     
+    private final DiskCacheWriter diskCacheWriter;
+    
+    /**
+     * Whether the service infos cached in disk have been loaded, the cache is loaded lazily at first access.
+     */
+    private volatile boolean cacheLoaded;
+    
     private final boolean pushEmptyProtection;
     
     private String cacheDir;
     
     public ServiceInfoHolder(String namespace, Properties properties) {
         initCacheDir(namespace, properties);
-        if (isLoadCacheAtStart(properties)) {
-            this.serviceInfoMap = new ConcurrentHashMap<String, ServiceInfo>(DiskCache.read(this.cacheDir));
-        } else {
-            this.serviceInfoMap = new ConcurrentHashMap<String, ServiceInfo>(16);
-        }
+        this.serviceInfoMap = new ConcurrentHashMap<String, ServiceInfo>(16);
+        this.cacheLoaded = !isLoadCacheAtStart(properties);
+        this.diskCacheWriter = new DiskCacheWriter(cacheDir);
         this.failoverReactor = new FailoverReactor(this, cacheDir);
         this.pushEmptyProtection = isPushEmptyProtect(properties);
     }
@@ -115,9 +127,47 @@ public class ServiceInfoHolder implements Closeable {
     }
     
     public Map<String, ServiceInfo> getServiceInfoMap() {
+        loadCacheIfAbsent();
         return serviceInfoMap;
     }
     
+    /**
+     * Load all service infos cached in disk, the service infos already in memory are newer and will not be replaced.
+     */
+    private void loadCacheIfAbsent() {
+        if (cacheLoaded) {
+            return;
+        }
+        synchronized (serviceInfoMap) {
+            if (cacheLoaded) {
+                return;
+            }
+            for (Map.Entry<String, ServiceInfo> entry : DiskCache.read(cacheDir).entrySet()) {
+                serviceInfoMap.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+            cacheLoaded = true;
+        }
+    }
+    
+    /**
+     * Get service info in memory, or load the service info from disk cache if the disk cache has not been loaded.
+     *
+     * @param serviceKey key of service info
+     * @return service info, {@code null} if not found
+     */
+    private ServiceInfo getOrLoadServiceInfo(String serviceKey) {
+        ServiceInfo result = serviceInfoMap.get(serviceKey);
+        if (null != result || cacheLoaded) {
+            return result;
+        }
+        ServiceInfo cached = DiskCache.read(cacheDir, serviceKey);
+        if (null == cached) {
+            return null;
+        }
+        result = serviceInfoMap.putIfAbsent(serviceKey, cached);
+        return null == result ? cached : result;
+    }
+    
     public ServiceInfo getServiceInfo(final String serviceName, final String groupName, final String clusters) {
         NAMING_LOGGER.debug("failover-mode: " + failoverReactor.isFailoverSwitch());
         String groupedServiceName = NamingUtils.getGroupedName(serviceName, groupName);
@@ -125,7 +175,7 @@ public class ServiceInfoHolder implements Closeable {
         if (failoverReactor.isFailoverSwitch()) {
             return failoverReactor.getService(key);
         }
-        return serviceInfoMap.get(key);
+        return getOrLoadServiceInfo(key);
     }
     
     /**
@@ -147,17 +197,36 @@ public class ServiceInfoHolder implements Closeable {
      * @return service info
      */
     public ServiceInfo processServiceInfo(ServiceInfo serviceInfo) {
+        return processServiceInfo(serviceInfo, 0L);
+    }
+    
+    /**
+     * Process service info pushed by server with revision. It shares the lock with
+     * {@link #processDeltaServiceInfo(NotifySubscriberDeltaRequest)}, so that delta is never applied to a replaced base.
+     *
+     * @param serviceInfo new service info
+     * @param revision    revision of new service info, {@code 0} means unknown revision
+     * @return service info
+     */
+    public synchronized ServiceInfo processServiceInfo(ServiceInfo serviceInfo, long revision) {
         String serviceKey = serviceInfo.getKey();
         if (serviceKey == null) {
             return null;
         }
-        ServiceInfo oldService = serviceInfoMap.get(serviceInfo.getKey());
+        ServiceInfo oldService = getOrLoadServiceInfo(serviceKey);
         if (isEmptyOrErrorPush(serviceInfo)) {
             //empty or error push, just ignore
+            serviceRevisionMap.remove(serviceKey);
             return oldService;
         }
         serviceInfoMap.put(serviceInfo.getKey(), serviceInfo);
         boolean changed = isChangedServiceInfo(oldService, serviceInfo);
+        if (revision > 0) {
+            serviceRevisionMap.put(serviceKey, revision);
+        } else if (changed) {
+            // local service info is not the one of pushed revision any more.
+            serviceRevisionMap.remove(serviceKey);
+        }
         if (StringUtils.isBlank(serviceInfo.getJsonFromServer())) {
             serviceInfo.setJsonFromServer(JacksonUtils.toJson(serviceInfo));
         }
@@ -167,11 +236,52 @@ public class ServiceInfoHolder implements Closeable {
                     + JacksonUtils.toJson(serviceInfo.getHosts()));
             NotifyCenter.publishEvent(new InstancesChangeEvent(serviceInfo.getName(), serviceInfo.getGroupName(),
                     serviceInfo.getClusters(), serviceInfo.getHosts()));
-            DiskCache.write(serviceInfo, cacheDir);
+            diskCacheWriter.write(serviceInfo);
         }
         return serviceInfo;
     }
     
+    /**
+     * Process delta service info pushed by server.
+     *
+     * @param deltaRequest delta push request
+     * @return {@code true} if delta applied, {@code false} if local service info is not the base revision of delta
+     */
+    public synchronized boolean processDeltaServiceInfo(NotifySubscriberDeltaRequest deltaRequest) {
+        ServiceInfo newService = new ServiceInfo();
+        newService.setName(deltaRequest.getServiceName());
+        newService.setGroupName(deltaRequest.getGroupName());
+        newService.setClusters(deltaRequest.getClusters());
+        newService.setCacheMillis(deltaRequest.getCacheMillis());
+        newService.setLastRefTime(deltaRequest.getLastRefTime());
+        newService.setChecksum(deltaRequest.getChecksum());
+        newService.setReachProtectionThreshold(deltaRequest.isReachProtectionThreshold());
+        String serviceKey = newService.getKey();
+        ServiceInfo oldService = getOrLoadServiceInfo(serviceKey);
+        Long revision = serviceRevisionMap.get(serviceKey);
+        if (null == oldService || null == revision || revision != deltaRequest.getBaseRevision()) {
+            NAMING_LOGGER.warn("[DELTA-PUSH] ignore delta of service {}, base revision {}, local revision {}",
+                    serviceKey, deltaRequest.getBaseRevision(), revision);
+            return false;
+        }
+        Map<String, Instance> hosts = new LinkedHashMap<String, Instance>(oldService.getHosts().size());
+        for (Instance each : oldService.getHosts()) {
+            hosts.put(NotifySubscriberDeltaRequest.buildInstanceKey(each), each);
+        }
+        for (Instance each : deltaRequest.getRemovedInstances()) {
+            hosts.remove(NotifySubscriberDeltaRequest.buildInstanceKey(each));
+        }
+        for (Instance each : deltaRequest.getAddedInstances()) {
+            hosts.put(NotifySubscriberDeltaRequest.buildInstanceKey(each), each);
+        }
+        for (Instance each : deltaRequest.getChangedInstances()) {
+            hosts.put(NotifySubscriberDeltaRequest.buildInstanceKey(each), each);
+        }
+        newService.setHosts(new ArrayList<Instance>(hosts.values()));
+        processServiceInfo(newService, deltaRequest.getRevision());
+        return true;
+    }
+    
     private boolean isEmptyOrErrorPush(ServiceInfo serviceInfo) {
         return null == serviceInfo.getHosts() || (pushEmptyProtection && !serviceInfo.validate());
     }
@@ -255,6 +365,7 @@ public class ServiceInfoHolder implements Closeable {
         String className = this.getClass().getName();
         NAMING_LOGGER.info("{} do shutdown begin", className);
         failoverReactor.shutdown();
+        diskCacheWriter.shutdown();
         NAMING_LOGGER.info("{} do shutdown stop", className);
     }
 }
@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.client.naming.remote.gprc;
 
+import com.alibaba.nacos.api.ability.ClientAbilities;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.CommonParams;
 import com.alibaba.nacos.api.naming.pojo.Instance;
@@ -90,12 +91,19 @@ public class NamingGrpcClientProxy extends AbstractNamingClientProxy {
     
     private void start(ServerListFactory serverListFactory, ServiceInfoHolder serviceInfoHolder) throws NacosException {
         rpcClient.serverListFactory(serverListFactory);
+        rpcClient.clientAbilities(initAbilities());
         rpcClient.start();
         rpcClient.registerServerRequestHandler(new NamingPushRequestHandler(serviceInfoHolder));
         rpcClient.registerConnectionListener(namingGrpcConnectionEventListener);
         NotifyCenter.registerSubscriber(this);
     }
     
+    private ClientAbilities initAbilities() {
+        ClientAbilities clientAbilities = new ClientAbilities();
+        clientAbilities.getNamingAbility().setSupportDeltaPush(true);
+        return clientAbilities;
+    }
+    
     @Override
     public void onEvent(ServerListChangedEvent event) {
         rpcClient.onServerListChange();
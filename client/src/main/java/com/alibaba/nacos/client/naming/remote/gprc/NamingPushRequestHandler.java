@@ -16,6 +16,8 @@
 
 package com.alibaba.nacos.client.naming.remote.gprc;
 
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.naming.remote.response.NotifySubscriberResponse;
 import com.alibaba.nacos.api.remote.request.Request;
@@ -40,9 +42,16 @@ public class NamingPushRequestHandler implements ServerRequestHandler {
     public Response requestReply(Request request) {
         if (request instanceof NotifySubscriberRequest) {
             NotifySubscriberRequest notifyResponse = (NotifySubscriberRequest) request;
-            serviceInfoHolder.processServiceInfo(notifyResponse.getServiceInfo());
+            serviceInfoHolder.processServiceInfo(notifyResponse.getServiceInfo(), notifyResponse.getRevision());
             return new NotifySubscriberResponse();
         }
+        if (request instanceof NotifySubscriberDeltaRequest) {
+            NotifySubscriberResponse response = new NotifySubscriberResponse();
+            if (!serviceInfoHolder.processDeltaServiceInfo((NotifySubscriberDeltaRequest) request)) {
+                response.setErrorInfo(NacosException.CLIENT_INVALID_PARAM, "Base revision of delta push not matched");
+            }
+            return response;
+        }
         return null;
     }
 }
@@ -80,6 +80,16 @@ public class CacheDataTest {
         Assert.assertEquals(timeStamp, cacheData1.getLocalConfigInfoVersion());
     }
     
+    @Test
+    public void testDirty() {
+        ConfigFilterChainManager filter = new ConfigFilterChainManager(new Properties());
+        final CacheData cacheData1 = new CacheData(filter, "name1", "key", "group", "tenant");
+        Assert.assertTrue(cacheData1.markDirty());
+        Assert.assertFalse(cacheData1.markDirty());
+        cacheData1.clearDirty();
+        Assert.assertTrue(cacheData1.markDirty());
+    }
+    
     @Test
     public void testListener() {
         ConfigFilterChainManager filter = new ConfigFilterChainManager(new Properties());
@@ -18,16 +18,26 @@ package com.alibaba.nacos.client.config.impl;
 
 import com.alibaba.nacos.api.config.listener.AbstractListener;
 import com.alibaba.nacos.api.config.listener.Listener;
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.config.remote.response.ConfigChangeBatchListenResponse;
 import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.request.Request;
 import com.alibaba.nacos.client.config.filter.impl.ConfigFilterChainManager;
+import com.alibaba.nacos.common.remote.client.ConnectionEventListener;
+import com.alibaba.nacos.common.remote.client.RpcClient;
+import com.alibaba.nacos.common.remote.client.RpcClientFactory;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.lang.reflect.Field;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 public class ClientWorkerTest {
     
@@ -175,4 +185,137 @@ public class ClientWorkerTest {
         Assert.assertEquals("config_rpc_client", clientWorker.getAgentName());
     }
     
+    @Test
+    public void testListenOnlyDirtyCaches() throws Exception {
+        ClientWorker clientWorker = createClientWorkerWithoutListenLoop();
+        RpcClient rpcClient = mockRpcClient(clientWorker);
+        try {
+            ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+            Mockito.when(rpcClient.request(requestCaptor.capture(), Mockito.anyLong()))
+                    .thenReturn(new ConfigChangeBatchListenResponse());
+            clientWorker.addTenantListeners("dirty1", "group", Arrays.asList(emptyListener()));
+            clientWorker.addTenantListeners("dirty2", "group", Arrays.asList(emptyListener()));
+            
+            getAgent(clientWorker).executeConfigListen();
+            Assert.assertEquals(toSet("dirty1", "dirty2"), listenDataIds(requestCaptor.getValue()));
+            Assert.assertTrue(clientWorker.getCache("dirty1", "group").isSyncWithServer());
+            Assert.assertTrue(clientWorker.getCache("dirty2", "group").isSyncWithServer());
+            
+            // only the cache with new listener is listened.
+            clientWorker.addTenantListeners("dirty3", "group", Arrays.asList(emptyListener()));
+            getAgent(clientWorker).executeConfigListen();
+            Assert.assertEquals(toSet("dirty3"), listenDataIds(requestCaptor.getValue()));
+            
+            // nothing is dirty, no listen request.
+            getAgent(clientWorker).executeConfigListen();
+            Mockito.verify(rpcClient, Mockito.times(2)).request(Mockito.any(), Mockito.anyLong());
+        } finally {
+            clientWorker.shutdown();
+        }
+    }
+    
+    @Test
+    public void testRequeueAfterListenFail() throws Exception {
+        ClientWorker clientWorker = createClientWorkerWithoutListenLoop();
+        RpcClient rpcClient = mockRpcClient(clientWorker);
+        try {
+            ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+            Mockito.when(rpcClient.request(requestCaptor.capture(), Mockito.anyLong()))
+                    .thenThrow(new NacosException(NacosException.SERVER_ERROR, "listen fail"))
+                    .thenReturn(new ConfigChangeBatchListenResponse());
+            clientWorker.addTenantListeners("requeue", "group", Arrays.asList(emptyListener()));
+            
+            getAgent(clientWorker).executeConfigListen();
+            Assert.assertFalse(clientWorker.getCache("requeue", "group").isSyncWithServer());
+            
+            // the failed cache is listened again without any new change.
+            getAgent(clientWorker).executeConfigListen();
+            Assert.assertEquals(toSet("requeue"), listenDataIds(requestCaptor.getValue()));
+            Assert.assertTrue(clientWorker.getCache("requeue", "group").isSyncWithServer());
+            
+            getAgent(clientWorker).executeConfigListen();
+            Mockito.verify(rpcClient, Mockito.times(2)).request(Mockito.any(), Mockito.anyLong());
+        } finally {
+            clientWorker.shutdown();
+        }
+    }
+    
+    @Test
+    public void testListenAllCachesAfterConnected() throws Exception {
+        ClientWorker clientWorker = createClientWorkerWithoutListenLoop();
+        RpcClient rpcClient = mockRpcClient(clientWorker);
+        try {
+            Mockito.when(rpcClient.isWaitInitiated()).thenReturn(true, false);
+            ArgumentCaptor<ConnectionEventListener> listenerCaptor = ArgumentCaptor
+                    .forClass(ConnectionEventListener.class);
+            Mockito.doNothing().when(rpcClient).registerConnectionListener(listenerCaptor.capture());
+            ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+            Mockito.when(rpcClient.request(requestCaptor.capture(), Mockito.anyLong()))
+                    .thenReturn(new ConfigChangeBatchListenResponse());
+            clientWorker.addTenantListeners("resync1", "group", Arrays.asList(emptyListener()));
+            clientWorker.addTenantListeners("resync2", "group", Arrays.asList(emptyListener()));
+            getAgent(clientWorker).executeConfigListen();
+            getAgent(clientWorker).executeConfigListen();
+            Mockito.verify(rpcClient, Mockito.times(1)).request(Mockito.any(), Mockito.anyLong());
+            
+            // all caches are listened again after reconnecting, though they are synced.
+            listenerCaptor.getValue().onConnected();
+            getAgent(clientWorker).executeConfigListen();
+            Mockito.verify(rpcClient, Mockito.times(2)).request(Mockito.any(), Mockito.anyLong());
+            Assert.assertEquals(toSet("resync1", "resync2"), listenDataIds(requestCaptor.getValue()));
+            
+            getAgent(clientWorker).executeConfigListen();
+            Mockito.verify(rpcClient, Mockito.times(2)).request(Mockito.any(), Mockito.anyLong());
+        } finally {
+            clientWorker.shutdown();
+        }
+    }
+    
+    private ClientWorker createClientWorkerWithoutListenLoop() throws Exception {
+        ConfigFilterChainManager filter = new ConfigFilterChainManager(new Properties());
+        ServerListManager agent = Mockito.mock(ServerListManager.class);
+        ClientWorker clientWorker = new ClientWorker(filter, agent, new Properties());
+        // stop the listen loop, listen is executed by test.
+        getAgent(clientWorker).executor.shutdownNow();
+        return clientWorker;
+    }
+    
+    private ConfigTransportClient getAgent(ClientWorker clientWorker) throws Exception {
+        Field agentField = ClientWorker.class.getDeclaredField("agent");
+        agentField.setAccessible(true);
+        return (ConfigTransportClient) agentField.get(clientWorker);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private RpcClient mockRpcClient(ClientWorker clientWorker) throws Exception {
+        Field uuidField = ClientWorker.class.getDeclaredField("uuid");
+        uuidField.setAccessible(true);
+        Field clientMapField = RpcClientFactory.class.getDeclaredField("CLIENT_MAP");
+        clientMapField.setAccessible(true);
+        RpcClient rpcClient = Mockito.mock(RpcClient.class);
+        // all cache data are in task 0.
+        ((Map<String, RpcClient>) clientMapField.get(null)).put(uuidField.get(clientWorker) + "_config-0", rpcClient);
+        return rpcClient;
+    }
+    
+    private Listener emptyListener() {
+        return new AbstractListener() {
+            @Override
+            public void receiveConfigInfo(String configInfo) {
+            }
+        };
+    }
+    
+    private Set<String> listenDataIds(Request request) {
+        Set<String> result = new HashSet<>();
+        for (ConfigBatchListenRequest.ConfigListenContext context : ((ConfigBatchListenRequest) request)
+                .getConfigListenContexts()) {
+            result.add(context.getDataId());
+        }
+        return result;
+    }
+    
+    private Set<String> toSet(String... dataIds) {
+        return new HashSet<>(Arrays.asList(dataIds));
+    }
 }
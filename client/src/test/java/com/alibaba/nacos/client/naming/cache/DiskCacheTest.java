@@ -24,11 +24,13 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class DiskCacheTest {
@@ -71,6 +73,16 @@ public class DiskCacheTest {
         assertServiceInfo(actual.get(serviceInfo.getKey()), serviceInfo);
     }
     
+    @Test
+    public void testReadOneService() throws IOException {
+        DiskCache.write(serviceInfo, CACHE_DIR);
+        File tempFile = new File(CACHE_DIR, "." + serviceInfo.getKeyEncoded() + "123.tmp");
+        assertTrue(tempFile.createNewFile());
+        assertEquals(1, DiskCache.read(CACHE_DIR).size());
+        assertServiceInfo(DiskCache.read(CACHE_DIR, serviceInfo.getKey()), serviceInfo);
+        assertNull(DiskCache.read(CACHE_DIR, "G@@nonExist"));
+    }
+    
     private void assertServiceInfo(ServiceInfo actual, ServiceInfo expected) {
         assertEquals(actual.getName(), expected.getName());
         assertEquals(actual.getGroupName(), expected.getGroupName());
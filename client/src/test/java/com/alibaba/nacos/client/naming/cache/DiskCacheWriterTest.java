@@ -0,0 +1,84 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.client.naming.cache;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DiskCacheWriterTest {
+    
+    private static final String CACHE_DIR = DiskCacheWriterTest.class.getResource("/").getPath() + "cache-writer/";
+    
+    private DiskCacheWriter diskCacheWriter;
+    
+    @Before
+    public void setUp() {
+        diskCacheWriter = new DiskCacheWriter(CACHE_DIR);
+    }
+    
+    @After
+    public void tearDown() throws NacosException {
+        diskCacheWriter.shutdown();
+        File file = new File(CACHE_DIR);
+        if (file.exists() && file.list().length > 0) {
+            for (File each : file.listFiles()) {
+                each.delete();
+            }
+        }
+    }
+    
+    @Test
+    public void testCoalesceWrites() {
+        ServiceInfo first = createServiceInfo("1.1.1.1");
+        ServiceInfo second = createServiceInfo("1.1.1.2");
+        diskCacheWriter.write(first);
+        diskCacheWriter.write(second);
+        assertFalse(new File(CACHE_DIR, first.getKeyEncoded()).exists());
+        diskCacheWriter.flush();
+        ServiceInfo actual = DiskCache.read(CACHE_DIR, first.getKey());
+        assertEquals(1, actual.getHosts().size());
+        assertEquals("1.1.1.2", actual.getHosts().get(0).getIp());
+    }
+    
+    @Test
+    public void testFlushWhenShutdown() throws NacosException {
+        ServiceInfo serviceInfo = createServiceInfo("1.1.1.1");
+        diskCacheWriter.write(serviceInfo);
+        diskCacheWriter.shutdown();
+        assertTrue(new File(CACHE_DIR, serviceInfo.getKeyEncoded()).exists());
+    }
+    
+    private ServiceInfo createServiceInfo(String ip) {
+        ServiceInfo serviceInfo = new ServiceInfo("G@@testName", "testClusters");
+        Instance instance = new Instance();
+        instance.setIp(ip);
+        instance.setPort(1234);
+        serviceInfo.setHosts(Collections.singletonList(instance));
+        return serviceInfo;
+    }
+}
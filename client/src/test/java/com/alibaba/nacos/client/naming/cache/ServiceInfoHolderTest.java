@@ -22,6 +22,7 @@ import com.alibaba.nacos.api.PropertyKeyConst;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
 import com.alibaba.nacos.client.naming.backups.FailoverReactor;
 import org.junit.Assert;
 import org.junit.Test;
@@ -113,6 +114,51 @@ public class ServiceInfoHolderTest {
         Assert.assertEquals(2, actual.getHosts().size());
     }
     
+    @Test
+    public void testProcessDeltaServiceInfo() {
+        ServiceInfo info = new ServiceInfo("a@@b@@c");
+        List<Instance> hosts = new ArrayList<>();
+        hosts.add(createInstance("1.1.1.1", 1));
+        hosts.add(createInstance("1.1.1.2", 2));
+        info.setHosts(hosts);
+        ServiceInfoHolder holder = new ServiceInfoHolder("aa", new Properties());
+        holder.processServiceInfo(info, 1L);
+        
+        NotifySubscriberDeltaRequest deltaRequest = NotifySubscriberDeltaRequest.buildDeltaRequest(info, 1L, 2L);
+        Instance changedInstance = createInstance("1.1.1.1", 1);
+        changedInstance.setWeight(2.0);
+        deltaRequest.getChangedInstances().add(changedInstance);
+        deltaRequest.getRemovedInstances().add(createInstance("1.1.1.2", 2));
+        deltaRequest.getAddedInstances().add(createInstance("1.1.1.3", 3));
+        Assert.assertTrue(holder.processDeltaServiceInfo(deltaRequest));
+        
+        ServiceInfo actual = holder.getServiceInfo("b", "a", "c");
+        Assert.assertEquals(2, actual.getHosts().size());
+        Assert.assertEquals(changedInstance, actual.getHosts().get(0));
+        Assert.assertEquals("1.1.1.3", actual.getHosts().get(1).getIp());
+        // base revision is 2 now, delta based on 1 should be rejected.
+        Assert.assertFalse(holder.processDeltaServiceInfo(deltaRequest));
+    }
+    
+    @Test
+    public void testProcessDeltaServiceInfoAfterUnknownRevisionChanged() {
+        ServiceInfo info = new ServiceInfo("a@@b@@c");
+        List<Instance> hosts = new ArrayList<>();
+        hosts.add(createInstance("1.1.1.1", 1));
+        info.setHosts(hosts);
+        ServiceInfoHolder holder = new ServiceInfoHolder("aa", new Properties());
+        holder.processServiceInfo(info, 1L);
+        
+        ServiceInfo queried = new ServiceInfo("a@@b@@c");
+        List<Instance> queriedHosts = new ArrayList<>();
+        queriedHosts.add(createInstance("1.1.1.2", 2));
+        queried.setHosts(queriedHosts);
+        holder.processServiceInfo(queried);
+        
+        NotifySubscriberDeltaRequest deltaRequest = NotifySubscriberDeltaRequest.buildDeltaRequest(info, 1L, 2L);
+        Assert.assertFalse(holder.processDeltaServiceInfo(deltaRequest));
+    }
+    
     @Test
     public void testGetServiceInfo() {
         ServiceInfo info = new ServiceInfo("a@@b@@c");
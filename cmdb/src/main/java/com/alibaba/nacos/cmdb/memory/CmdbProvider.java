@@ -32,15 +32,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * CMDB provider.
@@ -62,6 +66,16 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
     
     private Map<String, Label> labelMap = new ConcurrentHashMap<>();
     
+    /**
+     * Inverted index of entity type -> label name -> label value -> entities, updated by the changed entities only.
+     */
+    private final Map<String, Map<String, Map<String, LabelEntities>>> labelIndex = new ConcurrentHashMap<>();
+    
+    /**
+     * Revision generator of label values, so that a removed and added again label value never reuses a revision.
+     */
+    private final AtomicLong labelRevision = new AtomicLong();
+    
     private Set<String> entityTypeSet = new HashSet<>();
     
     private long eventTimestamp = System.currentTimeMillis();
@@ -104,7 +118,7 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
         entityTypeSet = cmdbService.getEntityTypes();
         
         // init entity map:
-        entityMap = cmdbService.getAllEntities();
+        refreshEntities(cmdbService.getAllEntities());
     }
     
     /**
@@ -142,7 +156,38 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
     
     @Override
     public List<Entity> queryEntitiesByLabel(String labelName, String labelValue) {
-        throw new UnsupportedOperationException("Not available now!");
+        List<Entity> result = new ArrayList<>();
+        for (String entityType : labelIndex.keySet()) {
+            for (String entityName : queryEntityNamesByLabel(entityType, labelName, labelValue)) {
+                Entity entity = queryEntity(entityName, entityType);
+                if (entity != null) {
+                    result.add(entity);
+                }
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public Set<String> queryEntityNamesByLabel(String entityType, String labelName, String labelValue) {
+        LabelEntities labelEntities = getLabelEntities(entityType, labelName, labelValue);
+        return labelEntities == null ? Collections.<String>emptySet()
+                : Collections.unmodifiableSet(labelEntities.names);
+    }
+    
+    @Override
+    public long queryLabelRevision(String entityType, String labelName, String labelValue) {
+        LabelEntities labelEntities = getLabelEntities(entityType, labelName, labelValue);
+        return labelEntities == null ? 0L : labelEntities.revision;
+    }
+    
+    private LabelEntities getLabelEntities(String entityType, String labelName, String labelValue) {
+        Map<String, Map<String, LabelEntities>> labels = labelIndex.get(entityType);
+        if (labels == null || labelName == null || labelValue == null) {
+            return null;
+        }
+        Map<String, LabelEntities> values = labels.get(labelName);
+        return values == null ? null : values.get(labelValue);
     }
     
     /**
@@ -151,11 +196,11 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
      * @param entityName entity name
      * @param entityType entity type
      */
-    public void removeEntity(String entityName, String entityType) {
+    public synchronized void removeEntity(String entityName, String entityType) {
         if (!entityMap.containsKey(entityType)) {
             return;
         }
-        entityMap.get(entityType).remove(entityName);
+        reindex(entityMap.get(entityType).remove(entityName), null);
     }
     
     /**
@@ -163,11 +208,116 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
      *
      * @param entity entity
      */
-    public void updateEntity(Entity entity) {
+    public synchronized void updateEntity(Entity entity) {
         if (!entityTypeSet.contains(entity.getType())) {
             return;
         }
-        entityMap.get(entity.getType()).put(entity.getName(), entity);
+        reindex(entityMap.get(entity.getType()).put(entity.getName(), entity), entity);
+    }
+    
+    /**
+     * Replace all entities, only the entities added, removed or changed are reindexed.
+     *
+     * @param newEntityMap all entities, entity type -> entity name -> entity
+     */
+    private synchronized void refreshEntities(Map<String, Map<String, Entity>> newEntityMap) {
+        if (newEntityMap == null) {
+            return;
+        }
+        Map<String, Map<String, Entity>> oldEntityMap = entityMap;
+        entityMap = newEntityMap;
+        for (Map.Entry<String, Map<String, Entity>> entry : newEntityMap.entrySet()) {
+            Map<String, Entity> oldEntities = getEntities(oldEntityMap, entry.getKey());
+            for (Entity each : entry.getValue().values()) {
+                reindex(oldEntities.get(each.getName()), each);
+            }
+        }
+        for (Map.Entry<String, Map<String, Entity>> entry : oldEntityMap.entrySet()) {
+            Map<String, Entity> newEntities = getEntities(newEntityMap, entry.getKey());
+            for (Entity each : entry.getValue().values()) {
+                if (!newEntities.containsKey(each.getName())) {
+                    reindex(each, null);
+                }
+            }
+        }
+    }
+    
+    private Map<String, Entity> getEntities(Map<String, Map<String, Entity>> entities, String entityType) {
+        Map<String, Entity> result = entities.get(entityType);
+        return result == null ? Collections.<String, Entity>emptyMap() : result;
+    }
+    
+    /**
+     * Move the entity between label values in label index.
+     *
+     * @param oldEntity entity before changed, null if added
+     * @param newEntity entity after changed, null if removed
+     */
+    private synchronized void reindex(Entity oldEntity, Entity newEntity) {
+        Map<String, String> oldLabels = getLabels(oldEntity);
+        Map<String, String> newLabels = getLabels(newEntity);
+        for (Map.Entry<String, String> entry : oldLabels.entrySet()) {
+            if (!Objects.equals(entry.getValue(), newLabels.get(entry.getKey()))) {
+                unindexLabel(oldEntity, entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<String, String> entry : newLabels.entrySet()) {
+            if (!Objects.equals(entry.getValue(), oldLabels.get(entry.getKey()))) {
+                indexLabel(newEntity, entry.getKey(), entry.getValue());
+            }
+        }
+    }
+    
+    private Map<String, String> getLabels(Entity entity) {
+        if (entity == null || entity.getLabels() == null) {
+            return Collections.<String, String>emptyMap();
+        }
+        return entity.getLabels();
+    }
+    
+    private void indexLabel(Entity entity, String labelName, String labelValue) {
+        if (labelValue == null) {
+            return;
+        }
+        Map<String, Map<String, LabelEntities>> labels = labelIndex.get(entity.getType());
+        if (labels == null) {
+            labels = new ConcurrentHashMap<>(16);
+            labelIndex.put(entity.getType(), labels);
+        }
+        Map<String, LabelEntities> values = labels.get(labelName);
+        if (values == null) {
+            values = new ConcurrentHashMap<>(16);
+            labels.put(labelName, values);
+        }
+        LabelEntities labelEntities = values.get(labelValue);
+        if (labelEntities == null) {
+            labelEntities = new LabelEntities();
+            values.put(labelValue, labelEntities);
+        }
+        labelEntities.names.add(entity.getName());
+        labelEntities.revision = labelRevision.incrementAndGet();
+    }
+    
+    private void unindexLabel(Entity entity, String labelName, String labelValue) {
+        LabelEntities labelEntities = getLabelEntities(entity.getType(), labelName, labelValue);
+        if (labelEntities == null) {
+            return;
+        }
+        labelEntities.names.remove(entity.getName());
+        labelEntities.revision = labelRevision.incrementAndGet();
+        if (labelEntities.names.isEmpty()) {
+            labelIndex.get(entity.getType()).get(labelName).remove(labelValue);
+        }
+    }
+    
+    /**
+     * Names of entities with the same label value.
+     */
+    private static class LabelEntities {
+        
+        private final Set<String> names = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>(16));
+        
+        private volatile long revision;
     }
     
     public class CmdbLabelTask implements Runnable {
@@ -222,7 +372,7 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
                     return;
                 }
                 // refresh entity map:
-                entityMap = cmdbService.getAllEntities();
+                refreshEntities(cmdbService.getAllEntities());
             } catch (Exception e) {
                 Loggers.MAIN.error("DUMP-TASK {}", "dump failed!", e);
             } finally {
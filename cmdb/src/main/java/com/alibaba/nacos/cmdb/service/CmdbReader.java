@@ -19,6 +19,7 @@ package com.alibaba.nacos.cmdb.service;
 import com.alibaba.nacos.api.cmdb.pojo.Entity;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * CMDB Reader.
@@ -55,4 +56,24 @@ public interface CmdbReader {
      * @return list of entity
      */
     List<Entity> queryEntitiesByLabel(String labelName, String labelValue);
+    
+    /**
+     * Get names of entities with the label value from label index.
+     *
+     * @param entityType type of entity
+     * @param labelName  name of label
+     * @param labelValue value of label
+     * @return read-only set of entity names, empty if no entity has the label value
+     */
+    Set<String> queryEntityNamesByLabel(String entityType, String labelName, String labelValue);
+    
+    /**
+     * Get revision of the entities with the label value, it changes when any entity gets or loses the label value.
+     *
+     * @param entityType type of entity
+     * @param labelName  name of label
+     * @param labelValue value of label
+     * @return revision of the label value, 0 if no entity has the label value
+     */
+    long queryLabelRevision(String entityType, String labelName, String labelValue);
 }
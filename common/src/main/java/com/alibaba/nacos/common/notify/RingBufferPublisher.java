@@ -0,0 +1,376 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import com.alibaba.nacos.common.notify.wait.BlockingWaitStrategy;
+import com.alibaba.nacos.common.notify.wait.BusySpinWaitStrategy;
+import com.alibaba.nacos.common.notify.wait.SleepingWaitStrategy;
+import com.alibaba.nacos.common.notify.wait.WaitStrategy;
+import com.alibaba.nacos.common.notify.wait.YieldingWaitStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Event publisher implementation based on pre-allocated ring buffer.
+ *
+ * <p>Publishers claim a slot of ring buffer by CAS without lock. Each subscriber has its own handler thread and read
+ * sequence, and drains all available events in batch, so that a slow subscriber will not delay the others. The lag of
+ * each subscriber is the distance between the published sequence and its read sequence. If the slowest subscriber lags
+ * a whole ring, the event will be notified synchronously as {@link DefaultPublisher}.
+ *
+ * <p>To use this publisher, add {@code com.alibaba.nacos.common.notify.RingBufferPublisher} into
+ * {@code META-INF/services/com.alibaba.nacos.common.notify.EventPublisher}. The wait strategy of handlers can be set by
+ * system property {@code nacos.core.notify.ring-buffer.wait-strategy}, supports {@code blocking}(default),
+ * {@code sleeping}, {@code yielding} and {@code busy-spin}.
+ *
+ * @author nacos
+ */
+public class RingBufferPublisher implements EventPublisher {
+    
+    protected static final Logger LOGGER = LoggerFactory.getLogger(NotifyCenter.class);
+    
+    private static final String WAIT_STRATEGY_PROPERTY = "nacos.core.notify.ring-buffer.wait-strategy";
+    
+    private static final long INITIAL_SEQUENCE = -1L;
+    
+    private volatile boolean initialized = false;
+    
+    private volatile boolean shutdown = false;
+    
+    private Class<? extends Event> eventType;
+    
+    private int bufferSize;
+    
+    private int indexMask;
+    
+    private int indexShift;
+    
+    private AtomicReferenceArray<Event> entries;
+    
+    /**
+     * The round of sequence published in each slot, slot is readable only when the round matches.
+     */
+    private AtomicIntegerArray availableRounds;
+    
+    private WaitStrategy waitStrategy;
+    
+    /**
+     * The max sequence claimed by publishers.
+     */
+    private final AtomicLong cursor = new AtomicLong(INITIAL_SEQUENCE);
+    
+    /**
+     * Cache of the min read sequence of handlers, avoid traversing handlers for each publishing.
+     */
+    private final AtomicLong gatingSequenceCache = new AtomicLong(INITIAL_SEQUENCE);
+    
+    private final List<AtomicLong> gatingSequences = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Hold events published before the first subscriber registered, released after first subscriber registered.
+     */
+    private volatile AtomicLong bootstrapSequence;
+    
+    private final Map<Subscriber, EventHandler> handlers = new ConcurrentHashMap<>();
+    
+    private int handlerIndex = 0;
+    
+    @Override
+    public void init(Class<? extends Event> type, int bufferSize) {
+        this.eventType = type;
+        this.bufferSize = ceilingPowerOfTwo(bufferSize);
+        this.indexMask = this.bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(this.bufferSize);
+        this.entries = new AtomicReferenceArray<>(this.bufferSize);
+        this.availableRounds = new AtomicIntegerArray(this.bufferSize);
+        for (int i = 0; i < this.bufferSize; i++) {
+            availableRounds.set(i, -1);
+        }
+        this.waitStrategy = createWaitStrategy(System.getProperty(WAIT_STRATEGY_PROPERTY, "blocking"));
+        this.bootstrapSequence = new AtomicLong(INITIAL_SEQUENCE);
+        gatingSequences.add(bootstrapSequence);
+        initialized = true;
+    }
+    
+    private static int ceilingPowerOfTwo(int size) {
+        int result = 1;
+        while (result < size) {
+            result <<= 1;
+        }
+        return result;
+    }
+    
+    private static WaitStrategy createWaitStrategy(String name) {
+        switch (name) {
+            case "sleeping":
+                return new SleepingWaitStrategy();
+            case "yielding":
+                return new YieldingWaitStrategy();
+            case "busy-spin":
+                return new BusySpinWaitStrategy();
+            default:
+                return new BlockingWaitStrategy();
+        }
+    }
+    
+    @Override
+    public long currentEventSize() {
+        long current = cursor.get();
+        return current - getMinimumGatingSequence(current);
+    }
+    
+    /**
+     * Get the count of events which published but not handled by subscriber.
+     *
+     * @param subscriber subscriber
+     * @return lag of subscriber, {@code 0} if subscriber not registered
+     */
+    public long getSubscriberLag(Subscriber subscriber) {
+        EventHandler handler = handlers.get(subscriber);
+        return null == handler ? 0L : Math.max(0L, cursor.get() - handler.sequence.get());
+    }
+    
+    @Override
+    public synchronized void addSubscriber(Subscriber subscriber) {
+        if (handlers.containsKey(subscriber) || shutdown) {
+            return;
+        }
+        AtomicLong bootstrap = bootstrapSequence;
+        // The first subscriber handles events from the beginning, others handle events published after registering.
+        long startSequence = null != bootstrap ? bootstrap.get() : cursor.get();
+        EventHandler handler = new EventHandler(subscriber, startSequence,
+                "nacos.publisher-" + eventType.getName() + "-" + handlerIndex++);
+        gatingSequences.add(handler.sequence);
+        if (null != bootstrap) {
+            gatingSequences.remove(bootstrap);
+            bootstrapSequence = null;
+        }
+        handlers.put(subscriber, handler);
+        handler.start();
+    }
+    
+    @Override
+    public synchronized void removeSubscriber(Subscriber subscriber) {
+        EventHandler handler = handlers.remove(subscriber);
+        if (null != handler) {
+            handler.running = false;
+            gatingSequences.remove(handler.sequence);
+            waitStrategy.signalAllWhenBlocking();
+        }
+    }
+    
+    @Override
+    public boolean publish(Event event) {
+        checkIsStart();
+        long sequence = tryClaim();
+        if (sequence < 0) {
+            LOGGER.warn("Unable to plug in due to ring buffer is full, synchronize sending time, event : {}", event);
+            receiveEvent(event);
+            return true;
+        }
+        int index = (int) sequence & indexMask;
+        entries.lazySet(index, event);
+        // volatile write of round makes the event visible to handlers.
+        availableRounds.set(index, (int) (sequence >>> indexShift));
+        waitStrategy.signalAllWhenBlocking();
+        return true;
+    }
+    
+    private long tryClaim() {
+        long current;
+        long next;
+        do {
+            current = cursor.get();
+            next = current + 1;
+            long wrapPoint = next - bufferSize;
+            long cachedGatingSequence = gatingSequenceCache.get();
+            if (wrapPoint > cachedGatingSequence || cachedGatingSequence > current) {
+                long gatingSequence = getMinimumGatingSequence(current);
+                if (wrapPoint > gatingSequence) {
+                    return -1L;
+                }
+                gatingSequenceCache.set(gatingSequence);
+            }
+        } while (!cursor.compareAndSet(current, next));
+        return next;
+    }
+    
+    private long getMinimumGatingSequence(long current) {
+        long result = current;
+        for (AtomicLong each : gatingSequences) {
+            result = Math.min(result, each.get());
+        }
+        return result;
+    }
+    
+    private boolean isAvailable(long sequence) {
+        return availableRounds.get((int) sequence & indexMask) == (int) (sequence >>> indexShift);
+    }
+    
+    private long getHighestPublishedSequence(long lowerBound, long availableSequence) {
+        for (long sequence = lowerBound; sequence <= availableSequence; sequence++) {
+            if (!isAvailable(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return availableSequence;
+    }
+    
+    void checkIsStart() {
+        if (!initialized) {
+            throw new IllegalStateException("Publisher does not start");
+        }
+    }
+    
+    @Override
+    public synchronized void shutdown() {
+        this.shutdown = true;
+        for (EventHandler each : handlers.values()) {
+            each.running = false;
+        }
+        handlers.clear();
+        waitStrategy.signalAllWhenBlocking();
+    }
+    
+    public boolean isInitialized() {
+        return initialized;
+    }
+    
+    /**
+     * Notify the event to all subscribers synchronously, used when ring buffer is full.
+     *
+     * @param event {@link Event}.
+     */
+    void receiveEvent(Event event) {
+        if (handlers.isEmpty()) {
+            LOGGER.warn("[NotifyCenter] the {} is lost, because there is no subscriber.", event);
+            return;
+        }
+        for (Subscriber subscriber : handlers.keySet()) {
+            notifySubscriber(subscriber, event);
+        }
+    }
+    
+    @Override
+    public void notifySubscriber(final Subscriber subscriber, final Event event) {
+        
+        LOGGER.debug("[NotifyCenter] the {} will received by {}", event, subscriber);
+        
+        final Runnable job = () -> subscriber.onEvent(event);
+        final Executor executor = subscriber.executor();
+        
+        if (executor != null) {
+            executor.execute(job);
+        } else {
+            try {
+                job.run();
+            } catch (Throwable e) {
+                LOGGER.error("Event callback exception: ", e);
+            }
+        }
+    }
+    
+    private class EventHandler extends Thread {
+        
+        private final Subscriber subscriber;
+        
+        /**
+         * The max sequence handled by this handler.
+         */
+        private final AtomicLong sequence;
+        
+        private volatile boolean running = true;
+        
+        private long lastEventSequence = -1L;
+        
+        private EventHandler(Subscriber subscriber, long startSequence, String name) {
+            super(name);
+            setDaemon(true);
+            this.subscriber = subscriber;
+            this.sequence = new AtomicLong(startSequence);
+        }
+        
+        @Override
+        public void run() {
+            int waitCounter = 0;
+            try {
+                while (running && !shutdown) {
+                    final long next = sequence.get() + 1;
+                    long available = getHighestPublishedSequence(next, cursor.get());
+                    if (available < next) {
+                        waitCounter = waitStrategy.waitFor(waitCounter, () -> !running || isAvailable(next));
+                        continue;
+                    }
+                    waitCounter = 0;
+                    for (long each = next; each <= available; each++) {
+                        handleEvent(entries.get((int) each & indexMask));
+                    }
+                    clearHandledEntries(next, available);
+                    sequence.set(available);
+                }
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        /**
+         * Clear the slots which all other handlers have passed, so that handled events are not referenced by the ring.
+         * It must be done before moving the sequence of this handler, then no publisher can claim these slots yet.
+         *
+         * @param lowerBound      the first sequence handled in this batch
+         * @param handledSequence the last sequence handled in this batch
+         */
+        private void clearHandledEntries(long lowerBound, long handledSequence) {
+            long upperBound = handledSequence;
+            for (AtomicLong each : gatingSequences) {
+                if (each != sequence) {
+                    upperBound = Math.min(upperBound, each.get());
+                }
+            }
+            for (long each = lowerBound; each <= upperBound; each++) {
+                entries.lazySet((int) each & indexMask, null);
+            }
+        }
+        
+        private void handleEvent(Event event) {
+            try {
+                final long currentEventSequence = event.sequence();
+                // Whether to ignore expiration events
+                if (subscriber.ignoreExpireEvent() && lastEventSequence > currentEventSequence) {
+                    LOGGER.debug("[NotifyCenter] the {} is unacceptable to this subscriber, because had expire",
+                            event.getClass());
+                    return;
+                }
+                lastEventSequence = Math.max(lastEventSequence, currentEventSequence);
+                notifySubscriber(subscriber, event);
+            } catch (Throwable ex) {
+                // The handler must keep running, otherwise its sequence stops and the ring becomes full.
+                LOGGER.error("Event listener exception : ", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify.wait;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Blocking wait strategy, block on condition until signaled, which uses the least cpu but has the highest latency.
+ *
+ * <p>Publisher only takes the lock when some handler is blocking.
+ *
+ * @author nacos
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+    
+    private static final long MAX_BLOCKING_MILLIS = 100L;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    private final Condition notEmpty = lock.newCondition();
+    
+    private final AtomicBoolean signalNeeded = new AtomicBoolean(false);
+    
+    @Override
+    public int waitFor(int counter, BooleanSupplier available) throws InterruptedException {
+        lock.lock();
+        try {
+            signalNeeded.set(true);
+            if (!available.getAsBoolean()) {
+                notEmpty.await(MAX_BLOCKING_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return counter + 1;
+    }
+    
+    @Override
+    public void signalAllWhenBlocking() {
+        if (signalNeeded.getAndSet(false)) {
+            lock.lock();
+            try {
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
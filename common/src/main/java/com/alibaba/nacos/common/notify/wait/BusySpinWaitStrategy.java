@@ -0,0 +1,39 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify.wait;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Busy spin wait strategy, which has the lowest latency but occupies a whole cpu core for each event handler.
+ *
+ * @author nacos
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+    
+    @Override
+    public int waitFor(int counter, BooleanSupplier available) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        return counter + 1;
+    }
+    
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify.wait;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Sleeping wait strategy, spin first, then yield, and park for a short time at last.
+ *
+ * @author nacos
+ */
+public class SleepingWaitStrategy implements WaitStrategy {
+    
+    private static final int SPIN_TRIES = 100;
+    
+    private static final int YIELD_TRIES = 200;
+    
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100L);
+    
+    @Override
+    public int waitFor(int counter, BooleanSupplier available) throws InterruptedException {
+        if (counter >= YIELD_TRIES) {
+            LockSupport.parkNanos(PARK_NANOS);
+        } else if (counter >= SPIN_TRIES) {
+            Thread.yield();
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        return counter + 1;
+    }
+    
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
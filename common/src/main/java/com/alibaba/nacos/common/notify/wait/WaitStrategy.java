@@ -0,0 +1,42 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify.wait;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Strategy of event handler waiting for new events when no event is available.
+ *
+ * @author nacos
+ */
+public interface WaitStrategy {
+    
+    /**
+     * Wait once for new events.
+     *
+     * @param counter   times of waiting since the last available event
+     * @param available whether new events are available, checked again before blocking
+     * @return counter for next waiting
+     * @throws InterruptedException if interrupted while waiting
+     */
+    int waitFor(int counter, BooleanSupplier available) throws InterruptedException;
+    
+    /**
+     * Wake up the blocked event handlers after new events published.
+     */
+    void signalAllWhenBlocking();
+}
@@ -30,6 +30,9 @@ import com.alibaba.nacos.common.remote.ConnectionType;
 import com.alibaba.nacos.common.remote.client.Connection;
 import com.alibaba.nacos.common.remote.client.RpcClient;
 import com.alibaba.nacos.common.remote.client.RpcClientStatus;
+import com.alibaba.nacos.common.remote.codec.JsonPayloadCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadCodecFactory;
 import com.alibaba.nacos.common.utils.LoggerUtils;
 import com.alibaba.nacos.common.utils.ThreadUtils;
 import com.alibaba.nacos.common.utils.VersionUtils;
@@ -43,6 +46,7 @@ import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -64,6 +68,8 @@ public abstract class GrpcClient extends RpcClient {
     
     private static final long DEFAULT_KEEP_ALIVE_TIME = 6 * 60 * 1000;
     
+    private static final String PAYLOAD_CODEC_PROPERTY = "nacos.remote.client.grpc.payload.codec";
+    
     @Override
     public ConnectionType getConnectionType() {
         return ConnectionType.GRPC;
@@ -118,6 +124,22 @@ public abstract class GrpcClient extends RpcClient {
         return Integer.parseInt(keepAliveTimeMillis);
     }
     
+    /**
+     * Choose the payload codec to send request, use the preferred codec only if both client and server support it.
+     *
+     * @param response server check response.
+     * @return payload codec.
+     */
+    private PayloadCodec choosePayloadCodec(ServerCheckResponse response) {
+        String preferred = System.getProperty(PAYLOAD_CODEC_PROPERTY, JsonPayloadCodec.NAME);
+        List<String> serverSupported = response.getSupportedPayloadCodecs();
+        if (null == serverSupported || !serverSupported.contains(preferred) || !PayloadCodecFactory
+                .isSupported(preferred)) {
+            return PayloadCodecFactory.getDefault();
+        }
+        return PayloadCodecFactory.getCodec(preferred);
+    }
+    
     /**
      * shutdown a  channel.
      *
@@ -289,7 +311,11 @@ public abstract class GrpcClient extends RpcClient {
                 conSetupRequest.setLabels(super.getLabels());
                 conSetupRequest.setAbilities(super.clientAbilities);
                 conSetupRequest.setTenant(super.getTenant());
+                PayloadCodec payloadCodec = choosePayloadCodec((ServerCheckResponse) response);
+                conSetupRequest.setPayloadCodec(payloadCodec.getName());
                 grpcConn.sendRequest(conSetupRequest);
+                // setup request is always sent by default codec, switch codec after it.
+                grpcConn.setPayloadCodec(payloadCodec);
                 //wait to register connection setup
                 Thread.sleep(100L);
                 return grpcConn;
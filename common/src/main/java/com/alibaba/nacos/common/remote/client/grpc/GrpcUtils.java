@@ -16,10 +16,8 @@
 
 package com.alibaba.nacos.common.remote.client.grpc;
 
-import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.exception.runtime.NacosDeserializationException;
-import com.alibaba.nacos.api.exception.runtime.NacosSerializationException;
 import com.alibaba.nacos.api.grpc.auto.Metadata;
 import com.alibaba.nacos.api.grpc.auto.Payload;
 import com.alibaba.nacos.api.remote.PayloadRegistry;
@@ -27,16 +25,16 @@ import com.alibaba.nacos.api.remote.request.Request;
 import com.alibaba.nacos.api.remote.request.RequestMeta;
 import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.api.utils.NetUtils;
+import com.alibaba.nacos.common.remote.codec.JsonPayloadCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadCodecFactory;
 import com.alibaba.nacos.common.remote.exception.RemoteException;
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.protobuf.Any;
-import com.google.protobuf.ByteString;
 
 import java.io.IOException;
-import java.nio.charset.Charset;
 
 /**
  * gRPC utils, use to parse request and response.
@@ -53,21 +51,6 @@ public class GrpcUtils {
         mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
     }
     
-    /**
-     * Object to json string.
-     *
-     * @param obj obj
-     * @return json string
-     * @throws NacosSerializationException if transfer failed
-     */
-    private static String toJson(Object obj) {
-        try {
-            return mapper.writeValueAsString(obj);
-        } catch (JsonProcessingException e) {
-            throw new NacosSerializationException(obj.getClass(), e);
-        }
-    }
-    
     /**
      * Json string deserialize to Object.
      *
@@ -104,10 +87,7 @@ public class GrpcUtils {
         
         // request body .
         request.clearHeaders();
-        String jsonString = toJson(request);
-        return payloadBuilder
-                .setBody(Any.newBuilder().setValue(ByteString.copyFrom(jsonString, Charset.forName(Constants.ENCODE))))
-                .build();
+        return payloadBuilder.setBody(buildBody(request, PayloadCodecFactory.getDefault())).build();
         
     }
     
@@ -118,17 +98,25 @@ public class GrpcUtils {
      * @return payload.
      */
     public static Payload convert(Request request) {
+        return convert(request, PayloadCodecFactory.getDefault());
+    }
+    
+    /**
+     * convert request to payload with specified codec.
+     *
+     * @param request request.
+     * @param codec   payload codec.
+     * @return payload.
+     */
+    public static Payload convert(Request request, PayloadCodec codec) {
         
         Metadata newMeta = Metadata.newBuilder().setType(request.getClass().getSimpleName())
                 .setClientIp(NetUtils.localIP()).putAllHeaders(request.getHeaders()).build();
         request.clearHeaders();
-        String jsonString = toJson(request);
         
         Payload.Builder builder = Payload.newBuilder();
-    
-        return builder
-                .setBody(Any.newBuilder().setValue(ByteString.copyFrom(jsonString, Charset.forName(Constants.ENCODE))))
-                .setMetadata(newMeta).build();
+        
+        return builder.setBody(buildBody(request, codec)).setMetadata(newMeta).build();
         
     }
     
@@ -139,12 +127,41 @@ public class GrpcUtils {
      * @return payload.
      */
     public static Payload convert(Response response) {
-        String jsonString = toJson(response);
-        
+        return convert(response, PayloadCodecFactory.getDefault());
+    }
+    
+    /**
+     * convert response to payload with specified codec.
+     *
+     * @param response response.
+     * @param codec    payload codec.
+     * @return payload.
+     */
+    public static Payload convert(Response response, PayloadCodec codec) {
         Metadata.Builder metaBuilder = Metadata.newBuilder().setType(response.getClass().getSimpleName());
-        return Payload.newBuilder()
-                .setBody(Any.newBuilder().setValue(ByteString.copyFrom(jsonString, Charset.forName(Constants.ENCODE))))
-                .setMetadata(metaBuilder.build()).build();
+        return Payload.newBuilder().setBody(buildBody(response, codec)).setMetadata(metaBuilder.build()).build();
+    }
+    
+    /**
+     * Build payload body, the name of codec is set into type url except default codec, so that the payload of default
+     * codec is same as the old version.
+     */
+    private static Any buildBody(Object obj, PayloadCodec codec) {
+        Any.Builder result = Any.newBuilder().setValue(codec.encode(obj));
+        if (!JsonPayloadCodec.NAME.equals(codec.getName())) {
+            result.setTypeUrl(codec.getName());
+        }
+        return result.build();
+    }
+    
+    /**
+     * Get the codec of payload.
+     *
+     * @param payload payload.
+     * @return codec of payload, default codec if payload not specified.
+     */
+    public static PayloadCodec getPayloadCodec(Payload payload) {
+        return PayloadCodecFactory.getCodec(payload.getBody().getTypeUrl());
     }
     
     /**
@@ -156,7 +173,7 @@ public class GrpcUtils {
     public static Object parse(Payload payload) {
         Class classType = PayloadRegistry.getClassByType(payload.getMetadata().getType());
         if (classType != null) {
-            Object obj = toObj(payload.getBody().getValue().toString(Charset.forName(Constants.ENCODE)), classType);
+            Object obj = getPayloadCodec(payload).decode(payload.getBody().getValue(), classType);
             if (obj instanceof Request) {
                 ((Request) obj).putAllHeader(payload.getMetadata().getHeadersMap());
             }
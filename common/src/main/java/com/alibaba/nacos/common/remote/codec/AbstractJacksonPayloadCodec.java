@@ -0,0 +1,64 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.api.exception.runtime.NacosDeserializationException;
+import com.alibaba.nacos.api.exception.runtime.NacosSerializationException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
+import java.io.IOException;
+
+/**
+ * Payload codec based on jackson {@link ObjectMapper}, read from {@link ByteString} directly without intermediate
+ * string.
+ *
+ * @author nacos
+ */
+public abstract class AbstractJacksonPayloadCodec implements PayloadCodec {
+    
+    private final ObjectMapper mapper;
+    
+    protected AbstractJacksonPayloadCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+    
+    @Override
+    public ByteString encode(Object obj) {
+        try {
+            // the bytes are never modified after written, so wrap it without copy.
+            return UnsafeByteOperations.unsafeWrap(mapper.writeValueAsBytes(obj));
+        } catch (JsonProcessingException e) {
+            throw new NacosSerializationException(obj.getClass(), e);
+        }
+    }
+    
+    @Override
+    public <T> T decode(ByteString bytes, Class<T> cls) {
+        try {
+            return mapper.readValue(bytes.newInput(), cls);
+        } catch (IOException e) {
+            throw new NacosDeserializationException(cls, e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Json payload codec, default codec which is supported by all clients and servers.
+ *
+ * @author nacos
+ */
+public class JsonPayloadCodec extends AbstractJacksonPayloadCodec {
+    
+    public static final String NAME = "json";
+    
+    public JsonPayloadCodec() {
+        super(new ObjectMapper());
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Codec of gRPC payload body, encode request and response to {@link ByteString} and decode from it.
+ *
+ * <p>The name of codec will be set into the {@code type_url} of payload body, so that the receiver can choose the
+ * same codec to decode. Other codecs can be extended by SPI.
+ *
+ * @author nacos
+ */
+public interface PayloadCodec {
+    
+    /**
+     * The name of codec, should be unique.
+     *
+     * @return name of codec
+     */
+    String getName();
+    
+    /**
+     * Encode object to bytes.
+     *
+     * @param obj object to be encoded
+     * @return encoded bytes
+     * @throws com.alibaba.nacos.api.exception.runtime.NacosSerializationException if encode failed
+     */
+    ByteString encode(Object obj);
+    
+    /**
+     * Decode bytes to object.
+     *
+     * @param bytes bytes to be decoded
+     * @param cls   class of object
+     * @param <T>   type of object
+     * @return decoded object
+     * @throws com.alibaba.nacos.api.exception.runtime.NacosDeserializationException if decode failed
+     */
+    <T> T decode(ByteString bytes, Class<T> cls);
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.common.spi.NacosServiceLoader;
+import com.alibaba.nacos.common.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payload codec factory.
+ *
+ * <p>Json codec is the default codec, and it is used when the codec of payload is not specified, which keeps
+ * compatible with the old clients and servers.
+ *
+ * @author nacos
+ */
+public class PayloadCodecFactory {
+    
+    private static final PayloadCodec DEFAULT_CODEC = new JsonPayloadCodec();
+    
+    private static final Map<String, PayloadCodec> CODEC_MAP = new HashMap<String, PayloadCodec>(4);
+    
+    static {
+        CODEC_MAP.put(JsonPayloadCodec.NAME, DEFAULT_CODEC);
+        PayloadCodec smileCodec = new SmilePayloadCodec();
+        CODEC_MAP.put(smileCodec.getName(), smileCodec);
+        for (PayloadCodec each : NacosServiceLoader.load(PayloadCodec.class)) {
+            CODEC_MAP.put(each.getName().toLowerCase(), each);
+        }
+    }
+    
+    public static PayloadCodec getDefault() {
+        return DEFAULT_CODEC;
+    }
+    
+    /**
+     * Get payload codec by name.
+     *
+     * @param name name of codec
+     * @return codec of the name, default codec if name is blank or not supported
+     */
+    public static PayloadCodec getCodec(String name) {
+        if (StringUtils.isBlank(name)) {
+            return DEFAULT_CODEC;
+        }
+        PayloadCodec result = CODEC_MAP.get(name.toLowerCase());
+        return null == result ? DEFAULT_CODEC : result;
+    }
+    
+    /**
+     * Whether the codec is supported by current application.
+     *
+     * @param name name of codec
+     * @return true if supported
+     */
+    public static boolean isSupported(String name) {
+        return StringUtils.isNotBlank(name) && CODEC_MAP.containsKey(name.toLowerCase());
+    }
+    
+    /**
+     * Get names of all supported codecs.
+     *
+     * @return supported codec names
+     */
+    public static List<String> getSupportedCodecs() {
+        return new ArrayList<String>(CODEC_MAP.keySet());
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Binary payload codec based on jackson smile format, which is more compact and faster to parse than json.
+ *
+ * @author nacos
+ */
+public class SmilePayloadCodec extends AbstractJacksonPayloadCodec {
+    
+    public static final String NAME = "smile";
+    
+    public SmilePayloadCodec() {
+        super(new SmileMapper());
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.task;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel to expire a large number of timeouts, instead of scheduling one future for each timeout.
+ *
+ * <p>The wheel does not own any thread, the owner should call {@link #tick()} periodically, usually with the tick
+ * duration. New timeouts are put into buckets by the ticking thread, so that adding and cancelling a timeout are O(1)
+ * and expiring a timeout is amortized O(1) per tick. The expired tasks are run by the ticking thread.
+ *
+ * @author nacos
+ */
+public class HashedTimingWheel {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedTimingWheel.class);
+    
+    private final long tickNanos;
+    
+    private final Queue<Timeout>[] buckets;
+    
+    private final int mask;
+    
+    private final long startTime;
+    
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    
+    private final AtomicInteger size = new AtomicInteger();
+    
+    private long currentTick;
+    
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickDuration and wheelSize must be positive");
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, wheelSize - 1) << 1);
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.buckets = new Queue[capacity];
+        for (int i = 0; i < capacity; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.mask = capacity - 1;
+        this.startTime = System.nanoTime();
+    }
+    
+    /**
+     * Add a task which will be run after delay.
+     *
+     * @param task  task
+     * @param delay delay
+     * @param unit  time unit of delay
+     * @return timeout handle which can be cancelled
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startTime + unit.toNanos(Math.max(0, delay));
+        // round up, the task will never be run earlier than delay.
+        Timeout result = new Timeout(task, (deadline + tickNanos - 1) / tickNanos);
+        size.incrementAndGet();
+        pendingTimeouts.add(result);
+        return result;
+    }
+    
+    /**
+     * Advance the wheel to current time, run the expired tasks.
+     */
+    public synchronized void tick() {
+        long targetTick = (System.nanoTime() - startTime) / tickNanos;
+        transferPendingTimeouts();
+        while (currentTick < targetTick) {
+            currentTick++;
+            expireTimeouts(buckets[(int) (currentTick & mask)]);
+        }
+    }
+    
+    /**
+     * Get the number of timeouts which are not expired or cancelled.
+     *
+     * @return number of timeouts
+     */
+    public int size() {
+        return size.get();
+    }
+    
+    private void transferPendingTimeouts() {
+        Timeout each;
+        while (null != (each = pendingTimeouts.poll())) {
+            if (each.isCancelled()) {
+                continue;
+            }
+            long tick = Math.max(each.deadlineTick, currentTick + 1);
+            buckets[(int) (tick & mask)].add(each);
+        }
+    }
+    
+    private void expireTimeouts(Queue<Timeout> bucket) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout each = iterator.next();
+            if (each.isCancelled()) {
+                iterator.remove();
+            } else if (each.deadlineTick <= currentTick) {
+                iterator.remove();
+                each.expire();
+            }
+        }
+    }
+    
+    /**
+     * Handle of a task added into wheel.
+     */
+    public class Timeout {
+        
+        private static final int STATE_INIT = 0;
+        
+        private static final int STATE_CANCELLED = 1;
+        
+        private static final int STATE_EXPIRED = 2;
+        
+        private final Runnable task;
+        
+        private final long deadlineTick;
+        
+        private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+        
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+        
+        /**
+         * Cancel the timeout, the task will not be run if cancelled before expired.
+         *
+         * @return true if cancelled by this call
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(STATE_INIT, STATE_CANCELLED)) {
+                size.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+        
+        public boolean isCancelled() {
+            return STATE_CANCELLED == state.get();
+        }
+        
+        public boolean isExpired() {
+            return STATE_EXPIRED == state.get();
+        }
+        
+        private void expire() {
+            if (!state.compareAndSet(STATE_INIT, STATE_EXPIRED)) {
+                return;
+            }
+            size.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable e) {
+                LOGGER.error("Timing wheel task run failed.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import com.alibaba.nacos.common.utils.ThreadUtils;
+import org.slf4j.Logger;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Nacos sharded delay task execute engine.
+ *
+ * <p>Tasks are partitioned into shards by hash of task key. Each shard has its own merge lock, a due queue ordered by
+ * the time task should be processed and a processing thread, so that tasks of different shards will not block each
+ * other, and only due tasks will be polled every tick instead of scanning all tasks.
+ *
+ * @author nacos
+ */
+public class NacosShardedDelayTaskExecuteEngine extends AbstractNacosTaskExecuteEngine<AbstractDelayTask> {
+    
+    private final ScheduledExecutorService processingExecutor;
+    
+    private final DelayTaskShard[] shards;
+    
+    public NacosShardedDelayTaskExecuteEngine(String name) {
+        this(name, null);
+    }
+    
+    public NacosShardedDelayTaskExecuteEngine(String name, Logger logger) {
+        this(name, logger, 100L);
+    }
+    
+    public NacosShardedDelayTaskExecuteEngine(String name, Logger logger, long processInterval) {
+        this(name, ThreadUtils.getSuitableThreadCount(1), logger, processInterval);
+    }
+    
+    public NacosShardedDelayTaskExecuteEngine(String name, int shardCount, Logger logger, long processInterval) {
+        super(logger);
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount should be positive, but was " + shardCount);
+        }
+        shards = new DelayTaskShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new DelayTaskShard();
+        }
+        processingExecutor = ExecutorFactory.newScheduledExecutorService(shardCount, new NameThreadFactory(name));
+        for (int i = 0; i < shardCount; i++) {
+            processingExecutor.scheduleWithFixedDelay(new ProcessRunnable(i), processInterval, processInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @Override
+    public int size() {
+        int result = 0;
+        for (DelayTaskShard each : shards) {
+            result += each.tasks.size();
+        }
+        return result;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        for (DelayTaskShard each : shards) {
+            if (!each.tasks.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public AbstractDelayTask removeTask(Object key) {
+        DelayTaskShard shard = getShard(key);
+        shard.lock.lock();
+        try {
+            AbstractDelayTask task = shard.tasks.get(key);
+            if (null != task && task.shouldProcess()) {
+                shard.scheduledDueTimes.remove(key);
+                return shard.tasks.remove(key);
+            } else {
+                return null;
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+    
+    @Override
+    public Collection<Object> getAllTaskKeys() {
+        Collection<Object> keys = new HashSet<Object>();
+        for (DelayTaskShard each : shards) {
+            keys.addAll(each.tasks.keySet());
+        }
+        return keys;
+    }
+    
+    @Override
+    public void shutdown() throws NacosException {
+        processingExecutor.shutdown();
+        for (DelayTaskShard each : shards) {
+            each.lock.lock();
+            try {
+                each.tasks.clear();
+                each.scheduledDueTimes.clear();
+                each.dueQueue.clear();
+            } finally {
+                each.lock.unlock();
+            }
+        }
+    }
+    
+    @Override
+    public void addTask(Object key, AbstractDelayTask newTask) {
+        DelayTaskShard shard = getShard(key);
+        shard.lock.lock();
+        try {
+            AbstractDelayTask existTask = shard.tasks.get(key);
+            if (null != existTask) {
+                newTask.merge(existTask);
+                shard.mergeCount.incrementAndGet();
+            }
+            shard.tasks.put(key, newTask);
+            long dueTime = getDueTime(newTask);
+            Long scheduledDueTime = shard.scheduledDueTimes.get(key);
+            // Only schedule when the task becomes due earlier, a later due time will be rescheduled when polled.
+            if (null == scheduledDueTime || dueTime < scheduledDueTime) {
+                shard.schedule(key, dueTime);
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+    
+    /**
+     * process due tasks of all shards in execute engine.
+     */
+    protected void processTasks() {
+        for (int i = 0; i < shards.length; i++) {
+            processTasks(i);
+        }
+    }
+    
+    /**
+     * process due tasks of the shard in execute engine.
+     *
+     * @param shardIndex index of shard
+     */
+    protected void processTasks(int shardIndex) {
+        DelayTaskShard shard = shards[shardIndex];
+        Map<Object, AbstractDelayTask> dueTasks = shard.pollDueTasks(System.currentTimeMillis());
+        for (Map.Entry<Object, AbstractDelayTask> entry : dueTasks.entrySet()) {
+            Object taskKey = entry.getKey();
+            AbstractDelayTask task = entry.getValue();
+            NacosTaskProcessor processor = getProcessor(taskKey);
+            if (null == processor) {
+                getEngineLog().error("processor not found for task, so discarded. " + task);
+                continue;
+            }
+            try {
+                // ReAdd task if process failed
+                if (!processor.process(task)) {
+                    retryFailedTask(taskKey, task);
+                }
+            } catch (Throwable e) {
+                getEngineLog().error("Nacos task execute error : " + e.toString(), e);
+                retryFailedTask(taskKey, task);
+            }
+        }
+    }
+    
+    private void retryFailedTask(Object key, AbstractDelayTask task) {
+        task.setLastProcessTime(System.currentTimeMillis());
+        addTask(key, task);
+    }
+    
+    private DelayTaskShard getShard(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return shards[(hash & Integer.MAX_VALUE) % shards.length];
+    }
+    
+    private static long getDueTime(AbstractDelayTask task) {
+        return task.getLastProcessTime() + task.getTaskInterval();
+    }
+    
+    public int getShardCount() {
+        return shards.length;
+    }
+    
+    /**
+     * Get the count of tasks waiting in the shard.
+     *
+     * @param shardIndex index of shard
+     * @return count of waiting tasks
+     */
+    public int getShardSize(int shardIndex) {
+        return shards[shardIndex].tasks.size();
+    }
+    
+    /**
+     * Get the total count of merged tasks in the shard.
+     *
+     * @param shardIndex index of shard
+     * @return count of merged tasks
+     */
+    public long getShardMergeCount(int shardIndex) {
+        return shards[shardIndex].mergeCount.get();
+    }
+    
+    /**
+     * Get the max lag in milliseconds between due time and actual processing time of last processing in the shard.
+     *
+     * @param shardIndex index of shard
+     * @return processing lag in milliseconds
+     */
+    public long getShardProcessLag(int shardIndex) {
+        return shards[shardIndex].processLag;
+    }
+    
+    private static class DelayTaskShard {
+        
+        private final ReentrantLock lock = new ReentrantLock();
+        
+        private final Map<Object, AbstractDelayTask> tasks = new ConcurrentHashMap<Object, AbstractDelayTask>(32);
+        
+        /**
+         * The earliest due time of each task key in due queue, entries with other due time in queue are stale.
+         */
+        private final Map<Object, Long> scheduledDueTimes = new HashMap<Object, Long>();
+        
+        private final PriorityQueue<DueEntry> dueQueue = new PriorityQueue<DueEntry>();
+        
+        private final AtomicLong mergeCount = new AtomicLong();
+        
+        private volatile long processLag;
+        
+        private void schedule(Object key, long dueTime) {
+            scheduledDueTimes.put(key, dueTime);
+            dueQueue.offer(new DueEntry(key, dueTime));
+        }
+        
+        private Map<Object, AbstractDelayTask> pollDueTasks(long now) {
+            Map<Object, AbstractDelayTask> result = new LinkedHashMap<Object, AbstractDelayTask>();
+            long maxLag = 0L;
+            lock.lock();
+            try {
+                while (!dueQueue.isEmpty() && dueQueue.peek().dueTime <= now) {
+                    DueEntry entry = dueQueue.poll();
+                    Long scheduledDueTime = scheduledDueTimes.get(entry.key);
+                    if (null == scheduledDueTime || scheduledDueTime != entry.dueTime) {
+                        continue;
+                    }
+                    AbstractDelayTask task = tasks.get(entry.key);
+                    long actualDueTime = getDueTime(task);
+                    if (actualDueTime > now) {
+                        schedule(entry.key, actualDueTime);
+                        continue;
+                    }
+                    scheduledDueTimes.remove(entry.key);
+                    tasks.remove(entry.key);
+                    maxLag = Math.max(maxLag, now - actualDueTime);
+                    result.put(entry.key, task);
+                }
+            } finally {
+                lock.unlock();
+            }
+            processLag = maxLag;
+            return result;
+        }
+    }
+    
+    private static class DueEntry implements Comparable<DueEntry> {
+        
+        private final Object key;
+        
+        private final long dueTime;
+        
+        private DueEntry(Object key, long dueTime) {
+            this.key = key;
+            this.dueTime = dueTime;
+        }
+        
+        @Override
+        public int compareTo(DueEntry o) {
+            return Long.compare(dueTime, o.dueTime);
+        }
+    }
+    
+    private class ProcessRunnable implements Runnable {
+        
+        private final int shardIndex;
+        
+        private ProcessRunnable(int shardIndex) {
+            this.shardIndex = shardIndex;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                processTasks(shardIndex);
+            } catch (Throwable e) {
+                getEngineLog().error(e.toString(), e);
+            }
+        }
+    }
+}
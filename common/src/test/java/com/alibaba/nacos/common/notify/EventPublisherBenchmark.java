@@ -0,0 +1,112 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark of event publishers, publish events to publisher with one subscriber by 1, 4 and 16 threads.
+ *
+ * <p>Run {@link #main(String[])} in test classpath, it is not a unit test and will not be executed by surefire.
+ *
+ * @author nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPublisherBenchmark {
+    
+    private static final int BUFFER_SIZE = 16384;
+    
+    @Param({"default", "share", "ringBuffer"})
+    private String publisherType;
+    
+    private EventPublisher publisher;
+    
+    private final LongAdder received = new LongAdder();
+    
+    @Setup
+    public void setUp() {
+        Subscriber<BenchmarkEvent> subscriber = new Subscriber<BenchmarkEvent>() {
+            
+            @Override
+            public void onEvent(BenchmarkEvent event) {
+                received.increment();
+            }
+            
+            @Override
+            public Class<? extends Event> subscribeType() {
+                return BenchmarkEvent.class;
+            }
+        };
+        if ("share".equals(publisherType)) {
+            DefaultSharePublisher sharePublisher = new DefaultSharePublisher();
+            sharePublisher.init(SlowEvent.class, BUFFER_SIZE);
+            sharePublisher.addSubscriber(subscriber, BenchmarkEvent.class);
+            publisher = sharePublisher;
+        } else {
+            publisher = "ringBuffer".equals(publisherType) ? new RingBufferPublisher() : new DefaultPublisher();
+            publisher.init(BenchmarkEvent.class, BUFFER_SIZE);
+            publisher.addSubscriber(subscriber);
+        }
+    }
+    
+    @TearDown
+    public void tearDown() throws Exception {
+        publisher.shutdown();
+    }
+    
+    @Benchmark
+    public boolean publish() {
+        return publisher.publish(new BenchmarkEvent());
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] {1, 4, 16}) {
+            Options options = new OptionsBuilder().include(EventPublisherBenchmark.class.getSimpleName())
+                    .threads(threads).build();
+            new Runner(options).run();
+        }
+    }
+    
+    private static class BenchmarkEvent extends SlowEvent {
+        
+        private static final long serialVersionUID = -5083741289614573164L;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RingBufferPublisherTest {
+    
+    private RingBufferPublisher publisher;
+    
+    @Before
+    public void setUp() {
+        publisher = new RingBufferPublisher();
+        publisher.init(TestEvent.class, 128);
+    }
+    
+    @After
+    public void tearDown() {
+        publisher.shutdown();
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testPublishBeforeInit() {
+        new RingBufferPublisher().publish(new TestEvent());
+    }
+    
+    @Test
+    public void testPublishBeforeSubscribe() throws InterruptedException {
+        publisher.publish(new TestEvent());
+        publisher.publish(new TestEvent());
+        assertEquals(2, publisher.currentEventSize());
+        CountingSubscriber subscriber = new CountingSubscriber(2);
+        publisher.addSubscriber(subscriber);
+        assertTrue(subscriber.latch.await(3, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void testPublishToMultipleSubscribersInOrder() throws InterruptedException {
+        CountingSubscriber subscriber1 = new CountingSubscriber(100);
+        CountingSubscriber subscriber2 = new CountingSubscriber(100);
+        publisher.addSubscriber(subscriber1);
+        publisher.addSubscriber(subscriber2);
+        List<TestEvent> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            TestEvent event = new TestEvent();
+            events.add(event);
+            assertTrue(publisher.publish(event));
+        }
+        assertTrue(subscriber1.latch.await(3, TimeUnit.SECONDS));
+        assertTrue(subscriber2.latch.await(3, TimeUnit.SECONDS));
+        assertEquals(events, subscriber1.received);
+        assertEquals(events, subscriber2.received);
+        // handler moves its sequence after the whole batch is handled.
+        for (int i = 0; i < 100 && publisher.getSubscriberLag(subscriber1) > 0; i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(0L, publisher.getSubscriberLag(subscriber1));
+    }
+    
+    @Test
+    public void testPublishSynchronouslyWhenFull() throws InterruptedException {
+        publisher.shutdown();
+        publisher = new RingBufferPublisher();
+        publisher.init(TestEvent.class, 4);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final AtomicBoolean first = new AtomicBoolean(true);
+        CountingSubscriber subscriber = new CountingSubscriber(5) {
+            @Override
+            public void onEvent(TestEvent event) {
+                if (first.compareAndSet(true, false)) {
+                    try {
+                        blocker.await();
+                    } catch (InterruptedException ignored) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.onEvent(event);
+            }
+        };
+        publisher.addSubscriber(subscriber);
+        // first event blocks the handler, and the ring is full with 4 events.
+        for (int i = 0; i < 4; i++) {
+            publisher.publish(new TestEvent());
+        }
+        TimeUnit.MILLISECONDS.sleep(100L);
+        assertEquals(4L, publisher.getSubscriberLag(subscriber));
+        // the ring is full, so this event will be handled synchronously.
+        publisher.publish(new TestEvent());
+        assertEquals(1, subscriber.count.get());
+        blocker.countDown();
+        assertTrue(subscriber.latch.await(3, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void testRemoveSubscriber() throws InterruptedException {
+        CountingSubscriber subscriber = new CountingSubscriber(1);
+        publisher.addSubscriber(subscriber);
+        publisher.publish(new TestEvent());
+        assertTrue(subscriber.latch.await(3, TimeUnit.SECONDS));
+        publisher.removeSubscriber(subscriber);
+        publisher.publish(new TestEvent());
+        TimeUnit.MILLISECONDS.sleep(200L);
+        assertEquals(1, subscriber.count.get());
+        assertEquals(0L, publisher.currentEventSize());
+    }
+    
+    @Test
+    public void testHandlerKeepsRunningAfterSubscriberException() throws Exception {
+        final AtomicBoolean rejected = new AtomicBoolean(false);
+        CountingSubscriber subscriber = new CountingSubscriber(2) {
+            @Override
+            public Executor executor() {
+                // the executor of the first event is rejected.
+                if (rejected.compareAndSet(false, true)) {
+                    return command -> {
+                        throw new RejectedExecutionException("test");
+                    };
+                }
+                return null;
+            }
+        };
+        publisher.addSubscriber(subscriber);
+        List<TestEvent> events = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TestEvent event = new TestEvent();
+            events.add(event);
+            publisher.publish(event);
+        }
+        assertTrue(subscriber.latch.await(3, TimeUnit.SECONDS));
+        assertEquals(events.subList(1, 3), subscriber.received);
+        for (int i = 0; i < 100 && publisher.getSubscriberLag(subscriber) > 0; i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(0L, publisher.getSubscriberLag(subscriber));
+        // the handled events are not referenced by the ring any more.
+        Field field = RingBufferPublisher.class.getDeclaredField("entries");
+        field.setAccessible(true);
+        AtomicReferenceArray<?> entries = (AtomicReferenceArray<?>) field.get(publisher);
+        for (int i = 0; i < entries.length(); i++) {
+            assertNull(entries.get(i));
+        }
+    }
+    
+    private static class TestEvent extends Event {
+    
+    }
+    
+    private static class CountingSubscriber extends Subscriber<TestEvent> {
+        
+        private final CountDownLatch latch;
+        
+        private final AtomicInteger count = new AtomicInteger();
+        
+        private final List<TestEvent> received = Collections.synchronizedList(new ArrayList<>());
+        
+        private CountingSubscriber(int expectCount) {
+            latch = new CountDownLatch(expectCount);
+        }
+        
+        @Override
+        public void onEvent(TestEvent event) {
+            count.incrementAndGet();
+            received.add(event);
+            latch.countDown();
+        }
+        
+        @Override
+        public Class<? extends Event> subscribeType() {
+            return TestEvent.class;
+        }
+    }
+}
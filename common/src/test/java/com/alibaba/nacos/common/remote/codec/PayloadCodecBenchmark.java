@@ -0,0 +1,152 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.api.config.remote.response.ConfigQueryResponse;
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.NamingRemoteConstants;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.api.remote.PayloadRegistry;
+import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of payload codecs, encode and decode the typical requests and responses by each codec.
+ *
+ * <p>Run {@link #main(String[])} in test classpath, it is not a unit test and will not be executed by surefire.
+ *
+ * @author nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadCodecBenchmark {
+    
+    @Param({JsonPayloadCodec.NAME, SmilePayloadCodec.NAME})
+    private String codecName;
+    
+    private PayloadCodec codec;
+    
+    private Instance instance;
+    
+    private ConfigQueryResponse configQueryResponse;
+    
+    private NotifySubscriberRequest notifySubscriberRequest;
+    
+    private Payload instanceRequestPayload;
+    
+    private Payload configQueryResponsePayload;
+    
+    private Payload notifySubscriberRequestPayload;
+    
+    @Setup
+    public void setUp() {
+        PayloadRegistry.init();
+        codec = PayloadCodecFactory.getCodec(codecName);
+        instance = buildInstance(0);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append("nacos.config.key").append(i).append("=value").append(i).append('\n');
+        }
+        configQueryResponse = ConfigQueryResponse.buildSuccessResponse(content.toString());
+        configQueryResponse.setContentType("properties");
+        configQueryResponse.setMd5("0123456789abcdef0123456789abcdef");
+        configQueryResponse.setLastModified(System.currentTimeMillis());
+        ServiceInfo serviceInfo = new ServiceInfo("DEFAULT_GROUP@@nacos.test.service");
+        for (int i = 0; i < 50; i++) {
+            serviceInfo.addHost(buildInstance(i));
+        }
+        notifySubscriberRequest = NotifySubscriberRequest.buildSuccessResponse(serviceInfo);
+        instanceRequestPayload = GrpcUtils.convert(buildInstanceRequest(), codec);
+        configQueryResponsePayload = GrpcUtils.convert(configQueryResponse, codec);
+        notifySubscriberRequestPayload = GrpcUtils.convert(notifySubscriberRequest, codec);
+    }
+    
+    private Instance buildInstance(int index) {
+        Instance result = new Instance();
+        result.setIp("192.168.0." + index);
+        result.setPort(8080);
+        result.setWeight(1.0D);
+        result.setClusterName("DEFAULT");
+        result.setServiceName("DEFAULT_GROUP@@nacos.test.service");
+        result.getMetadata().put("version", "1.0.0");
+        result.getMetadata().put("zone", "zone-a");
+        return result;
+    }
+    
+    private InstanceRequest buildInstanceRequest() {
+        return new InstanceRequest("public", "nacos.test.service", "DEFAULT_GROUP",
+                NamingRemoteConstants.REGISTER_INSTANCE, instance);
+    }
+    
+    @Benchmark
+    public Payload encodeInstanceRequest() {
+        return GrpcUtils.convert(buildInstanceRequest(), codec);
+    }
+    
+    @Benchmark
+    public Object decodeInstanceRequest() {
+        return GrpcUtils.parse(instanceRequestPayload);
+    }
+    
+    @Benchmark
+    public Payload encodeConfigQueryResponse() {
+        return GrpcUtils.convert(configQueryResponse, codec);
+    }
+    
+    @Benchmark
+    public Object decodeConfigQueryResponse() {
+        return GrpcUtils.parse(configQueryResponsePayload);
+    }
+    
+    @Benchmark
+    public Payload encodeNotifySubscriberRequest() {
+        return GrpcUtils.convert(notifySubscriberRequest, codec);
+    }
+    
+    @Benchmark
+    public Object decodeNotifySubscriberRequest() {
+        return GrpcUtils.parse(notifySubscriberRequestPayload);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(PayloadCodecBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.remote.NamingRemoteConstants;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.remote.PayloadRegistry;
+import com.alibaba.nacos.api.remote.response.ServerCheckResponse;
+import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PayloadCodecTest {
+    
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        PayloadRegistry.init();
+    }
+    
+    @Test
+    public void testGetCodec() {
+        assertEquals(JsonPayloadCodec.NAME, PayloadCodecFactory.getCodec(null).getName());
+        assertEquals(JsonPayloadCodec.NAME, PayloadCodecFactory.getCodec("unknown").getName());
+        assertEquals(SmilePayloadCodec.NAME, PayloadCodecFactory.getCodec("SMILE").getName());
+        assertTrue(PayloadCodecFactory.isSupported(JsonPayloadCodec.NAME));
+        assertFalse(PayloadCodecFactory.isSupported("unknown"));
+        assertTrue(PayloadCodecFactory.getSupportedCodecs().contains(SmilePayloadCodec.NAME));
+    }
+    
+    @Test
+    public void testJsonRequestCompatible() {
+        Payload payload = GrpcUtils.convert(buildInstanceRequest());
+        assertEquals("", payload.getBody().getTypeUrl());
+        assertTrue(payload.getBody().getValue().toStringUtf8().startsWith("{"));
+        assertInstanceRequest((InstanceRequest) GrpcUtils.parse(payload));
+    }
+    
+    @Test
+    public void testSmileRequest() {
+        Payload payload = GrpcUtils
+                .convert(buildInstanceRequest(), PayloadCodecFactory.getCodec(SmilePayloadCodec.NAME));
+        assertEquals(SmilePayloadCodec.NAME, payload.getBody().getTypeUrl());
+        assertInstanceRequest((InstanceRequest) GrpcUtils.parse(payload));
+    }
+    
+    @Test
+    public void testSmileResponse() {
+        ServerCheckResponse response = new ServerCheckResponse("connectionId");
+        response.setSupportedPayloadCodecs(PayloadCodecFactory.getSupportedCodecs());
+        Payload payload = GrpcUtils.convert(response, PayloadCodecFactory.getCodec(SmilePayloadCodec.NAME));
+        ServerCheckResponse actual = (ServerCheckResponse) GrpcUtils.parse(payload);
+        assertEquals("connectionId", actual.getConnectionId());
+        assertEquals(PayloadCodecFactory.getSupportedCodecs(), actual.getSupportedPayloadCodecs());
+    }
+    
+    private InstanceRequest buildInstanceRequest() {
+        Instance instance = new Instance();
+        instance.setIp("1.1.1.1");
+        instance.setPort(8848);
+        instance.getMetadata().put("key", "value");
+        InstanceRequest result = new InstanceRequest("N", "S", "G", NamingRemoteConstants.REGISTER_INSTANCE,
+                instance);
+        result.putHeader("header", "value");
+        return result;
+    }
+    
+    private void assertInstanceRequest(InstanceRequest actual) {
+        assertEquals("N", actual.getNamespace());
+        assertEquals("S", actual.getServiceName());
+        assertEquals("G", actual.getGroupName());
+        assertEquals(NamingRemoteConstants.REGISTER_INSTANCE, actual.getType());
+        assertEquals("1.1.1.1", actual.getInstance().getIp());
+        assertEquals("value", actual.getInstance().getMetadata().get("key"));
+        assertEquals("value", actual.getHeader("header"));
+    }
+}
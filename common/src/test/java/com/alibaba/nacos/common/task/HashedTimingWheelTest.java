@@ -0,0 +1,78 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.task;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HashedTimingWheelTest {
+    
+    private HashedTimingWheel timingWheel;
+    
+    private AtomicInteger count;
+    
+    @Before
+    public void setUp() {
+        timingWheel = new HashedTimingWheel(10, TimeUnit.MILLISECONDS, 8);
+        count = new AtomicInteger();
+    }
+    
+    @Test
+    public void testExpire() throws InterruptedException {
+        final HashedTimingWheel.Timeout timeout = timingWheel
+                .newTimeout(count::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        timingWheel.tick();
+        assertEquals(0, count.get());
+        assertEquals(1, timingWheel.size());
+        TimeUnit.MILLISECONDS.sleep(50);
+        timingWheel.tick();
+        assertEquals(1, count.get());
+        assertTrue(timeout.isExpired());
+        assertEquals(0, timingWheel.size());
+    }
+    
+    @Test
+    public void testExpireAfterRounds() throws InterruptedException {
+        timingWheel.newTimeout(count::incrementAndGet, 150, TimeUnit.MILLISECONDS);
+        timingWheel.tick();
+        TimeUnit.MILLISECONDS.sleep(100);
+        timingWheel.tick();
+        assertEquals(0, count.get());
+        TimeUnit.MILLISECONDS.sleep(70);
+        timingWheel.tick();
+        assertEquals(1, count.get());
+    }
+    
+    @Test
+    public void testCancel() throws InterruptedException {
+        HashedTimingWheel.Timeout timeout = timingWheel.newTimeout(count::incrementAndGet, 10, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(0, timingWheel.size());
+        TimeUnit.MILLISECONDS.sleep(30);
+        timingWheel.tick();
+        assertEquals(0, count.get());
+        assertFalse(timeout.isExpired());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.internal.verification.Times;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NacosShardedDelayTaskExecuteEngineTest {
+    
+    private NacosShardedDelayTaskExecuteEngine executeEngine;
+    
+    @Mock
+    private NacosTaskProcessor taskProcessor;
+    
+    @Mock
+    private NacosTaskProcessor testTaskProcessor;
+    
+    private AbstractDelayTask abstractTask;
+    
+    @Before
+    public void setUp() throws Exception {
+        executeEngine = new NacosShardedDelayTaskExecuteEngine(NacosShardedDelayTaskExecuteEngineTest.class.getName(),
+                4, null, 100L);
+        executeEngine.setDefaultTaskProcessor(taskProcessor);
+        abstractTask = new TestDelayTask();
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        executeEngine.shutdown();
+    }
+    
+    @Test
+    public void testSize() {
+        assertEquals(0, executeEngine.size());
+        executeEngine.addTask("test", abstractTask);
+        executeEngine.addTask("test2", new TestDelayTask());
+        assertEquals(2, executeEngine.size());
+        executeEngine.removeTask("test");
+        assertEquals(1, executeEngine.size());
+    }
+    
+    @Test
+    public void testIsEmpty() {
+        assertTrue(executeEngine.isEmpty());
+        executeEngine.addTask("test", abstractTask);
+        assertFalse(executeEngine.isEmpty());
+        executeEngine.removeTask("test");
+        assertTrue(executeEngine.isEmpty());
+    }
+    
+    @Test
+    public void testRemoveTaskNotDue() {
+        abstractTask.setTaskInterval(10000L);
+        abstractTask.setLastProcessTime(System.currentTimeMillis());
+        executeEngine.addTask("test", abstractTask);
+        assertNull(executeEngine.removeTask("test"));
+        assertEquals(1, executeEngine.size());
+    }
+    
+    @Test
+    public void testAddProcessor() throws InterruptedException {
+        when(testTaskProcessor.process(abstractTask)).thenReturn(true);
+        executeEngine.addProcessor("test", testTaskProcessor);
+        executeEngine.addTask("test", abstractTask);
+        TimeUnit.MILLISECONDS.sleep(200);
+        verify(testTaskProcessor).process(abstractTask);
+        verify(taskProcessor, never()).process(abstractTask);
+    }
+    
+    @Test
+    public void testRetryTaskAfterFail() throws InterruptedException {
+        when(taskProcessor.process(abstractTask)).thenReturn(false, true);
+        executeEngine.addTask("test", abstractTask);
+        TimeUnit.MILLISECONDS.sleep(300);
+        verify(taskProcessor, new Times(2)).process(abstractTask);
+    }
+    
+    @Test
+    public void testMergeTask() {
+        executeEngine.addTask("test", abstractTask);
+        TestDelayTask newTask = new TestDelayTask();
+        executeEngine.addTask("test", newTask);
+        assertEquals(1, executeEngine.size());
+        assertEquals(1L, newTask.mergedCount);
+        long totalMergeCount = 0;
+        for (int i = 0; i < executeEngine.getShardCount(); i++) {
+            totalMergeCount += executeEngine.getShardMergeCount(i);
+        }
+        assertEquals(1L, totalMergeCount);
+    }
+    
+    @Test
+    public void testProcessOnlyDueTasks() {
+        when(taskProcessor.process(any())).thenReturn(true);
+        TestDelayTask notDueTask = new TestDelayTask();
+        notDueTask.setTaskInterval(10000L);
+        notDueTask.setLastProcessTime(System.currentTimeMillis());
+        executeEngine.addTask("notDue", notDueTask);
+        executeEngine.addTask("due", abstractTask);
+        executeEngine.processTasks();
+        verify(taskProcessor).process(abstractTask);
+        verify(taskProcessor, never()).process(notDueTask);
+        assertEquals(1, executeEngine.size());
+    }
+    
+    @Test
+    public void testRescheduleWhenMergedTaskDelayed() {
+        executeEngine.addTask("test", abstractTask);
+        TestDelayTask delayedTask = new TestDelayTask();
+        delayedTask.setTaskInterval(10000L);
+        delayedTask.setLastProcessTime(System.currentTimeMillis());
+        executeEngine.addTask("test", delayedTask);
+        executeEngine.processTasks();
+        verify(taskProcessor, never()).process(any());
+        assertEquals(1, executeEngine.size());
+    }
+    
+    private static class TestDelayTask extends AbstractDelayTask {
+        
+        private long mergedCount;
+        
+        @Override
+        public void merge(AbstractDelayTask task) {
+            mergedCount++;
+        }
+    }
+}
@@ -20,8 +20,10 @@ import com.alibaba.nacos.config.server.constant.Constants;
 import com.alibaba.nacos.config.server.constant.CounterMode;
 import com.alibaba.nacos.config.server.model.ConfigInfo;
 import com.alibaba.nacos.config.server.model.capacity.Capacity;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
 import com.alibaba.nacos.config.server.service.capacity.CapacityService;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import com.alibaba.nacos.common.utils.StringUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -75,7 +77,7 @@ public class CapacityManagementAspect {
         if (StringUtils.isBlank(betaIps)) {
             if (StringUtils.isBlank(tag)) {
                 // do capacity management limitation check for writing or updating config_info table.
-                if (persistService.findConfigInfo(dataId, group, tenant) == null) {
+                if (!isConfigExist(dataId, group, tenant)) {
                     // Write operation.
                     return do4Insert(pjp, request, response, group, tenant, content);
                 }
@@ -152,6 +154,12 @@ public class CapacityManagementAspect {
             return pjp.proceed();
         }
         LOGGER.info("[capacityManagement] aroundDeleteConfig");
+        if (capacityService.isUsageInMemory()) {
+            if (!isConfigExist(dataId, group, tenant)) {
+                return pjp.proceed();
+            }
+            return do4Delete(pjp, response, group, tenant, new ConfigInfo(dataId, group, tenant, null, null));
+        }
         ConfigInfo configInfo = persistService.findConfigInfo(dataId, group, tenant);
         if (configInfo == null) {
             return pjp.proceed();
@@ -159,6 +167,17 @@ public class CapacityManagementAspect {
         return do4Delete(pjp, response, group, tenant, configInfo);
     }
     
+    /**
+     * Whether the config exists. If the usage is counted in memory, the local config cache is checked instead of the
+     * database, the difference caused by the dump delay will be corrected by the correct usage job.
+     */
+    private boolean isConfigExist(String dataId, String group, String tenant) {
+        if (capacityService.isUsageInMemory()) {
+            return !Constants.NULL.equals(ConfigCacheService.getContentMd5(GroupKey2.getKey(dataId, group, tenant)));
+        }
+        return persistService.findConfigInfo(dataId, group, tenant) != null;
+    }
+    
     /**
      * Delete Operation.
      *
@@ -318,6 +337,9 @@ public class CapacityManagementAspect {
     }
     
     private Capacity getCapacity(String group, String tenant, boolean hasTenant) {
+        if (capacityService.isUsageInMemory()) {
+            return capacityService.getCachedCapacity(group, hasTenant ? tenant : null);
+        }
         Capacity capacity;
         if (hasTenant) {
             capacity = capacityService.getTenantCapacity(tenant);
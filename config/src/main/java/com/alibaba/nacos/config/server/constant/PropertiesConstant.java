@@ -59,4 +59,14 @@ public class PropertiesConstant {
     
     public static final String EMBEDDED_STORAGE = "embeddedStorage";
     
+    public static final String CONTENT_CACHE_MAX_BYTES = "contentCacheMaxBytes";
+    
+    public static final String PUSH_BATCH_WINDOW_MS = "pushBatchWindowMs";
+    
+    public static final String EMBEDDED_WRITE_BATCH_WINDOW_MS = "embeddedWriteBatchWindowMs";
+    
+    public static final String EMBEDDED_WRITE_BATCH_MAX_SIZE = "embeddedWriteBatchMaxSize";
+    
+    public static final String CAPACITY_USAGE_FLUSH_MS = "capacityUsageFlushMs";
+    
 }
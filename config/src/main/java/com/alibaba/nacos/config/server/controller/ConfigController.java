@@ -18,6 +18,7 @@ package com.alibaba.nacos.config.server.controller;
 
 import com.alibaba.nacos.api.config.ConfigType;
 import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.exception.runtime.NacosRuntimeException;
 import com.alibaba.nacos.auth.annotation.Secured;
 import com.alibaba.nacos.auth.common.ActionTypes;
 import com.alibaba.nacos.common.model.RestResult;
@@ -41,8 +42,10 @@ import com.alibaba.nacos.config.server.model.event.ConfigDataChangeEvent;
 import com.alibaba.nacos.config.server.result.code.ResultCodeEnum;
 import com.alibaba.nacos.config.server.service.AggrWhitelist;
 import com.alibaba.nacos.config.server.service.ConfigChangePublisher;
+import com.alibaba.nacos.config.server.service.ConfigContentIndex;
 import com.alibaba.nacos.config.server.service.ConfigSubService;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.config.server.service.sql.EmbeddedStorageContextUtils;
 import com.alibaba.nacos.config.server.service.trace.ConfigTraceService;
 import com.alibaba.nacos.config.server.utils.GroupKey;
 import com.alibaba.nacos.config.server.utils.MD5Util;
@@ -51,14 +54,13 @@ import com.alibaba.nacos.config.server.utils.RequestUtil;
 import com.alibaba.nacos.config.server.utils.TimeUtils;
 import com.alibaba.nacos.config.server.utils.YamlParserUtil;
 import com.alibaba.nacos.config.server.utils.ZipUtils;
+import com.alibaba.nacos.consistency.cp.ReadConsistency;
 import com.alibaba.nacos.sys.utils.InetUtils;
 import com.alibaba.nacos.common.utils.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -72,18 +74,25 @@ import org.springframework.web.multipart.MultipartFile;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
 import java.io.IOException;
 import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Special controller for soft load client to publish data.
@@ -102,6 +111,12 @@ public class ConfigController {
     
     private static final String EXPORT_CONFIG_FILE_NAME_DATE_FORMAT = "yyyyMMddHHmmss";
     
+    private static final String IMPORT_TEMP_FILE_PREFIX = "nacos_config_import_";
+    
+    private static final int EXPORT_PAGE_SIZE = 100;
+    
+    private static final int IMPORT_BATCH_SIZE = 100;
+    
     @Autowired
     private ConfigServletInner inner;
     
@@ -111,6 +126,9 @@ public class ConfigController {
     @Autowired
     private ConfigSubService configSubService;
     
+    @Autowired
+    private ConfigContentIndex contentIndex;
+    
     /**
      * Adds or updates non-aggregated data.
      *
@@ -359,18 +377,25 @@ public class ConfigController {
         if (StringUtils.isNotBlank(configTags)) {
             configAdvanceInfo.put("config_tags", configTags);
         }
+        // console listing tolerates slight staleness.
+        EmbeddedStorageContextUtils.putReadConsistency(ReadConsistency.FOLLOWER);
         try {
             return persistService.findConfigInfo4Page(pageNo, pageSize, dataId, group, tenant, configAdvanceInfo);
         } catch (Exception e) {
             String errorMsg = "serialize page error, dataId=" + dataId + ", group=" + group;
             LOGGER.error(errorMsg, e);
             throw new RuntimeException(errorMsg, e);
+        } finally {
+            EmbeddedStorageContextUtils.cleanReadConsistency();
         }
     }
     
     /**
      * Fuzzy query configuration information. Fuzzy queries based only on content are not allowed, that is, both dataId
      * and group are NULL, but content is not NULL. In this case, all configurations are returned.
+     *
+     * <p>The content query is narrowed down by {@link ConfigContentIndex} when it is ready, only the candidates are
+     * verified by database.
      */
     @GetMapping(params = "search=blur")
     @Secured(action = ActionTypes.READ, parser = ConfigResourceParser.class)
@@ -378,7 +403,8 @@ public class ConfigController {
             @RequestParam("group") String group, @RequestParam(value = "appName", required = false) String appName,
             @RequestParam(value = "tenant", required = false, defaultValue = StringUtils.EMPTY) String tenant,
             @RequestParam(value = "config_tags", required = false) String configTags,
-            @RequestParam("pageNo") int pageNo, @RequestParam("pageSize") int pageSize) {
+            @RequestParam(value = "content", required = false) String content, @RequestParam("pageNo") int pageNo,
+            @RequestParam("pageSize") int pageSize) {
         Map<String, Object> configAdvanceInfo = new HashMap<String, Object>(50);
         if (StringUtils.isNotBlank(appName)) {
             configAdvanceInfo.put("appName", appName);
@@ -386,12 +412,28 @@ public class ConfigController {
         if (StringUtils.isNotBlank(configTags)) {
             configAdvanceInfo.put("config_tags", configTags);
         }
+        if (StringUtils.isNotBlank(content)) {
+            configAdvanceInfo.put("content", content);
+            long[] contentIds = contentIndex.search(content);
+            if (contentIds != null && contentIds.length == 0) {
+                Page<ConfigInfo> page = new Page<ConfigInfo>();
+                page.setPageNumber(pageNo);
+                return page;
+            }
+            if (contentIds != null) {
+                configAdvanceInfo.put("content_ids", contentIds);
+            }
+        }
+        // console listing tolerates slight staleness.
+        EmbeddedStorageContextUtils.putReadConsistency(ReadConsistency.FOLLOWER);
         try {
             return persistService.findConfigInfoLike4Page(pageNo, pageSize, dataId, group, tenant, configAdvanceInfo);
         } catch (Exception e) {
             String errorMsg = "serialize page error, dataId=" + dataId + ", group=" + group;
             LOGGER.error(errorMsg, e);
             throw new RuntimeException(errorMsg, e);
+        } finally {
+            EmbeddedStorageContextUtils.cleanReadConsistency();
         }
     }
     
@@ -444,104 +486,161 @@ public class ConfigController {
     /**
      * Execute export config operation.
      *
-     * @param dataId  dataId string value.
-     * @param group   group string value.
-     * @param appName appName string value.
-     * @param tenant  tenant string value.
-     * @param ids     id list value.
-     * @return ResponseEntity.
+     * @param dataId   dataId string value.
+     * @param group    group string value.
+     * @param appName  appName string value.
+     * @param tenant   tenant string value.
+     * @param ids      id list value.
+     * @param response http servlet response.
+     * @throws IOException IOException.
      */
     @GetMapping(params = "export=true")
     @Secured(action = ActionTypes.READ, parser = ConfigResourceParser.class)
-    public ResponseEntity<byte[]> exportConfig(@RequestParam(value = "dataId", required = false) String dataId,
+    public void exportConfig(@RequestParam(value = "dataId", required = false) String dataId,
             @RequestParam(value = "group", required = false) String group,
             @RequestParam(value = "appName", required = false) String appName,
             @RequestParam(value = "tenant", required = false, defaultValue = StringUtils.EMPTY) String tenant,
-            @RequestParam(value = "ids", required = false) List<Long> ids) {
+            @RequestParam(value = "ids", required = false) List<Long> ids, HttpServletResponse response)
+            throws IOException {
         ids.removeAll(Collections.singleton(null));
         tenant = NamespaceUtil.processNamespaceParameter(tenant);
-        List<ConfigAllInfo> dataList = persistService.findAllConfigInfo4Export(dataId, group, tenant, appName, ids);
-        List<ZipUtils.ZipItem> zipItemList = new ArrayList<>();
+        ExportCursor cursor = new ExportCursor(dataId, group, tenant, appName, ids);
         StringBuilder metaData = null;
-        for (ConfigInfo ci : dataList) {
-            if (StringUtils.isNotBlank(ci.getAppName())) {
-                // Handle appName
-                if (metaData == null) {
-                    metaData = new StringBuilder();
-                }
-                String metaDataId = ci.getDataId();
-                if (metaDataId.contains(".")) {
-                    metaDataId = metaDataId.substring(0, metaDataId.lastIndexOf(".")) + "~" + metaDataId
-                            .substring(metaDataId.lastIndexOf(".") + 1);
+        try (ZipOutputStream zipOut = startExport(response)) {
+            for (ConfigAllInfo ci = cursor.next(); ci != null; ci = cursor.next()) {
+                if (StringUtils.isNotBlank(ci.getAppName())) {
+                    // Handle appName
+                    if (metaData == null) {
+                        metaData = new StringBuilder();
+                    }
+                    String metaDataId = ci.getDataId();
+                    if (metaDataId.contains(".")) {
+                        metaDataId = metaDataId.substring(0, metaDataId.lastIndexOf(".")) + "~" + metaDataId
+                                .substring(metaDataId.lastIndexOf(".") + 1);
+                    }
+                    metaData.append(ci.getGroup()).append('.').append(metaDataId).append(".app=")
+                            // Fixed use of "\r\n" here
+                            .append(ci.getAppName()).append("\r\n");
                 }
-                metaData.append(ci.getGroup()).append('.').append(metaDataId).append(".app=")
-                        // Fixed use of "\r\n" here
-                        .append(ci.getAppName()).append("\r\n");
+                String itemName = ci.getGroup() + Constants.CONFIG_EXPORT_ITEM_FILE_SEPARATOR + ci.getDataId();
+                ZipUtils.zip(zipOut, new ZipUtils.ZipItem(itemName, ci.getContent()));
+            }
+            if (metaData != null) {
+                ZipUtils.zip(zipOut, new ZipUtils.ZipItem(Constants.CONFIG_EXPORT_METADATA, metaData.toString()));
             }
-            String itemName = ci.getGroup() + Constants.CONFIG_EXPORT_ITEM_FILE_SEPARATOR + ci.getDataId();
-            zipItemList.add(new ZipUtils.ZipItem(itemName, ci.getContent()));
-        }
-        if (metaData != null) {
-            zipItemList.add(new ZipUtils.ZipItem(Constants.CONFIG_EXPORT_METADATA, metaData.toString()));
         }
-        
-        HttpHeaders headers = new HttpHeaders();
-        String fileName =
-                EXPORT_CONFIG_FILE_NAME + DateFormatUtils.format(new Date(), EXPORT_CONFIG_FILE_NAME_DATE_FORMAT)
-                        + EXPORT_CONFIG_FILE_NAME_EXT;
-        headers.add("Content-Disposition", "attachment;filename=" + fileName);
-        return new ResponseEntity<byte[]>(ZipUtils.zip(zipItemList), headers, HttpStatus.OK);
     }
     
     /**
      * new version export config add metadata.yml file record config metadata.
      *
-     * @param dataId  dataId string value.
-     * @param group   group string value.
-     * @param appName appName string value.
-     * @param tenant  tenant string value.
-     * @param ids     id list value.
-     * @return ResponseEntity.
+     * @param dataId   dataId string value.
+     * @param group    group string value.
+     * @param appName  appName string value.
+     * @param tenant   tenant string value.
+     * @param ids      id list value.
+     * @param response http servlet response.
+     * @throws IOException IOException.
      */
     @GetMapping(params = "exportV2=true")
     @Secured(action = ActionTypes.READ, parser = ConfigResourceParser.class)
-    public ResponseEntity<byte[]> exportConfigV2(@RequestParam(value = "dataId", required = false) String dataId,
+    public void exportConfigV2(@RequestParam(value = "dataId", required = false) String dataId,
             @RequestParam(value = "group", required = false) String group,
             @RequestParam(value = "appName", required = false) String appName,
             @RequestParam(value = "tenant", required = false, defaultValue = StringUtils.EMPTY) String tenant,
-            @RequestParam(value = "ids", required = false) List<Long> ids) {
+            @RequestParam(value = "ids", required = false) List<Long> ids, HttpServletResponse response)
+            throws IOException {
         ids.removeAll(Collections.singleton(null));
         tenant = NamespaceUtil.processNamespaceParameter(tenant);
-        List<ConfigAllInfo> dataList = persistService.findAllConfigInfo4Export(dataId, group, tenant, appName, ids);
-        List<ZipUtils.ZipItem> zipItemList = new ArrayList<>();
+        ExportCursor cursor = new ExportCursor(dataId, group, tenant, appName, ids);
         List<ConfigMetadata.ConfigExportItem> configMetadataItems = new ArrayList<>();
-        for (ConfigAllInfo ci : dataList) {
-            ConfigMetadata.ConfigExportItem configMetadataItem = new ConfigMetadata.ConfigExportItem();
-            configMetadataItem.setAppName(ci.getAppName());
-            configMetadataItem.setDataId(ci.getDataId());
-            configMetadataItem.setDesc(ci.getDesc());
-            configMetadataItem.setGroup(ci.getGroup());
-            configMetadataItem.setType(ci.getType());
-            configMetadataItems.add(configMetadataItem);
-            String itemName = ci.getGroup() + Constants.CONFIG_EXPORT_ITEM_FILE_SEPARATOR + ci.getDataId();
-            zipItemList.add(new ZipUtils.ZipItem(itemName, ci.getContent()));
-        }
-        ConfigMetadata configMetadata = new ConfigMetadata();
-        configMetadata.setMetadata(configMetadataItems);
-    
-        zipItemList.add(new ZipUtils.ZipItem(Constants.CONFIG_EXPORT_METADATA_NEW,
-                YamlParserUtil.dumpObject(configMetadata)));
-        HttpHeaders headers = new HttpHeaders();
+        try (ZipOutputStream zipOut = startExport(response)) {
+            for (ConfigAllInfo ci = cursor.next(); ci != null; ci = cursor.next()) {
+                ConfigMetadata.ConfigExportItem configMetadataItem = new ConfigMetadata.ConfigExportItem();
+                configMetadataItem.setAppName(ci.getAppName());
+                configMetadataItem.setDataId(ci.getDataId());
+                configMetadataItem.setDesc(ci.getDesc());
+                configMetadataItem.setGroup(ci.getGroup());
+                configMetadataItem.setType(ci.getType());
+                configMetadataItems.add(configMetadataItem);
+                String itemName = ci.getGroup() + Constants.CONFIG_EXPORT_ITEM_FILE_SEPARATOR + ci.getDataId();
+                ZipUtils.zip(zipOut, new ZipUtils.ZipItem(itemName, ci.getContent()));
+            }
+            ConfigMetadata configMetadata = new ConfigMetadata();
+            configMetadata.setMetadata(configMetadataItems);
+            ZipUtils.zip(zipOut, new ZipUtils.ZipItem(Constants.CONFIG_EXPORT_METADATA_NEW,
+                    YamlParserUtil.dumpObject(configMetadata)));
+        }
+    }
+    
+    private ZipOutputStream startExport(HttpServletResponse response) throws IOException {
         String fileName =
                 EXPORT_CONFIG_FILE_NAME + DateFormatUtils.format(new Date(), EXPORT_CONFIG_FILE_NAME_DATE_FORMAT)
                         + EXPORT_CONFIG_FILE_NAME_EXT;
-        headers.add("Content-Disposition", "attachment;filename=" + fileName);
-        return new ResponseEntity<>(ZipUtils.zip(zipItemList), headers, HttpStatus.OK);
+        response.setHeader("Content-Disposition", "attachment;filename=" + fileName);
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        return new ZipOutputStream(response.getOutputStream());
+    }
+    
+    /**
+     * Cursor of configs to export, which fetches configs page by page to keep memory usage constant.
+     */
+    private class ExportCursor {
+        
+        private final String dataId;
+        
+        private final String group;
+        
+        private final String tenant;
+        
+        private final String appName;
+        
+        private final List<Long> ids;
+        
+        private long lastMaxId;
+        
+        private Iterator<ConfigAllInfo> currentPage = Collections.emptyIterator();
+        
+        private boolean lastPage;
+        
+        ExportCursor(String dataId, String group, String tenant, String appName, List<Long> ids) {
+            this.dataId = dataId;
+            this.group = group;
+            this.tenant = tenant;
+            this.appName = appName;
+            this.ids = ids;
+        }
+        
+        /**
+         * Get next config to export.
+         *
+         * @return next config, {@code null} if all configs exported
+         */
+        ConfigAllInfo next() {
+            if (!currentPage.hasNext() && !lastPage) {
+                Page<ConfigAllInfo> page = persistService
+                        .findAllConfigInfo4ExportFragment(dataId, group, tenant, appName, ids, lastMaxId,
+                                EXPORT_PAGE_SIZE);
+                List<ConfigAllInfo> pageItems = null == page ? null : page.getPageItems();
+                if (CollectionUtils.isEmpty(pageItems)) {
+                    lastPage = true;
+                    return null;
+                }
+                lastPage = pageItems.size() < EXPORT_PAGE_SIZE;
+                lastMaxId = pageItems.get(pageItems.size() - 1).getId();
+                currentPage = pageItems.iterator();
+            }
+            return currentPage.hasNext() ? currentPage.next() : null;
+        }
     }
     
     /**
      * Execute import and publish config operation.
      *
+     * <p>The uploaded file is read entry by entry, and the configs are published in batches of
+     * {@link #IMPORT_BATCH_SIZE}. The whole file is checked before the first batch, so a broken file imports nothing.
+     * But if persisting a batch fails, the batches published before it are kept.
+     *
      * @param request   http servlet request .
      * @param srcUser   src user string value.
      * @param namespace namespace string value.
@@ -568,47 +667,52 @@ public class ConfigController {
             failedData.put("succCount", 0);
             return RestResultUtils.buildResult(ResultCodeEnum.NAMESPACE_NOT_EXIST, failedData);
         }
-        List<ConfigAllInfo> configInfoList = new ArrayList<>();
         List<Map<String, String>> unrecognizedList = new ArrayList<>();
+        ImportBatch importBatch = new ImportBatch(srcUser, RequestUtil.getRemoteIp(request),
+                RequestUtil.getAppName(request), TimeUtils.getCurrentTime(), policy);
+        File tempFile = null;
         try {
-            ZipUtils.UnZipResult unziped = ZipUtils.unzip(file.getBytes());
-            ZipUtils.ZipItem metaDataZipItem = unziped.getMetaDataItem();
-            RestResult<Map<String, Object>> errorResult;
-            if (metaDataZipItem != null && Constants.CONFIG_EXPORT_METADATA_NEW.equals(metaDataZipItem.getItemName())) {
-                // new export
-                errorResult = parseImportDataV2(unziped, configInfoList,
-                        unrecognizedList, namespace);
-            } else {
-                errorResult = parseImportData(unziped, configInfoList, unrecognizedList,
-                        namespace);
-            }
-            if (errorResult != null) {
-                return errorResult;
+            // Zip file is read by random access, which requires the upload to be a file.
+            tempFile = File.createTempFile(IMPORT_TEMP_FILE_PREFIX, EXPORT_CONFIG_FILE_NAME_EXT);
+            file.transferTo(tempFile);
+            try (ZipFile zipFile = new ZipFile(tempFile, StandardCharsets.UTF_8)) {
+                ZipUtils.verify(zipFile);
+                ZipUtils.ZipItem metaDataZipItem = ZipUtils.readMetaDataItem(zipFile);
+                RestResult<Map<String, Object>> errorResult;
+                if (metaDataZipItem != null && Constants.CONFIG_EXPORT_METADATA_NEW
+                        .equals(metaDataZipItem.getItemName())) {
+                    // new export
+                    errorResult = parseImportDataV2(zipFile, metaDataZipItem, importBatch, unrecognizedList,
+                            namespace);
+                } else {
+                    errorResult = parseImportData(zipFile, metaDataZipItem, importBatch, unrecognizedList,
+                            namespace);
+                }
+                if (errorResult != null) {
+                    return errorResult;
+                }
             }
         } catch (IOException e) {
             failedData.put("succCount", 0);
             LOGGER.error("parsing data failed", e);
             return RestResultUtils.buildResult(ResultCodeEnum.PARSING_DATA_FAILED, failedData);
+        } catch (NacosRuntimeException e) {
+            if (e.getCause() instanceof NacosException) {
+                throw (NacosException) e.getCause();
+            }
+            throw e;
+        } finally {
+            if (null != tempFile && tempFile.exists() && !tempFile.delete()) {
+                LOGGER.warn("failed to delete temp file of import: {}", tempFile.getAbsolutePath());
+            }
         }
+        importBatch.flush();
         
-        if (CollectionUtils.isEmpty(configInfoList)) {
+        if (importBatch.getTotalCount() == 0) {
             failedData.put("succCount", 0);
             return RestResultUtils.buildResult(ResultCodeEnum.DATA_EMPTY, failedData);
         }
-        final String srcIp = RequestUtil.getRemoteIp(request);
-        String requestIpApp = RequestUtil.getAppName(request);
-        final Timestamp time = TimeUtils.getCurrentTime();
-        Map<String, Object> saveResult = persistService
-                .batchInsertOrUpdate(configInfoList, srcUser, srcIp, null, time, false, policy);
-        for (ConfigInfo configInfo : configInfoList) {
-            ConfigChangePublisher.notifyConfigChange(
-                    new ConfigDataChangeEvent(false, configInfo.getDataId(), configInfo.getGroup(),
-                            configInfo.getTenant(), time.getTime()));
-            ConfigTraceService
-                    .logPersistenceEvent(configInfo.getDataId(), configInfo.getGroup(), configInfo.getTenant(),
-                            requestIpApp, time.getTime(), InetUtils.getSelfIP(),
-                            ConfigTraceService.PERSISTENCE_EVENT_PUB, configInfo.getContent());
-        }
+        Map<String, Object> saveResult = importBatch.getResult();
         // unrecognizedCount
         if (!unrecognizedList.isEmpty()) {
             saveResult.put("unrecognizedCount", unrecognizedList.size());
@@ -617,19 +721,141 @@ public class ConfigController {
         return RestResultUtils.success("导入成功", saveResult);
     }
     
+    /**
+     * Batch of imported configs, configs are published when batch is full, and the results are merged.
+     */
+    private class ImportBatch {
+        
+        private static final String SUCC_COUNT = "succCount";
+        
+        private static final String SKIP_COUNT = "skipCount";
+        
+        private static final String FAIL_DATA = "failData";
+        
+        private static final String SKIP_DATA = "skipData";
+        
+        private final String srcUser;
+        
+        private final String srcIp;
+        
+        private final String requestIpApp;
+        
+        private final Timestamp time;
+        
+        private final SameConfigPolicy policy;
+        
+        private final List<ConfigAllInfo> configInfoList = new ArrayList<>(IMPORT_BATCH_SIZE);
+        
+        private final List<Map<String, String>> failData = new ArrayList<>();
+        
+        private final List<Map<String, String>> skipData = new ArrayList<>();
+        
+        private int totalCount;
+        
+        private int succCount;
+        
+        private int skipCount;
+        
+        ImportBatch(String srcUser, String srcIp, String requestIpApp, Timestamp time, SameConfigPolicy policy) {
+            this.srcUser = srcUser;
+            this.srcIp = srcIp;
+            this.requestIpApp = requestIpApp;
+            this.time = time;
+            this.policy = policy;
+        }
+        
+        /**
+         * Add config to batch, the batch is published when full.
+         *
+         * @param configInfo config info
+         */
+        void add(ConfigAllInfo configInfo) {
+            totalCount++;
+            if (!failData.isEmpty()) {
+                // aborted, the remaining configs are skipped.
+                skipData.add(toItem(configInfo));
+                return;
+            }
+            configInfoList.add(configInfo);
+            if (configInfoList.size() >= IMPORT_BATCH_SIZE) {
+                flush();
+            }
+        }
+        
+        /**
+         * Publish configs in batch.
+         */
+        @SuppressWarnings("unchecked")
+        void flush() {
+            if (configInfoList.isEmpty()) {
+                return;
+            }
+            Map<String, Object> saveResult;
+            try {
+                saveResult = persistService
+                        .batchInsertOrUpdate(configInfoList, srcUser, srcIp, null, time, false, policy);
+            } catch (NacosException e) {
+                throw new NacosRuntimeException(e.getErrCode(), e);
+            }
+            succCount += (Integer) saveResult.get(SUCC_COUNT);
+            skipCount += (Integer) saveResult.get(SKIP_COUNT);
+            if (saveResult.containsKey(FAIL_DATA)) {
+                failData.addAll((List<Map<String, String>>) saveResult.get(FAIL_DATA));
+            }
+            if (saveResult.containsKey(SKIP_DATA)) {
+                skipData.addAll((List<Map<String, String>>) saveResult.get(SKIP_DATA));
+            }
+            for (ConfigInfo configInfo : configInfoList) {
+                ConfigChangePublisher.notifyConfigChange(
+                        new ConfigDataChangeEvent(false, configInfo.getDataId(), configInfo.getGroup(),
+                                configInfo.getTenant(), time.getTime()));
+                ConfigTraceService
+                        .logPersistenceEvent(configInfo.getDataId(), configInfo.getGroup(), configInfo.getTenant(),
+                                requestIpApp, time.getTime(), InetUtils.getSelfIP(),
+                                ConfigTraceService.PERSISTENCE_EVENT_PUB, configInfo.getContent());
+            }
+            configInfoList.clear();
+        }
+        
+        private Map<String, String> toItem(ConfigInfo configInfo) {
+            Map<String, String> item = new HashMap<>(2);
+            item.put("dataId", configInfo.getDataId());
+            item.put("group", configInfo.getGroup());
+            return item;
+        }
+        
+        int getTotalCount() {
+            return totalCount;
+        }
+        
+        Map<String, Object> getResult() {
+            Map<String, Object> result = new HashMap<>(4);
+            result.put(SUCC_COUNT, succCount);
+            result.put(SKIP_COUNT, skipCount);
+            if (!failData.isEmpty()) {
+                result.put(FAIL_DATA, failData);
+            }
+            if (!skipData.isEmpty()) {
+                result.put(SKIP_DATA, skipData);
+            }
+            return result;
+        }
+    }
+    
     /**
      * old import config.
      *
-     * @param unziped          export file.
-     * @param configInfoList   parse file result.
+     * @param zipFile          export file.
+     * @param metaDataZipItem  metadata of export file.
+     * @param importBatch      batch to publish parsed configs.
      * @param unrecognizedList unrecognized file.
      * @param namespace        import namespace.
      * @return error result.
+     * @throws IOException if read export file failed.
      */
-    private RestResult<Map<String, Object>> parseImportData(ZipUtils.UnZipResult unziped,
-            List<ConfigAllInfo> configInfoList, List<Map<String, String>> unrecognizedList, String namespace) {
-        ZipUtils.ZipItem metaDataZipItem = unziped.getMetaDataItem();
-        
+    private RestResult<Map<String, Object>> parseImportData(ZipFile zipFile, ZipUtils.ZipItem metaDataZipItem,
+            ImportBatch importBatch, List<Map<String, String>> unrecognizedList, String namespace)
+            throws IOException {
         Map<String, String> metaDataMap = new HashMap<>(16);
         if (metaDataZipItem != null) {
             // compatible all file separator
@@ -646,50 +872,51 @@ public class ConfigController {
             }
         }
         
-        List<ZipUtils.ZipItem> itemList = unziped.getZipItemList();
-        if (itemList != null && !itemList.isEmpty()) {
-            for (ZipUtils.ZipItem item : itemList) {
-                String[] groupAdnDataId = item.getItemName().split(Constants.CONFIG_EXPORT_ITEM_FILE_SEPARATOR);
-                if (groupAdnDataId.length != 2) {
-                    Map<String, String> unrecognizedItem = new HashMap<>(2);
-                    unrecognizedItem.put("itemName", item.getItemName());
-                    unrecognizedList.add(unrecognizedItem);
-                    continue;
-                }
-                String group = groupAdnDataId[0];
-                String dataId = groupAdnDataId[1];
-                String tempDataId = dataId;
-                if (tempDataId.contains(".")) {
-                    tempDataId = tempDataId.substring(0, tempDataId.lastIndexOf(".")) + "~" + tempDataId
-                            .substring(tempDataId.lastIndexOf(".") + 1);
-                }
-                final String metaDataId = group + "." + tempDataId + ".app";
-                ConfigAllInfo ci = new ConfigAllInfo();
-                ci.setGroup(group);
-                ci.setDataId(dataId);
-                ci.setContent(item.getItemData());
-                if (metaDataMap.get(metaDataId) != null) {
-                    ci.setAppName(metaDataMap.get(metaDataId));
-                }
-                ci.setTenant(namespace);
-                configInfoList.add(ci);
+        int itemNameLength = 2;
+        String spot = ".";
+        ZipUtils.unzip(zipFile, item -> {
+            String[] groupAdnDataId = item.getItemName().split(Constants.CONFIG_EXPORT_ITEM_FILE_SEPARATOR);
+            if (groupAdnDataId.length != itemNameLength) {
+                Map<String, String> unrecognizedItem = new HashMap<>(2);
+                unrecognizedItem.put("itemName", item.getItemName());
+                unrecognizedList.add(unrecognizedItem);
+                return;
             }
-        }
+            String group = groupAdnDataId[0];
+            String dataId = groupAdnDataId[1];
+            String tempDataId = dataId;
+            if (tempDataId.contains(spot)) {
+                tempDataId = tempDataId.substring(0, tempDataId.lastIndexOf(spot)) + "~" + tempDataId
+                        .substring(tempDataId.lastIndexOf(spot) + 1);
+            }
+            final String metaDataId = group + "." + tempDataId + ".app";
+            ConfigAllInfo ci = new ConfigAllInfo();
+            ci.setGroup(group);
+            ci.setDataId(dataId);
+            ci.setContent(item.getItemData());
+            if (metaDataMap.get(metaDataId) != null) {
+                ci.setAppName(metaDataMap.get(metaDataId));
+            }
+            ci.setTenant(namespace);
+            importBatch.add(ci);
+        });
         return null;
     }
     
     /**
      * new version import config add .metadata.yml file.
      *
-     * @param unziped          export file.
-     * @param configInfoList   parse file result.
+     * @param zipFile          export file.
+     * @param metaDataItem     metadata of export file.
+     * @param importBatch      batch to publish parsed configs.
      * @param unrecognizedList unrecognized file.
      * @param namespace        import namespace.
      * @return error result.
+     * @throws IOException if read export file failed.
      */
-    private RestResult<Map<String, Object>> parseImportDataV2(ZipUtils.UnZipResult unziped,
-            List<ConfigAllInfo> configInfoList, List<Map<String, String>> unrecognizedList, String namespace) {
-        ZipUtils.ZipItem metaDataItem = unziped.getMetaDataItem();
+    private RestResult<Map<String, Object>> parseImportDataV2(ZipFile zipFile, ZipUtils.ZipItem metaDataItem,
+            ImportBatch importBatch, List<Map<String, String>> unrecognizedList, String namespace)
+            throws IOException {
         String metaData = metaDataItem.getItemData();
         Map<String, Object> failedData = new HashMap<>(4);
         
@@ -708,14 +935,20 @@ public class ConfigController {
             }
         }
         
-        List<ZipUtils.ZipItem> zipItemList = unziped.getZipItemList();
-        Set<String> metaDataKeys = configExportItems.stream()
-                .map(metaItem -> GroupKey.getKey(metaItem.getDataId(), metaItem.getGroup()))
-                .collect(Collectors.toSet());
+        Map<String, ConfigMetadata.ConfigExportItem> metaDataItems = new LinkedHashMap<>(configExportItems.size());
+        for (ConfigMetadata.ConfigExportItem configExportItem : configExportItems) {
+            metaDataItems.put(GroupKey.getKey(configExportItem.getDataId(), configExportItem.getGroup()),
+                    configExportItem);
+        }
         
-        Map<String, String> configContentMap = new HashMap<>(zipItemList.size());
+        // Only the last one of the items with same name is imported, the same as the later item overrides before.
+        Map<String, Integer> remainingItems = new HashMap<>(metaDataItems.size());
+        for (String itemName : ZipUtils.itemNames(zipFile)) {
+            remainingItems.merge(itemName, 1, Integer::sum);
+        }
+        Set<String> importedKeys = new HashSet<>(metaDataItems.size());
         int itemNameLength = 2;
-        zipItemList.forEach(item -> {
+        ZipUtils.unzip(zipFile, item -> {
             String itemName = item.getItemName();
             String[] groupAdnDataId = itemName.split(Constants.CONFIG_EXPORT_ITEM_FILE_SEPARATOR);
             if (groupAdnDataId.length != itemNameLength) {
@@ -728,37 +961,37 @@ public class ConfigController {
             String group = groupAdnDataId[0];
             String dataId = groupAdnDataId[1];
             String key = GroupKey.getKey(dataId, group);
+            ConfigMetadata.ConfigExportItem configExportItem = metaDataItems.get(key);
             // metadata does not contain config file
-            if (!metaDataKeys.contains(key)) {
+            if (configExportItem == null) {
                 Map<String, String> unrecognizedItem = new HashMap<>(2);
                 unrecognizedItem.put("itemName", "未在元数据中找到: " + item.getItemName());
                 unrecognizedList.add(unrecognizedItem);
                 return;
             }
-            String itemData = item.getItemData();
-            configContentMap.put(key, itemData);
-        });
-        
-        for (ConfigMetadata.ConfigExportItem configExportItem : configExportItems) {
-            String dataId = configExportItem.getDataId();
-            String group = configExportItem.getGroup();
-            String content = configContentMap.get(GroupKey.getKey(dataId, group));
-            // config file not in metadata
-            if (content == null) {
-                Map<String, String> unrecognizedItem = new HashMap<>(2);
-                unrecognizedItem.put("itemName", "未在文件中找到: " + group + "/" + dataId);
-                unrecognizedList.add(unrecognizedItem);
-                continue;
+            if (remainingItems.merge(itemName, -1, Integer::sum) > 0) {
+                return;
             }
+            importedKeys.add(key);
             ConfigAllInfo ci = new ConfigAllInfo();
             ci.setGroup(group);
             ci.setDataId(dataId);
-            ci.setContent(content);
+            ci.setContent(item.getItemData());
             ci.setType(configExportItem.getType());
             ci.setDesc(configExportItem.getDesc());
             ci.setAppName(configExportItem.getAppName());
             ci.setTenant(namespace);
-            configInfoList.add(ci);
+            importBatch.add(ci);
+        });
+        
+        for (Map.Entry<String, ConfigMetadata.ConfigExportItem> entry : metaDataItems.entrySet()) {
+            // config file not in metadata
+            if (!importedKeys.contains(entry.getKey())) {
+                Map<String, String> unrecognizedItem = new HashMap<>(2);
+                unrecognizedItem.put("itemName",
+                        "未在文件中找到: " + entry.getValue().getGroup() + "/" + entry.getValue().getDataId());
+                unrecognizedList.add(unrecognizedItem);
+            }
         }
         return null;
     }
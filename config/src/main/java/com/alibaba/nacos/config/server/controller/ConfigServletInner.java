@@ -151,6 +151,7 @@ public class ConfigServletInner {
                 response.setHeader(HttpHeaderConsts.CONTENT_TYPE, contentTypeHeader);
                 
                 File file = null;
+                String fileTag = null;
                 ConfigInfoBase configInfoBase = null;
                 PrintWriter out = null;
                 if (isBeta) {
@@ -175,6 +176,7 @@ public class ConfigServletInner {
                                 configInfoBase = persistService.findConfigInfo4Tag(dataId, group, tenant, autoTag);
                             } else {
                                 file = DiskUtil.targetTagFile(dataId, group, tenant, autoTag);
+                                fileTag = autoTag;
                             }
                             
                             response.setHeader(com.alibaba.nacos.api.common.Constants.VIPSERVER_TAG,
@@ -215,6 +217,7 @@ public class ConfigServletInner {
                             configInfoBase = persistService.findConfigInfo4Tag(dataId, group, tenant, tag);
                         } else {
                             file = DiskUtil.targetTagFile(dataId, group, tenant, tag);
+                            fileTag = tag;
                         }
                         if (configInfoBase == null && fileNotExist(file)) {
                             // FIXME CacheItem
@@ -239,7 +242,8 @@ public class ConfigServletInner {
                 response.setHeader("Pragma", "no-cache");
                 response.setDateHeader("Expires", 0);
                 response.setHeader("Cache-Control", "no-cache,no-store");
-                if (PropertyUtil.isDirectRead()) {
+                boolean readCache = !PropertyUtil.isDirectRead() && ConfigCacheService.isContentCacheEnabled();
+                if (PropertyUtil.isDirectRead() || readCache) {
                     response.setDateHeader("Last-Modified", lastModified);
                 } else {
                     fis = new FileInputStream(file);
@@ -251,6 +255,9 @@ public class ConfigServletInner {
                     out.print(configInfoBase.getContent());
                     out.flush();
                     out.close();
+                } else if (readCache) {
+                    String content = ConfigCacheService.readContent(groupKey, isBeta, fileTag, md5, file);
+                    response.getOutputStream().write(content.getBytes(Constants.ENCODE));
                 } else {
                     fis.getChannel()
                             .transferTo(0L, fis.getChannel().size(), Channels.newChannel(response.getOutputStream()));
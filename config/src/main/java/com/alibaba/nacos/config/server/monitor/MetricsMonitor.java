@@ -16,7 +16,9 @@
 
 package com.alibaba.nacos.config.server.monitor;
 
+import com.alibaba.nacos.config.server.service.ConfigContentCache;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.ImmutableTag;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
@@ -122,10 +124,40 @@ public class MetricsMonitor {
         return dumpTask;
     }
     
+    /**
+     * Register the hit ratio, resident bytes and eviction count of config content cache.
+     *
+     * @param contentCache config content cache
+     */
+    public static void registerContentCache(ConfigContentCache contentCache) {
+        List<Tag> tags = new ArrayList<Tag>();
+        tags.add(new ImmutableTag("module", "config"));
+        tags.add(new ImmutableTag("name", "contentCacheHitRatio"));
+        Metrics.gauge("nacos_monitor", tags, contentCache, ConfigContentCache::getHitRatio);
+        
+        tags = new ArrayList<Tag>();
+        tags.add(new ImmutableTag("module", "config"));
+        tags.add(new ImmutableTag("name", "contentCacheResidentBytes"));
+        Metrics.gauge("nacos_monitor", tags, contentCache, ConfigContentCache::getResidentBytes);
+        
+        tags = new ArrayList<Tag>();
+        tags.add(new ImmutableTag("module", "config"));
+        tags.add(new ImmutableTag("name", "contentCacheEvictionCount"));
+        Metrics.gauge("nacos_monitor", tags, contentCache, ConfigContentCache::getEvictionCount);
+    }
+    
     public static Timer getNotifyRtTimer() {
         return Metrics.timer("nacos_timer", "module", "config", "name", "notifyRt");
     }
     
+    public static DistributionSummary getEmbeddedWriteBatchSize() {
+        return Metrics.summary("nacos_summary", "module", "config", "name", "embeddedWriteBatchSize");
+    }
+    
+    public static Timer getEmbeddedWriteBatchRtTimer() {
+        return Metrics.timer("nacos_timer", "module", "config", "name", "embeddedWriteBatchRt");
+    }
+    
     public static Counter getIllegalArgumentException() {
         return Metrics.counter("nacos_exception", "module", "config", "name", "illegalArgument");
     }
@@ -16,13 +16,10 @@
 
 package com.alibaba.nacos.config.server.remote;
 
-import com.alibaba.nacos.common.utils.CollectionUtils;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -30,21 +27,35 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * config change listen context.
  *
+ * <p>Listeners of a group key are kept in a concurrent set, so that reading listeners is lock-free. Modifications of
+ * the same connection are serialized by a striped lock of connection id, and the listener set of a group key is
+ * created and removed atomically by {@link ConcurrentHashMap#compute}.
+ *
  * @author liuzunfei
  * @version $Id: ConfigChangeListenContext.java, v 0.1 2020年07月20日 1:37 PM liuzunfei Exp $
  */
 @Component
 public class ConfigChangeListenContext {
     
+    private static final int LOCK_STRIPES = 64;
+    
     /**
      * groupKey-> connection set.
      */
-    private ConcurrentHashMap<String, HashSet<String>> groupKeyContext = new ConcurrentHashMap<String, HashSet<String>>();
+    private final ConcurrentHashMap<String, Set<String>> groupKeyContext = new ConcurrentHashMap<String, Set<String>>();
     
     /**
      * connectionId-> group key set.
      */
-    private ConcurrentHashMap<String, HashMap<String, String>> connectionIdContext = new ConcurrentHashMap<String, HashMap<String, String>>();
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, String>> connectionIdContext = new ConcurrentHashMap<>();
+    
+    private final Object[] connectionLocks = new Object[LOCK_STRIPES];
+    
+    public ConfigChangeListenContext() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            connectionLocks[i] = new Object();
+        }
+    }
     
     /**
      * add listen.
@@ -52,23 +63,19 @@ public class ConfigChangeListenContext {
      * @param groupKey     groupKey.
      * @param connectionId connectionId.
      */
-    public synchronized void addListen(String groupKey, String md5, String connectionId) {
-        // 1.add groupKeyContext
-        Set<String> listenClients = groupKeyContext.get(groupKey);
-        if (listenClients == null) {
-            groupKeyContext.putIfAbsent(groupKey, new HashSet<String>());
-            listenClients = groupKeyContext.get(groupKey);
+    public void addListen(String groupKey, String md5, String connectionId) {
+        synchronized (lockOf(connectionId)) {
+            // 1.add groupKeyContext
+            groupKeyContext.compute(groupKey, (key, listenClients) -> {
+                Set<String> result = null == listenClients ? ConcurrentHashMap.newKeySet() : listenClients;
+                result.add(connectionId);
+                return result;
+            });
+            
+            // 2.add connectionIdContext
+            connectionIdContext.computeIfAbsent(connectionId, key -> new ConcurrentHashMap<String, String>(16))
+                    .put(groupKey, md5);
         }
-        listenClients.add(connectionId);
-        
-        // 2.add connectionIdContext
-        HashMap<String, String> groupKeys = connectionIdContext.get(connectionId);
-        if (groupKeys == null) {
-            connectionIdContext.putIfAbsent(connectionId, new HashMap<String, String>(16));
-            groupKeys = connectionIdContext.get(connectionId);
-        }
-        groupKeys.put(groupKey, md5);
-        
     }
     
     /**
@@ -77,52 +84,34 @@ public class ConfigChangeListenContext {
      * @param groupKey     groupKey.
      * @param connectionId connection id.
      */
-    public synchronized void removeListen(String groupKey, String connectionId) {
-        
-        //1. remove groupKeyContext
-        Set<String> connectionIds = groupKeyContext.get(groupKey);
-        if (connectionIds != null) {
-            connectionIds.remove(connectionId);
-            if (connectionIds.isEmpty()) {
-                groupKeyContext.remove(groupKey);
+    public void removeListen(String groupKey, String connectionId) {
+        synchronized (lockOf(connectionId)) {
+            //1. remove groupKeyContext
+            removeListener(groupKey, connectionId);
+            
+            //2.remove connectionIdContext
+            Map<String, String> groupKeys = connectionIdContext.get(connectionId);
+            if (groupKeys != null) {
+                groupKeys.remove(groupKey);
             }
         }
-        
-        //2.remove connectionIdContext
-        HashMap<String, String> groupKeys = connectionIdContext.get(connectionId);
-        if (groupKeys != null) {
-            groupKeys.remove(groupKey);
-        }
     }
     
     /**
      * get listeners of the group key.
      *
-     * @param groupKey groupKey.
-     * @return the copy of listeners, may be return null.
-     */
-    public synchronized Set<String> getListeners(String groupKey) {
-        
-        HashSet<String> strings = groupKeyContext.get(groupKey);
-        if (CollectionUtils.isNotEmpty(strings)) {
-            Set<String> listenConnections = new HashSet<String>();
-            safeCopy(strings, listenConnections);
-            return listenConnections;
-        }
-        return null;
-    }
-    
-    /**
-     * copy collections.
+     * <p>The returned set is a read-only view of listeners instead of a copy, it can be iterated during pushing and
+     * reflects the concurrent modifications weakly.
      *
-     * @param src  may be modified concurrently
-     * @param dest dest collection
+     * @param groupKey groupKey.
+     * @return the view of listeners, may be return null.
      */
-    private void safeCopy(Collection src, Collection dest) {
-        Iterator iterator = src.iterator();
-        while (iterator.hasNext()) {
-            dest.add(iterator.next());
+    public Set<String> getListeners(String groupKey) {
+        Set<String> listenConnections = groupKeyContext.get(groupKey);
+        if (null == listenConnections || listenConnections.isEmpty()) {
+            return null;
         }
+        return Collections.unmodifiableSet(listenConnections);
     }
     
     /**
@@ -130,25 +119,16 @@ public class ConfigChangeListenContext {
      *
      * @param connectionId connectionId.
      */
-    public synchronized void clearContextForConnectionId(final String connectionId) {
-        
-        Map<String, String> listenKeys = getListenKeys(connectionId);
-        
-        if (listenKeys == null) {
-            connectionIdContext.remove(connectionId);
-            return;
-        }
-        for (Map.Entry<String, String> groupKey : listenKeys.entrySet()) {
-
-            Set<String> connectionIds = groupKeyContext.get(groupKey.getKey());
-            if (CollectionUtils.isNotEmpty(connectionIds)) {
-                connectionIds.remove(connectionId);
-            } else {
-                groupKeyContext.remove(groupKey.getKey());
+    public void clearContextForConnectionId(final String connectionId) {
+        synchronized (lockOf(connectionId)) {
+            Map<String, String> listenKeys = connectionIdContext.remove(connectionId);
+            if (listenKeys == null) {
+                return;
+            }
+            for (String each : listenKeys.keySet()) {
+                removeListener(each, connectionId);
             }
-
         }
-        connectionIdContext.remove(connectionId);
     }
     
     /**
@@ -157,9 +137,9 @@ public class ConfigChangeListenContext {
      * @param connectionId connection id.
      * @return listen group keys of the connection id, key:group key,value:md5
      */
-    public synchronized Map<String, String> getListenKeys(String connectionId) {
-        HashMap<String, String> stringStringHashMap = connectionIdContext.get(connectionId);
-        return stringStringHashMap == null ? null : new HashMap<String, String>(stringStringHashMap);
+    public Map<String, String> getListenKeys(String connectionId) {
+        Map<String, String> groupKeys = connectionIdContext.get(connectionId);
+        return groupKeys == null ? null : new HashMap<String, String>(groupKeys);
     }
     
     /**
@@ -173,4 +153,16 @@ public class ConfigChangeListenContext {
         return groupKeyContexts == null ? null : groupKeyContexts.get(groupKey);
     }
     
+    private void removeListener(String groupKey, String connectionId) {
+        groupKeyContext.computeIfPresent(groupKey, (key, listenClients) -> {
+            listenClients.remove(connectionId);
+            return listenClients.isEmpty() ? null : listenClients;
+        });
+    }
+    
+    private Object lockOf(String connectionId) {
+        int hash = connectionId.hashCode();
+        return connectionLocks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
 }
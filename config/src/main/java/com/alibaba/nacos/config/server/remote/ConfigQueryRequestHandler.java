@@ -118,6 +118,7 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                     response.setContentType((null != configType) ? configType : "text");
                 }
                 File file = null;
+                String fileTag = null;
                 ConfigInfoBase configInfoBase = null;
                 PrintWriter out = null;
                 if (isBeta) {
@@ -144,6 +145,7 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                                 configInfoBase = persistService.findConfigInfo4Tag(dataId, group, tenant, autoTag);
                             } else {
                                 file = DiskUtil.targetTagFile(dataId, group, tenant, autoTag);
+                                fileTag = autoTag;
                             }
                             response.setTag(URLEncoder.encode(autoTag, Constants.ENCODE));
                             
@@ -185,6 +187,7 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                             configInfoBase = persistService.findConfigInfo4Tag(dataId, group, tenant, tag);
                         } else {
                             file = DiskUtil.targetTagFile(dataId, group, tenant, tag);
+                            fileTag = tag;
                         }
                         if (configInfoBase == null && fileNotExist(file)) {
                             // FIXME CacheItem
@@ -214,7 +217,7 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                     //read from file
                     String content = null;
                     try {
-                        content = readFileContent(file);
+                        content = ConfigCacheService.readContent(groupKey, isBeta, fileTag, md5, file);
                         response.setContent(content);
                         response.setLastModified(lastModified);
                         response.setResultCode(ResponseCode.SUCCESS.getCode());
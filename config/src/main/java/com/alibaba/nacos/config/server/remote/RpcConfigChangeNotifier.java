@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.config.server.remote;
 
+import com.alibaba.nacos.api.config.remote.request.ConfigChangeBatchNotifyRequest;
 import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
 import com.alibaba.nacos.api.remote.AbstractPushCallBack;
 import com.alibaba.nacos.common.notify.Event;
@@ -26,6 +27,7 @@ import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
 import com.alibaba.nacos.config.server.utils.ConfigExecutor;
 import com.alibaba.nacos.config.server.utils.GroupKey;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import com.alibaba.nacos.core.remote.Connection;
 import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.RpcPushService;
@@ -36,8 +38,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -80,6 +85,11 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
     @Autowired
     private ConnectionManager connectionManager;
     
+    /**
+     * connectionId -> batch push task which merges the changed configs of the connection.
+     */
+    private final ConcurrentHashMap<String, BatchPushTask> batchPushTasks = new ConcurrentHashMap<>();
+    
     /**
      * adaptor to config module ,when server side config change ,invoke this method.
      *
@@ -110,6 +120,17 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
                 continue;
             }
 
+            if (isSupportBatchNotify(connection)) {
+                batchPushTasks.compute(client, (key, task) -> {
+                    BatchPushTask result = null == task ? new BatchPushTask(client, clientIp,
+                            connection.getMetaInfo().getAppName()) : task;
+                    result.addChange(groupKey, dataId, group, tenant);
+                    return result;
+                });
+                notifyClientCount++;
+                continue;
+            }
+            
             ConfigChangeNotifyRequest notifyRequest = ConfigChangeNotifyRequest.build(dataId, group, tenant);
 
             RpcPushTask rpcPushRetryTask = new RpcPushTask(notifyRequest, 50, client, clientIp,
@@ -120,6 +141,11 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
         Loggers.REMOTE_PUSH.info("push [{}] clients ,groupKey=[{}]", notifyClientCount, groupKey);
     }
     
+    private boolean isSupportBatchNotify(Connection connection) {
+        return PropertyUtil.getPushBatchWindowMs() > 0 && null != connection.getAbilities()
+                && connection.getAbilities().getConfigAbility().isSupportBatchNotify();
+    }
+    
     @Override
     public void onEvent(LocalDataChangeEvent event) {
         String groupKey = event.groupKey;
@@ -210,5 +236,141 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
         }
         
     }
+    
+    /**
+     * Merge the changed configs of one connection during push batch window into one batch notify request.
+     *
+     * <p>The retry state is kept by connection, the changes of a failed push are merged back and retried together with
+     * the new changes.
+     */
+    class BatchPushTask implements Runnable {
+        
+        private static final int MAX_RETRY_TIMES = 50;
+        
+        final String connectionId;
+        
+        final String clientIp;
+        
+        final String appName;
+        
+        /**
+         * groupKey -> changed config.
+         */
+        private Map<String, ConfigChangeBatchNotifyRequest.ConfigContext> pendingChanges = new LinkedHashMap<>();
+        
+        private boolean scheduled;
+        
+        private boolean pushing;
+        
+        int tryTimes = 0;
+        
+        BatchPushTask(String connectionId, String clientIp, String appName) {
+            this.connectionId = connectionId;
+            this.clientIp = clientIp;
+            this.appName = appName;
+        }
+        
+        synchronized void addChange(String groupKey, String dataId, String group, String tenant) {
+            ConfigChangeBatchNotifyRequest.ConfigContext configContext =
+                    new ConfigChangeBatchNotifyRequest.ConfigContext();
+            configContext.setDataId(dataId);
+            configContext.setGroup(group);
+            configContext.setTenant(tenant);
+            pendingChanges.put(groupKey, configContext);
+            schedule(PropertyUtil.getPushBatchWindowMs());
+        }
+        
+        private void schedule(long delayMs) {
+            if (scheduled || pushing) {
+                return;
+            }
+            scheduled = true;
+            ConfigExecutor.getClientConfigNotifierServiceExecutor().schedule(this, delayMs, TimeUnit.MILLISECONDS);
+        }
+        
+        private synchronized boolean isIdle() {
+            return !scheduled && !pushing && pendingChanges.isEmpty();
+        }
+        
+        @Override
+        public void run() {
+            final Map<String, ConfigChangeBatchNotifyRequest.ConfigContext> changes;
+            synchronized (this) {
+                scheduled = false;
+                changes = pendingChanges;
+                if (!changes.isEmpty()) {
+                    pendingChanges = new LinkedHashMap<>();
+                    pushing = true;
+                    tryTimes++;
+                }
+            }
+            if (changes.isEmpty()) {
+                tryRemove();
+                return;
+            }
+            if (null == connectionManager.getConnection(connectionId)) {
+                // client is already offline, ignore task.
+                batchPushTasks.remove(connectionId, this);
+                return;
+            }
+            if (!tpsMonitorManager.applyTpsForClientIp(POINT_CONFIG_PUSH, connectionId, clientIp)) {
+                onFail(changes);
+                return;
+            }
+            ConfigChangeBatchNotifyRequest notifyRequest = new ConfigChangeBatchNotifyRequest();
+            notifyRequest.getConfigContexts().addAll(changes.values());
+            rpcPushService.pushWithCallback(connectionId, notifyRequest, new AbstractPushCallBack(3000L) {
+                @Override
+                public void onSuccess() {
+                    tpsMonitorManager.applyTpsForClientIp(POINT_CONFIG_PUSH_SUCCESS, connectionId, clientIp);
+                    BatchPushTask.this.onSuccess();
+                }
+                
+                @Override
+                public void onFail(Throwable e) {
+                    tpsMonitorManager.applyTpsForClientIp(POINT_CONFIG_PUSH_FAIL, connectionId, clientIp);
+                    Loggers.REMOTE_PUSH.warn("Batch push fail", e);
+                    BatchPushTask.this.onFail(changes);
+                }
+            
+            }, ConfigExecutor.getClientConfigNotifierServiceExecutor());
+        }
+        
+        private void onSuccess() {
+            synchronized (this) {
+                pushing = false;
+                tryTimes = 0;
+                if (!pendingChanges.isEmpty()) {
+                    schedule(PropertyUtil.getPushBatchWindowMs());
+                    return;
+                }
+            }
+            tryRemove();
+        }
+        
+        private void onFail(Map<String, ConfigChangeBatchNotifyRequest.ConfigContext> changes) {
+            if (tryTimes >= MAX_RETRY_TIMES) {
+                Loggers.REMOTE_PUSH
+                        .warn("batch push callback retry fail over times, size={}, clientId={}, will unregister client.",
+                                changes.size(), connectionId);
+                batchPushTasks.remove(connectionId, this);
+                connectionManager.unregister(connectionId);
+                return;
+            }
+            synchronized (this) {
+                pushing = false;
+                // the newer changes are kept, failed changes are merged back.
+                for (Map.Entry<String, ConfigChangeBatchNotifyRequest.ConfigContext> entry : changes.entrySet()) {
+                    pendingChanges.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+                // first time :delay 2s; sencond time:delay 4s  ;third time :delay 6s
+                schedule(TimeUnit.SECONDS.toMillis(tryTimes * 2L));
+            }
+        }
+        
+        private void tryRemove() {
+            batchPushTasks.computeIfPresent(connectionId, (key, task) -> task == this && task.isIdle() ? null : task);
+        }
+    }
 }
 
@@ -22,16 +22,19 @@ import com.alibaba.nacos.config.server.constant.Constants;
 import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.model.ConfigInfoBase;
 import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
 import com.alibaba.nacos.config.server.utils.DiskUtil;
 import com.alibaba.nacos.config.server.utils.GroupKey;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import com.alibaba.nacos.common.utils.StringUtils;
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -68,6 +71,16 @@ public class ConfigCacheService {
      */
     private static final ConcurrentHashMap<String, CacheItem> CACHE = new ConcurrentHashMap<String, CacheItem>();
     
+    /**
+     * Content of dump files cached in memory, enabled when {@link PropertyUtil#getContentCacheMaxBytes()} is positive.
+     */
+    private static final ConfigContentCache CONTENT_CACHE = new ConfigContentCache(
+            PropertyUtil::getContentCacheMaxBytes);
+    
+    static {
+        MetricsMonitor.registerContentCache(CONTENT_CACHE);
+    }
+    
     @Autowired
     private static PersistService persistService;
     
@@ -92,6 +105,25 @@ public class ConfigCacheService {
      */
     public static boolean dump(String dataId, String group, String tenant, String content, long lastModifiedTs,
             String type) {
+        return dump(dataId, group, tenant, content, MD5Utils.md5Hex(content, Constants.ENCODE), lastModifiedTs, type,
+                false);
+    }
+    
+    /**
+     * Save config file and update md5 value in cache, with the md5 computed by caller.
+     *
+     * @param dataId         dataId string value.
+     * @param group          group string value.
+     * @param tenant         tenant string value.
+     * @param content        content string value.
+     * @param md5            md5 of content.
+     * @param lastModifiedTs lastModifiedTs.
+     * @param type           file type.
+     * @param diskSynced     whether the config file is known to hold the content, then it is not saved again.
+     * @return dumpChange success or not.
+     */
+    public static boolean dump(String dataId, String group, String tenant, String content, String md5,
+            long lastModifiedTs, String type, boolean diskSynced) {
         String groupKey = GroupKey2.getKey(dataId, group, tenant);
         CacheItem ci = makeSure(groupKey);
         ci.setType(type);
@@ -104,14 +136,13 @@ public class ConfigCacheService {
         }
         
         try {
-            final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE);
-            
             if (md5.equals(ConfigCacheService.getContentMd5(groupKey))) {
                 DUMP_LOG.warn("[dump-ignore] ignore to save cache file. groupKey={}, md5={}, lastModifiedOld={}, "
                                 + "lastModifiedNew={}", groupKey, md5, ConfigCacheService.getLastModifiedTs(groupKey),
                         lastModifiedTs);
-            } else if (!PropertyUtil.isDirectRead()) {
+            } else if (!PropertyUtil.isDirectRead() && !diskSynced) {
                 DiskUtil.saveToDisk(dataId, group, tenant, content);
+                CONTENT_CACHE.invalidate(groupKey, false, null);
             }
             updateMd5(groupKey, md5, lastModifiedTs);
             return true;
@@ -164,6 +195,7 @@ public class ConfigCacheService {
                         lastModifiedTs);
             } else if (!PropertyUtil.isDirectRead()) {
                 DiskUtil.saveBetaToDisk(dataId, group, tenant, content);
+                CONTENT_CACHE.invalidate(groupKey, true, null);
             }
             String[] betaIpsArr = betaIps.split(",");
             
@@ -209,6 +241,7 @@ public class ConfigCacheService {
                         lastModifiedTs);
             } else if (!PropertyUtil.isDirectRead()) {
                 DiskUtil.saveTagToDisk(dataId, group, tenant, tag, content);
+                CONTENT_CACHE.invalidate(groupKey, false, tag);
             }
             
             updateTagMd5(groupKey, tag, md5, lastModifiedTs);
@@ -253,6 +286,7 @@ public class ConfigCacheService {
                             lastModifiedTs);
                 } else {
                     DiskUtil.saveToDisk(dataId, group, tenant, content);
+                    CONTENT_CACHE.invalidate(groupKey, false, null);
                 }
             }
             updateMd5(groupKey, md5, lastModifiedTs);
@@ -383,7 +417,8 @@ public class ConfigCacheService {
             if (!PropertyUtil.isDirectRead()) {
                 DiskUtil.removeConfigInfo(dataId, group, tenant);
             }
-            CACHE.remove(groupKey);
+            CacheItem removed = CACHE.remove(groupKey);
+            invalidateContent(removed);
             NotifyCenter.publishEvent(new LocalDataChangeEvent(groupKey));
             
             return true;
@@ -420,6 +455,7 @@ public class ConfigCacheService {
             if (!PropertyUtil.isDirectRead()) {
                 DiskUtil.removeConfigInfo4Beta(dataId, group, tenant);
             }
+            CONTENT_CACHE.invalidate(groupKey, true, null);
             NotifyCenter.publishEvent(new LocalDataChangeEvent(groupKey, true, CACHE.get(groupKey).getIps4Beta()));
             CACHE.get(groupKey).setBeta(false);
             CACHE.get(groupKey).setIps4Beta(null);
@@ -459,6 +495,7 @@ public class ConfigCacheService {
             if (!PropertyUtil.isDirectRead()) {
                 DiskUtil.removeConfigInfo4Tag(dataId, group, tenant, tag);
             }
+            CONTENT_CACHE.invalidate(groupKey, false, tag);
             
             CacheItem ci = CACHE.get(groupKey);
             ci.tagMd5.remove(tag);
@@ -470,6 +507,53 @@ public class ConfigCacheService {
         }
     }
     
+    private static void invalidateContent(CacheItem item) {
+        if (null == item) {
+            return;
+        }
+        CONTENT_CACHE.invalidate(item.getGroupKey(), false, null);
+        CONTENT_CACHE.invalidate(item.getGroupKey(), true, null);
+        Map<String, String> tagMd5 = item.getTagMd5();
+        if (null != tagMd5) {
+            for (String each : tagMd5.keySet()) {
+                CONTENT_CACHE.invalidate(item.getGroupKey(), false, each);
+            }
+        }
+    }
+    
+    /**
+     * Read config content from dump file, the content will be cached in memory if content cache is enabled.
+     *
+     * <p>Should be called with read lock of group key, so that the dump file won't be changed during reading.
+     *
+     * @param groupKey groupKey string value.
+     * @param isBeta   whether read beta content.
+     * @param tag      tag string value, nullable.
+     * @param md5      md5 of content in cache item.
+     * @param file     dump file of content.
+     * @return config content.
+     * @throws IOException if read dump file failed.
+     */
+    public static String readContent(String groupKey, boolean isBeta, String tag, String md5, File file)
+            throws IOException {
+        if (!CONTENT_CACHE.isEnabled()) {
+            return FileUtils.readFileToString(file, Constants.ENCODE);
+        }
+        ConfigContentCache.Content cached = CONTENT_CACHE.get(groupKey, isBeta, tag, md5);
+        if (null != cached) {
+            return cached.getContent();
+        }
+        String content = FileUtils.readFileToString(file, Constants.ENCODE);
+        CacheItem item = CACHE.get(groupKey);
+        String type = null != item ? item.getType() : null;
+        CONTENT_CACHE.put(groupKey, isBeta, tag, new ConfigContentCache.Content(content, Constants.ENCODE, type, md5));
+        return content;
+    }
+    
+    public static boolean isContentCacheEnabled() {
+        return CONTENT_CACHE.isEnabled();
+    }
+    
     /**
      * Update md5 value.
      *
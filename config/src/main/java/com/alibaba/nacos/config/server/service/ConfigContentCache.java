@@ -0,0 +1,355 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.config.server.utils.FrequencySketch;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Config content cache bounded by total bytes, with W-TinyLFU admission.
+ *
+ * <p>New content enters a small LRU window. When the window is full, the LRU content of window becomes a candidate of
+ * the main LRU space, and it is admitted only if its estimated access frequency is higher than the victim of main
+ * space, so that the one-hit configs will not flush the hot configs out.
+ *
+ * <p>The content is bound to the md5 when it is cached, a content whose md5 is different from the md5 in
+ * {@link com.alibaba.nacos.config.server.model.CacheItem} is treated as a miss.
+ *
+ * <p>Reads look up a concurrent map without blocking. The admission policy is guarded by a lock, a read records its
+ * access into the policy only if the lock is free, so that the reads never wait for each other or for the writes.
+ *
+ * @author nacos
+ */
+public class ConfigContentCache {
+    
+    /**
+     * Percent of max bytes used by window space.
+     */
+    private static final int WINDOW_PERCENT = 1;
+    
+    private static final int SKETCH_WIDTH = 1 << 16;
+    
+    private final LongSupplier maxBytesSupplier;
+    
+    private final ConcurrentHashMap<ContentKey, Content> contents = new ConcurrentHashMap<>();
+    
+    private final ReentrantLock policyLock = new ReentrantLock();
+    
+    private final LinkedHashMap<ContentKey, Content> window = new LinkedHashMap<>(16, 0.75f, true);
+    
+    private final LinkedHashMap<ContentKey, Content> main = new LinkedHashMap<>(16, 0.75f, true);
+    
+    private final AtomicLong hitCount = new AtomicLong();
+    
+    private final AtomicLong missCount = new AtomicLong();
+    
+    private final AtomicLong evictionCount = new AtomicLong();
+    
+    private volatile long residentBytes;
+    
+    private long windowBytes;
+    
+    private FrequencySketch sketch;
+    
+    public ConfigContentCache(LongSupplier maxBytesSupplier) {
+        this.maxBytesSupplier = maxBytesSupplier;
+    }
+    
+    public boolean isEnabled() {
+        return maxBytesSupplier.getAsLong() > 0;
+    }
+    
+    /**
+     * Get cached content.
+     *
+     * @param groupKey group key
+     * @param isBeta   whether beta content
+     * @param tag      tag of content, nullable
+     * @param md5      expected md5 of content
+     * @return cached content, {@code null} if not cached or md5 not matched
+     */
+    public Content get(String groupKey, boolean isBeta, String tag, String md5) {
+        ContentKey key = new ContentKey(groupKey, isBeta, tag);
+        Content result = contents.get(key);
+        recordAccess(key);
+        if (null != result && Objects.equals(result.md5, md5)) {
+            hitCount.incrementAndGet();
+            return result;
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+    
+    /**
+     * Put content into cache, the content will be evicted immediately if it is larger than max bytes.
+     *
+     * @param groupKey group key
+     * @param isBeta   whether beta content
+     * @param tag      tag of content, nullable
+     * @param content  content
+     */
+    public void put(String groupKey, boolean isBeta, String tag, Content content) {
+        long maxBytes = maxBytesSupplier.getAsLong();
+        if (maxBytes <= 0) {
+            clear();
+            return;
+        }
+        ContentKey key = new ContentKey(groupKey, isBeta, tag);
+        policyLock.lock();
+        try {
+            removeContent(key);
+            window.put(key, content);
+            contents.put(key, content);
+            windowBytes += content.size;
+            residentBytes += content.size;
+            evict(maxBytes);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+    
+    /**
+     * Invalidate the cached content.
+     *
+     * @param groupKey group key
+     * @param isBeta   whether beta content
+     * @param tag      tag of content, nullable
+     */
+    public void invalidate(String groupKey, boolean isBeta, String tag) {
+        policyLock.lock();
+        try {
+            removeContent(new ContentKey(groupKey, isBeta, tag));
+        } finally {
+            policyLock.unlock();
+        }
+    }
+    
+    /**
+     * Clear all cached contents.
+     */
+    public void clear() {
+        policyLock.lock();
+        try {
+            contents.clear();
+            window.clear();
+            main.clear();
+            windowBytes = 0;
+            residentBytes = 0;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+    
+    public long getHitCount() {
+        return hitCount.get();
+    }
+    
+    public long getMissCount() {
+        return missCount.get();
+    }
+    
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+    
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+    
+    /**
+     * Get hit ratio of cache.
+     *
+     * @return hit ratio, {@code 0} if never accessed
+     */
+    public double getHitRatio() {
+        long hit = hitCount.get();
+        long total = hit + missCount.get();
+        return 0 == total ? 0D : (double) hit / total;
+    }
+    
+    public int size() {
+        return contents.size();
+    }
+    
+    /**
+     * Record the access into the frequency sketch and the LRU order. The access is dropped if the policy is busy, it
+     * only makes the admission less precise.
+     */
+    private void recordAccess(ContentKey key) {
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            getSketch().increment(key);
+            if (null == window.get(key)) {
+                main.get(key);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+    
+    private FrequencySketch getSketch() {
+        if (null == sketch) {
+            sketch = new FrequencySketch(SKETCH_WIDTH);
+        }
+        return sketch;
+    }
+    
+    private void removeContent(ContentKey key) {
+        contents.remove(key);
+        Content removed = window.remove(key);
+        if (null != removed) {
+            windowBytes -= removed.size;
+            residentBytes -= removed.size;
+        }
+        removed = main.remove(key);
+        if (null != removed) {
+            residentBytes -= removed.size;
+        }
+    }
+    
+    private void evict(long maxBytes) {
+        long windowMaxBytes = Math.max(1L, maxBytes * WINDOW_PERCENT / 100);
+        long mainMaxBytes = maxBytes - windowMaxBytes;
+        Iterator<Map.Entry<ContentKey, Content>> iterator = window.entrySet().iterator();
+        while (windowBytes > windowMaxBytes && iterator.hasNext()) {
+            Map.Entry<ContentKey, Content> candidate = iterator.next();
+            iterator.remove();
+            windowBytes -= candidate.getValue().size;
+            admit(candidate.getKey(), candidate.getValue(), mainMaxBytes);
+        }
+    }
+    
+    private void admit(ContentKey key, Content candidate, long mainMaxBytes) {
+        long mainBytes = residentBytes - windowBytes - candidate.size;
+        Iterator<Map.Entry<ContentKey, Content>> iterator = main.entrySet().iterator();
+        boolean compared = false;
+        while (mainBytes + candidate.size > mainMaxBytes) {
+            if (!iterator.hasNext()) {
+                // candidate is larger than main space.
+                evictContent(key, candidate);
+                return;
+            }
+            Map.Entry<ContentKey, Content> victim = iterator.next();
+            if (!compared && getSketch().frequency(key) <= getSketch().frequency(victim.getKey())) {
+                evictContent(key, candidate);
+                return;
+            }
+            compared = true;
+            iterator.remove();
+            mainBytes -= victim.getValue().size;
+            evictContent(victim.getKey(), victim.getValue());
+        }
+        main.put(key, candidate);
+    }
+    
+    private void evictContent(ContentKey key, Content content) {
+        contents.remove(key, content);
+        residentBytes -= content.size;
+        evictionCount.incrementAndGet();
+    }
+    
+    /**
+     * Cached config content.
+     */
+    public static class Content {
+        
+        /**
+         * Estimated heap bytes of the content object itself.
+         */
+        private static final int OVERHEAD_BYTES = 64;
+        
+        private final String content;
+        
+        private final String encoding;
+        
+        private final String type;
+        
+        private final String md5;
+        
+        private final long size;
+        
+        public Content(String content, String encoding, String type, String md5) {
+            this.content = content;
+            this.encoding = encoding;
+            this.type = type;
+            this.md5 = md5;
+            this.size = OVERHEAD_BYTES + 2L * content.length();
+        }
+        
+        public String getContent() {
+            return content;
+        }
+        
+        public String getEncoding() {
+            return encoding;
+        }
+        
+        public String getType() {
+            return type;
+        }
+        
+        public String getMd5() {
+            return md5;
+        }
+        
+        public long getSize() {
+            return size;
+        }
+    }
+    
+    private static class ContentKey {
+        
+        private final String groupKey;
+        
+        private final boolean isBeta;
+        
+        private final String tag;
+        
+        private ContentKey(String groupKey, boolean isBeta, String tag) {
+            this.groupKey = groupKey;
+            this.isBeta = isBeta;
+            this.tag = tag;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ContentKey that = (ContentKey) o;
+            return isBeta == that.isBeta && groupKey.equals(that.groupKey) && Objects.equals(tag, that.tag);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(groupKey, isBeta, tag);
+        }
+    }
+}
@@ -0,0 +1,531 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.config.server.utils.ConfigExecutor;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted trigram index over the content of formal configs, used to narrow down the candidates of content
+ * fuzzy search before it is verified by {@code content LIKE ?} in database.
+ *
+ * <p>The index is maintained by the dump processors, a full dump rebuilds it and removes the configs that were not
+ * seen. It is saved to a snapshot file when changed, so that a restarted server skips re-indexing the configs whose md5
+ * did not change. The index answers queries only after it is ready, that is after a full dump or after a quick start
+ * from a snapshot which is newer than the changes dumped on start.
+ *
+ * @author nacos
+ */
+@Service
+public class ConfigContentIndex {
+    
+    /**
+     * Length of a gram.
+     */
+    public static final int GRAM_LENGTH = 3;
+    
+    /**
+     * Max count of candidates which are worth to be verified by id in database.
+     */
+    public static final int MAX_CANDIDATES = 1000;
+    
+    private static final int SNAPSHOT_MAGIC = 0x4E434349;
+    
+    private static final int SNAPSHOT_VERSION = 2;
+    
+    private static final long SAVE_INTERVAL_SECONDS = 60L;
+    
+    private static final long[] EMPTY = new long[0];
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private final Map<String, Document> documents = new HashMap<>();
+    
+    private final Map<Long, Posting> postings = new HashMap<>();
+    
+    private final File snapshotFile;
+    
+    private Set<String> rebuildSeen;
+    
+    private volatile boolean ready;
+    
+    private volatile boolean dirty;
+    
+    private volatile long snapshotTime;
+    
+    public ConfigContentIndex() {
+        this(Paths.get(EnvUtil.getNacosHome(), "data", "config-index", "content.index").toFile());
+    }
+    
+    ConfigContentIndex(File snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+    
+    /**
+     * Load the snapshot and schedule saving the index.
+     */
+    @PostConstruct
+    public void init() {
+        load();
+        ConfigExecutor.scheduleConfigTask(this::saveIfDirty, SAVE_INTERVAL_SECONDS, SAVE_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Save the index on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        saveIfDirty();
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * Count of indexed configs.
+     *
+     * @return count of indexed configs
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Index the content of config. The content is not re-indexed if both id and md5 are unchanged, and it is ignored
+     * if the indexed content was modified later, like {@link ConfigCacheService#dump}.
+     *
+     * @param groupKey     group key of config
+     * @param id           id of config in database
+     * @param md5          md5 of content
+     * @param lastModified last modified time of content
+     * @param content      content of config
+     */
+    public void update(String groupKey, long id, String md5, long lastModified, String content) {
+        lock.writeLock().lock();
+        try {
+            Document old = documents.get(groupKey);
+            if (rebuildSeen != null) {
+                rebuildSeen.add(groupKey);
+            }
+            if (old != null && old.lastModified > lastModified) {
+                return;
+            }
+            if (old != null && old.id == id && Objects.equals(old.md5, md5)) {
+                if (old.lastModified != lastModified) {
+                    documents.put(groupKey, new Document(id, md5, lastModified, old.grams));
+                    dirty = true;
+                }
+                return;
+            }
+            long[] grams = grams(content);
+            documents.put(groupKey, new Document(id, md5, lastModified, grams));
+            if (old != null) {
+                unindex(old);
+            }
+            for (long gram : grams) {
+                postings.computeIfAbsent(gram, key -> new Posting()).add(id);
+            }
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Remove config from index.
+     *
+     * @param groupKey group key of config
+     */
+    public void remove(String groupKey) {
+        lock.writeLock().lock();
+        try {
+            if (rebuildSeen != null) {
+                rebuildSeen.remove(groupKey);
+            }
+            Document current = documents.remove(groupKey);
+            if (current != null) {
+                unindex(current);
+                dirty = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Start a full rebuild, the configs which are not updated before {@link #finishRebuild()} will be removed.
+     */
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuildSeen = new HashSet<>(documents.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Finish a full rebuild, remove the configs not seen and mark the index ready.
+     */
+    public void finishRebuild() {
+        lock.writeLock().lock();
+        try {
+            if (rebuildSeen == null) {
+                return;
+            }
+            Iterator<Map.Entry<String, Document>> iterator = documents.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Document> entry = iterator.next();
+                if (!rebuildSeen.contains(entry.getKey())) {
+                    unindex(entry.getValue());
+                    iterator.remove();
+                    dirty = true;
+                }
+            }
+            rebuildSeen = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LogUtil.DEFAULT_LOG.info("[content-index] rebuild finished, size={}", size());
+    }
+    
+    /**
+     * Mark the index ready if it was loaded from a snapshot taken after the time, which means the changes after the
+     * time have been applied to the snapshot content.
+     *
+     * @param time start time of the changes dumped on quick start
+     */
+    public void markReadyIfSnapshotAfter(long time) {
+        if (snapshotTime > 0 && snapshotTime >= time) {
+            ready = true;
+            LogUtil.DEFAULT_LOG.info("[content-index] ready from snapshot, size={}", size());
+        }
+    }
+    
+    /**
+     * Search the ids of configs which may match the content pattern. {@code *} in pattern matches any characters.
+     *
+     * @param pattern content pattern
+     * @return sorted candidate ids, or {@code null} if the index can not narrow the search down, in this case all the
+     *     configs should be searched
+     */
+    public long[] search(String pattern) {
+        if (!ready || StringUtils.isBlank(pattern)) {
+            return null;
+        }
+        long[] grams = queryGrams(pattern);
+        if (grams.length == 0) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            List<Posting> lists = new ArrayList<>(grams.length);
+            for (long gram : grams) {
+                Posting posting = postings.get(gram);
+                if (posting == null) {
+                    return EMPTY;
+                }
+                lists.add(posting);
+            }
+            lists.sort(Comparator.comparingInt(posting -> posting.size));
+            long[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = retain(candidates, count, lists.get(i));
+            }
+            return count > MAX_CANDIDATES ? null : Arrays.copyOf(candidates, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void unindex(Document document) {
+        for (long gram : document.grams) {
+            Posting posting = postings.get(gram);
+            if (posting != null && posting.remove(document.id) && posting.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+    
+    private static int retain(long[] candidates, int count, Posting posting) {
+        int retained = 0;
+        for (int i = 0; i < count; i++) {
+            if (Arrays.binarySearch(posting.ids, 0, posting.size, candidates[i]) >= 0) {
+                candidates[retained++] = candidates[i];
+            }
+        }
+        return retained;
+    }
+    
+    /**
+     * Distinct sorted grams of content, the content is lower cased so that the candidates are a superset for both case
+     * sensitive and case insensitive LIKE.
+     */
+    static long[] grams(String content) {
+        if (content == null || content.length() < GRAM_LENGTH) {
+            return EMPTY;
+        }
+        String text = content.toLowerCase(Locale.ROOT);
+        long[] grams = new long[text.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(text, i);
+        }
+        return distinct(grams, grams.length);
+    }
+    
+    /**
+     * Grams which must be contained by the content matching the pattern. Only the ascii segments between wildcards
+     * are used, since database collation may treat the other characters as equal to different ones.
+     */
+    static long[] queryGrams(String pattern) {
+        String text = pattern.toLowerCase(Locale.ROOT);
+        long[] grams = new long[text.length()];
+        int count = 0;
+        int segmentStart = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || !isLiteral(text.charAt(i))) {
+                for (int j = segmentStart; j + GRAM_LENGTH <= i; j++) {
+                    grams[count++] = gram(text, j);
+                }
+                segmentStart = i + 1;
+            }
+        }
+        return distinct(grams, count);
+    }
+    
+    private static boolean isLiteral(char ch) {
+        return ch < 0x80 && ch != '*' && ch != '%' && ch != '_' && ch != '\\';
+    }
+    
+    private static long gram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+    
+    private static long[] distinct(long[] grams, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(grams, 0, count);
+        int size = 1;
+        for (int i = 1; i < count; i++) {
+            if (grams[i] != grams[size - 1]) {
+                grams[size++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, size);
+    }
+    
+    void saveIfDirty() {
+        if (!dirty) {
+            return;
+        }
+        try {
+            save();
+        } catch (Throwable e) {
+            LogUtil.FATAL_LOG.error("[content-index] save snapshot failed", e);
+        }
+    }
+    
+    void save() throws IOException {
+        File dir = snapshotFile.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("create dir failed: " + dir);
+        }
+        File tmp = new File(dir, snapshotFile.getName() + ".tmp");
+        long time;
+        lock.readLock().lock();
+        try (OutputStream fileOut = Files.newOutputStream(tmp.toPath());
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            time = System.currentTimeMillis();
+            dirty = false;
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(time);
+            out.writeInt(documents.size());
+            for (Map.Entry<String, Document> entry : documents.entrySet()) {
+                Document document = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeLong(document.id);
+                out.writeUTF(document.md5 == null ? StringUtils.EMPTY : document.md5);
+                out.writeLong(document.lastModified);
+                out.writeInt(document.grams.length);
+                for (long gram : document.grams) {
+                    out.writeLong(gram);
+                }
+            }
+        } catch (IOException e) {
+            dirty = true;
+            throw e;
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            Files.move(tmp.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        LogUtil.DEFAULT_LOG.info("[content-index] snapshot saved, time={}", time);
+    }
+    
+    boolean load() {
+        if (!snapshotFile.isFile()) {
+            return false;
+        }
+        try (InputStream fileIn = Files.newInputStream(snapshotFile.toPath());
+                DataInputStream in = new DataInputStream(new BufferedInputStream(fileIn))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                LogUtil.DEFAULT_LOG.warn("[content-index] ignore unknown snapshot {}", snapshotFile);
+                return false;
+            }
+            long time = in.readLong();
+            int count = in.readInt();
+            Map<String, Document> loaded = new HashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                String groupKey = in.readUTF();
+                long id = in.readLong();
+                String md5 = in.readUTF();
+                long lastModified = in.readLong();
+                long[] grams = new long[in.readInt()];
+                for (int j = 0; j < grams.length; j++) {
+                    grams[j] = in.readLong();
+                }
+                loaded.put(groupKey, new Document(id, md5, lastModified, grams));
+            }
+            lock.writeLock().lock();
+            try {
+                documents.clear();
+                postings.clear();
+                documents.putAll(loaded);
+                for (Document document : loaded.values()) {
+                    for (long gram : document.grams) {
+                        postings.computeIfAbsent(gram, key -> new Posting()).add(document.id);
+                    }
+                }
+                snapshotTime = time;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            LogUtil.DEFAULT_LOG.info("[content-index] snapshot loaded, size={}, time={}", count, time);
+            return true;
+        } catch (IOException e) {
+            LogUtil.FATAL_LOG.error("[content-index] load snapshot failed, the index will be rebuilt by dump", e);
+            return false;
+        }
+    }
+    
+    private static class Document {
+        
+        final long id;
+        
+        final String md5;
+        
+        final long lastModified;
+        
+        final long[] grams;
+        
+        Document(long id, String md5, long lastModified, long[] grams) {
+            this.id = id;
+            this.md5 = md5;
+            this.lastModified = lastModified;
+            this.grams = grams;
+        }
+    }
+    
+    /**
+     * Sorted ids of configs containing a gram.
+     */
+    private static class Posting {
+        
+        long[] ids = new long[2];
+        
+        int size;
+        
+        void add(long id) {
+            if (size > 0 && ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            ensureCapacity();
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+        
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+        
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size << 1);
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.alibaba.nacos.config.server.service;
 import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.notify.listener.Subscriber;
+import com.alibaba.nacos.common.task.HashedTimingWheel;
 import com.alibaba.nacos.common.utils.CollectionUtils;
 import com.alibaba.nacos.common.utils.ExceptionUtil;
 import com.alibaba.nacos.config.server.model.SampleResult;
@@ -40,14 +41,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static com.alibaba.nacos.config.server.utils.LogUtil.MEMORY_LOG;
@@ -69,6 +66,13 @@ public class LongPollingService {
     
     private static final String TRUE_STR = "true";
     
+    private static final long TIMEOUT_TICK_MS = 100L;
+    
+    /**
+     * 512 ticks of 100ms covers the max 30s long polling timeout in one round.
+     */
+    private static final int TIMEOUT_WHEEL_SIZE = 512;
+    
     private Map<String, Long> retainIps = new ConcurrentHashMap<String, Long>();
     
     private static boolean isFixedPolling() {
@@ -98,9 +102,13 @@ public class LongPollingService {
         SampleResult sampleResult = new SampleResult();
         Map<String, String> lisentersGroupkeyStatus = new HashMap<String, String>(50);
         
-        for (ClientLongPolling clientLongPolling : allSubs) {
-            if (clientLongPolling.clientMd5Map.containsKey(groupKey)) {
-                lisentersGroupkeyStatus.put(clientLongPolling.ip, clientLongPolling.clientMd5Map.get(groupKey));
+        Set<ClientLongPolling> listeners = groupKeySubs.get(groupKey);
+        if (null != listeners) {
+            for (ClientLongPolling clientLongPolling : listeners) {
+                String md5 = clientLongPolling.clientMd5Map.get(groupKey);
+                if (null != md5) {
+                    lisentersGroupkeyStatus.put(clientLongPolling.ip, md5);
+                }
             }
         }
         sampleResult.setLisentersGroupkeyStatus(lisentersGroupkeyStatus);
@@ -283,9 +291,13 @@ public class LongPollingService {
     
     @SuppressWarnings("PMD.ThreadPoolCreationRule")
     public LongPollingService() {
-        allSubs = new ConcurrentLinkedQueue<ClientLongPolling>();
+        allSubs = ConcurrentHashMap.newKeySet();
+        groupKeySubs = new ConcurrentHashMap<String, Set<ClientLongPolling>>();
+        timeoutWheel = new HashedTimingWheel(TIMEOUT_TICK_MS, TimeUnit.MILLISECONDS, TIMEOUT_WHEEL_SIZE);
         
         ConfigExecutor.scheduleLongPolling(new StatTask(), 0L, 10L, TimeUnit.SECONDS);
+        ConfigExecutor
+                .scheduleLongPolling(timeoutWheel::tick, TIMEOUT_TICK_MS, TIMEOUT_TICK_MS, TimeUnit.MILLISECONDS);
         
         // Register LocalDataChangeEvent to NotifyCenter.
         NotifyCenter.registerToPublisher(LocalDataChangeEvent.class, NotifyCenter.ringBufferSize);
@@ -320,36 +332,74 @@ public class LongPollingService {
     /**
      * ClientLongPolling subscibers.
      */
-    final Queue<ClientLongPolling> allSubs;
+    final Set<ClientLongPolling> allSubs;
+    
+    /**
+     * groupKey -> ClientLongPolling subscribers which listen the group key.
+     */
+    final Map<String, Set<ClientLongPolling>> groupKeySubs;
+    
+    /**
+     * Timing wheel to expire the hanging ClientLongPolling.
+     */
+    final HashedTimingWheel timeoutWheel;
+    
+    private void addSubscriber(ClientLongPolling clientSub) {
+        allSubs.add(clientSub);
+        for (String each : clientSub.clientMd5Map.keySet()) {
+            groupKeySubs.computeIfAbsent(each, key -> ConcurrentHashMap.newKeySet()).add(clientSub);
+        }
+    }
+    
+    /**
+     * Remove subscriber and its relations, only one caller can remove it successfully.
+     *
+     * @param clientSub subscriber
+     * @return true if removed by this call
+     */
+    private boolean removeSubscriber(ClientLongPolling clientSub) {
+        if (!allSubs.remove(clientSub)) {
+            return false;
+        }
+        for (String each : clientSub.clientMd5Map.keySet()) {
+            groupKeySubs.computeIfPresent(each, (key, subs) -> {
+                subs.remove(clientSub);
+                return subs.isEmpty() ? null : subs;
+            });
+        }
+        return true;
+    }
     
     class DataChangeTask implements Runnable {
         
         @Override
         public void run() {
             try {
-                ConfigCacheService.getContentBetaMd5(groupKey);
-                for (Iterator<ClientLongPolling> iter = allSubs.iterator(); iter.hasNext(); ) {
-                    ClientLongPolling clientSub = iter.next();
-                    if (clientSub.clientMd5Map.containsKey(groupKey)) {
-                        // If published tag is not in the beta list, then it skipped.
-                        if (isBeta && !CollectionUtils.contains(betaIps, clientSub.ip)) {
-                            continue;
-                        }
-                        
-                        // If published tag is not in the tag list, then it skipped.
-                        if (StringUtils.isNotBlank(tag) && !tag.equals(clientSub.tag)) {
-                            continue;
-                        }
-                        
-                        getRetainIps().put(clientSub.ip, System.currentTimeMillis());
-                        iter.remove(); // Delete subscribers' relationships.
-                        LogUtil.CLIENT_LOG
-                                .info("{}|{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - changeTime), "in-advance",
-                                        RequestUtil
-                                                .getRemoteIp((HttpServletRequest) clientSub.asyncContext.getRequest()),
-                                        "polling", clientSub.clientMd5Map.size(), clientSub.probeRequestSize, groupKey);
-                        clientSub.sendResponse(Arrays.asList(groupKey));
+                Set<ClientLongPolling> listeners = groupKeySubs.get(groupKey);
+                if (null == listeners) {
+                    return;
+                }
+                for (ClientLongPolling clientSub : listeners) {
+                    // If published tag is not in the beta list, then it skipped.
+                    if (isBeta && !CollectionUtils.contains(betaIps, clientSub.ip)) {
+                        continue;
+                    }
+                    
+                    // If published tag is not in the tag list, then it skipped.
+                    if (StringUtils.isNotBlank(tag) && !tag.equals(clientSub.tag)) {
+                        continue;
+                    }
+                    
+                    // Delete subscribers' relationships.
+                    if (!removeSubscriber(clientSub)) {
+                        continue;
                     }
+                    getRetainIps().put(clientSub.ip, System.currentTimeMillis());
+                    LogUtil.CLIENT_LOG
+                            .info("{}|{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - changeTime), "in-advance",
+                                    RequestUtil.getRemoteIp((HttpServletRequest) clientSub.asyncContext.getRequest()),
+                                    "polling", clientSub.clientMd5Map.size(), clientSub.probeRequestSize, groupKey);
+                    clientSub.sendResponse(Arrays.asList(groupKey));
                 }
                 
             } catch (Throwable t) {
@@ -392,14 +442,14 @@ public class LongPollingService {
         
         @Override
         public void run() {
-            asyncTimeoutFuture = ConfigExecutor.scheduleLongPolling(new Runnable() {
+            asyncTimeoutFuture = timeoutWheel.newTimeout(new Runnable() {
                 @Override
                 public void run() {
                     try {
                         getRetainIps().put(ClientLongPolling.this.ip, System.currentTimeMillis());
                         
                         // Delete subscriber's relations.
-                        boolean removeFlag = allSubs.remove(ClientLongPolling.this);
+                        boolean removeFlag = removeSubscriber(ClientLongPolling.this);
                         
                         if (removeFlag) {
                             if (isFixedPolling()) {
@@ -433,14 +483,14 @@ public class LongPollingService {
                 
             }, timeoutTime, TimeUnit.MILLISECONDS);
             
-            allSubs.add(this);
+            addSubscriber(this);
         }
         
         void sendResponse(List<String> changedGroups) {
             
             // Cancel time out task.
             if (null != asyncTimeoutFuture) {
-                asyncTimeoutFuture.cancel(false);
+                asyncTimeoutFuture.cancel();
             }
             generateResponse(changedGroups);
         }
@@ -499,7 +549,7 @@ public class LongPollingService {
         
         final long timeoutTime;
         
-        Future<?> asyncTimeoutFuture;
+        HashedTimingWheel.Timeout asyncTimeoutFuture;
         
         @Override
         public String toString() {
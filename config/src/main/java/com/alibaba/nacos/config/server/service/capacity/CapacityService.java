@@ -34,8 +34,12 @@ import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.sql.Timestamp;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -62,6 +66,17 @@ public class CapacityService {
     @Autowired
     private PersistService persistService;
     
+    /**
+     * Usage counted in memory of each group, the cluster usage is counted as group {@link
+     * GroupCapacityPersistService#CLUSTER}.
+     */
+    private final Map<String, CapacityUsageCounter> groupUsageCounters = new ConcurrentHashMap<>();
+    
+    /**
+     * Usage counted in memory of each tenant.
+     */
+    private final Map<String, CapacityUsageCounter> tenantUsageCounters = new ConcurrentHashMap<>();
+    
     /**
      * Init.
      */
@@ -74,11 +89,197 @@ public class CapacityService {
             public void run() {
                 LOGGER.info("[capacityManagement] start correct usage");
                 Stopwatch stopwatch = Stopwatch.createStarted();
-                correctUsage();
+                correctUsageInTask();
                 LOGGER.info("[capacityManagement] end correct usage, cost: {}s", stopwatch.elapsed(TimeUnit.SECONDS));
                 
             }
         }, PropertyUtil.getCorrectUsageDelay(), PropertyUtil.getCorrectUsageDelay(), TimeUnit.SECONDS);
+        if (isUsageInMemory()) {
+            // Flush in the same thread with correcting, so they never run at the same time.
+            ConfigExecutor.scheduleCorrectUsageTask(new Runnable() {
+                @Override
+                public void run() {
+                    flushUsage();
+                }
+            }, PropertyUtil.getCapacityUsageFlushMs(), PropertyUtil.getCapacityUsageFlushMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Correct the usage in the scheduled task.
+     */
+    void correctUsageInTask() {
+        if (isUsageInMemory()) {
+            // The usage counted in memory must be flushed before correcting, otherwise it is counted twice.
+            flushUsage();
+            correctUsage();
+            reloadUsageCounters();
+        } else {
+            correctUsage();
+        }
+    }
+    
+    /**
+     * Flush the usage counted in memory before shutdown.
+     */
+    @PreDestroy
+    public void destroy() {
+        if (isUsageInMemory()) {
+            flushUsage();
+        }
+    }
+    
+    /**
+     * Whether the usage is counted in memory and flushed to the capacity tables periodically.
+     *
+     * @return true if the usage is counted in memory.
+     */
+    public boolean isUsageInMemory() {
+        return PropertyUtil.getCapacityUsageFlushMs() > 0;
+    }
+    
+    /**
+     * Flush the usage deltas counted in memory to the capacity tables in batches, then reload the flushed ones to
+     * catch up with the changes made by other servers.
+     */
+    public void flushUsage() {
+        flushUsage(groupUsageCounters, false);
+        flushUsage(tenantUsageCounters, true);
+    }
+    
+    private void flushUsage(Map<String, CapacityUsageCounter> counters, boolean isTenant) {
+        Map<String, Integer> usageDeltas = new HashMap<>(16);
+        for (Map.Entry<String, CapacityUsageCounter> entry : counters.entrySet()) {
+            int delta = entry.getValue().drainDelta();
+            if (delta != 0) {
+                usageDeltas.put(entry.getKey(), delta);
+            }
+        }
+        if (usageDeltas.isEmpty()) {
+            return;
+        }
+        try {
+            if (isTenant) {
+                tenantCapacityPersistService.batchAddUsage(usageDeltas, TimeUtils.getCurrentTime());
+            } else {
+                groupCapacityPersistService.batchAddUsage(usageDeltas, TimeUtils.getCurrentTime());
+            }
+        } catch (Exception e) {
+            LOGGER.error("[capacityManagement] flush usage failed, will retry next time, isTenant: {}", isTenant, e);
+            for (Map.Entry<String, Integer> entry : usageDeltas.entrySet()) {
+                counters.get(entry.getKey()).restoreDelta(entry.getValue());
+            }
+            return;
+        }
+        for (String key : usageDeltas.keySet()) {
+            reloadUsageCounter(key, counters.get(key), isTenant);
+        }
+    }
+    
+    private void reloadUsageCounters() {
+        for (Map.Entry<String, CapacityUsageCounter> entry : groupUsageCounters.entrySet()) {
+            reloadUsageCounter(entry.getKey(), entry.getValue(), false);
+        }
+        for (Map.Entry<String, CapacityUsageCounter> entry : tenantUsageCounters.entrySet()) {
+            reloadUsageCounter(entry.getKey(), entry.getValue(), true);
+        }
+    }
+    
+    private void reloadUsageCounter(String key, CapacityUsageCounter counter, boolean isTenant) {
+        try {
+            Capacity capacity = isTenant ? tenantCapacityPersistService.getTenantCapacity(key)
+                    : groupCapacityPersistService.getGroupCapacity(key);
+            if (capacity != null) {
+                counter.reset(capacity);
+            }
+        } catch (Exception e) {
+            LOGGER.error("[capacityManagement] reload usage failed, key: {}, isTenant: {}", key, isTenant, e);
+        }
+    }
+    
+    /**
+     * Get the usage counter of group, the capacity information is initialized if it does not exist.
+     *
+     * @param group group string value, {@link GroupCapacityPersistService#CLUSTER} for the cluster.
+     * @return the usage counter, null if the capacity information can not be initialized.
+     */
+    private CapacityUsageCounter getGroupUsageCounter(String group) {
+        CapacityUsageCounter counter = groupUsageCounters.get(group);
+        if (counter != null) {
+            return counter;
+        }
+        GroupCapacity groupCapacity = getGroupCapacity(group);
+        if (groupCapacity == null) {
+            if (GroupCapacityPersistService.CLUSTER.equals(group)) {
+                insertGroupCapacity(group);
+            } else {
+                initGroupCapacity(group);
+            }
+            groupCapacity = getGroupCapacity(group);
+            if (groupCapacity == null) {
+                return null;
+            }
+        }
+        counter = new CapacityUsageCounter(groupCapacity);
+        CapacityUsageCounter old = groupUsageCounters.putIfAbsent(group, counter);
+        return old == null ? counter : old;
+    }
+    
+    /**
+     * Get the usage counter of tenant, the capacity information is initialized if it does not exist.
+     *
+     * @param tenant tenant string value.
+     * @return the usage counter, null if the capacity information can not be initialized.
+     */
+    private CapacityUsageCounter getTenantUsageCounter(String tenant) {
+        CapacityUsageCounter counter = tenantUsageCounters.get(tenant);
+        if (counter != null) {
+            return counter;
+        }
+        TenantCapacity tenantCapacity = getTenantCapacity(tenant);
+        if (tenantCapacity == null) {
+            initTenantCapacity(tenant);
+            tenantCapacity = getTenantCapacity(tenant);
+            if (tenantCapacity == null) {
+                return null;
+            }
+        }
+        counter = new CapacityUsageCounter(tenantCapacity);
+        CapacityUsageCounter old = tenantUsageCounters.putIfAbsent(tenant, counter);
+        return old == null ? counter : old;
+    }
+    
+    private boolean updateUsageInMemory(CapacityUsageCounter counter, CounterMode counterMode, int defaultQuota,
+            boolean ignoreQuotaLimit) {
+        if (counter == null) {
+            return false;
+        }
+        if (CounterMode.INCREMENT == counterMode) {
+            // The quota field in the table is 0 means that the quota is the default value.
+            int quota = counter.getCapacity().getQuota();
+            return counter.increment(quota == 0 ? defaultQuota : quota, ignoreQuotaLimit);
+        }
+        return counter.decrement();
+    }
+    
+    /**
+     * Get the capacity to check the content size. If the usage is counted in memory, the capacity loaded with the
+     * counter is returned to save the query, it must not be modified.
+     *
+     * @param group  group string value.
+     * @param tenant tenant string value.
+     * @return the capacity, null if it does not exist.
+     */
+    public Capacity getCachedCapacity(String group, String tenant) {
+        boolean isTenant = StringUtils.isNotBlank(tenant);
+        if (isUsageInMemory()) {
+            CapacityUsageCounter counter =
+                    isTenant ? tenantUsageCounters.get(tenant) : groupUsageCounters.get(group);
+            if (counter != null) {
+                return counter.getCapacity();
+            }
+        }
+        return isTenant ? getTenantCapacity(tenant) : getGroupCapacity(group);
     }
     
     public void correctUsage() {
@@ -186,6 +387,10 @@ public class CapacityService {
      * @return the result of update cluster usage.
      */
     public boolean insertAndUpdateClusterUsage(CounterMode counterMode, boolean ignoreQuotaLimit) {
+        if (isUsageInMemory()) {
+            return updateGroupUsage(counterMode, GroupCapacityPersistService.CLUSTER,
+                    PropertyUtil.getDefaultClusterQuota(), ignoreQuotaLimit);
+        }
         Capacity capacity = groupCapacityPersistService.getClusterCapacity();
         if (capacity == null) {
             insertGroupCapacity(GroupCapacityPersistService.CLUSTER);
@@ -209,6 +414,9 @@ public class CapacityService {
      * @return operate successfully or not.
      */
     public boolean insertAndUpdateGroupUsage(CounterMode counterMode, String group, boolean ignoreQuotaLimit) {
+        if (isUsageInMemory()) {
+            return updateGroupUsage(counterMode, group, PropertyUtil.getDefaultGroupQuota(), ignoreQuotaLimit);
+        }
         GroupCapacity groupCapacity = getGroupCapacity(group);
         if (groupCapacity == null) {
             initGroupCapacity(group, null, null, null, null);
@@ -222,6 +430,9 @@ public class CapacityService {
     
     private boolean updateGroupUsage(CounterMode counterMode, String group, int defaultQuota,
             boolean ignoreQuotaLimit) {
+        if (isUsageInMemory()) {
+            return updateUsageInMemory(getGroupUsageCounter(group), counterMode, defaultQuota, ignoreQuotaLimit);
+        }
         final Timestamp now = TimeUtils.getCurrentTime();
         GroupCapacity groupCapacity = new GroupCapacity();
         groupCapacity.setGroup(group);
@@ -415,6 +626,9 @@ public class CapacityService {
      * @return operate successfully or not.
      */
     public boolean insertAndUpdateTenantUsage(CounterMode counterMode, String tenant, boolean ignoreQuotaLimit) {
+        if (isUsageInMemory()) {
+            return updateTenantUsage(counterMode, tenant, ignoreQuotaLimit);
+        }
         TenantCapacity tenantCapacity = getTenantCapacity(tenant);
         if (tenantCapacity == null) {
             // Init capacity information.
@@ -424,6 +638,10 @@ public class CapacityService {
     }
     
     private boolean updateTenantUsage(CounterMode counterMode, String tenant, boolean ignoreQuotaLimit) {
+        if (isUsageInMemory()) {
+            return updateUsageInMemory(getTenantUsageCounter(tenant), counterMode,
+                    PropertyUtil.getDefaultTenantQuota(), ignoreQuotaLimit);
+        }
         final Timestamp now = TimeUtils.getCurrentTime();
         TenantCapacity tenantCapacity = new TenantCapacity();
         tenantCapacity.setTenant(tenant);
@@ -525,17 +743,30 @@ public class CapacityService {
      */
     public boolean insertOrUpdateCapacity(String group, String tenant, Integer quota, Integer maxSize,
             Integer maxAggrCount, Integer maxAggrSize) {
+        boolean result;
         if (StringUtils.isNotBlank(tenant)) {
             Capacity capacity = tenantCapacityPersistService.getTenantCapacity(tenant);
             if (capacity == null) {
                 return initTenantCapacity(tenant, quota, maxSize, maxAggrCount, maxAggrSize);
             }
-            return tenantCapacityPersistService.updateTenantCapacity(tenant, quota, maxSize, maxAggrCount, maxAggrSize);
+            result = tenantCapacityPersistService
+                    .updateTenantCapacity(tenant, quota, maxSize, maxAggrCount, maxAggrSize);
+            refreshUsageCounter(tenant, tenantUsageCounters.get(tenant), true);
+            return result;
         }
         Capacity capacity = groupCapacityPersistService.getGroupCapacity(group);
         if (capacity == null) {
             return initGroupCapacity(group, quota, maxSize, maxAggrCount, maxAggrSize);
         }
-        return groupCapacityPersistService.updateGroupCapacity(group, quota, maxSize, maxAggrCount, maxAggrSize);
+        result = groupCapacityPersistService.updateGroupCapacity(group, quota, maxSize, maxAggrCount, maxAggrSize);
+        refreshUsageCounter(group, groupUsageCounters.get(group), false);
+        return result;
+    }
+    
+    private void refreshUsageCounter(String key, CapacityUsageCounter counter, boolean isTenant) {
+        // Pick up the new quota and max size at once instead of waiting for next flush.
+        if (counter != null) {
+            reloadUsageCounter(key, counter, isTenant);
+        }
     }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.capacity;
+
+import com.alibaba.nacos.config.server.model.capacity.Capacity;
+
+/**
+ * Usage counter of one group or tenant kept in memory, the changes not flushed to the capacity table yet are recorded
+ * as delta. The usage and delta are guarded by the counter, so that the change in flight is never lost by reset.
+ *
+ * @author nacos
+ */
+final class CapacityUsageCounter {
+    
+    private int usage;
+    
+    private int delta;
+    
+    private volatile Capacity capacity;
+    
+    CapacityUsageCounter(Capacity capacity) {
+        reset(capacity);
+    }
+    
+    /**
+     * Increase the usage by one if it has not reached the quota.
+     *
+     * @param quota            quota int value.
+     * @param ignoreQuotaLimit ignoreQuotaLimit flag.
+     * @return whether the usage is increased.
+     */
+    synchronized boolean increment(int quota, boolean ignoreQuotaLimit) {
+        if (!ignoreQuotaLimit && usage >= quota) {
+            return false;
+        }
+        usage++;
+        delta++;
+        return true;
+    }
+    
+    /**
+     * Decrease the usage by one if it is positive.
+     *
+     * @return whether the usage is decreased.
+     */
+    synchronized boolean decrement() {
+        if (usage <= 0) {
+            return false;
+        }
+        usage--;
+        delta--;
+        return true;
+    }
+    
+    /**
+     * Take the delta to flush, it should be given back by {@link #restoreDelta(int)} if the flush fails.
+     *
+     * @return the delta since last flush.
+     */
+    synchronized int drainDelta() {
+        int result = delta;
+        delta = 0;
+        return result;
+    }
+    
+    synchronized void restoreDelta(int value) {
+        delta += value;
+    }
+    
+    /**
+     * Reset the counter with the capacity loaded from the capacity table, the delta not flushed yet is kept.
+     *
+     * @param capacity capacity loaded from the capacity table.
+     */
+    synchronized void reset(Capacity capacity) {
+        this.capacity = capacity;
+        usage = capacity.getUsage() + delta;
+    }
+    
+    synchronized int getUsage() {
+        return usage;
+    }
+    
+    Capacity getCapacity() {
+        return capacity;
+    }
+}
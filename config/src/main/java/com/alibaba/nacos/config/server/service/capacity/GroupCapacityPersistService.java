@@ -38,6 +38,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.Map;
 
 import static com.alibaba.nacos.config.server.utils.LogUtil.FATAL_LOG;
 
@@ -229,6 +230,26 @@ public class GroupCapacityPersistService {
         }
     }
     
+    /**
+     * Add the usage deltas counted in memory in one batch.
+     *
+     * @param usageDeltas usage delta of each group.
+     * @param gmtModified modified time.
+     */
+    public void batchAddUsage(Map<String, Integer> usageDeltas, Timestamp gmtModified) {
+        String sql = "UPDATE group_capacity SET `usage` = `usage` + ?, gmt_modified = ? WHERE group_id = ?";
+        List<Object[]> batchArgs = Lists.newArrayListWithCapacity(usageDeltas.size());
+        for (Map.Entry<String, Integer> entry : usageDeltas.entrySet()) {
+            batchArgs.add(new Object[] {entry.getValue(), gmtModified, entry.getKey()});
+        }
+        try {
+            jdbcTemplate.batchUpdate(sql, batchArgs);
+        } catch (CannotGetJdbcConnectionException e) {
+            FATAL_LOG.error("[db-error]", e);
+            throw e;
+        }
+    }
+    
     /**
      * Update GroupCapacity.
      *
@@ -37,6 +37,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.Map;
 
 import static com.alibaba.nacos.config.server.utils.LogUtil.FATAL_LOG;
 
@@ -197,6 +198,26 @@ public class TenantCapacityPersistService {
         }
     }
     
+    /**
+     * Add the usage deltas counted in memory in one batch.
+     *
+     * @param usageDeltas usage delta of each tenant.
+     * @param gmtModified modified time.
+     */
+    public void batchAddUsage(Map<String, Integer> usageDeltas, Timestamp gmtModified) {
+        String sql = "UPDATE tenant_capacity SET `usage` = `usage` + ?, gmt_modified = ? WHERE tenant_id = ?";
+        List<Object[]> batchArgs = Lists.newArrayListWithCapacity(usageDeltas.size());
+        for (Map.Entry<String, Integer> entry : usageDeltas.entrySet()) {
+            batchArgs.add(new Object[] {entry.getValue(), gmtModified, entry.getKey()});
+        }
+        try {
+            jdbcTemplate.batchUpdate(sql, batchArgs);
+        } catch (CannotGetJdbcConnectionException e) {
+            FATAL_LOG.error("[db-error]", e);
+            throw e;
+        }
+    }
+    
     /**
      * Update TenantCapacity.
      *
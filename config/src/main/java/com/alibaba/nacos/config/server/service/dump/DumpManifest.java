@@ -0,0 +1,172 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump;
+
+import com.alibaba.nacos.config.server.utils.LogUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manifest of the config files written by dump all, groupKey -> md5 and lastModified of config.
+ *
+ * <p>It is saved as a checkpoint after dump all. On restart, a config whose md5 and lastModified are unchanged since
+ * the checkpoint, and whose file was not written after the checkpoint, is not written to disk again.
+ *
+ * @author nacos
+ */
+public class DumpManifest {
+    
+    private static final int MAGIC = 0x4E43444D;
+    
+    private static final int VERSION = 1;
+    
+    private final Map<String, Entry> entries;
+    
+    private final long checkpointTime;
+    
+    public DumpManifest() {
+        this(new ConcurrentHashMap<>(16), 0L);
+    }
+    
+    private DumpManifest(Map<String, Entry> entries, long checkpointTime) {
+        this.entries = entries;
+        this.checkpointTime = checkpointTime;
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public Set<String> groupKeys() {
+        return entries.keySet();
+    }
+    
+    /**
+     * Record the config dumped.
+     *
+     * @param groupKey     group key
+     * @param md5          md5 of content
+     * @param lastModified last modified time of config
+     */
+    public void record(String groupKey, String md5, long lastModified) {
+        entries.put(groupKey, new Entry(md5, lastModified));
+    }
+    
+    /**
+     * Whether the config file still holds the content recorded in checkpoint.
+     *
+     * @param groupKey     group key
+     * @param md5          md5 of content
+     * @param lastModified last modified time of config
+     * @param dumpFile     config file
+     * @return true if the config file does not need to be written
+     */
+    public boolean isUnchanged(String groupKey, String md5, long lastModified, File dumpFile) {
+        Entry entry = entries.get(groupKey);
+        return entry != null && entry.lastModified == lastModified && entry.md5.equals(md5) && dumpFile.isFile()
+                && dumpFile.lastModified() <= checkpointTime;
+    }
+    
+    /**
+     * Save manifest as a checkpoint.
+     *
+     * @param file           manifest file
+     * @param checkpointTime time of checkpoint, all the recorded config files were written before it
+     * @throws IOException io exception
+     */
+    public void save(File file, long checkpointTime) throws IOException {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("create dir failed: " + dir);
+        }
+        File tmp = new File(dir, file.getName() + ".tmp");
+        try (OutputStream fileOut = Files.newOutputStream(tmp.toPath());
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(checkpointTime);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> each : entries.entrySet()) {
+                out.writeUTF(each.getKey());
+                out.writeUTF(each.getValue().md5);
+                out.writeLong(each.getValue().lastModified);
+            }
+        }
+        try {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    /**
+     * Load manifest of last checkpoint.
+     *
+     * @param file manifest file
+     * @return manifest, or {@code null} if there is no valid manifest
+     */
+    public static DumpManifest load(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (InputStream fileIn = Files.newInputStream(file.toPath());
+                DataInputStream in = new DataInputStream(new BufferedInputStream(fileIn))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LogUtil.DEFAULT_LOG.warn("ignore unknown dump manifest {}", file);
+                return null;
+            }
+            long checkpointTime = in.readLong();
+            int count = in.readInt();
+            Map<String, Entry> entries = new ConcurrentHashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                String groupKey = in.readUTF();
+                String md5 = in.readUTF();
+                entries.put(groupKey, new Entry(md5, in.readLong()));
+            }
+            return new DumpManifest(entries, checkpointTime);
+        } catch (IOException e) {
+            LogUtil.FATAL_LOG.error("load dump manifest failed, all config-info will be rewritten", e);
+            return null;
+        }
+    }
+    
+    private static class Entry {
+        
+        final String md5;
+        
+        final long lastModified;
+        
+        Entry(String md5, long lastModified) {
+            this.md5 = md5;
+            this.lastModified = lastModified;
+        }
+    }
+}
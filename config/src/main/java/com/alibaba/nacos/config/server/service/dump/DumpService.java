@@ -28,6 +28,7 @@ import com.alibaba.nacos.config.server.model.ConfigInfoChanged;
 import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
 import com.alibaba.nacos.config.server.model.Page;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.ConfigContentIndex;
 import com.alibaba.nacos.config.server.service.datasource.DynamicDataSource;
 import com.alibaba.nacos.config.server.service.dump.processor.DumpAllBetaProcessor;
 import com.alibaba.nacos.config.server.service.dump.processor.DumpAllProcessor;
@@ -92,6 +93,8 @@ public abstract class DumpService {
     
     protected final ServerMemberManager memberManager;
     
+    protected final ConfigContentIndex contentIndex;
+    
     /**
      * full dump interval.
      */
@@ -128,10 +131,13 @@ public abstract class DumpService {
      *
      * @param persistService {@link PersistService}
      * @param memberManager  {@link ServerMemberManager}
+     * @param contentIndex   {@link ConfigContentIndex}
      */
-    public DumpService(PersistService persistService, ServerMemberManager memberManager) {
+    public DumpService(PersistService persistService, ServerMemberManager memberManager,
+            ConfigContentIndex contentIndex) {
         this.persistService = persistService;
         this.memberManager = memberManager;
+        this.contentIndex = contentIndex;
         this.processor = new DumpProcessor(this);
         this.dumpAllProcessor = new DumpAllProcessor(this);
         this.dumpAllBetaProcessor = new DumpAllBetaProcessor(this);
@@ -157,6 +163,10 @@ public abstract class DumpService {
         return memberManager;
     }
     
+    public ConfigContentIndex getContentIndex() {
+        return contentIndex;
+    }
+    
     /**
      * initialize.
      *
@@ -288,14 +298,21 @@ public abstract class DumpService {
                 }
             }
             if (isAllDump) {
-                LogUtil.DEFAULT_LOG.info("start clear all config-info.");
-                DiskUtil.clearAll();
-                dumpAllProcessor.process(new DumpAllTask());
+                DumpManifest manifest = DumpManifest.load(DiskUtil.dumpManifestFile());
+                if (manifest == null) {
+                    LogUtil.DEFAULT_LOG.info("start clear all config-info.");
+                    DiskUtil.clearAll();
+                } else {
+                    LogUtil.DEFAULT_LOG.info("dump manifest loaded, only changed config-info will be rewritten, "
+                            + "size={}", manifest.size());
+                }
+                dumpAllProcessor.process(new DumpAllTask(manifest));
             } else {
                 Timestamp beforeTimeStamp = getBeforeStamp(heartheatLastStamp, timeStep);
                 DumpChangeProcessor dumpChangeProcessor = new DumpChangeProcessor(this, beforeTimeStamp,
                         TimeUtils.getCurrentTime());
                 dumpChangeProcessor.process(new DumpChangeTask());
+                contentIndex.markReadyIfSnapshotAfter(beforeTimeStamp.getTime());
                 Runnable checkMd5Task = () -> {
                     LogUtil.DEFAULT_LOG.error("start checkMd5Task");
                     List<String> diffList = ConfigCacheService.checkMd5();
@@ -22,6 +22,7 @@ import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.common.utils.ThreadUtils;
 import com.alibaba.nacos.config.server.configuration.ConditionOnEmbeddedStorage;
 import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.service.ConfigContentIndex;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
 import com.alibaba.nacos.config.server.service.sql.EmbeddedStorageContextUtils;
 import com.alibaba.nacos.consistency.ProtocolMetaData;
@@ -67,10 +68,11 @@ public class EmbeddedDumpService extends DumpService {
      * @param persistService  {@link PersistService}
      * @param memberManager   {@link ServerMemberManager}
      * @param protocolManager {@link ProtocolManager}
+     * @param contentIndex    {@link ConfigContentIndex}
      */
     public EmbeddedDumpService(PersistService persistService, ServerMemberManager memberManager,
-            ProtocolManager protocolManager) {
-        super(persistService, memberManager);
+            ProtocolManager protocolManager, ConfigContentIndex contentIndex) {
+        super(persistService, memberManager, contentIndex);
         this.protocolManager = protocolManager;
     }
     
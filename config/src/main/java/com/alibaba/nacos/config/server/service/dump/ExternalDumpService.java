@@ -17,6 +17,7 @@
 package com.alibaba.nacos.config.server.service.dump;
 
 import com.alibaba.nacos.config.server.configuration.ConditionOnExternalStorage;
+import com.alibaba.nacos.config.server.service.ConfigContentIndex;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
 import com.alibaba.nacos.core.cluster.ServerMemberManager;
 import org.springframework.context.annotation.Conditional;
@@ -41,9 +42,11 @@ public class ExternalDumpService extends DumpService {
      *
      * @param persistService {@link PersistService}
      * @param memberManager  {@link ServerMemberManager}
+     * @param contentIndex   {@link ConfigContentIndex}
      */
-    public ExternalDumpService(PersistService persistService, ServerMemberManager memberManager) {
-        super(persistService, memberManager);
+    public ExternalDumpService(PersistService persistService, ServerMemberManager memberManager,
+            ConfigContentIndex contentIndex) {
+        super(persistService, memberManager, contentIndex);
     }
     
     @PostConstruct
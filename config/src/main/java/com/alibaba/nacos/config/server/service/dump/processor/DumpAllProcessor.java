@@ -25,17 +25,34 @@ import com.alibaba.nacos.config.server.model.Page;
 import com.alibaba.nacos.config.server.service.AggrWhitelist;
 import com.alibaba.nacos.config.server.service.ClientIpWhiteList;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.ConfigContentIndex;
 import com.alibaba.nacos.config.server.service.SwitchService;
+import com.alibaba.nacos.config.server.service.dump.DumpManifest;
 import com.alibaba.nacos.config.server.service.dump.DumpService;
+import com.alibaba.nacos.config.server.service.dump.task.DumpAllTask;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.config.server.service.sql.EmbeddedStorageContextUtils;
+import com.alibaba.nacos.config.server.utils.ConfigExecutor;
+import com.alibaba.nacos.config.server.utils.DiskUtil;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.consistency.cp.ReadConsistency;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
 
 import static com.alibaba.nacos.config.server.utils.LogUtil.DEFAULT_LOG;
 
 /**
  * Dump all processor.
  *
+ * <p>The configs are read from database page by page on the calling thread, and handed over a bounded queue to the
+ * dump all workers, which compute md5 and write config files. When the task carries the manifest of last dump all,
+ * the configs unchanged since that checkpoint are not written again.
+ *
  * @author Nacos
  * @date 2020/7/5 12:19 PM
  */
@@ -48,6 +65,51 @@ public class DumpAllProcessor implements NacosTaskProcessor {
     
     @Override
     public boolean process(NacosTask task) {
+        // dump all tolerates slight staleness, the changes after that will be dumped by data change events.
+        EmbeddedStorageContextUtils.putReadConsistency(ReadConsistency.FOLLOWER);
+        try {
+            return dumpAll(task instanceof DumpAllTask ? ((DumpAllTask) task).getManifest() : null);
+        } finally {
+            EmbeddedStorageContextUtils.cleanReadConsistency();
+        }
+    }
+    
+    private boolean dumpAll(DumpManifest lastManifest) {
+        final long startTime = System.currentTimeMillis();
+        final ConfigContentIndex contentIndex = dumpService.getContentIndex();
+        contentIndex.beginRebuild();
+        final DumpManifest manifest = new DumpManifest();
+        final BlockingQueue<ConfigInfoWrapper> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        final int workerCount = ConfigExecutor.dumpAllWorkerCount();
+        final CountDownLatch finished = new CountDownLatch(workerCount);
+        final DumpStatistics statistics = new DumpStatistics();
+        for (int i = 0; i < workerCount; i++) {
+            ConfigExecutor.executeDumpAllWorker(
+                    new DumpWorker(queue, lastManifest, manifest, contentIndex, statistics, finished));
+        }
+        try {
+            readAll(queue);
+        } finally {
+            stopWorkers(queue, workerCount, finished);
+        }
+        contentIndex.finishRebuild();
+        if (lastManifest != null) {
+            removeStaleFiles(manifest);
+        }
+        try {
+            manifest.save(DiskUtil.dumpManifestFile(), System.currentTimeMillis());
+        } catch (IOException e) {
+            LogUtil.FATAL_LOG.error("[all-dump] save dump manifest failed", e);
+        }
+        long cost = Math.max(System.currentTimeMillis() - startTime, 1L);
+        long total = statistics.written.sum() + statistics.skipped.sum() + statistics.failed.sum();
+        DEFAULT_LOG.info("[all-dump] done, total={}, written={}, skipped={}, failed={}, workers={}, cost={}ms, "
+                        + "throughput={}/s", total, statistics.written.sum(), statistics.skipped.sum(),
+                statistics.failed.sum(), workerCount, cost, total * 1000L / cost);
+        return true;
+    }
+    
+    private void readAll(BlockingQueue<ConfigInfoWrapper> queue) {
         long currentMaxId = persistService.findConfigMaxId();
         long lastMaxId = 0;
         while (lastMaxId < currentMaxId) {
@@ -68,26 +130,137 @@ public class DumpAllProcessor implements NacosTaskProcessor {
                         SwitchService.load(cf.getContent());
                     }
                     
-                    boolean result = ConfigCacheService
-                            .dump(cf.getDataId(), cf.getGroup(), cf.getTenant(), cf.getContent(), cf.getLastModified(),
-                                    cf.getType());
-                    
-                    final String content = cf.getContent();
-                    final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE);
-                    LogUtil.DUMP_LOG.info("[dump-all-ok] {}, {}, length={}, md5={}",
-                            GroupKey2.getKey(cf.getDataId(), cf.getGroup()), cf.getLastModified(), content.length(),
-                            md5);
+                    put(queue, cf);
                 }
                 DEFAULT_LOG.info("[all-dump] {} / {}", lastMaxId, currentMaxId);
             } else {
                 lastMaxId += PAGE_SIZE;
             }
         }
-        return true;
+    }
+    
+    private void stopWorkers(BlockingQueue<ConfigInfoWrapper> queue, int workerCount, CountDownLatch finished) {
+        for (int i = 0; i < workerCount; i++) {
+            put(queue, END);
+        }
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting dump all workers", e);
+        }
+    }
+    
+    private void put(BlockingQueue<ConfigInfoWrapper> queue, ConfigInfoWrapper cf) {
+        try {
+            queue.put(cf);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while dumping all config-info", e);
+        }
+    }
+    
+    /**
+     * Remove the files of configs not found in database any more, they are not cleared before dump all when the
+     * manifest is used. All files are checked, as a config dumped after last manifest may be deleted while this node
+     * was down. The configs dumped by data change events during dump all are in cache and kept.
+     */
+    private void removeStaleFiles(DumpManifest manifest) {
+        int removed = DiskUtil.removeConfigInfoIfNot(
+                groupKey -> manifest.groupKeys().contains(groupKey) || ConfigCacheService.hasGroupKey(groupKey));
+        DEFAULT_LOG.info("[all-dump] removed {} stale config-info files", removed);
+    }
+    
+    private static class DumpStatistics {
+        
+        final LongAdder written = new LongAdder();
+        
+        final LongAdder skipped = new LongAdder();
+        
+        final LongAdder failed = new LongAdder();
+    }
+    
+    /**
+     * Worker computing md5 and writing config files.
+     */
+    private static class DumpWorker implements Runnable {
+        
+        private final BlockingQueue<ConfigInfoWrapper> queue;
+        
+        private final DumpManifest lastManifest;
+        
+        private final DumpManifest manifest;
+        
+        private final ConfigContentIndex contentIndex;
+        
+        private final DumpStatistics statistics;
+        
+        private final CountDownLatch finished;
+        
+        DumpWorker(BlockingQueue<ConfigInfoWrapper> queue, DumpManifest lastManifest, DumpManifest manifest,
+                ConfigContentIndex contentIndex, DumpStatistics statistics, CountDownLatch finished) {
+            this.queue = queue;
+            this.lastManifest = lastManifest;
+            this.manifest = manifest;
+            this.contentIndex = contentIndex;
+            this.statistics = statistics;
+            this.finished = finished;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                for (ConfigInfoWrapper cf = queue.take(); cf != END; cf = queue.take()) {
+                    try {
+                        dump(cf);
+                    } catch (Throwable e) {
+                        statistics.failed.increment();
+                        LogUtil.DUMP_LOG.error("[dump-all-error] {}", GroupKey2.getKey(cf.getDataId(), cf.getGroup()),
+                                e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                finished.countDown();
+            }
+        }
+        
+        private void dump(ConfigInfoWrapper cf) {
+            final String groupKey = GroupKey2.getKey(cf.getDataId(), cf.getGroup(), cf.getTenant());
+            final String content = cf.getContent();
+            final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE);
+            boolean diskSynced = lastManifest != null && lastManifest
+                    .isUnchanged(groupKey, md5, cf.getLastModified(),
+                            DiskUtil.targetFile(cf.getDataId(), cf.getGroup(), cf.getTenant()));
+            boolean result = ConfigCacheService
+                    .dump(cf.getDataId(), cf.getGroup(), cf.getTenant(), content, md5, cf.getLastModified(),
+                            cf.getType(), diskSynced);
+            if (result) {
+                manifest.record(groupKey, md5, cf.getLastModified());
+                if (diskSynced) {
+                    statistics.skipped.increment();
+                } else {
+                    statistics.written.increment();
+                }
+            } else {
+                statistics.failed.increment();
+            }
+            contentIndex.update(groupKey, cf.getId(), md5, cf.getLastModified(), content);
+            LogUtil.DUMP_LOG.info("[dump-all-ok] {}, {}, length={}, md5={}",
+                    GroupKey2.getKey(cf.getDataId(), cf.getGroup()), cf.getLastModified(), content.length(), md5);
+        }
     }
     
     static final int PAGE_SIZE = 1000;
     
+    static final int QUEUE_CAPACITY = PAGE_SIZE;
+    
+    /**
+     * Marks the end of configs for workers.
+     */
+    private static final ConfigInfoWrapper END = new ConfigInfoWrapper();
+    
     final DumpService dumpService;
     
     final PersistService persistService;
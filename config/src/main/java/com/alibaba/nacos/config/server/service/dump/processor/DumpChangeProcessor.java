@@ -76,6 +76,8 @@ public class DumpChangeProcessor implements NacosTaskProcessor {
             if (persistService.findConfigInfo(configInfo.getDataId(), configInfo.getGroup(), configInfo.getTenant())
                     == null) {
                 ConfigCacheService.remove(configInfo.getDataId(), configInfo.getGroup(), configInfo.getTenant());
+                dumpService.getContentIndex()
+                        .remove(GroupKey2.getKey(configInfo.getDataId(), configInfo.getGroup(), configInfo.getTenant()));
             }
         }
         long endDeletedConfigTime = System.currentTimeMillis();
@@ -90,6 +92,9 @@ public class DumpChangeProcessor implements NacosTaskProcessor {
                     .dumpChange(cf.getDataId(), cf.getGroup(), cf.getTenant(), cf.getContent(), cf.getLastModified());
             final String content = cf.getContent();
             final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE);
+            dumpService.getContentIndex()
+                    .update(GroupKey2.getKey(cf.getDataId(), cf.getGroup(), cf.getTenant()), cf.getId(), md5,
+                            cf.getLastModified(), content);
             LogUtil.DEFAULT_LOG.info("[dump-change-ok] {}, {}, length={}, md5={}", GroupKey2.getKey(cf.getDataId(), cf.getGroup()),
                     cf.getLastModified(), content.length(), md5);
         }
@@ -77,6 +77,13 @@ public class DumpProcessor implements NacosTaskProcessor {
             build.remove(Objects.isNull(cf));
             build.content(Objects.isNull(cf) ? null : cf.getContent());
             build.type(Objects.isNull(cf) ? null : cf.getType());
+            
+            final String groupKey = GroupKey2.getKey(dataId, group, tenant);
+            if (Objects.isNull(cf)) {
+                dumpService.getContentIndex().remove(groupKey);
+            } else {
+                dumpService.getContentIndex().update(groupKey, cf.getId(), cf.getMd5(), lastModified, cf.getContent());
+            }
         } else {
             ConfigInfo4Tag cf = persistService.findConfigInfo4Tag(dataId, group, tenant, tag);
 
@@ -17,6 +17,7 @@
 package com.alibaba.nacos.config.server.service.dump.task;
 
 import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.config.server.service.dump.DumpManifest;
 
 /**
  * Dump all task.
@@ -26,6 +27,25 @@ import com.alibaba.nacos.common.task.AbstractDelayTask;
  */
 public class DumpAllTask extends AbstractDelayTask {
     
+    private final DumpManifest manifest;
+    
+    public DumpAllTask() {
+        this(null);
+    }
+    
+    /**
+     * Dump all task which rewrites only the configs changed since the manifest checkpoint.
+     *
+     * @param manifest manifest of last dump all, nullable
+     */
+    public DumpAllTask(DumpManifest manifest) {
+        this.manifest = manifest;
+    }
+    
+    public DumpManifest getManifest() {
+        return manifest;
+    }
+    
     @Override
     public void merge(AbstractDelayTask task) {
     }
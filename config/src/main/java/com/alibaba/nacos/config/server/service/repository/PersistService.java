@@ -868,7 +868,8 @@ public interface PersistService {
      * @param dataId            data id
      * @param group             group
      * @param tenant            tenant
-     * @param configAdvanceInfo advance info
+     * @param configAdvanceInfo advance info, the {@code long[]} of {@code content_ids} limits the content search to
+     *                          the candidate ids
      * @return {@link Page} with {@link ConfigInfo} generation
      */
     Page<ConfigInfo> findConfigInfoLike4Page(final int pageNo, final int pageSize, final String dataId,
@@ -1311,6 +1312,21 @@ public interface PersistService {
     List<ConfigAllInfo> findAllConfigInfo4Export(final String dataId, final String group, final String tenant,
             final String appName, final List<Long> ids);
     
+    /**
+     * query configuration information for export by page, the pages are fetched with the cursor of config id.
+     *
+     * @param dataId    data id
+     * @param group     group
+     * @param tenant    tenant
+     * @param appName   appName
+     * @param ids       ids
+     * @param lastMaxId max id of last page, {@code 0} for the first page
+     * @param pageSize  page size
+     * @return page of ConfigAllInfo ordered by id
+     */
+    Page<ConfigAllInfo> findAllConfigInfo4ExportFragment(final String dataId, final String group, final String tenant,
+            final String appName, final List<Long> ids, final long lastMaxId, final int pageSize);
+    
     /**
      * batch operation,insert or update the format of the returned: succCount: number of successful imports skipCount:
      * number of import skips (only with skip for the same configs) failData: import failed data (only with abort for
@@ -48,6 +48,7 @@ import com.alibaba.nacos.config.server.utils.LogUtil;
 import com.alibaba.nacos.consistency.SerializeFactory;
 import com.alibaba.nacos.consistency.Serializer;
 import com.alibaba.nacos.consistency.cp.CPProtocol;
+import com.alibaba.nacos.consistency.cp.ReadConsistency;
 import com.alibaba.nacos.consistency.cp.RequestProcessor4CP;
 import com.alibaba.nacos.consistency.entity.ReadRequest;
 import com.alibaba.nacos.consistency.entity.Response;
@@ -61,6 +62,7 @@ import com.alibaba.nacos.sys.utils.DiskUtils;
 import com.alibaba.nacos.core.utils.GenericType;
 import com.google.common.base.Preconditions;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -78,6 +80,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -149,6 +152,8 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
      */
     private static final String DATA_IMPORT_KEY = "00--0-data_import-0--00";
     
+    private static final long WRITE_TIMEOUT_MS = 10_000L;
+    
     private ServerMemberManager memberManager;
     
     private CPProtocol protocol;
@@ -161,6 +166,8 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
     
     private Serializer serializer = SerializeFactory.getDefault();
     
+    private EmbeddedWriteBatcher writeBatcher;
+    
     private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     
     private ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
@@ -205,6 +212,9 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         NotifyCenter.registerToPublisher(ConfigDumpEvent.class, NotifyCenter.ringBufferSize);
         NotifyCenter.registerSubscriber(new DumpConfigHandler());
         
+        this.writeBatcher = new EmbeddedWriteBatcher(protocol::writeAsync, serializer, group());
+        ConfigExecutor.executeEmbeddedWriteBatch(writeBatcher);
+        
         this.protocol.addRequestProcessors(Collections.singletonList(this));
         LogUtil.DEFAULT_LOG.info("use DistributedTransactionServicesImpl");
     }
@@ -226,8 +236,7 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
             final boolean blockRead = EmbeddedStorageContextUtils
                     .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
             
-            Response response = innerRead(
-                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
+            Response response = innerRead(buildReadRequest(data), blockRead);
             if (response.getSuccess()) {
                 return serializer.deserialize(response.getData().toByteArray(), cls);
             }
@@ -250,8 +259,7 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
             final boolean blockRead = EmbeddedStorageContextUtils
                     .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
             
-            Response response = innerRead(
-                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
+            Response response = innerRead(buildReadRequest(data), blockRead);
             if (response.getSuccess()) {
                 return serializer.deserialize(response.getData().toByteArray(), cls);
             }
@@ -274,8 +282,7 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
             final boolean blockRead = EmbeddedStorageContextUtils
                     .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
             
-            Response response = innerRead(
-                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
+            Response response = innerRead(buildReadRequest(data), blockRead);
             if (response.getSuccess()) {
                 return serializer.deserialize(response.getData().toByteArray(),
                         ClassUtils.resolveGenericTypeByInterface(mapper.getClass()));
@@ -299,8 +306,7 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
             final boolean blockRead = EmbeddedStorageContextUtils
                     .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
             
-            Response response = innerRead(
-                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
+            Response response = innerRead(buildReadRequest(data), blockRead);
             if (response.getSuccess()) {
                 return serializer.deserialize(response.getData().toByteArray(), List.class);
             }
@@ -323,8 +329,7 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
             final boolean blockRead = EmbeddedStorageContextUtils
                     .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
             
-            Response response = innerRead(
-                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
+            Response response = innerRead(buildReadRequest(data), blockRead);
             if (response.getSuccess()) {
                 return serializer.deserialize(response.getData().toByteArray(), List.class);
             }
@@ -347,8 +352,7 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
             final boolean blockRead = EmbeddedStorageContextUtils
                     .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
             
-            Response response = innerRead(
-                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
+            Response response = innerRead(buildReadRequest(data), blockRead);
             if (response.getSuccess()) {
                 return serializer.deserialize(response.getData().toByteArray(), List.class);
             }
@@ -359,6 +363,25 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         }
     }
     
+    /**
+     * Build read request with the read consistency level set in current thread.
+     *
+     * @param data serialized {@link SelectRequest}
+     * @return {@link ReadRequest}
+     */
+    private ReadRequest buildReadRequest(byte[] data) {
+        ReadRequest.Builder builder = ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data));
+        Map<String, String> extendInfo = EmbeddedStorageContextUtils.getCurrentExtendInfo();
+        if (extendInfo.containsKey(ReadConsistency.EXTEND_INFO_KEY)) {
+            builder.putExtendInfo(ReadConsistency.EXTEND_INFO_KEY, extendInfo.get(ReadConsistency.EXTEND_INFO_KEY));
+        }
+        if (extendInfo.containsKey(ReadConsistency.MAX_STALENESS_MS_KEY)) {
+            builder.putExtendInfo(ReadConsistency.MAX_STALENESS_MS_KEY,
+                    extendInfo.get(ReadConsistency.MAX_STALENESS_MS_KEY));
+        }
+        return builder.build();
+    }
+    
     /**
      * In some business situations, you need to avoid the timeout issue, so blockRead is used to determine this.
      *
@@ -432,14 +455,14 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
                     .putAllExtendInfo(EmbeddedStorageContextUtils.getCurrentExtendInfo())
                     .setType(sqlContext.getClass().getCanonicalName()).build();
             if (Objects.isNull(consumer)) {
-                Response response = this.protocol.write(request);
+                Response response = writeBatcher.write(request).get(WRITE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
                 if (response.getSuccess()) {
                     return true;
                 }
                 LogUtil.DEFAULT_LOG.error("execute sql modify operation failed : {}", response.getErrMsg());
                 return false;
             } else {
-                this.protocol.writeAsync(request).whenComplete((BiConsumer<Response, Throwable>) (response, ex) -> {
+                writeBatcher.write(request).whenComplete((BiConsumer<Response, Throwable>) (response, ex) -> {
                     String errMsg = Objects.isNull(ex) ? response.getErrMsg() : ExceptionUtil.getCause(ex).getMessage();
                     consumer.accept(response.getSuccess(),
                             StringUtils.isBlank(errMsg) ? null : new NJdbcException(errMsg));
@@ -515,6 +538,9 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "onApply info : log : {}", log);
         final ByteString byteString = log.getData();
         Preconditions.checkArgument(byteString != null, "Log.getData() must not null");
+        if (log.containsExtendInfo(EmbeddedWriteBatcher.BATCH_KEY)) {
+            return onApplyBatch(log);
+        }
         List<ModifyRequest> sqlContext = serializer.deserialize(byteString.toByteArray(), List.class);
         final Lock lock = readLock;
         lock.lock();
@@ -544,6 +570,94 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         }
     }
     
+    /**
+     * Apply the writes merged by {@link EmbeddedWriteBatcher} in one transaction. Each write is isolated by a
+     * savepoint, the failure of sql error only rolls back its own write and is responded to its own caller.
+     *
+     * @param log write request of the batch
+     * @return response whose data is the serialized response list of each write
+     */
+    private Response onApplyBatch(WriteRequest log) {
+        final List<WriteRequest> requests = new ArrayList<>();
+        try {
+            List<byte[]> items = serializer.deserialize(log.getData().toByteArray(), List.class);
+            for (byte[] each : items) {
+                requests.add(WriteRequest.parseFrom(each));
+            }
+        } catch (InvalidProtocolBufferException e) {
+            return Response.newBuilder().setSuccess(false).setErrMsg(e.toString()).build();
+        }
+        final Lock lock = readLock;
+        lock.lock();
+        try {
+            List<Response> responses = applyBatch(transactionTemplate, jdbcTemplate, serializer, requests);
+            // The write rolled back to its savepoint is not committed, it must not be dumped.
+            for (WriteRequest each : committedRequests(requests, responses)) {
+                ConfigExecutor.executeEmbeddedDump(() -> handleExtendInfo(each.getExtendInfoMap()));
+            }
+            List<byte[]> data = new ArrayList<>(responses.size());
+            for (Response each : responses) {
+                data.add(each.toByteArray());
+            }
+            return Response.newBuilder().setSuccess(true).setData(ByteString.copyFrom(serializer.serialize(data)))
+                    .build();
+        } catch (DataAccessException e) {
+            throw new ConsistencyException(e.toString());
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Execute the sql of each write in one transaction, a write failed by sql error is rolled back to its savepoint.
+     *
+     * @param transactionTemplate transaction template
+     * @param jdbcTemplate        jdbc template
+     * @param serializer          serializer of the sql context
+     * @param requests            writes of the batch
+     * @return response of each write
+     */
+    static List<Response> applyBatch(TransactionTemplate transactionTemplate, JdbcTemplate jdbcTemplate,
+            Serializer serializer, List<WriteRequest> requests) {
+        return transactionTemplate.execute(status -> {
+            List<Response> result = new ArrayList<>(requests.size());
+            for (WriteRequest each : requests) {
+                List<ModifyRequest> sqlContext = serializer.deserialize(each.getData().toByteArray(), List.class);
+                sqlContext.sort(Comparator.comparingInt(ModifyRequest::getExecuteNo));
+                Object savepoint = status.createSavepoint();
+                try {
+                    for (ModifyRequest modifyRequest : sqlContext) {
+                        jdbcTemplate.update(modifyRequest.getSql(), modifyRequest.getArgs());
+                    }
+                    status.releaseSavepoint(savepoint);
+                    result.add(Response.newBuilder().setSuccess(true).build());
+                } catch (BadSqlGrammarException | DataIntegrityViolationException e) {
+                    LogUtil.FATAL_LOG.error("[db-error] sql context : {}, error : {}", sqlContext, e.toString());
+                    status.rollbackToSavepoint(savepoint);
+                    result.add(Response.newBuilder().setSuccess(false).setErrMsg(e.toString()).build());
+                }
+            }
+            return result;
+        });
+    }
+    
+    /**
+     * Select the writes committed by {@link #applyBatch}.
+     *
+     * @param requests  writes of the batch
+     * @param responses response of each write
+     * @return the writes whose response is success
+     */
+    static List<WriteRequest> committedRequests(List<WriteRequest> requests, List<Response> responses) {
+        List<WriteRequest> result = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            if (responses.get(i).getSuccess()) {
+                result.add(requests.get(i));
+            }
+        }
+        return result;
+    }
+    
     @Override
     public void onError(Throwable throwable) {
         // Trigger reversion strategy
@@ -1623,6 +1623,7 @@ public class EmbeddedStoragePersistServiceImpl implements PersistService {
         String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
         final String appName = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("appName");
         final String content = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("content");
+        final long[] contentIds = configAdvanceInfo == null ? null : (long[]) configAdvanceInfo.get("content_ids");
         final String configTags = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("config_tags");
         String sqlCountRows = "SELECT count(*) FROM config_info";
         String sqlFetchRows = "SELECT id,data_id,group_id,tenant_id,app_name,content FROM config_info";
@@ -1651,6 +1652,7 @@ public class EmbeddedStoragePersistServiceImpl implements PersistService {
             if (!StringUtils.isBlank(content)) {
                 where.append(" AND a.content LIKE ? ");
                 params.add(generateLikeArgument(content));
+                appendIdIn(where, "a.id", contentIds);
             }
             
             where.append(" AND b.tag_name IN (");
@@ -1680,6 +1682,7 @@ public class EmbeddedStoragePersistServiceImpl implements PersistService {
             if (!StringUtils.isBlank(content)) {
                 where.append(" AND content LIKE ? ");
                 params.add(generateLikeArgument(content));
+                appendIdIn(where, "id", contentIds);
             }
         }
         PaginationHelper<ConfigInfo> helper = createPaginationHelper();
@@ -1688,6 +1691,24 @@ public class EmbeddedStoragePersistServiceImpl implements PersistService {
         
     }
     
+    private void appendIdIn(StringBuilder where, String column, long[] ids) {
+        if (ids == null) {
+            return;
+        }
+        if (ids.length == 0) {
+            where.append(" AND 1 = 0 ");
+            return;
+        }
+        where.append(" AND ").append(column).append(" IN (");
+        for (int i = 0; i < ids.length; i++) {
+            if (i != 0) {
+                where.append(", ");
+            }
+            where.append(ids[i]);
+        }
+        where.append(") ");
+    }
+    
     @Override
     public Page<ConfigInfoBase> findConfigInfoBaseLike(final int pageNo, final int pageSize, final String dataId,
             final String group, final String content) throws IOException {
@@ -1870,7 +1891,7 @@ public class EmbeddedStoragePersistServiceImpl implements PersistService {
     @Override
     public List<ConfigInfoWrapper> findChangeConfig(final Timestamp startTime, final Timestamp endTime) {
         List<Map<String, Object>> list = databaseOperate.queryMany(
-                "SELECT data_id, group_id, tenant_id, app_name, content, gmt_modified FROM config_info WHERE "
+                "SELECT id, data_id, group_id, tenant_id, app_name, content, gmt_modified FROM config_info WHERE "
                         + "gmt_modified >=? AND gmt_modified <= ?", new Object[] {startTime, endTime});
         return convertChangeConfig(list);
         
@@ -2317,6 +2338,10 @@ public class EmbeddedStoragePersistServiceImpl implements PersistService {
             config.setTenant(tenant);
             config.setContent(content);
             config.setLastModified(mTime);
+            Number id = (Number) map.get("id");
+            if (id != null) {
+                config.setId(id.longValue());
+            }
             configs.add(config);
         }
         return configs;
@@ -2424,9 +2449,30 @@ public class EmbeddedStoragePersistServiceImpl implements PersistService {
     @Override
     public List<ConfigAllInfo> findAllConfigInfo4Export(final String dataId, final String group, final String tenant,
             final String appName, final List<Long> ids) {
+        List<Object> paramList = new ArrayList<>();
+        String where = buildExportWhere(dataId, group, tenant, appName, ids, paramList);
+        return databaseOperate
+                .queryMany(SQL_FIND_ALL_CONFIG_INFO + where, paramList.toArray(), CONFIG_ALL_INFO_ROW_MAPPER);
+    }
+    
+    @Override
+    public Page<ConfigAllInfo> findAllConfigInfo4ExportFragment(final String dataId, final String group,
+            final String tenant, final String appName, final List<Long> ids, final long lastMaxId,
+            final int pageSize) {
+        List<Object> paramList = new ArrayList<>();
+        final String select = SQL_FIND_ALL_CONFIG_INFO + buildExportWhere(dataId, group, tenant, appName, ids, paramList)
+                + " AND id > ? ORDER BY id ASC LIMIT ?,?";
+        paramList.add(lastMaxId);
+        paramList.add(0);
+        paramList.add(pageSize);
+        PaginationHelper<ConfigAllInfo> helper = createPaginationHelper();
+        return helper.fetchPageLimit(select, paramList.toArray(), 1, pageSize, CONFIG_ALL_INFO_ROW_MAPPER);
+    }
+    
+    private String buildExportWhere(final String dataId, final String group, final String tenant,
+            final String appName, final List<Long> ids, final List<Object> paramList) {
         String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
         StringBuilder where = new StringBuilder(" WHERE ");
-        List<Object> paramList = new ArrayList<>();
         if (!CollectionUtils.isEmpty(ids)) {
             where.append(" id IN (");
             for (int i = 0; i < ids.size(); i++) {
@@ -2453,8 +2499,7 @@ public class EmbeddedStoragePersistServiceImpl implements PersistService {
                 paramList.add(appName);
             }
         }
-        return databaseOperate
-                .queryMany(SQL_FIND_ALL_CONFIG_INFO + where, paramList.toArray(), CONFIG_ALL_INFO_ROW_MAPPER);
+        return where.toString();
     }
     
     @Override
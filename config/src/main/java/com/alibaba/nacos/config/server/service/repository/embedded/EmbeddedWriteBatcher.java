@@ -0,0 +1,182 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.repository.embedded;
+
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.consistency.Serializer;
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.entity.WriteRequest;
+import com.google.protobuf.ByteString;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Merge the concurrent writes of embedded storage into one raft log.
+ *
+ * <p>The first pending write opens a window of {@link PropertyUtil#getEmbeddedWriteBatchWindowMs()}, the writes
+ * arrived in the window are submitted together as one {@link WriteRequest} with {@link #BATCH_KEY}, until
+ * {@link PropertyUtil#getEmbeddedWriteBatchMaxSize()} is reached. The data of the batch is the serialized list of the
+ * origin requests, and the data of its response is the serialized list of the response of each request, so that
+ * each caller gets the result of its own write.
+ *
+ * @author nacos
+ */
+public class EmbeddedWriteBatcher implements Runnable {
+    
+    /**
+     * The write batch operation is dedicated key, which ACTS as an identifier.
+     */
+    public static final String BATCH_KEY = "00--0-write_batch-0--00";
+    
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+    
+    private final Function<WriteRequest, CompletableFuture<Response>> writer;
+    
+    private final Serializer serializer;
+    
+    private final String group;
+    
+    public EmbeddedWriteBatcher(Function<WriteRequest, CompletableFuture<Response>> writer, Serializer serializer,
+            String group) {
+        this.writer = writer;
+        this.serializer = serializer;
+        this.group = group;
+    }
+    
+    /**
+     * Submit a write, it is merged with the other writes in the window unless batch is disabled.
+     *
+     * @param request write request
+     * @return future of the response of this write
+     */
+    public CompletableFuture<Response> write(WriteRequest request) {
+        if (PropertyUtil.getEmbeddedWriteBatchMaxSize() <= 1) {
+            return writer.apply(request);
+        }
+        PendingWrite pendingWrite = new PendingWrite(request);
+        pendingWrites.offer(pendingWrite);
+        return pendingWrite.future;
+    }
+    
+    @Override
+    public void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<PendingWrite> batch = new ArrayList<>();
+                batch.add(pendingWrites.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS
+                        .toNanos(PropertyUtil.getEmbeddedWriteBatchWindowMs());
+                int maxSize = PropertyUtil.getEmbeddedWriteBatchMaxSize();
+                while (batch.size() < maxSize) {
+                    PendingWrite next = pendingWrites.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (Objects.isNull(next)) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                LogUtil.DEFAULT_LOG.error("embedded write batch has error : ", e);
+            }
+        }
+    }
+    
+    private void flush(List<PendingWrite> batch) {
+        MetricsMonitor.getEmbeddedWriteBatchSize().record(batch.size());
+        final long startTime = System.nanoTime();
+        if (batch.size() == 1) {
+            PendingWrite pendingWrite = batch.get(0);
+            submit(pendingWrite.request).whenComplete((response, ex) -> {
+                recordRt(startTime);
+                if (Objects.isNull(ex)) {
+                    pendingWrite.future.complete(response);
+                } else {
+                    pendingWrite.future.completeExceptionally(ex);
+                }
+            });
+            return;
+        }
+        List<byte[]> requests = new ArrayList<>(batch.size());
+        for (PendingWrite each : batch) {
+            requests.add(each.request.toByteArray());
+        }
+        // {timestamp}-{group}-batch-{size}
+        final String key = System.currentTimeMillis() + "-" + group + "-batch-" + batch.size();
+        WriteRequest request = WriteRequest.newBuilder().setGroup(group).setKey(key)
+                .setData(ByteString.copyFrom(serializer.serialize(requests)))
+                .putExtendInfo(BATCH_KEY, Boolean.TRUE.toString()).build();
+        submit(request).whenComplete((response, ex) -> {
+            recordRt(startTime);
+            complete(batch, response, ex);
+        });
+    }
+    
+    private CompletableFuture<Response> submit(WriteRequest request) {
+        try {
+            return writer.apply(request);
+        } catch (Throwable e) {
+            CompletableFuture<Response> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+    
+    private void complete(List<PendingWrite> batch, Response response, Throwable ex) {
+        if (Objects.nonNull(ex)) {
+            batch.forEach(each -> each.future.completeExceptionally(ex));
+            return;
+        }
+        if (!response.getSuccess()) {
+            batch.forEach(each -> each.future.complete(response));
+            return;
+        }
+        try {
+            List<byte[]> responses = serializer.deserialize(response.getData().toByteArray(), List.class);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(Response.parseFrom(responses.get(i)));
+            }
+        } catch (Throwable e) {
+            batch.forEach(each -> each.future.completeExceptionally(e));
+        }
+    }
+    
+    private void recordRt(long startTime) {
+        MetricsMonitor.getEmbeddedWriteBatchRtTimer().record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+    
+    private static class PendingWrite {
+        
+        private final WriteRequest request;
+        
+        private final CompletableFuture<Response> future = new CompletableFuture<>();
+        
+        private PendingWrite(WriteRequest request) {
+            this.request = request;
+        }
+    }
+}
@@ -1674,6 +1674,7 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
         String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
         final String appName = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("appName");
         final String content = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("content");
+        final long[] contentIds = configAdvanceInfo == null ? null : (long[]) configAdvanceInfo.get("content_ids");
         final String configTags = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("config_tags");
         PaginationHelper<ConfigInfo> helper = createPaginationHelper();
         String sqlCountRows = "SELECT count(*) FROM config_info";
@@ -1701,6 +1702,7 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
             if (!StringUtils.isBlank(content)) {
                 where.append(" AND a.content LIKE ? ");
                 params.add(generateLikeArgument(content));
+                appendIdIn(where, "a.id", contentIds);
             }
             
             where.append(" AND b.tag_name IN (");
@@ -1730,6 +1732,7 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
             if (!StringUtils.isBlank(content)) {
                 where.append(" AND content LIKE ? ");
                 params.add(generateLikeArgument(content));
+                appendIdIn(where, "id", contentIds);
             }
         }
         
@@ -1742,6 +1745,24 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
         }
     }
     
+    private void appendIdIn(StringBuilder where, String column, long[] ids) {
+        if (ids == null) {
+            return;
+        }
+        if (ids.length == 0) {
+            where.append(" AND 1 = 0 ");
+            return;
+        }
+        where.append(" AND ").append(column).append(" IN (");
+        for (int i = 0; i < ids.length; i++) {
+            if (i != 0) {
+                where.append(", ");
+            }
+            where.append(ids[i]);
+        }
+        where.append(") ");
+    }
+    
     @Override
     public Page<ConfigInfoBase> findConfigInfoBaseLike(final int pageNo, final int pageSize, final String dataId,
             final String group, final String content) throws IOException {
@@ -1974,7 +1995,7 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
     public List<ConfigInfoWrapper> findChangeConfig(final Timestamp startTime, final Timestamp endTime) {
         try {
             List<Map<String, Object>> list = jt.queryForList(
-                    "SELECT data_id, group_id, tenant_id, app_name, content, gmt_modified FROM config_info WHERE gmt_modified >=? AND gmt_modified <= ?",
+                    "SELECT id, data_id, group_id, tenant_id, app_name, content, gmt_modified FROM config_info WHERE gmt_modified >=? AND gmt_modified <= ?",
                     new Object[] {startTime, endTime});
             return convertChangeConfig(list);
         } catch (DataAccessException e) {
@@ -2537,6 +2558,10 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
             config.setTenant(tenant);
             config.setContent(content);
             config.setLastModified(mTime);
+            Number id = (Number) map.get("id");
+            if (id != null) {
+                config.setId(id.longValue());
+            }
             configs.add(config);
         }
         return configs;
@@ -2657,9 +2682,39 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
     @Override
     public List<ConfigAllInfo> findAllConfigInfo4Export(final String dataId, final String group, final String tenant,
             final String appName, final List<Long> ids) {
+        List<Object> paramList = new ArrayList<>();
+        String where = buildExportWhere(dataId, group, tenant, appName, ids, paramList);
+        try {
+            return this.jt.query(SQL_FIND_ALL_CONFIG_INFO + where, paramList.toArray(), CONFIG_ALL_INFO_ROW_MAPPER);
+        } catch (CannotGetJdbcConnectionException e) {
+            LogUtil.FATAL_LOG.error("[db-error] " + e.toString(), e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public Page<ConfigAllInfo> findAllConfigInfo4ExportFragment(final String dataId, final String group,
+            final String tenant, final String appName, final List<Long> ids, final long lastMaxId,
+            final int pageSize) {
+        List<Object> paramList = new ArrayList<>();
+        final String select = SQL_FIND_ALL_CONFIG_INFO + buildExportWhere(dataId, group, tenant, appName, ids, paramList)
+                + " AND id > ? ORDER BY id ASC LIMIT ?,?";
+        paramList.add(lastMaxId);
+        paramList.add(0);
+        paramList.add(pageSize);
+        PaginationHelper<ConfigAllInfo> helper = createPaginationHelper();
+        try {
+            return helper.fetchPageLimit(select, paramList.toArray(), 1, pageSize, CONFIG_ALL_INFO_ROW_MAPPER);
+        } catch (CannotGetJdbcConnectionException e) {
+            LogUtil.FATAL_LOG.error("[db-error] " + e.toString(), e);
+            throw e;
+        }
+    }
+    
+    private String buildExportWhere(final String dataId, final String group, final String tenant,
+            final String appName, final List<Long> ids, final List<Object> paramList) {
         String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
         StringBuilder where = new StringBuilder(" WHERE ");
-        List<Object> paramList = new ArrayList<>();
         if (!CollectionUtils.isEmpty(ids)) {
             where.append(" id IN (");
             for (int i = 0; i < ids.size(); i++) {
@@ -2686,12 +2741,7 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
                 paramList.add(appName);
             }
         }
-        try {
-            return this.jt.query(SQL_FIND_ALL_CONFIG_INFO + where, paramList.toArray(), CONFIG_ALL_INFO_ROW_MAPPER);
-        } catch (CannotGetJdbcConnectionException e) {
-            LogUtil.FATAL_LOG.error("[db-error] " + e.toString(), e);
-            throw e;
-        }
+        return where.toString();
     }
     
     @Override
@@ -21,6 +21,7 @@ import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.config.server.constant.Constants;
 import com.alibaba.nacos.config.server.model.ConfigInfo;
 import com.alibaba.nacos.config.server.model.event.ConfigDumpEvent;
+import com.alibaba.nacos.consistency.cp.ReadConsistency;
 import com.alibaba.nacos.sys.env.EnvUtil;
 
 import java.sql.Timestamp;
@@ -232,6 +233,25 @@ public class EmbeddedStorageContextUtils {
         }
     }
     
+    /**
+     * Set the consistency level of following queries in current thread, which should be cleaned by {@link
+     * #cleanReadConsistency()} after queries.
+     *
+     * @param consistency read consistency level
+     */
+    public static void putReadConsistency(ReadConsistency consistency) {
+        putExtendInfo(ReadConsistency.EXTEND_INFO_KEY, consistency.name());
+    }
+    
+    /**
+     * Clean the consistency level of queries in current thread, following queries will be linearizable.
+     */
+    public static void cleanReadConsistency() {
+        Map<String, String> extendInfo = EXTEND_INFO_CONTEXT.get();
+        extendInfo.remove(ReadConsistency.EXTEND_INFO_KEY);
+        extendInfo.remove(ReadConsistency.MAX_STALENESS_MS_KEY);
+    }
+    
     /**
      * Determine if key is included.
      *
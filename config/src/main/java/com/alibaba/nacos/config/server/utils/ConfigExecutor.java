@@ -39,6 +39,16 @@ public final class ConfigExecutor {
             .newSingleExecutorService(ClassUtils.getCanonicalName(Config.class),
                     new NameThreadFactory("com.alibaba.nacos.config.embedded.dump"));
     
+    private static final int DUMP_ALL_WORKER_COUNT = ThreadUtils.getSuitableThreadCount(1);
+    
+    private static final Executor DUMP_ALL_EXECUTOR = ExecutorFactory.Managed
+            .newFixedExecutorService(ClassUtils.getCanonicalName(Config.class), DUMP_ALL_WORKER_COUNT,
+                    new NameThreadFactory("com.alibaba.nacos.config.dump.all.worker"));
+    
+    private static final Executor EMBEDDED_WRITE_BATCH_EXECUTOR = ExecutorFactory.Managed
+            .newSingleExecutorService(ClassUtils.getCanonicalName(Config.class),
+                    new NameThreadFactory("com.alibaba.nacos.config.embedded.write.batch"));
+    
     private static final ScheduledExecutorService TIMER_EXECUTOR = ExecutorFactory.Managed
             .newScheduledExecutorService(ClassUtils.getCanonicalName(Config.class), 10,
                     new NameThreadFactory("com.alibaba.nacos.config.server.timer"));
@@ -73,6 +83,18 @@ public final class ConfigExecutor {
         DUMP_EXECUTOR.execute(runnable);
     }
     
+    public static int dumpAllWorkerCount() {
+        return DUMP_ALL_WORKER_COUNT;
+    }
+    
+    public static void executeDumpAllWorker(Runnable runnable) {
+        DUMP_ALL_EXECUTOR.execute(runnable);
+    }
+    
+    public static void executeEmbeddedWriteBatch(Runnable runnable) {
+        EMBEDDED_WRITE_BATCH_EXECUTOR.execute(runnable);
+    }
+    
     public static void scheduleCorrectUsageTask(Runnable runnable, long initialDelay, long delay, TimeUnit unit) {
         CAPACITY_MANAGEMENT_EXECUTOR.scheduleWithFixedDelay(runnable, initialDelay, delay, unit);
     }
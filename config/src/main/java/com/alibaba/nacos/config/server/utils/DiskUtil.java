@@ -27,6 +27,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.function.Predicate;
 
 /**
  * Disk util.
@@ -172,10 +173,52 @@ public class DiskUtil {
         return new File(EnvUtil.getNacosHome(), "status" + File.separator + "heartBeat.txt");
     }
     
+    public static File dumpManifestFile() {
+        return new File(EnvUtil.getNacosHome(), "status" + File.separator + "dumpManifest.data");
+    }
+    
     public static String relativePath(String dataId, String group) {
         return BASE_DIR + "/" + dataId + "/" + group;
     }
     
+    /**
+     * Remove the config-info files whose group key is not retained, the files of beta and tag are not included.
+     *
+     * @param retained whether the config of group key is retained
+     * @return count of removed files
+     */
+    public static int removeConfigInfoIfNot(Predicate<String> retained) {
+        int removed = removeConfigInfoIfNot(new File(EnvUtil.getNacosHome(), BASE_DIR), null, retained);
+        File[] tenantDirs = new File(EnvUtil.getNacosHome(), TENANT_BASE_DIR).listFiles(File::isDirectory);
+        if (tenantDirs != null) {
+            for (File tenantDir : tenantDirs) {
+                removed += removeConfigInfoIfNot(tenantDir, tenantDir.getName(), retained);
+            }
+        }
+        return removed;
+    }
+    
+    private static int removeConfigInfoIfNot(File baseDir, String tenant, Predicate<String> retained) {
+        int removed = 0;
+        File[] groupDirs = baseDir.listFiles(File::isDirectory);
+        if (groupDirs == null) {
+            return removed;
+        }
+        for (File groupDir : groupDirs) {
+            File[] files = groupDir.listFiles(File::isFile);
+            if (files == null) {
+                continue;
+            }
+            for (File file : files) {
+                String groupKey = GroupKey2.getKey(file.getName(), groupDir.getName(), tenant);
+                if (!retained.test(groupKey) && FileUtils.deleteQuietly(file)) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+    
     /**
      * Clear all config file.
      */
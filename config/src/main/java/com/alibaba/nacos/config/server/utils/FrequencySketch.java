@@ -0,0 +1,102 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.utils;
+
+/**
+ * A count-min sketch to estimate the access frequency of keys, used by TinyLFU admission policy.
+ *
+ * <p>Each counter is 4 bits, the max frequency is 15. When the number of increments reaches the sample size, all
+ * counters are halved so that the history frequency will be aged.
+ *
+ * @author nacos
+ */
+public class FrequencySketch {
+    
+    private static final int MAX_FREQUENCY = 15;
+    
+    private static final int[] SEEDS = {0x97cb3127, 0xc2b2ae35, 0x85ebca6b, 0x27d4eb2f};
+    
+    private final byte[] table;
+    
+    private final int mask;
+    
+    private final int sampleSize;
+    
+    private int size;
+    
+    public FrequencySketch(int width) {
+        int capacity = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+        this.table = new byte[capacity];
+        this.mask = capacity - 1;
+        this.sampleSize = capacity * 10;
+    }
+    
+    /**
+     * Get the estimated frequency of the key.
+     *
+     * @param key key
+     * @return estimated frequency, max is 15
+     */
+    public int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int result = MAX_FREQUENCY;
+        for (int seed : SEEDS) {
+            result = Math.min(result, table[indexOf(hash, seed)]);
+        }
+        return result;
+    }
+    
+    /**
+     * Increment the frequency of the key, only the minimum counters are incremented.
+     *
+     * @param key key
+     */
+    public void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int min = frequency(key);
+        if (min >= MAX_FREQUENCY) {
+            return;
+        }
+        for (int seed : SEEDS) {
+            int index = indexOf(hash, seed);
+            if (table[index] == min) {
+                table[index]++;
+            }
+        }
+        if (++size >= sampleSize) {
+            reset();
+        }
+    }
+    
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (byte) (table[i] >>> 1);
+        }
+        size >>>= 1;
+    }
+    
+    private int indexOf(int hash, int seed) {
+        int result = hash * seed;
+        result ^= result >>> 16;
+        return result & mask;
+    }
+    
+    private int spread(int hash) {
+        int result = hash * 0x9e3779b9;
+        return result ^ (result >>> 16);
+    }
+}
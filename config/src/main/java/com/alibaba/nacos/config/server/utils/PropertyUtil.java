@@ -102,6 +102,34 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
      */
     private static boolean embeddedStorage = EnvUtil.getStandaloneMode();
     
+    /**
+     * Max bytes of config content cached in memory, the content cache is disabled if not positive.
+     */
+    private static long contentCacheMaxBytes = 0;
+    
+    /**
+     * Window to merge the changed configs of same connection into one batch notify request, unit for milliseconds.
+     * Each changed config is notified separately if not positive.
+     */
+    private static int pushBatchWindowMs = 50;
+    
+    /**
+     * Window to merge the concurrent writes of embedded storage into one raft log, unit for milliseconds.
+     */
+    private static int embeddedWriteBatchWindowMs = 2;
+    
+    /**
+     * Max writes of embedded storage merged into one raft log, each write is a raft log if not greater than 1.
+     * Disabled by default, it should be enabled only after all servers of the cluster can apply the batch log.
+     */
+    private static int embeddedWriteBatchMaxSize = 1;
+    
+    /**
+     * Interval to flush the capacity usage counted in memory to the capacity tables, unit for milliseconds.
+     * The usage is updated in the capacity tables on every write if not positive.
+     */
+    private static int capacityUsageFlushMs = 0;
+    
     public static int getNotifyConnectTimeout() {
         return notifyConnectTimeout;
     }
@@ -250,6 +278,46 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
         PropertyUtil.embeddedStorage = embeddedStorage;
     }
     
+    public static long getContentCacheMaxBytes() {
+        return contentCacheMaxBytes;
+    }
+    
+    public static void setContentCacheMaxBytes(long contentCacheMaxBytes) {
+        PropertyUtil.contentCacheMaxBytes = contentCacheMaxBytes;
+    }
+    
+    public static int getPushBatchWindowMs() {
+        return pushBatchWindowMs;
+    }
+    
+    public static void setPushBatchWindowMs(int pushBatchWindowMs) {
+        PropertyUtil.pushBatchWindowMs = pushBatchWindowMs;
+    }
+    
+    public static int getEmbeddedWriteBatchWindowMs() {
+        return embeddedWriteBatchWindowMs;
+    }
+    
+    public static void setEmbeddedWriteBatchWindowMs(int embeddedWriteBatchWindowMs) {
+        PropertyUtil.embeddedWriteBatchWindowMs = embeddedWriteBatchWindowMs;
+    }
+    
+    public static int getEmbeddedWriteBatchMaxSize() {
+        return embeddedWriteBatchMaxSize;
+    }
+    
+    public static void setEmbeddedWriteBatchMaxSize(int embeddedWriteBatchMaxSize) {
+        PropertyUtil.embeddedWriteBatchMaxSize = embeddedWriteBatchMaxSize;
+    }
+    
+    public static int getCapacityUsageFlushMs() {
+        return capacityUsageFlushMs;
+    }
+    
+    public static void setCapacityUsageFlushMs(int capacityUsageFlushMs) {
+        PropertyUtil.capacityUsageFlushMs = capacityUsageFlushMs;
+    }
+    
     private void loadSetting() {
         try {
             setNotifyConnectTimeout(Integer.parseInt(EnvUtil.getProperty(PropertiesConstant.NOTIFY_CONNECT_TIMEOUT,
@@ -279,6 +347,13 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
             setDefaultMaxAggrSize(getInt(PropertiesConstant.DEFAULT_MAX_AGGR_SIZE, defaultMaxAggrSize));
             setCorrectUsageDelay(getInt(PropertiesConstant.CORRECT_USAGE_DELAY, correctUsageDelay));
             setInitialExpansionPercent(getInt(PropertiesConstant.INITIAL_EXPANSION_PERCENT, initialExpansionPercent));
+            setContentCacheMaxBytes(getLong(PropertiesConstant.CONTENT_CACHE_MAX_BYTES, contentCacheMaxBytes));
+            setPushBatchWindowMs(getInt(PropertiesConstant.PUSH_BATCH_WINDOW_MS, pushBatchWindowMs));
+            setEmbeddedWriteBatchWindowMs(
+                    getInt(PropertiesConstant.EMBEDDED_WRITE_BATCH_WINDOW_MS, embeddedWriteBatchWindowMs));
+            setEmbeddedWriteBatchMaxSize(
+                    getInt(PropertiesConstant.EMBEDDED_WRITE_BATCH_MAX_SIZE, embeddedWriteBatchMaxSize));
+            setCapacityUsageFlushMs(getInt(PropertiesConstant.CAPACITY_USAGE_FLUSH_MS, capacityUsageFlushMs));
             // External data sources are used by default in cluster mode
             setUseExternalDB(PropertiesConstant.MYSQL
                     .equalsIgnoreCase(getString(PropertiesConstant.SPRING_DATASOURCE_PLATFORM, "")));
@@ -315,6 +390,10 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
         return Integer.parseInt(getString(key, String.valueOf(defaultValue)));
     }
     
+    private long getLong(String key, long defaultValue) {
+        return Long.parseLong(getString(key, String.valueOf(defaultValue)));
+    }
+    
     private String getString(String key, String defaultValue) {
         String value = getProperty(key);
         if (value == null) {
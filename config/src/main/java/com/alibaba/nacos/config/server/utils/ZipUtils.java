@@ -23,10 +23,17 @@ import org.slf4j.LoggerFactory;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
@@ -116,6 +123,19 @@ public class ZipUtils {
         return result;
     }
     
+    /**
+     * zip one item to zip output stream, used to write large zip file without holding all items.
+     *
+     * @param zipOut zip output stream
+     * @param item   zip item
+     * @throws IOException if write failed
+     */
+    public static void zip(ZipOutputStream zipOut, ZipItem item) throws IOException {
+        zipOut.putNextEntry(new ZipEntry(item.getItemName()));
+        zipOut.write(item.getItemData().getBytes(StandardCharsets.UTF_8));
+        zipOut.closeEntry();
+    }
+    
     /**
      * unzip method.
      */
@@ -154,4 +174,100 @@ public class ZipUtils {
         return new UnZipResult(itemList, metaDataItem);
     }
     
+    /**
+     * Read the items of zip file except metadata one by one, only one item is held in memory at the same time.
+     *
+     * @param zipFile  zip file
+     * @param consumer consumer of items
+     * @throws IOException if read failed
+     */
+    public static void unzip(ZipFile zipFile, Consumer<ZipItem> consumer) throws IOException {
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            if (entry.isDirectory() || isMetaDataItem(entry.getName())) {
+                continue;
+            }
+            consumer.accept(readItem(zipFile, entry));
+        }
+    }
+    
+    /**
+     * Read all items of zip file without holding them, to check the file is complete before any item is consumed.
+     *
+     * @param zipFile zip file
+     * @throws IOException if any item can not be read or its crc does not match
+     */
+    public static void verify(ZipFile zipFile) throws IOException {
+        byte[] buffer = new byte[1024];
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            if (entry.isDirectory()) {
+                continue;
+            }
+            CRC32 crc = new CRC32();
+            try (InputStream in = new CheckedInputStream(zipFile.getInputStream(entry), crc)) {
+                int offset;
+                do {
+                    offset = in.read(buffer);
+                } while (offset != -1);
+            }
+            if (entry.getCrc() != -1 && entry.getCrc() != crc.getValue()) {
+                throw new ZipException("invalid crc of item " + entry.getName());
+            }
+        }
+    }
+    
+    /**
+     * Get the names of items of zip file except metadata, the item data is not read.
+     *
+     * @param zipFile zip file
+     * @return item names in the order of zip entries
+     */
+    public static List<String> itemNames(ZipFile zipFile) {
+        List<String> result = new ArrayList<>();
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            if (!entry.isDirectory() && !isMetaDataItem(entry.getName())) {
+                result.add(entry.getName());
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Read metadata item of zip file.
+     *
+     * @param zipFile zip file
+     * @return metadata item, {@code null} if zip file has no metadata
+     * @throws IOException if read failed
+     */
+    public static ZipItem readMetaDataItem(ZipFile zipFile) throws IOException {
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            if (isMetaDataItem(entry.getName())) {
+                return readItem(zipFile, entry);
+            }
+        }
+        return null;
+    }
+    
+    private static boolean isMetaDataItem(String entryName) {
+        return Constants.CONFIG_EXPORT_METADATA.equals(entryName) || Constants.CONFIG_EXPORT_METADATA_NEW
+                .equals(entryName);
+    }
+    
+    private static ZipItem readItem(ZipFile zipFile, ZipEntry entry) throws IOException {
+        try (InputStream in = zipFile.getInputStream(entry); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[1024];
+            int offset;
+            while ((offset = in.read(buffer)) != -1) {
+                out.write(buffer, 0, offset);
+            }
+            return new ZipItem(entry.getName(), out.toString("UTF-8"));
+        }
+    }
 }
@@ -0,0 +1,279 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.controller;
+
+import com.alibaba.nacos.common.model.RestResult;
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.model.ConfigAllInfo;
+import com.alibaba.nacos.config.server.model.ConfigMetadata;
+import com.alibaba.nacos.config.server.model.SameConfigPolicy;
+import com.alibaba.nacos.config.server.result.code.ResultCodeEnum;
+import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.config.server.utils.YamlParserUtil;
+import com.alibaba.nacos.config.server.utils.ZipUtils;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigControllerTest {
+    
+    private static final String GROUP = "group";
+    
+    private static final int BATCH_SIZE = 100;
+    
+    @Mock
+    private PersistService persistService;
+    
+    private ConfigController configController;
+    
+    /**
+     * Configs of each batchInsertOrUpdate, copied as the batch is cleared after published.
+     */
+    private final List<List<ConfigAllInfo>> publishedBatches = new ArrayList<>();
+    
+    @Before
+    public void setUp() {
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        configController = new ConfigController();
+        ReflectionTestUtils.setField(configController, "persistService", persistService);
+    }
+    
+    @Test
+    public void testImportIllegalMetadata() throws Exception {
+        List<ZipUtils.ZipItem> items = new ArrayList<>();
+        items.add(new ZipUtils.ZipItem(Constants.CONFIG_EXPORT_METADATA_NEW,
+                metadata(exportItem("dataId", GROUP, null))));
+        items.add(new ZipUtils.ZipItem(GROUP + "/dataId", "content"));
+        
+        RestResult<Map<String, Object>> result = importConfigs(items, SameConfigPolicy.ABORT);
+        
+        assertEquals(ResultCodeEnum.METADATA_ILLEGAL.getCode(), result.getCode());
+        assertEquals(0, result.getData().get("succCount"));
+        verify(persistService, never())
+                .batchInsertOrUpdate(anyList(), any(), any(), any(), any(), anyBoolean(), any());
+    }
+    
+    @Test
+    public void testImportInBatches() throws Exception {
+        mockBatchInsertOrUpdate(null);
+        int count = BATCH_SIZE + BATCH_SIZE / 2;
+        
+        RestResult<Map<String, Object>> result = importConfigs(configItems(count), SameConfigPolicy.OVERWRITE);
+        
+        assertEquals(200, result.getCode());
+        assertEquals(count, result.getData().get("succCount"));
+        assertEquals(2, publishedBatches.size());
+        assertEquals(BATCH_SIZE, publishedBatches.get(0).size());
+        assertEquals(BATCH_SIZE / 2, publishedBatches.get(1).size());
+        assertEquals("dataId0", publishedBatches.get(0).get(0).getDataId());
+        assertEquals("text", publishedBatches.get(0).get(0).getType());
+    }
+    
+    @Test
+    public void testImportAbortSkipRemainingBatches() throws Exception {
+        // the first batch conflicts at the 51st config.
+        int conflictIndex = BATCH_SIZE / 2;
+        mockBatchInsertOrUpdate(conflictIndex);
+        int count = BATCH_SIZE * 2;
+        
+        RestResult<Map<String, Object>> result = importConfigs(configItems(count), SameConfigPolicy.ABORT);
+        
+        assertEquals(200, result.getCode());
+        assertEquals(1, publishedBatches.size());
+        assertEquals(conflictIndex, result.getData().get("succCount"));
+        assertEquals(1, ((List<?>) result.getData().get("failData")).size());
+        // the configs after the conflict in the batch and all the configs of later batches are skipped.
+        assertEquals(count - conflictIndex - 1, ((List<?>) result.getData().get("skipData")).size());
+    }
+    
+    @Test
+    public void testImportDuplicateItemsLastWins() throws Exception {
+        mockBatchInsertOrUpdate(null);
+        List<ZipUtils.ZipItem> items = new ArrayList<>();
+        items.add(new ZipUtils.ZipItem(Constants.CONFIG_EXPORT_METADATA_NEW,
+                metadata(exportItem("dup", GROUP, "text"), exportItem("other", GROUP, "text"))));
+        items.add(new ZipUtils.ZipItem(GROUP + "/dup", "first"));
+        items.add(new ZipUtils.ZipItem(GROUP + "/other", "other"));
+        // renamed to the same name of the first item after zipped.
+        items.add(new ZipUtils.ZipItem(GROUP + "/duq", "second"));
+        
+        RestResult<Map<String, Object>> result = importConfigs(zipWithDuplicate(items, GROUP + "/duq", GROUP + "/dup"),
+                SameConfigPolicy.OVERWRITE);
+        
+        assertEquals(200, result.getCode());
+        assertEquals(2, result.getData().get("succCount"));
+        assertFalse(result.getData().containsKey("unrecognizedCount"));
+        Map<String, String> contents = new HashMap<>(4);
+        for (ConfigAllInfo each : publishedBatches.get(0)) {
+            contents.put(each.getDataId(), each.getContent());
+        }
+        assertEquals(2, publishedBatches.get(0).size());
+        assertEquals("second", contents.get("dup"));
+        assertEquals("other", contents.get("other"));
+    }
+    
+    @Test
+    public void testImportBrokenItemImportsNothing() throws Exception {
+        int count = BATCH_SIZE + BATCH_SIZE / 2;
+        byte[] zip = ZipUtils.zip(configItems(count));
+        // break the data of the last config, which is read after the first batch.
+        byte[] name = (GROUP + "/dataId" + (count - 1)).getBytes(StandardCharsets.UTF_8);
+        int nameIndex = indexOf(zip, name);
+        int extraLength = (zip[nameIndex - 2] & 0xFF) | (zip[nameIndex - 1] & 0xFF) << 8;
+        zip[nameIndex + name.length + extraLength] ^= 0xFF;
+        
+        RestResult<Map<String, Object>> result = importConfigs(zip, SameConfigPolicy.OVERWRITE);
+        
+        assertEquals(ResultCodeEnum.PARSING_DATA_FAILED.getCode(), result.getCode());
+        verify(persistService, never())
+                .batchInsertOrUpdate(anyList(), any(), any(), any(), any(), anyBoolean(), any());
+    }
+    
+    private void mockBatchInsertOrUpdate(Integer conflictIndex) throws Exception {
+        when(persistService.batchInsertOrUpdate(anyList(), isNull(), anyString(), isNull(), any(), eq(false), any()))
+                .thenAnswer(invocation -> {
+                    List<ConfigAllInfo> configs = new ArrayList<>(invocation.getArgument(0));
+                    publishedBatches.add(configs);
+                    int succCount = conflictIndex == null ? configs.size() : conflictIndex;
+                    List<Map<String, String>> failData = new ArrayList<>();
+                    List<Map<String, String>> skipData = new ArrayList<>();
+                    for (int i = succCount; i < configs.size(); i++) {
+                        Map<String, String> item = new HashMap<>(2);
+                        item.put("dataId", configs.get(i).getDataId());
+                        item.put("group", configs.get(i).getGroup());
+                        if (i == succCount) {
+                            failData.add(item);
+                        } else {
+                            skipData.add(item);
+                        }
+                    }
+                    Map<String, Object> saveResult = new HashMap<>(4);
+                    saveResult.put("succCount", succCount);
+                    saveResult.put("skipCount", 0);
+                    if (!failData.isEmpty()) {
+                        saveResult.put("failData", failData);
+                    }
+                    if (!skipData.isEmpty()) {
+                        saveResult.put("skipData", skipData);
+                    }
+                    return saveResult;
+                });
+    }
+    
+    private RestResult<Map<String, Object>> importConfigs(List<ZipUtils.ZipItem> items, SameConfigPolicy policy)
+            throws Exception {
+        return importConfigs(ZipUtils.zip(items), policy);
+    }
+    
+    private RestResult<Map<String, Object>> importConfigs(byte[] zip, SameConfigPolicy policy) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "export.zip", null, zip);
+        return configController.importAndPublishConfig(new MockHttpServletRequest(), null, null, policy, file);
+    }
+    
+    private List<ZipUtils.ZipItem> configItems(int count) {
+        List<ConfigMetadata.ConfigExportItem> exportItems = new ArrayList<>(count);
+        List<ZipUtils.ZipItem> items = new ArrayList<>(count + 1);
+        for (int i = 0; i < count; i++) {
+            exportItems.add(exportItem("dataId" + i, GROUP, "text"));
+            items.add(new ZipUtils.ZipItem(GROUP + "/dataId" + i, "content" + i));
+        }
+        items.add(new ZipUtils.ZipItem(Constants.CONFIG_EXPORT_METADATA_NEW,
+                metadata(exportItems.toArray(new ConfigMetadata.ConfigExportItem[0]))));
+        return items;
+    }
+    
+    private ConfigMetadata.ConfigExportItem exportItem(String dataId, String group, String type) {
+        ConfigMetadata.ConfigExportItem exportItem = new ConfigMetadata.ConfigExportItem();
+        exportItem.setDataId(dataId);
+        exportItem.setGroup(group);
+        exportItem.setType(type);
+        return exportItem;
+    }
+    
+    private String metadata(ConfigMetadata.ConfigExportItem... exportItems) {
+        ConfigMetadata configMetadata = new ConfigMetadata();
+        List<ConfigMetadata.ConfigExportItem> metadata = new ArrayList<>();
+        for (ConfigMetadata.ConfigExportItem each : exportItems) {
+            metadata.add(each);
+        }
+        configMetadata.setMetadata(metadata);
+        return YamlParserUtil.dumpObject(configMetadata);
+    }
+    
+    /**
+     * Index of the first occurrence, which is in the local header of the item.
+     */
+    private int indexOf(byte[] zip, byte[] target) {
+        for (int i = 0; i + target.length <= zip.length; i++) {
+            boolean matched = true;
+            for (int j = 0; j < target.length && matched; j++) {
+                matched = zip[i + j] == target[j];
+            }
+            if (matched) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("not found");
+    }
+    
+    /**
+     * Zip items and rename one item to the same name of another one, zip output stream refuses duplicate names.
+     */
+    private byte[] zipWithDuplicate(List<ZipUtils.ZipItem> items, String name, String duplicateName) {
+        // the name is renamed in both local header and central directory, so the names must have the same length.
+        byte[] zip = ZipUtils.zip(items);
+        byte[] from = name.getBytes(StandardCharsets.UTF_8);
+        byte[] to = duplicateName.getBytes(StandardCharsets.UTF_8);
+        assertEquals(from.length, to.length);
+        for (int i = 0; i + from.length <= zip.length; i++) {
+            boolean matched = true;
+            for (int j = 0; j < from.length && matched; j++) {
+                matched = zip[i + j] == from[j];
+            }
+            if (matched) {
+                System.arraycopy(to, 0, zip, i, to.length);
+            }
+        }
+        return zip;
+    }
+}
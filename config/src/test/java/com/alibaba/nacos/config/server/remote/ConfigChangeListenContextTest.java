@@ -0,0 +1,69 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.remote;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConfigChangeListenContextTest {
+    
+    private ConfigChangeListenContext context;
+    
+    @Before
+    public void setUp() {
+        context = new ConfigChangeListenContext();
+    }
+    
+    @Test
+    public void testAddAndRemoveListen() {
+        context.addListen("groupKey", "md5", "connection1");
+        context.addListen("groupKey", "md5", "connection2");
+        Set<String> listeners = context.getListeners("groupKey");
+        assertEquals(2, listeners.size());
+        assertEquals("md5", context.getListenKeyMd5("connection1", "groupKey"));
+        context.removeListen("groupKey", "connection1");
+        assertEquals(1, listeners.size());
+        assertTrue(listeners.contains("connection2"));
+        context.removeListen("groupKey", "connection2");
+        assertNull(context.getListeners("groupKey"));
+        assertTrue(context.getListenKeys("connection1").isEmpty());
+    }
+    
+    @Test
+    public void testClearContextForConnectionId() {
+        context.addListen("groupKey1", "md5", "connection1");
+        context.addListen("groupKey2", "md5", "connection1");
+        context.addListen("groupKey2", "md5", "connection2");
+        context.clearContextForConnectionId("connection1");
+        assertNull(context.getListeners("groupKey1"));
+        assertEquals(1, context.getListeners("groupKey2").size());
+        assertNull(context.getListenKeys("connection1"));
+        assertNull(context.getListenKeyMd5("connection1", "groupKey2"));
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void testListenersReadOnly() {
+        context.addListen("groupKey", "md5", "connection1");
+        context.getListeners("groupKey").add("connection2");
+    }
+}
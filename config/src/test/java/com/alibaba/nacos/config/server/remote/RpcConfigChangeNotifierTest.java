@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.remote;
+
+import com.alibaba.nacos.api.ability.ClientAbilities;
+import com.alibaba.nacos.api.config.remote.request.ConfigChangeBatchNotifyRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
+import com.alibaba.nacos.api.remote.PushCallBack;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionManager;
+import com.alibaba.nacos.core.remote.ConnectionMeta;
+import com.alibaba.nacos.core.remote.RpcPushService;
+import com.alibaba.nacos.core.remote.control.TpsMonitorManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RpcConfigChangeNotifierTest {
+    
+    private static final String CONNECTION_ID = "connection1";
+    
+    @Mock
+    private TpsMonitorManager tpsMonitorManager;
+    
+    @Mock
+    private RpcPushService rpcPushService;
+    
+    @Mock
+    private ConnectionManager connectionManager;
+    
+    private ConfigChangeListenContext configChangeListenContext;
+    
+    private Connection connection;
+    
+    private RpcConfigChangeNotifier notifier;
+    
+    @Before
+    public void setUp() {
+        notifier = new RpcConfigChangeNotifier();
+        configChangeListenContext = new ConfigChangeListenContext();
+        ReflectionTestUtils.setField(notifier, "tpsMonitorManager", tpsMonitorManager);
+        ReflectionTestUtils.setField(notifier, "rpcPushService", rpcPushService);
+        ReflectionTestUtils.setField(notifier, "connectionManager", connectionManager);
+        ReflectionTestUtils.setField(notifier, "configChangeListenContext", configChangeListenContext);
+        connection = mock(Connection.class);
+        when(connection.getMetaInfo()).thenReturn(
+                new ConnectionMeta(CONNECTION_ID, "127.0.0.1", "127.0.0.1", 8848, 9848, "GRPC", "2.0.3", "app",
+                        new HashMap<>()));
+        when(connectionManager.getConnection(CONNECTION_ID)).thenReturn(connection);
+        when(tpsMonitorManager.applyTpsForClientIp(anyString(), anyString(), anyString())).thenReturn(true);
+    }
+    
+    @Test
+    public void testBatchNotify() {
+        ClientAbilities abilities = new ClientAbilities();
+        abilities.getConfigAbility().setSupportBatchNotify(true);
+        when(connection.getAbilities()).thenReturn(abilities);
+        for (int i = 0; i < 3; i++) {
+            String dataId = "dataId" + i;
+            String groupKey = GroupKey2.getKey(dataId, "group", "tenant");
+            configChangeListenContext.addListen(groupKey, "md5", CONNECTION_ID);
+            notifier.configDataChanged(groupKey, dataId, "group", "tenant", false, null, null);
+        }
+        ArgumentCaptor<ConfigChangeBatchNotifyRequest> captor = ArgumentCaptor
+                .forClass(ConfigChangeBatchNotifyRequest.class);
+        verify(rpcPushService, timeout(3000)).pushWithCallback(eq(CONNECTION_ID), captor.capture(),
+                any(PushCallBack.class), any());
+        assertEquals(3, captor.getValue().getConfigContexts().size());
+        assertEquals("dataId0", captor.getValue().getConfigContexts().get(0).getDataId());
+    }
+    
+    @Test
+    public void testNotifyWithoutBatchAbility() {
+        when(connection.getAbilities()).thenReturn(new ClientAbilities());
+        String groupKey = GroupKey2.getKey("dataId", "group", "tenant");
+        configChangeListenContext.addListen(groupKey, "md5", CONNECTION_ID);
+        notifier.configDataChanged(groupKey, "dataId", "group", "tenant", false, Collections.emptyList(), null);
+        ArgumentCaptor<ConfigChangeNotifyRequest> captor = ArgumentCaptor.forClass(ConfigChangeNotifyRequest.class);
+        verify(rpcPushService, timeout(3000)).pushWithCallback(eq(CONNECTION_ID), captor.capture(),
+                any(PushCallBack.class), any());
+        assertTrue(captor.getValue() instanceof ConfigChangeNotifyRequest);
+        assertEquals("dataId", captor.getValue().getDataId());
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConfigContentCacheTest {
+    
+    private static final String ENCODE = "UTF-8";
+    
+    /**
+     * Size of content with 468 chars is 1000 bytes.
+     */
+    private static final int CONTENT_LENGTH = 468;
+    
+    private long maxBytes;
+    
+    private ConfigContentCache contentCache;
+    
+    @Before
+    public void setUp() {
+        maxBytes = 10000;
+        contentCache = new ConfigContentCache(() -> maxBytes);
+    }
+    
+    @Test
+    public void testGetAndPut() {
+        assertNull(contentCache.get("groupKey", false, null, "md5"));
+        contentCache.put("groupKey", false, null, buildContent('a', "md5"));
+        ConfigContentCache.Content actual = contentCache.get("groupKey", false, null, "md5");
+        assertNotNull(actual);
+        assertEquals(1000, actual.getSize());
+        assertEquals(ENCODE, actual.getEncoding());
+        assertEquals("text", actual.getType());
+        assertNull(contentCache.get("groupKey", false, null, "newMd5"));
+        assertNull(contentCache.get("groupKey", true, null, "md5"));
+        assertNull(contentCache.get("groupKey", false, "tag", "md5"));
+        assertEquals(1000, contentCache.getResidentBytes());
+        assertEquals(0.2D, contentCache.getHitRatio(), 0.0001D);
+    }
+    
+    @Test
+    public void testInvalidate() {
+        contentCache.put("groupKey", false, null, buildContent('a', "md5"));
+        contentCache.put("groupKey", true, null, buildContent('b', "md5"));
+        contentCache.invalidate("groupKey", false, null);
+        assertNull(contentCache.get("groupKey", false, null, "md5"));
+        assertNotNull(contentCache.get("groupKey", true, null, "md5"));
+        assertEquals(1000, contentCache.getResidentBytes());
+    }
+    
+    @Test
+    public void testRejectColdContent() {
+        for (int i = 0; i < 9; i++) {
+            contentCache.put("hot" + i, false, null, buildContent('a', "md5"));
+            for (int j = 0; j < 5; j++) {
+                contentCache.get("hot" + i, false, null, "md5");
+            }
+        }
+        assertEquals(9000, contentCache.getResidentBytes());
+        contentCache.put("cold", false, null, buildContent('b', "md5"));
+        assertNull(contentCache.get("cold", false, null, "md5"));
+        for (int i = 0; i < 9; i++) {
+            assertNotNull(contentCache.get("hot" + i, false, null, "md5"));
+        }
+        assertEquals(1, contentCache.getEvictionCount());
+        assertEquals(9000, contentCache.getResidentBytes());
+    }
+    
+    @Test
+    public void testAdmitFrequentContent() {
+        for (int i = 0; i < 9; i++) {
+            contentCache.put("key" + i, false, null, buildContent('a', "md5"));
+        }
+        for (int i = 0; i < 5; i++) {
+            contentCache.get("frequent", false, null, "md5");
+        }
+        contentCache.put("frequent", false, null, buildContent('b', "md5"));
+        assertNotNull(contentCache.get("frequent", false, null, "md5"));
+        assertNull(contentCache.get("key0", false, null, "md5"));
+        assertEquals(9, contentCache.size());
+        assertTrue(contentCache.getResidentBytes() <= maxBytes);
+    }
+    
+    @Test
+    public void testContentLargerThanMaxBytes() {
+        maxBytes = 500;
+        contentCache.put("groupKey", false, null, buildContent('a', "md5"));
+        assertEquals(0, contentCache.size());
+        assertEquals(0, contentCache.getResidentBytes());
+        assertEquals(1, contentCache.getEvictionCount());
+    }
+    
+    @Test
+    public void testDisabled() {
+        maxBytes = 0;
+        assertFalse(contentCache.isEnabled());
+        contentCache.put("groupKey", false, null, buildContent('a', "md5"));
+        assertEquals(0, contentCache.size());
+    }
+    
+    @Test
+    public void testGetNotBlockedByWrite() throws Exception {
+        contentCache.put("groupKey", false, null, buildContent('a', "md5"));
+        Field field = ConfigContentCache.class.getDeclaredField("policyLock");
+        field.setAccessible(true);
+        ReentrantLock policyLock = (ReentrantLock) field.get(contentCache);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        policyLock.lock();
+        try {
+            Future<ConfigContentCache.Content> future = executor
+                    .submit(() -> contentCache.get("groupKey", false, null, "md5"));
+            assertNotNull(future.get(5, TimeUnit.SECONDS));
+        } finally {
+            policyLock.unlock();
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int seed = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        String groupKey = "key" + ((i * 31 + seed) % 40);
+                        if (i % 3 == 0) {
+                            contentCache.put(groupKey, false, null, buildContent('a', "md5"));
+                        } else if (i % 7 == 0) {
+                            contentCache.invalidate(groupKey, false, null);
+                        } else {
+                            contentCache.get(groupKey, false, null, "md5");
+                        }
+                    }
+                }));
+            }
+            for (Future<?> each : futures) {
+                each.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(contentCache.getResidentBytes() <= maxBytes);
+        assertEquals(contentCache.size() * 1000L, contentCache.getResidentBytes());
+    }
+    
+    private ConfigContentCache.Content buildContent(char each, String md5) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < CONTENT_LENGTH; i++) {
+            content.append(each);
+        }
+        return new ConfigContentCache.Content(content.toString(), ENCODE, "text", md5);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConfigContentIndexTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private File snapshotFile;
+    
+    private ConfigContentIndex contentIndex;
+    
+    @Before
+    public void setUp() {
+        snapshotFile = new File(folder.getRoot(), "content.index");
+        contentIndex = new ConfigContentIndex(snapshotFile);
+        contentIndex.beginRebuild();
+        contentIndex.update("a+DEFAULT_GROUP+", 1L, "md5a", 100L, "db.host=10.0.0.1\ndb.port=3306");
+        contentIndex.update("b+DEFAULT_GROUP+", 2L, "md5b", 100L, "DB.HOST=10.0.0.2");
+        contentIndex.update("c+DEFAULT_GROUP+", 3L, "md5c", 100L, "cache.host=10.0.0.1");
+        contentIndex.finishRebuild();
+    }
+    
+    @Test
+    public void testSearch() {
+        assertTrue(contentIndex.isReady());
+        assertArrayEquals(new long[] {1L, 3L}, contentIndex.search("*10.0.0.1*"));
+        assertArrayEquals(new long[] {1L, 2L}, contentIndex.search("*db.host*"));
+        assertArrayEquals(new long[] {1L}, contentIndex.search("*db.host*3306*"));
+        assertEquals(0, contentIndex.search("*redis*").length);
+        assertNull(contentIndex.search("*db*"));
+        assertNull(contentIndex.search("*主机*"));
+    }
+    
+    @Test
+    public void testUpdateAndRemove() {
+        contentIndex.update("c+DEFAULT_GROUP+", 3L, "md5c2", 200L, "cache.host=10.0.0.3");
+        assertArrayEquals(new long[] {1L}, contentIndex.search("*10.0.0.1*"));
+        assertArrayEquals(new long[] {3L}, contentIndex.search("*10.0.0.3*"));
+        contentIndex.remove("a+DEFAULT_GROUP+");
+        assertEquals(0, contentIndex.search("*10.0.0.1*").length);
+        assertEquals(2, contentIndex.size());
+    }
+    
+    @Test
+    public void testIgnoreOlderUpdate() {
+        contentIndex.update("c+DEFAULT_GROUP+", 3L, "md5c2", 200L, "cache.host=10.0.0.3");
+        // A full dump read the row before it was changed.
+        contentIndex.beginRebuild();
+        contentIndex.update("c+DEFAULT_GROUP+", 3L, "md5c", 100L, "cache.host=10.0.0.1");
+        contentIndex.finishRebuild();
+        assertArrayEquals(new long[] {3L}, contentIndex.search("*10.0.0.3*"));
+        assertEquals(0, contentIndex.search("*cache.host=10.0.0.1*").length);
+    }
+    
+    @Test
+    public void testRebuildRemovesUnseen() {
+        contentIndex.beginRebuild();
+        contentIndex.update("a+DEFAULT_GROUP+", 1L, "md5a", 100L, "db.host=10.0.0.1\ndb.port=3306");
+        contentIndex.finishRebuild();
+        assertEquals(1, contentIndex.size());
+        assertArrayEquals(new long[] {1L}, contentIndex.search("*10.0.0.1*"));
+    }
+    
+    @Test
+    public void testSnapshot() throws Exception {
+        contentIndex.save();
+        ConfigContentIndex restarted = new ConfigContentIndex(snapshotFile);
+        assertTrue(restarted.load());
+        assertEquals(3, restarted.size());
+        assertFalse(restarted.isReady());
+        assertNull(restarted.search("*10.0.0.1*"));
+        restarted.markReadyIfSnapshotAfter(System.currentTimeMillis() + 60000L);
+        assertFalse(restarted.isReady());
+        restarted.markReadyIfSnapshotAfter(0L);
+        assertTrue(restarted.isReady());
+        assertArrayEquals(new long[] {1L, 3L}, restarted.search("*10.0.0.1*"));
+        restarted.update("c+DEFAULT_GROUP+", 3L, "md5c0", 50L, "cache.host=10.0.0.0");
+        assertArrayEquals(new long[] {1L, 3L}, restarted.search("*10.0.0.1*"));
+    }
+}
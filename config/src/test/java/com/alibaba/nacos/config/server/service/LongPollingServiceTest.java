@@ -0,0 +1,96 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.config.server.model.SampleResult;
+import com.alibaba.nacos.config.server.utils.GroupKey;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LongPollingServiceTest {
+    
+    private final String groupKey = GroupKey.getKeyTenant("dataId", "group", "");
+    
+    private final String otherGroupKey = GroupKey.getKeyTenant("otherDataId", "group", "");
+    
+    @Mock
+    private AsyncContext asyncContext;
+    
+    @Mock
+    private HttpServletRequest request;
+    
+    @Mock
+    private HttpServletResponse response;
+    
+    private LongPollingService longPollingService;
+    
+    private LongPollingService.ClientLongPolling clientLongPolling;
+    
+    @Before
+    public void setUp() {
+        longPollingService = new LongPollingService();
+        Map<String, String> clientMd5Map = new HashMap<String, String>(2);
+        clientMd5Map.put(groupKey, "md5");
+        clientLongPolling = longPollingService.new ClientLongPolling(asyncContext, clientMd5Map, "127.0.0.1", 1,
+                30000L, "app", null);
+        clientLongPolling.run();
+    }
+    
+    @Test
+    public void testGetSubscribleInfo() {
+        SampleResult actual = longPollingService.getSubscribleInfo("dataId", "group", "");
+        assertEquals("md5", actual.getLisentersGroupkeyStatus().get("127.0.0.1"));
+        assertTrue(longPollingService.getSubscribleInfo("otherDataId", "group", "").getLisentersGroupkeyStatus()
+                .isEmpty());
+        assertEquals(1, longPollingService.timeoutWheel.size());
+    }
+    
+    @Test
+    public void testDataChangeOnlyNotifyListeners() throws Exception {
+        longPollingService.new DataChangeTask(otherGroupKey, false, null).run();
+        verify(asyncContext, never()).complete();
+        assertEquals(1, longPollingService.allSubs.size());
+        
+        when(asyncContext.getRequest()).thenReturn(request);
+        when(asyncContext.getResponse()).thenReturn(response);
+        when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+        longPollingService.new DataChangeTask(groupKey, false, null).run();
+        verify(asyncContext).complete();
+        assertTrue(longPollingService.allSubs.isEmpty());
+        assertFalse(longPollingService.groupKeySubs.containsKey(groupKey));
+        assertEquals(0, longPollingService.timeoutWheel.size());
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.capacity;
+
+import com.alibaba.nacos.config.server.constant.CounterMode;
+import com.alibaba.nacos.config.server.model.capacity.GroupCapacity;
+import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CapacityServiceTest {
+    
+    private static final String GROUP = "group";
+    
+    @Mock
+    private GroupCapacityPersistService groupCapacityPersistService;
+    
+    @Mock
+    private TenantCapacityPersistService tenantCapacityPersistService;
+    
+    @Mock
+    private PersistService persistService;
+    
+    private CapacityService capacityService;
+    
+    private int flushMs;
+    
+    private static GroupCapacity capacity(int usage, int quota) {
+        GroupCapacity capacity = new GroupCapacity();
+        capacity.setGroup(GROUP);
+        capacity.setQuota(quota);
+        capacity.setUsage(usage);
+        return capacity;
+    }
+    
+    @Before
+    public void setUp() {
+        flushMs = PropertyUtil.getCapacityUsageFlushMs();
+        PropertyUtil.setCapacityUsageFlushMs(1000);
+        capacityService = new CapacityService();
+        ReflectionTestUtils.setField(capacityService, "groupCapacityPersistService", groupCapacityPersistService);
+        ReflectionTestUtils.setField(capacityService, "tenantCapacityPersistService", tenantCapacityPersistService);
+        ReflectionTestUtils.setField(capacityService, "persistService", persistService);
+    }
+    
+    @After
+    public void tearDown() {
+        PropertyUtil.setCapacityUsageFlushMs(flushMs);
+    }
+    
+    @Test
+    public void testFlushFailureRestoresDelta() {
+        when(groupCapacityPersistService.getGroupCapacity(GROUP)).thenReturn(capacity(5, 0));
+        assertTrue(capacityService.updateGroupUsage(CounterMode.INCREMENT, GROUP));
+        assertTrue(capacityService.updateGroupUsage(CounterMode.INCREMENT, GROUP));
+        
+        final List<Map<String, Integer>> flushed = new ArrayList<>();
+        doAnswer(invocation -> {
+            Map<String, Integer> deltas = invocation.getArgument(0);
+            flushed.add(new HashMap<>(deltas));
+            if (flushed.size() == 1) {
+                throw new IllegalStateException("db unavailable");
+            }
+            return null;
+        }).when(groupCapacityPersistService).batchAddUsage(anyMap(), any(Timestamp.class));
+        
+        capacityService.flushUsage();
+        capacityService.flushUsage();
+        
+        assertEquals(2, flushed.size());
+        assertEquals(Collections.singletonMap(GROUP, 2), flushed.get(0));
+        assertEquals(Collections.singletonMap(GROUP, 2), flushed.get(1));
+    }
+    
+    @Test
+    public void testReloadKeepsUnflushedDelta() {
+        when(groupCapacityPersistService.getGroupCapacity(GROUP)).thenReturn(capacity(9, 12), capacity(11, 12));
+        assertTrue(capacityService.updateGroupUsage(CounterMode.INCREMENT, GROUP));
+        assertTrue(capacityService.updateGroupUsage(CounterMode.INCREMENT, GROUP));
+        
+        doAnswer(invocation -> {
+            // A config is published while flushing, it is not in the flushed delta.
+            assertTrue(capacityService.updateGroupUsage(CounterMode.INCREMENT, GROUP));
+            return null;
+        }).when(groupCapacityPersistService).batchAddUsage(anyMap(), any(Timestamp.class));
+        
+        capacityService.flushUsage();
+        
+        // The reloaded usage is 11, plus the unflushed one it reaches the quota.
+        assertFalse(capacityService.updateGroupUsage(CounterMode.INCREMENT, GROUP));
+    }
+    
+    @Test
+    public void testCorrectUsageInTaskFlushesFirstAndReloadsLast() {
+        when(groupCapacityPersistService.getGroupCapacity(GROUP)).thenReturn(capacity(0, 0));
+        assertTrue(capacityService.updateGroupUsage(CounterMode.INCREMENT, GROUP));
+        
+        capacityService.correctUsageInTask();
+        
+        InOrder inOrder = inOrder(groupCapacityPersistService);
+        inOrder.verify(groupCapacityPersistService).getGroupCapacity(GROUP);
+        inOrder.verify(groupCapacityPersistService).batchAddUsage(anyMap(), any(Timestamp.class));
+        inOrder.verify(groupCapacityPersistService).getCapacityList4CorrectUsage(anyLong(), anyInt());
+        inOrder.verify(groupCapacityPersistService).getGroupCapacity(GROUP);
+    }
+}
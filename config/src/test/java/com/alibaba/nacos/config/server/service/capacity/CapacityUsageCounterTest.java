@@ -0,0 +1,95 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.capacity;
+
+import com.alibaba.nacos.config.server.model.capacity.GroupCapacity;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CapacityUsageCounterTest {
+    
+    private static GroupCapacity capacity(int usage) {
+        GroupCapacity capacity = new GroupCapacity();
+        capacity.setGroup("group");
+        capacity.setQuota(0);
+        capacity.setUsage(usage);
+        return capacity;
+    }
+    
+    @Test
+    public void testIncrementWithQuota() {
+        CapacityUsageCounter counter = new CapacityUsageCounter(capacity(1));
+        assertTrue(counter.increment(2, false));
+        assertFalse(counter.increment(2, false));
+        assertTrue(counter.increment(2, true));
+        assertEquals(3, counter.getUsage());
+        assertEquals(2, counter.drainDelta());
+        assertEquals(0, counter.drainDelta());
+    }
+    
+    @Test
+    public void testDecrementNotBelowZero() {
+        CapacityUsageCounter counter = new CapacityUsageCounter(capacity(1));
+        assertTrue(counter.decrement());
+        assertFalse(counter.decrement());
+        assertEquals(0, counter.getUsage());
+        assertEquals(-1, counter.drainDelta());
+    }
+    
+    @Test
+    public void testResetKeepsPendingDelta() {
+        CapacityUsageCounter counter = new CapacityUsageCounter(capacity(0));
+        counter.increment(10, false);
+        int delta = counter.drainDelta();
+        counter.increment(10, false);
+        counter.restoreDelta(delta);
+        counter.reset(capacity(5));
+        assertEquals(7, counter.getUsage());
+        assertEquals(2, counter.drainDelta());
+    }
+    
+    @Test(timeout = 60000L)
+    public void testResetNotLoseConcurrentIncrement() throws InterruptedException {
+        final CapacityUsageCounter counter = new CapacityUsageCounter(capacity(0));
+        final int threadCount = 4;
+        final int times = 20000;
+        final CountDownLatch finished = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(() -> {
+                for (int j = 0; j < times; j++) {
+                    counter.increment(Integer.MAX_VALUE, false);
+                }
+                finished.countDown();
+            }).start();
+        }
+        // flush and reload repeatedly, the usage in table is the sum of flushed deltas.
+        int flushedUsage = 0;
+        while (finished.getCount() > 0) {
+            flushedUsage += counter.drainDelta();
+            counter.reset(capacity(flushedUsage));
+        }
+        flushedUsage += counter.drainDelta();
+        counter.reset(capacity(flushedUsage));
+        assertEquals(threadCount * times, flushedUsage);
+        assertEquals(threadCount * times, counter.getUsage());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DumpManifestTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        File manifestFile = new File(folder.getRoot(), "manifest");
+        assertNull(DumpManifest.load(manifestFile));
+        
+        File dumpFile = folder.newFile("dataId");
+        assertTrue(dumpFile.setLastModified(1000L));
+        DumpManifest manifest = new DumpManifest();
+        manifest.record("dataId+group+", "md5", 10L);
+        manifest.save(manifestFile, 2000L);
+        
+        DumpManifest loaded = DumpManifest.load(manifestFile);
+        assertEquals(1, loaded.size());
+        assertTrue(loaded.groupKeys().contains("dataId+group+"));
+        assertTrue(loaded.isUnchanged("dataId+group+", "md5", 10L, dumpFile));
+        assertFalse(loaded.isUnchanged("dataId+group+", "md5", 11L, dumpFile));
+        assertFalse(loaded.isUnchanged("dataId+group+", "newMd5", 10L, dumpFile));
+        assertFalse(loaded.isUnchanged("other+group+", "md5", 10L, dumpFile));
+        assertFalse(loaded.isUnchanged("dataId+group+", "md5", 10L, new File(folder.getRoot(), "absent")));
+        assertTrue(dumpFile.setLastModified(3000L));
+        assertFalse(loaded.isUnchanged("dataId+group+", "md5", 10L, dumpFile));
+    }
+}
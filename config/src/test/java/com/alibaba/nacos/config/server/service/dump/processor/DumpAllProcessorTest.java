@@ -0,0 +1,211 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.processor;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.model.Page;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.ConfigContentIndex;
+import com.alibaba.nacos.config.server.service.dump.DumpManifest;
+import com.alibaba.nacos.config.server.service.dump.DumpService;
+import com.alibaba.nacos.config.server.service.dump.task.DumpAllTask;
+import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.config.server.utils.DiskUtil;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DumpAllProcessorTest {
+    
+    private static final String GROUP = "group";
+    
+    private static final long LAST_MODIFIED = 100L;
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    @Mock
+    private DumpService dumpService;
+    
+    @Mock
+    private PersistService persistService;
+    
+    @Mock
+    private ConfigContentIndex contentIndex;
+    
+    private DumpAllProcessor dumpAllProcessor;
+    
+    @Before
+    public void setUp() {
+        EnvUtil.setNacosHomePath(folder.getRoot().getAbsolutePath());
+        when(dumpService.getPersistService()).thenReturn(persistService);
+        when(dumpService.getContentIndex()).thenReturn(contentIndex);
+        dumpAllProcessor = new DumpAllProcessor(dumpService);
+    }
+    
+    @After
+    public void tearDown() {
+        EnvUtil.setNacosHomePath(null);
+    }
+    
+    @Test(timeout = 60000L)
+    public void testDumpAllWorkersStopAtEnd() throws IOException {
+        // more configs than the queue capacity, the reader blocks on the queue until workers take configs.
+        int count = DumpAllProcessor.QUEUE_CAPACITY + DumpAllProcessor.PAGE_SIZE / 2;
+        List<ConfigInfoWrapper> configs = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            configs.add(config(i, "workers" + i, "content" + i));
+        }
+        mockConfigs(configs);
+        
+        assertTrue(dumpAllProcessor.process(new DumpAllTask()));
+        
+        verify(contentIndex).beginRebuild();
+        verify(contentIndex, times(count)).update(anyString(), anyLong(), anyString(), eq(LAST_MODIFIED), anyString());
+        verify(contentIndex).finishRebuild();
+        for (ConfigInfoWrapper each : configs) {
+            assertEquals(each.getContent(), readConfigFile(each.getDataId()));
+        }
+        DumpManifest manifest = DumpManifest.load(DiskUtil.dumpManifestFile());
+        assertEquals(count, manifest.size());
+    }
+    
+    @Test
+    public void testSkipConfigsUnchangedSinceManifest() throws IOException {
+        String unchangedMd5 = MD5Utils.md5Hex("unchanged", Constants.ENCODE);
+        final DumpManifest lastManifest = lastManifest(new String[] {"skipUnchanged", unchangedMd5},
+                new String[] {"skipModified", MD5Utils.md5Hex("old", Constants.ENCODE)});
+        writeOldConfigFile("skipUnchanged");
+        writeOldConfigFile("skipModified");
+        writeOldConfigFile("skipNew");
+        List<ConfigInfoWrapper> configs = new ArrayList<>();
+        configs.add(config(1, "skipUnchanged", "unchanged"));
+        configs.add(config(2, "skipModified", "modified"));
+        configs.add(config(3, "skipNew", "new"));
+        mockConfigs(configs);
+        
+        assertTrue(dumpAllProcessor.process(new DumpAllTask(lastManifest)));
+        
+        // the file recorded by manifest is trusted and not written again, but the md5 in cache is updated.
+        assertEquals("old", readConfigFile("skipUnchanged"));
+        assertEquals(unchangedMd5, ConfigCacheService.getContentMd5(GroupKey2.getKey("skipUnchanged", GROUP)));
+        assertEquals("modified", readConfigFile("skipModified"));
+        assertEquals("new", readConfigFile("skipNew"));
+        assertEquals(3, DumpManifest.load(DiskUtil.dumpManifestFile()).size());
+    }
+    
+    @Test
+    public void testRemoveStaleFilesWithManifest() throws IOException {
+        final DumpManifest lastManifest = lastManifest(new String[] {"staleKept", MD5Utils.md5Hex("old", Constants.ENCODE)},
+                new String[] {"staleRemoved", MD5Utils.md5Hex("old", Constants.ENCODE)},
+                new String[] {"staleDumpedAfter", MD5Utils.md5Hex("old", Constants.ENCODE)});
+        writeOldConfigFile("staleKept");
+        writeOldConfigFile("staleRemoved");
+        // dumped after last manifest and deleted while the node was down.
+        writeOldConfigFile("orphan");
+        DiskUtil.saveToDisk("orphan", GROUP, "tenant", "old");
+        // dumped by a data change event during dump all.
+        ConfigCacheService.dump("staleDumpedAfter", GROUP, null, "old", LAST_MODIFIED, null);
+        List<ConfigInfoWrapper> configs = new ArrayList<>();
+        configs.add(config(1, "staleKept", "old"));
+        mockConfigs(configs);
+        
+        assertTrue(dumpAllProcessor.process(new DumpAllTask(lastManifest)));
+        
+        assertTrue(DiskUtil.targetFile("staleKept", GROUP, null).isFile());
+        assertFalse(DiskUtil.targetFile("staleRemoved", GROUP, null).exists());
+        assertTrue(DiskUtil.targetFile("staleDumpedAfter", GROUP, null).isFile());
+        assertFalse(DiskUtil.targetFile("orphan", GROUP, null).exists());
+        assertFalse(DiskUtil.targetFile("orphan", GROUP, "tenant").exists());
+    }
+    
+    @Test
+    public void testNotRemoveFilesWithoutManifest() throws IOException {
+        writeOldConfigFile("noManifest");
+        mockConfigs(new ArrayList<>());
+        
+        assertTrue(dumpAllProcessor.process(new DumpAllTask()));
+        
+        assertTrue(DiskUtil.targetFile("noManifest", GROUP, null).isFile());
+    }
+    
+    private void mockConfigs(List<ConfigInfoWrapper> configs) {
+        when(persistService.findConfigMaxId()).thenReturn((long) configs.size());
+        for (int from = 0; from < configs.size(); from += DumpAllProcessor.PAGE_SIZE) {
+            Page<ConfigInfoWrapper> page = new Page<>();
+            page.setPageItems(configs.subList(from, Math.min(from + DumpAllProcessor.PAGE_SIZE, configs.size())));
+            when(persistService.findAllConfigInfoFragment(from, DumpAllProcessor.PAGE_SIZE)).thenReturn(page);
+        }
+    }
+    
+    private ConfigInfoWrapper config(long id, String dataId, String content) {
+        ConfigInfoWrapper config = new ConfigInfoWrapper();
+        config.setId(id);
+        config.setDataId(dataId);
+        config.setGroup(GROUP);
+        config.setContent(content);
+        config.setLastModified(LAST_MODIFIED);
+        return config;
+    }
+    
+    /**
+     * Build manifest of last dump all, whose checkpoint is after the config files written by the test.
+     */
+    private DumpManifest lastManifest(String[]... dataIdAndMd5s) throws IOException {
+        DumpManifest manifest = new DumpManifest();
+        for (String[] each : dataIdAndMd5s) {
+            manifest.record(GroupKey2.getKey(each[0], GROUP, null), each[1], LAST_MODIFIED);
+        }
+        File file = folder.newFile();
+        manifest.save(file, System.currentTimeMillis() + 60000L);
+        return DumpManifest.load(file);
+    }
+    
+    private void writeOldConfigFile(String dataId) throws IOException {
+        DiskUtil.saveToDisk(dataId, GROUP, null, "old");
+    }
+    
+    private String readConfigFile(String dataId) throws IOException {
+        return FileUtils.readFileToString(DiskUtil.targetFile(dataId, GROUP, null), Constants.ENCODE);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.repository.embedded;
+
+import com.alibaba.nacos.config.server.service.sql.ModifyRequest;
+import com.alibaba.nacos.consistency.SerializeFactory;
+import com.alibaba.nacos.consistency.Serializer;
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.entity.WriteRequest;
+import com.google.protobuf.ByteString;
+import org.apache.derby.jdbc.EmbeddedDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DistributedDatabaseOperateImplTest {
+    
+    private final Serializer serializer = SerializeFactory.getDefault();
+    
+    private JdbcTemplate jdbcTemplate;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @Before
+    public void setUp() {
+        EmbeddedDataSource dataSource = new EmbeddedDataSource();
+        dataSource.setDatabaseName("memory:batch_test");
+        dataSource.setCreateDatabase("create");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("CREATE TABLE batch_test (id INT PRIMARY KEY, content VARCHAR(32))");
+    }
+    
+    @After
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE batch_test");
+    }
+    
+    @Test
+    public void testApplyBatchRollbackOnlyFailedWrite() throws Exception {
+        List<WriteRequest> requests = new ArrayList<>();
+        requests.add(newRequest(insert(1, "a")));
+        // The second insert of this write conflicts, the first one of the same write must be rolled back too.
+        requests.add(newRequest(insert(2, "b"), insert(1, "c")));
+        requests.add(newRequest(insert(3, "d")));
+        
+        List<Response> responses = DistributedDatabaseOperateImpl
+                .applyBatch(transactionTemplate, jdbcTemplate, serializer, requests);
+        
+        assertEquals(3, responses.size());
+        assertTrue(responses.get(0).getSuccess());
+        assertFalse(responses.get(1).getSuccess());
+        assertTrue(responses.get(2).getSuccess());
+        assertEquals(Arrays.asList(1, 3),
+                jdbcTemplate.queryForList("SELECT id FROM batch_test ORDER BY id", Integer.class));
+        assertEquals("a", jdbcTemplate.queryForObject("SELECT content FROM batch_test WHERE id = 1", String.class));
+    }
+    
+    @Test
+    public void testFailedWriteOfBatchNotDumped() {
+        List<WriteRequest> requests = new ArrayList<>();
+        requests.add(newRequest(insert(1, "a")).toBuilder().putExtendInfo("dump", "1").build());
+        requests.add(newRequest(insert(1, "b")).toBuilder().putExtendInfo("dump", "2").build());
+        requests.add(newRequest(insert(2, "c")).toBuilder().putExtendInfo("dump", "3").build());
+        
+        List<Response> responses = DistributedDatabaseOperateImpl
+                .applyBatch(transactionTemplate, jdbcTemplate, serializer, requests);
+        List<WriteRequest> committed = DistributedDatabaseOperateImpl.committedRequests(requests, responses);
+        
+        assertEquals(2, committed.size());
+        assertEquals("1", committed.get(0).getExtendInfoMap().get("dump"));
+        assertEquals("3", committed.get(1).getExtendInfoMap().get("dump"));
+    }
+    
+    private ModifyRequest insert(int id, String content) {
+        ModifyRequest request = new ModifyRequest("INSERT INTO batch_test (id, content) VALUES (?, ?)");
+        request.setArgs(new Object[] {id, content});
+        return request;
+    }
+    
+    private WriteRequest newRequest(ModifyRequest... sqlContext) {
+        List<ModifyRequest> list = new ArrayList<>(Arrays.asList(sqlContext));
+        for (int i = 0; i < list.size(); i++) {
+            list.get(i).setExecuteNo(i);
+        }
+        return WriteRequest.newBuilder().setGroup("test").setData(ByteString.copyFrom(serializer.serialize(list)))
+                .build();
+    }
+}
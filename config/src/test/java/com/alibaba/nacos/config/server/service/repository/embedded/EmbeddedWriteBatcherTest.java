@@ -0,0 +1,146 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.repository.embedded;
+
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.consistency.SerializeFactory;
+import com.alibaba.nacos.consistency.Serializer;
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.entity.WriteRequest;
+import com.google.protobuf.ByteString;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EmbeddedWriteBatcherTest {
+    
+    private final Serializer serializer = SerializeFactory.getDefault();
+    
+    private final List<WriteRequest> submitted = new CopyOnWriteArrayList<>();
+    
+    private int windowMs;
+    
+    private int maxSize;
+    
+    private Thread batchThread;
+    
+    private EmbeddedWriteBatcher batcher;
+    
+    @Before
+    public void setUp() {
+        windowMs = PropertyUtil.getEmbeddedWriteBatchWindowMs();
+        maxSize = PropertyUtil.getEmbeddedWriteBatchMaxSize();
+        // Responds each write with its own key, and a batch with the list of them.
+        batcher = new EmbeddedWriteBatcher(request -> {
+            submitted.add(request);
+            if (!request.containsExtendInfo(EmbeddedWriteBatcher.BATCH_KEY)) {
+                return CompletableFuture.completedFuture(responseOf(request.getKey()));
+            }
+            List<byte[]> requests = serializer.deserialize(request.getData().toByteArray(), List.class);
+            List<byte[]> responses = new ArrayList<>();
+            for (byte[] each : requests) {
+                try {
+                    responses.add(responseOf(WriteRequest.parseFrom(each).getKey()).toByteArray());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return CompletableFuture.completedFuture(Response.newBuilder().setSuccess(true)
+                    .setData(ByteString.copyFrom(serializer.serialize(responses))).build());
+        }, serializer, "test");
+        batchThread = new Thread(batcher);
+        batchThread.start();
+    }
+    
+    @After
+    public void tearDown() throws InterruptedException {
+        batchThread.interrupt();
+        batchThread.join(1000);
+        PropertyUtil.setEmbeddedWriteBatchWindowMs(windowMs);
+        PropertyUtil.setEmbeddedWriteBatchMaxSize(maxSize);
+    }
+    
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        assertEquals(1, PropertyUtil.getEmbeddedWriteBatchMaxSize());
+        assertEquals("a", batcher.write(newRequest("a")).get(1, TimeUnit.SECONDS).getErrMsg());
+        assertEquals(1, submitted.size());
+        assertFalse(submitted.get(0).containsExtendInfo(EmbeddedWriteBatcher.BATCH_KEY));
+    }
+    
+    @Test
+    public void testBatchUntilMaxSize() throws Exception {
+        PropertyUtil.setEmbeddedWriteBatchWindowMs(60_000);
+        PropertyUtil.setEmbeddedWriteBatchMaxSize(3);
+        List<CompletableFuture<Response>> futures = new ArrayList<>();
+        for (String each : new String[] {"a", "b", "c"}) {
+            futures.add(batcher.write(newRequest(each)));
+        }
+        assertEquals("a", futures.get(0).get(5, TimeUnit.SECONDS).getErrMsg());
+        assertEquals("b", futures.get(1).get(5, TimeUnit.SECONDS).getErrMsg());
+        assertEquals("c", futures.get(2).get(5, TimeUnit.SECONDS).getErrMsg());
+        assertEquals(1, submitted.size());
+        assertTrue(submitted.get(0).containsExtendInfo(EmbeddedWriteBatcher.BATCH_KEY));
+    }
+    
+    @Test
+    public void testFlushWhenWindowExpired() throws Exception {
+        PropertyUtil.setEmbeddedWriteBatchWindowMs(20);
+        PropertyUtil.setEmbeddedWriteBatchMaxSize(64);
+        assertEquals("a", batcher.write(newRequest("a")).get(5, TimeUnit.SECONDS).getErrMsg());
+        assertEquals("b", batcher.write(newRequest("b")).get(5, TimeUnit.SECONDS).getErrMsg());
+        // Each write is flushed alone after the window, not merged into a batch of one.
+        assertEquals(2, submitted.size());
+        assertFalse(submitted.get(0).containsExtendInfo(EmbeddedWriteBatcher.BATCH_KEY));
+        assertFalse(submitted.get(1).containsExtendInfo(EmbeddedWriteBatcher.BATCH_KEY));
+    }
+    
+    @Test
+    public void testBatchFailureCompletesEachWrite() throws Exception {
+        PropertyUtil.setEmbeddedWriteBatchWindowMs(60_000);
+        PropertyUtil.setEmbeddedWriteBatchMaxSize(2);
+        batchThread.interrupt();
+        batchThread.join(1000);
+        batcher = new EmbeddedWriteBatcher(
+                request -> CompletableFuture.completedFuture(Response.newBuilder().setSuccess(false).build()),
+                serializer, "test");
+        batchThread = new Thread(batcher);
+        batchThread.start();
+        CompletableFuture<Response> first = batcher.write(newRequest("a"));
+        CompletableFuture<Response> second = batcher.write(newRequest("b"));
+        assertFalse(first.get(5, TimeUnit.SECONDS).getSuccess());
+        assertFalse(second.get(5, TimeUnit.SECONDS).getSuccess());
+    }
+    
+    private static WriteRequest newRequest(String key) {
+        return WriteRequest.newBuilder().setGroup("test").setKey(key).build();
+    }
+    
+    private static Response responseOf(String key) {
+        return Response.newBuilder().setSuccess(true).setErrMsg(key).build();
+    }
+}
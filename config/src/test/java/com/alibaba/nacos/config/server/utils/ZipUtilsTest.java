@@ -0,0 +1,101 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.utils;
+
+import com.alibaba.nacos.config.server.constant.Constants;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+public class ZipUtilsTest {
+    
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+    
+    @Test
+    public void testStreamingZipAndUnzip() throws IOException {
+        File file = temporaryFolder.newFile("export.zip");
+        try (ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(file))) {
+            ZipUtils.zip(zipOut, new ZipUtils.ZipItem("group/dataId1", "content1"));
+            ZipUtils.zip(zipOut, new ZipUtils.ZipItem("group/dataId2", "内容2"));
+            ZipUtils.zip(zipOut, new ZipUtils.ZipItem(Constants.CONFIG_EXPORT_METADATA_NEW, "metadata"));
+        }
+        
+        try (ZipFile zipFile = new ZipFile(file)) {
+            ZipUtils.verify(zipFile);
+            ZipUtils.ZipItem metaDataItem = ZipUtils.readMetaDataItem(zipFile);
+            Assert.assertEquals(Constants.CONFIG_EXPORT_METADATA_NEW, metaDataItem.getItemName());
+            Assert.assertEquals("metadata", metaDataItem.getItemData());
+            
+            Assert.assertEquals(Arrays.asList("group/dataId1", "group/dataId2"), ZipUtils.itemNames(zipFile));
+            
+            List<ZipUtils.ZipItem> items = new ArrayList<>();
+            ZipUtils.unzip(zipFile, items::add);
+            Assert.assertEquals(2, items.size());
+            Assert.assertEquals("group/dataId1", items.get(0).getItemName());
+            Assert.assertEquals("content1", items.get(0).getItemData());
+            Assert.assertEquals("内容2", items.get(1).getItemData());
+        }
+    }
+    
+    @Test(expected = ZipException.class)
+    public void testVerifyBrokenItem() throws IOException {
+        File file = temporaryFolder.newFile("export.zip");
+        byte[] content = "content1".getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        try (ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(file))) {
+            ZipEntry entry = new ZipEntry("group/dataId1");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(content.length);
+            entry.setCrc(crc.getValue());
+            zipOut.putNextEntry(entry);
+            // the stored data does not match the crc.
+            content[0] = 'C';
+            zipOut.write(content);
+            zipOut.closeEntry();
+        }
+        try (ZipFile zipFile = new ZipFile(file)) {
+            ZipUtils.verify(zipFile);
+        }
+    }
+    
+    @Test
+    public void testReadMetaDataItemWithoutMetadata() throws IOException {
+        File file = temporaryFolder.newFile("export.zip");
+        try (ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(file))) {
+            ZipUtils.zip(zipOut, new ZipUtils.ZipItem("group/dataId1", "content1"));
+        }
+        try (ZipFile zipFile = new ZipFile(file)) {
+            Assert.assertNull(ZipUtils.readMetaDataItem(zipFile));
+        }
+    }
+}
@@ -38,6 +38,10 @@ public enum DataOperation {
      * Data verify.
      */
     VERIFY,
+    /**
+     * Data verify by digest.
+     */
+    DIGEST,
     /**
      * Data Snapshot.
      */
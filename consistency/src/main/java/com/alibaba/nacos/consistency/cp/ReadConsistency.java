@@ -0,0 +1,67 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.consistency.cp;
+
+/**
+ * Consistency level of read request in CP protocol, chosen by {@link #EXTEND_INFO_KEY} in extend info of read request.
+ *
+ * @author nacos
+ */
+public enum ReadConsistency {
+    
+    /**
+     * Read after confirming commit index with leader by read index, the default level.
+     */
+    LINEARIZABLE,
+    
+    /**
+     * Leader reads local data while its leadership has been confirmed by quorum within lease, other nodes read as
+     * {@link #LINEARIZABLE}.
+     */
+    LEADER_LEASE,
+    
+    /**
+     * Any node reads local data if it caught up with leader within max staleness, otherwise reads as
+     * {@link #LINEARIZABLE}.
+     */
+    FOLLOWER;
+    
+    /**
+     * Key of consistency level in extend info of read request.
+     */
+    public static final String EXTEND_INFO_KEY = "readConsistency";
+    
+    /**
+     * Key of max staleness in milliseconds for {@link #FOLLOWER} read in extend info of read request.
+     */
+    public static final String MAX_STALENESS_MS_KEY = "readMaxStalenessMs";
+    
+    /**
+     * Parse consistency level from extend info value.
+     *
+     * @param value value in extend info
+     * @return consistency level, {@link #LINEARIZABLE} if value is absent or unknown
+     */
+    public static ReadConsistency sourceOf(String value) {
+        for (ReadConsistency each : ReadConsistency.values()) {
+            if (each.name().equals(value)) {
+                return each;
+            }
+        }
+        return LINEARIZABLE;
+    }
+}
@@ -17,10 +17,14 @@
 package com.alibaba.nacos.console.security.nacos;
 
 import com.alibaba.nacos.auth.common.AuthConfigs;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -31,6 +35,8 @@ import org.springframework.stereotype.Component;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT token manager.
@@ -43,9 +49,22 @@ public class JwtTokenManager {
     
     private static final String AUTHORITIES_KEY = "auth";
     
+    /**
+     * Max verified tokens cached, tokens are reused by clients until expired.
+     */
+    private static final int TOKEN_CACHE_MAX_SIZE = 10000;
+    
+    private static final Counter TOKEN_CACHE_HIT = Metrics
+            .counter("nacos_auth", "module", "auth", "name", "tokenCacheHit");
+    
+    private static final Counter TOKEN_CACHE_MISS = Metrics
+            .counter("nacos_auth", "module", "auth", "name", "tokenCacheMiss");
+    
     @Autowired
     private AuthConfigs authConfigs;
     
+    private volatile TokenCache tokenCache;
+    
     /**
      * Create token.
      *
@@ -81,23 +100,103 @@ public class JwtTokenManager {
      * @return auth info
      */
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(authConfigs.getSecretKeyBytes()).build()
-                .parseClaimsJws(token).getBody();
+        VerifiedToken verifiedToken = getVerifiedToken(token);
+        if (Objects.isNull(verifiedToken)) {
+            verifiedToken = verifyToken(token);
+        }
+        return verifiedToken.authentication;
+    }
+    
+    /**
+     * validate token.
+     *
+     * @param token token
+     */
+    public void validateToken(String token) {
+        if (Objects.isNull(getVerifiedToken(token))) {
+            verifyToken(token);
+        }
+    }
+    
+    private VerifiedToken verifyToken(String token) {
+        byte[] secretKeyBytes = authConfigs.getSecretKeyBytes();
+        Claims claims = Jwts.parserBuilder().setSigningKey(secretKeyBytes).build().parseClaimsJws(token).getBody();
         
         List<GrantedAuthority> authorities = AuthorityUtils
                 .commaSeparatedStringToAuthorityList((String) claims.get(AUTHORITIES_KEY));
         
         User principal = new User(claims.getSubject(), "", authorities);
-        return new UsernamePasswordAuthenticationToken(principal, "", authorities);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, "", authorities);
+        VerifiedToken result = new VerifiedToken(authentication, claims.getExpiration());
+        if (authConfigs.isCachingEnabled() && Objects.nonNull(claims.getExpiration())) {
+            getTokenCache(secretKeyBytes).put(token, result);
+        }
+        return result;
     }
     
     /**
-     * validate token.
+     * Get the token verified before, the token expired is treated as not verified so that it will be rejected by the
+     * parser with {@link io.jsonwebtoken.ExpiredJwtException}.
      *
      * @param token token
+     * @return verified token, or null if not verified before, expired or caching disabled
      */
-    public void validateToken(String token) {
-        Jwts.parserBuilder().setSigningKey(authConfigs.getSecretKeyBytes()).build().parseClaimsJws(token);
+    private VerifiedToken getVerifiedToken(String token) {
+        if (!authConfigs.isCachingEnabled()) {
+            return null;
+        }
+        Cache<String, VerifiedToken> tokens = getTokenCache(authConfigs.getSecretKeyBytes());
+        VerifiedToken result = tokens.getIfPresent(token);
+        if (Objects.nonNull(result) && System.currentTimeMillis() >= result.expiration) {
+            tokens.invalidate(token);
+            result = null;
+        }
+        if (Objects.isNull(result)) {
+            TOKEN_CACHE_MISS.increment();
+        } else {
+            TOKEN_CACHE_HIT.increment();
+        }
+        return result;
+    }
+    
+    /**
+     * Get the verified tokens of the secret key, all of them are dropped when the secret key changed.
+     *
+     * @param secretKeyBytes current secret key
+     * @return verified tokens
+     */
+    private Cache<String, VerifiedToken> getTokenCache(byte[] secretKeyBytes) {
+        TokenCache current = tokenCache;
+        if (Objects.isNull(current) || current.secretKeyBytes != secretKeyBytes) {
+            current = new TokenCache(secretKeyBytes, authConfigs.getTokenValidityInSeconds());
+            tokenCache = current;
+        }
+        return current.tokens;
+    }
+    
+    private static class TokenCache {
+        
+        private final byte[] secretKeyBytes;
+        
+        private final Cache<String, VerifiedToken> tokens;
+        
+        private TokenCache(byte[] secretKeyBytes, long tokenValidityInSeconds) {
+            this.secretKeyBytes = secretKeyBytes;
+            this.tokens = CacheBuilder.newBuilder().maximumSize(TOKEN_CACHE_MAX_SIZE)
+                    .expireAfterWrite(tokenValidityInSeconds, TimeUnit.SECONDS).build();
+        }
+    }
+    
+    private static class VerifiedToken {
+        
+        private final Authentication authentication;
+        
+        private final long expiration;
+        
+        private VerifiedToken(Authentication authentication, Date expiration) {
+            this.authentication = authentication;
+            this.expiration = expiration.getTime();
+        }
     }
     
 }
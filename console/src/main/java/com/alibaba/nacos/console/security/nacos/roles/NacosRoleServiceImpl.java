@@ -27,6 +27,8 @@ import com.alibaba.nacos.config.server.model.Page;
 import com.alibaba.nacos.console.security.nacos.NacosAuthConfig;
 import com.alibaba.nacos.console.security.nacos.users.NacosUserDetailsServiceImpl;
 import com.alibaba.nacos.core.utils.Loggers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jsonwebtoken.lang.Collections;
 import org.apache.mina.util.ConcurrentHashSet;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,12 +36,13 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
 
 /**
  * Nacos builtin role service.
@@ -54,6 +57,11 @@ public class NacosRoleServiceImpl {
     
     private static final int DEFAULT_PAGE_NO = 1;
     
+    /**
+     * Max decisions of (user, resource, action) cached until next reload.
+     */
+    private static final int DECISION_CACHE_MAX_SIZE = 10000;
+    
     @Autowired
     private AuthConfigs authConfigs;
     
@@ -72,6 +80,8 @@ public class NacosRoleServiceImpl {
     
     private volatile Map<String, List<PermissionInfo>> permissionInfoMap = new ConcurrentHashMap<>();
     
+    private volatile PermissionSnapshot permissionSnapshot = new PermissionSnapshot(new HashMap<>(16));
+    
     @Scheduled(initialDelay = 5000, fixedDelay = 15000)
     private void reload() {
         try {
@@ -91,15 +101,19 @@ public class NacosRoleServiceImpl {
             }
             
             Map<String, List<PermissionInfo>> tmpPermissionInfoMap = new ConcurrentHashMap<>(16);
+            Map<String, PermissionIndex> tmpPermissionIndexMap = new HashMap<>(16);
             for (String role : tmpRoleSet) {
                 Page<PermissionInfo> permissionInfoPage = permissionPersistService
                         .getPermissions(role, DEFAULT_PAGE_NO, Integer.MAX_VALUE);
                 tmpPermissionInfoMap.put(role, permissionInfoPage.getPageItems());
+                tmpPermissionIndexMap.put(role, new PermissionIndex(permissionInfoPage.getPageItems()));
             }
             
             roleSet = tmpRoleSet;
             roleInfoMap = tmpRoleInfoMap;
             permissionInfoMap = tmpPermissionInfoMap;
+            // Replaced after roles, so the decisions cached in it are never made by the roles before reload.
+            permissionSnapshot = new PermissionSnapshot(tmpPermissionIndexMap);
         } catch (Exception e) {
             Loggers.AUTH.warn("[LOAD-ROLES] load failed", e);
         }
@@ -120,7 +134,22 @@ public class NacosRoleServiceImpl {
         if (NacosAuthConfig.UPDATE_PASSWORD_ENTRY_POINT.equals(permission.getResource())) {
             return true;
         }
-
+        
+        PermissionSnapshot snapshot = permissionSnapshot;
+        if (!authConfigs.isCachingEnabled() || !roleInfoMap.containsKey(username)) {
+            return hasPermission(username, permission, snapshot);
+        }
+        DecisionKey key = new DecisionKey(username, permission.getResource(), permission.getAction());
+        Boolean cached = snapshot.decisions.getIfPresent(key);
+        if (Objects.nonNull(cached)) {
+            return cached.booleanValue();
+        }
+        boolean result = hasPermission(username, permission, snapshot);
+        snapshot.decisions.put(key, result);
+        return result;
+    }
+    
+    private boolean hasPermission(String username, Permission permission, PermissionSnapshot snapshot) {
         List<RoleInfo> roleInfoList = getRoles(username);
         if (Collections.isEmpty(roleInfoList)) {
             return false;
@@ -140,17 +169,12 @@ public class NacosRoleServiceImpl {
         
         // For other roles, use a pattern match to decide if pass or not.
         for (RoleInfo roleInfo : roleInfoList) {
-            List<PermissionInfo> permissionInfoList = getPermissions(roleInfo.getRole());
-            if (Collections.isEmpty(permissionInfoList)) {
-                continue;
+            PermissionIndex permissionIndex = snapshot.permissionIndexMap.get(roleInfo.getRole());
+            if (!authConfigs.isCachingEnabled() || permissionIndex == null) {
+                permissionIndex = new PermissionIndex(getPermissions(roleInfo.getRole()));
             }
-            for (PermissionInfo permissionInfo : permissionInfoList) {
-                String permissionResource = permissionInfo.getResource().replaceAll("\\*", ".*");
-                String permissionAction = permissionInfo.getAction();
-                if (permissionAction.contains(permission.getAction()) && Pattern
-                        .matches(permissionResource, permission.getResource())) {
-                    return true;
-                }
+            if (permissionIndex.isGranted(permission.getResource(), permission.getAction())) {
+                return true;
             }
         }
         return false;
@@ -245,4 +269,52 @@ public class NacosRoleServiceImpl {
     public List<String> findRolesLikeRoleName(String role) {
         return rolePersistService.findRolesLikeRoleName(role);
     }
+    
+    /**
+     * Permission index of all roles loaded together, and the decisions made by them.
+     */
+    private static class PermissionSnapshot {
+        
+        private final Map<String, PermissionIndex> permissionIndexMap;
+        
+        private final Cache<DecisionKey, Boolean> decisions = CacheBuilder.newBuilder()
+                .maximumSize(DECISION_CACHE_MAX_SIZE).build();
+        
+        private PermissionSnapshot(Map<String, PermissionIndex> permissionIndexMap) {
+            this.permissionIndexMap = permissionIndexMap;
+        }
+    }
+    
+    private static class DecisionKey {
+        
+        private final String username;
+        
+        private final String resource;
+        
+        private final String action;
+        
+        private DecisionKey(String username, String resource, String action) {
+            this.username = username;
+            this.resource = resource;
+            this.action = action;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            DecisionKey that = (DecisionKey) o;
+            return Objects.equals(username, that.username) && Objects.equals(resource, that.resource) && Objects
+                    .equals(action, that.action);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(username, resource, action);
+        }
+    }
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.console.security.nacos.roles;
+
+import com.alibaba.nacos.config.server.auth.PermissionInfo;
+import com.alibaba.nacos.core.utils.Loggers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Immutable permission index of one role, built once on reload instead of compiling the resource patterns for each
+ * request.
+ *
+ * <p>The resource of permission is matched as the regex which replaced {@code *} by {@code .*} as before, so
+ * {@code *} matches any sequence and {@code .} matches any character. Resources without wildcard are put into a hash
+ * index, resources with wildcard are compiled to glob patterns and checked by their literal prefix first, resources
+ * with the other regex characters are still compiled to {@link Pattern}. Actions are merged into bitmask.
+ *
+ * @author nacos
+ */
+public class PermissionIndex {
+    
+    private static final int READ = 1;
+    
+    private static final int WRITE = 1 << 1;
+    
+    private static final int UNKNOWN = -1;
+    
+    private static final char ANY_SEQUENCE = '*';
+    
+    private static final char ANY_CHAR = '.';
+    
+    private static final String REGEX_CHARS = "\\[](){}+?^$|";
+    
+    private static final String LINE_TERMINATORS = "\n\r\u0085\u2028\u2029";
+    
+    private final Map<String, Integer> literals = new HashMap<>();
+    
+    private final List<GlobPattern> globs = new ArrayList<>();
+    
+    private final List<RegexPattern> regexes = new ArrayList<>();
+    
+    public PermissionIndex(List<PermissionInfo> permissions) {
+        for (PermissionInfo each : Objects.isNull(permissions) ? Collections.<PermissionInfo>emptyList()
+                : permissions) {
+            add(each.getResource(), toGrantedMask(each.getAction()));
+        }
+    }
+    
+    private void add(String resource, int actions) {
+        if (containsRegexChar(resource)) {
+            try {
+                regexes.add(new RegexPattern(Pattern.compile(resource.replaceAll("\\*", ".*")), actions));
+            } catch (PatternSyntaxException e) {
+                Loggers.AUTH.warn("[PERMISSION-INDEX] invalid permission resource {}", resource);
+            }
+        } else if (resource.indexOf(ANY_SEQUENCE) < 0 && resource.indexOf(ANY_CHAR) < 0) {
+            literals.merge(resource, actions, (a, b) -> a | b);
+        } else {
+            globs.add(new GlobPattern(resource, actions));
+        }
+    }
+    
+    /**
+     * Whether any permission of this role matches the resource and contains the action.
+     *
+     * @param resource resource to auth
+     * @param action   action to auth
+     * @return true if granted, false otherwise
+     */
+    public boolean isGranted(String resource, String action) {
+        int required = toRequiredMask(action);
+        if (required == UNKNOWN) {
+            return false;
+        }
+        Integer actions = literals.get(resource);
+        if (Objects.nonNull(actions) && contains(actions, required)) {
+            return true;
+        }
+        for (GlobPattern each : globs) {
+            if (contains(each.actions, required) && each.matches(resource)) {
+                return true;
+            }
+        }
+        for (RegexPattern each : regexes) {
+            if (contains(each.actions, required) && each.pattern.matcher(resource).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean contains(int actions, int required) {
+        return (actions & required) == required;
+    }
+    
+    private static boolean containsRegexChar(String resource) {
+        for (int i = 0; i < resource.length(); i++) {
+            if (REGEX_CHARS.indexOf(resource.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Actions granted by a stored permission. Unknown characters grant nothing, the same as the substring check before,
+     * so a malformed action such as {@code read} only grants what it contains.
+     */
+    private static int toGrantedMask(String action) {
+        int result = 0;
+        if (Objects.isNull(action)) {
+            return result;
+        }
+        for (int i = 0; i < action.length(); i++) {
+            result |= toMask(action.charAt(i));
+        }
+        return result;
+    }
+    
+    /**
+     * Actions required by a request, {@link #UNKNOWN} if any of them is unknown so that it is never granted.
+     */
+    private static int toRequiredMask(String action) {
+        int result = 0;
+        for (int i = 0; i < action.length(); i++) {
+            int mask = toMask(action.charAt(i));
+            if (mask == 0) {
+                return UNKNOWN;
+            }
+            result |= mask;
+        }
+        return result;
+    }
+    
+    private static int toMask(char action) {
+        switch (action) {
+            case 'r':
+                return READ;
+            case 'w':
+                return WRITE;
+            default:
+                return 0;
+        }
+    }
+    
+    private static class RegexPattern {
+        
+        private final Pattern pattern;
+        
+        private final int actions;
+        
+        private RegexPattern(Pattern pattern, int actions) {
+            this.pattern = pattern;
+            this.actions = actions;
+        }
+    }
+    
+    /**
+     * Glob pattern with {@code *} for any sequence and {@code .} for any character except line terminator, which is
+     * the same as {@code .*} and {@code .} in regex.
+     */
+    private static class GlobPattern {
+        
+        private final String pattern;
+        
+        private final String literalPrefix;
+        
+        private final int actions;
+        
+        private GlobPattern(String pattern, int actions) {
+            this.pattern = pattern;
+            this.actions = actions;
+            int prefixEnd = 0;
+            while (prefixEnd < pattern.length() && pattern.charAt(prefixEnd) != ANY_SEQUENCE
+                    && pattern.charAt(prefixEnd) != ANY_CHAR) {
+                prefixEnd++;
+            }
+            this.literalPrefix = pattern.substring(0, prefixEnd);
+        }
+        
+        private boolean matches(String resource) {
+            if (!resource.startsWith(literalPrefix)) {
+                return false;
+            }
+            int patternIndex = literalPrefix.length();
+            int resourceIndex = patternIndex;
+            int starIndex = -1;
+            int starResourceIndex = -1;
+            while (resourceIndex < resource.length()) {
+                char current = resource.charAt(resourceIndex);
+                if (patternIndex < pattern.length() && pattern.charAt(patternIndex) == ANY_SEQUENCE) {
+                    starIndex = patternIndex++;
+                    starResourceIndex = resourceIndex;
+                } else if (patternIndex < pattern.length() && matchesChar(pattern.charAt(patternIndex), current)) {
+                    patternIndex++;
+                    resourceIndex++;
+                } else if (starIndex >= 0 && !isLineTerminator(resource.charAt(starResourceIndex))) {
+                    patternIndex = starIndex + 1;
+                    resourceIndex = ++starResourceIndex;
+                } else {
+                    return false;
+                }
+            }
+            while (patternIndex < pattern.length() && pattern.charAt(patternIndex) == ANY_SEQUENCE) {
+                patternIndex++;
+            }
+            return patternIndex == pattern.length();
+        }
+        
+        private static boolean matchesChar(char expected, char actual) {
+            return expected == ANY_CHAR ? !isLineTerminator(actual) : expected == actual;
+        }
+        
+        private static boolean isLineTerminator(char c) {
+            return LINE_TERMINATORS.indexOf(c) >= 0;
+        }
+    }
+}
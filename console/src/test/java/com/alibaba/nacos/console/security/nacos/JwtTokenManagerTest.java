@@ -0,0 +1,84 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.console.security.nacos;
+
+import com.alibaba.nacos.auth.common.AuthConfigs;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JwtTokenManagerTest {
+    
+    private static final byte[] SECRET_KEY = "SecretKey012345678901234567890123456789012345678901234567890123456789"
+            .getBytes(StandardCharsets.UTF_8);
+    
+    private static final byte[] ROTATED_SECRET_KEY = "RotatedKey01234567890123456789012345678901234567890123456789012345"
+            .getBytes(StandardCharsets.UTF_8);
+    
+    @Mock
+    private AuthConfigs authConfigs;
+    
+    private JwtTokenManager tokenManager;
+    
+    @Before
+    public void setUp() throws Exception {
+        tokenManager = new JwtTokenManager();
+        Field field = JwtTokenManager.class.getDeclaredField("authConfigs");
+        field.setAccessible(true);
+        field.set(tokenManager, authConfigs);
+        when(authConfigs.getSecretKeyBytes()).thenReturn(SECRET_KEY);
+        when(authConfigs.isCachingEnabled()).thenReturn(true);
+        when(authConfigs.getTokenValidityInSeconds()).thenReturn(18000L);
+    }
+    
+    @Test
+    public void testGetAuthenticationFromVerifiedToken() {
+        String token = tokenManager.createToken("nacos");
+        tokenManager.validateToken(token);
+        assertSame(tokenManager.getAuthentication(token), tokenManager.getAuthentication(token));
+        assertEquals("nacos", tokenManager.getAuthentication(token).getName());
+    }
+    
+    @Test(expected = ExpiredJwtException.class)
+    public void testExpiredTokenNotServedFromCache() throws InterruptedException {
+        when(authConfigs.getTokenValidityInSeconds()).thenReturn(1L);
+        String token = tokenManager.createToken("nacos");
+        tokenManager.validateToken(token);
+        Thread.sleep(1100L);
+        tokenManager.validateToken(token);
+    }
+    
+    @Test(expected = SignatureException.class)
+    public void testCacheClearedOnSecretKeyRotation() {
+        String token = tokenManager.createToken("nacos");
+        tokenManager.validateToken(token);
+        when(authConfigs.getSecretKeyBytes()).thenReturn(ROTATED_SECRET_KEY);
+        tokenManager.validateToken(token);
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.console.security.nacos.roles;
+
+import com.alibaba.nacos.auth.common.AuthConfigs;
+import com.alibaba.nacos.auth.model.Permission;
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.config.server.auth.PermissionInfo;
+import com.alibaba.nacos.config.server.auth.PermissionPersistService;
+import com.alibaba.nacos.config.server.auth.RoleInfo;
+import com.alibaba.nacos.config.server.auth.RolePersistService;
+import com.alibaba.nacos.config.server.model.Page;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+/**
+ * Benchmark of permission decision with 1k roles and 50 permissions for each role, each user has several roles.
+ *
+ * <p>{@code regex} compiles the resource pattern of each permission for each request as before, {@code index} matches
+ * by the {@link PermissionIndex} of the roles and {@code cached} calls {@link NacosRoleServiceImpl#hasPermission} with
+ * decision cache. The requested permissions are a mix of granted and denied resources.
+ *
+ * <p>Run {@link #main(String[])} in test classpath, it is not a unit test and will not be executed by surefire.
+ *
+ * @author nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NacosRoleServiceBenchmark {
+    
+    private static final int ROLE_COUNT = 1000;
+    
+    private static final int PERMISSION_COUNT = 50;
+    
+    private static final int USER_COUNT = 1000;
+    
+    private static final int ROLES_PER_USER = 5;
+    
+    private static final int REQUEST_COUNT = 4096;
+    
+    @Param({"regex", "index", "cached"})
+    private String matchType;
+    
+    private final Map<String, List<PermissionInfo>> permissions = new HashMap<>();
+    
+    private final Map<String, PermissionIndex> permissionIndexes = new HashMap<>();
+    
+    private final Map<String, List<String>> userRoles = new HashMap<>();
+    
+    private final String[] usernames = new String[REQUEST_COUNT];
+    
+    private final Permission[] requests = new Permission[REQUEST_COUNT];
+    
+    private NacosRoleServiceImpl roleService;
+    
+    private int next;
+    
+    /**
+     * Prepare roles, permissions and the role service loaded from mocked persist services.
+     *
+     * @throws Exception if reload failed
+     */
+    @Setup
+    public void setUp() throws Exception {
+        List<RoleInfo> roleInfos = new ArrayList<>();
+        for (int user = 0; user < USER_COUNT; user++) {
+            List<String> roles = new ArrayList<>();
+            for (int i = 0; i < ROLES_PER_USER; i++) {
+                String role = "role" + (user * ROLES_PER_USER + i) % ROLE_COUNT;
+                RoleInfo roleInfo = new RoleInfo();
+                roleInfo.setUsername("user" + user);
+                roleInfo.setRole(role);
+                roleInfos.add(roleInfo);
+                roles.add(role);
+            }
+            userRoles.put("user" + user, roles);
+        }
+        for (int role = 0; role < ROLE_COUNT; role++) {
+            List<PermissionInfo> permissionInfos = new ArrayList<>();
+            for (int i = 0; i < PERMISSION_COUNT; i++) {
+                permissionInfos.add(newPermission("role" + role, resourceOf(role, i), i % 2 == 0 ? "rw" : "r"));
+            }
+            permissions.put("role" + role, permissionInfos);
+            permissionIndexes.put("role" + role, new PermissionIndex(permissionInfos));
+        }
+        Random random = new Random(0);
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            int user = random.nextInt(USER_COUNT);
+            int role = random.nextBoolean() ? (user * ROLES_PER_USER) % ROLE_COUNT : random.nextInt(ROLE_COUNT);
+            usernames[i] = "user" + user;
+            requests[i] = new Permission(requestResourceOf(role, random.nextInt(PERMISSION_COUNT)),
+                    random.nextBoolean() ? "r" : "w");
+        }
+        roleService = newRoleService(roleInfos);
+    }
+    
+    private NacosRoleServiceImpl newRoleService(List<RoleInfo> roleInfos) throws Exception {
+        RolePersistService rolePersistService = Mockito.mock(RolePersistService.class);
+        Page<RoleInfo> rolePage = new Page<>();
+        rolePage.setPageItems(roleInfos);
+        Mockito.when(rolePersistService.getRolesByUserName(eq(StringUtils.EMPTY), anyInt(), anyInt()))
+                .thenReturn(rolePage);
+        PermissionPersistService permissionPersistService = Mockito.mock(PermissionPersistService.class);
+        Mockito.when(permissionPersistService.getPermissions(anyString(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Page<PermissionInfo> result = new Page<>();
+            result.setPageItems(permissions.get(invocation.<String>getArgument(0)));
+            return result;
+        });
+        AuthConfigs.setCachingEnabled(true);
+        NacosRoleServiceImpl result = new NacosRoleServiceImpl();
+        injectObject(result, "authConfigs", new AuthConfigs());
+        injectObject(result, "rolePersistService", rolePersistService);
+        injectObject(result, "permissionPersistService", permissionPersistService);
+        Method reload = NacosRoleServiceImpl.class.getDeclaredMethod("reload");
+        reload.setAccessible(true);
+        reload.invoke(result);
+        return result;
+    }
+    
+    /**
+     * One permission decision of a user.
+     *
+     * @return whether granted
+     */
+    @Benchmark
+    public boolean hasPermission() {
+        int index = next++ & (REQUEST_COUNT - 1);
+        String username = usernames[index];
+        Permission permission = requests[index];
+        switch (matchType) {
+            case "regex":
+                return matchByRegex(username, permission);
+            case "index":
+                return matchByIndex(username, permission);
+            default:
+                return roleService.hasPermission(username, permission);
+        }
+    }
+    
+    private boolean matchByRegex(String username, Permission permission) {
+        for (String role : userRoles.get(username)) {
+            for (PermissionInfo each : permissions.get(role)) {
+                String permissionResource = each.getResource().replaceAll("\\*", ".*");
+                if (each.getAction().contains(permission.getAction()) && Pattern
+                        .matches(permissionResource, permission.getResource())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private boolean matchByIndex(String username, Permission permission) {
+        for (String role : userRoles.get(username)) {
+            if (permissionIndexes.get(role).isGranted(permission.getResource(), permission.getAction())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String resourceOf(int role, int index) {
+        switch (index % 5) {
+            case 0:
+                return "ns" + role + "-" + index + ":*:*";
+            case 1:
+                return "ns" + role + ":group" + index + ":config/*";
+            case 2:
+                return "ns" + role + ":group" + index + ":config/data" + index + ".yaml";
+            default:
+                return "ns" + role + ":group" + index + ":naming/service" + index;
+        }
+    }
+    
+    private static String requestResourceOf(int role, int index) {
+        switch (index % 5) {
+            case 0:
+                return "ns" + role + "-" + index + ":group:config/data";
+            case 1:
+                return "ns" + role + ":group" + index + ":config/data" + index;
+            case 2:
+                return "ns" + role + ":group" + index + ":config/data" + index + ".yaml";
+            default:
+                return "ns" + role + ":group" + index + ":naming/service" + index;
+        }
+    }
+    
+    private static PermissionInfo newPermission(String role, String resource, String action) {
+        PermissionInfo result = new PermissionInfo();
+        result.setRole(role);
+        result.setResource(resource);
+        result.setAction(action);
+        return result;
+    }
+    
+    private static void injectObject(Object target, String fieldName, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(NacosRoleServiceBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
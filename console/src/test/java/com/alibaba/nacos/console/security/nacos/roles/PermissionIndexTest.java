@@ -0,0 +1,110 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.console.security.nacos.roles;
+
+import com.alibaba.nacos.config.server.auth.PermissionInfo;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PermissionIndexTest {
+    
+    @Test
+    public void testLiteralResource() {
+        PermissionIndex index = newIndex("public:DEFAULT_GROUP:config/app", "r");
+        assertTrue(index.isGranted("public:DEFAULT_GROUP:config/app", "r"));
+        assertFalse(index.isGranted("public:DEFAULT_GROUP:config/app", "w"));
+        assertFalse(index.isGranted("public:DEFAULT_GROUP:config/app2", "r"));
+    }
+    
+    @Test
+    public void testWildcardResource() {
+        PermissionIndex index = newIndex("public:*:*", "rw");
+        assertTrue(index.isGranted("public:DEFAULT_GROUP:config/app", "r"));
+        assertTrue(index.isGranted("public:DEFAULT_GROUP:naming/service", "w"));
+        assertFalse(index.isGranted("dev:DEFAULT_GROUP:config/app", "r"));
+    }
+    
+    @Test
+    public void testActionsMerged() {
+        List<PermissionInfo> permissions = new ArrayList<>();
+        permissions.add(newPermission("public:*:*", "r"));
+        permissions.add(newPermission("public:*:*", "w"));
+        PermissionIndex index = new PermissionIndex(permissions);
+        assertTrue(index.isGranted("public:DEFAULT_GROUP:config/app", "w"));
+        assertFalse(index.isGranted("public:DEFAULT_GROUP:config/app", "x"));
+    }
+    
+    @Test
+    public void testUnknownStoredActionNotEscalated() {
+        PermissionIndex index = newIndex("public:*:*", "rx");
+        assertTrue(index.isGranted("public:DEFAULT_GROUP:config/app", "r"));
+        assertFalse(index.isGranted("public:DEFAULT_GROUP:config/app", "w"));
+        index = newIndex("public:DEFAULT_GROUP:config/app", "read");
+        assertTrue(index.isGranted("public:DEFAULT_GROUP:config/app", "r"));
+        assertFalse(index.isGranted("public:DEFAULT_GROUP:config/app", "w"));
+        assertFalse(index.isGranted("public:DEFAULT_GROUP:config/app", "rw"));
+        List<PermissionInfo> permissions = new ArrayList<>();
+        permissions.add(newPermission("public:*:*", "r"));
+        permissions.add(newPermission("public:*:*", "x"));
+        assertFalse(new PermissionIndex(permissions).isGranted("public:DEFAULT_GROUP:config/app", "w"));
+    }
+    
+    @Test
+    public void testEmptyPermissions() {
+        assertFalse(new PermissionIndex(null).isGranted("public:DEFAULT_GROUP:config/app", "r"));
+        assertFalse(new PermissionIndex(Collections.emptyList()).isGranted("public:DEFAULT_GROUP:config/app", "r"));
+    }
+    
+    @Test
+    public void testSameAsRegex() {
+        List<String> patterns = Arrays
+                .asList("public:*:*", "public:*:config/app.yaml", "*", "public:DEFAULT_GROUP:config/*.yaml",
+                        "public:*GROUP:*/app", "public:DEFAULT_GROUP:config/app[0-9]", "public:(DEFAULT|TEST)_GROUP:*",
+                        "public:**:config/a*b*c", "public:.:*");
+        List<String> resources = Arrays
+                .asList("public:DEFAULT_GROUP:config/app.yaml", "public:DEFAULT_GROUP:config/appXyaml",
+                        "public:DEFAULT_GROUP:config/app1", "public:TEST_GROUP:naming/app", "dev:DEFAULT_GROUP:x",
+                        "public:G:config/aXbYc", "public:G:config/acb", "public::config/abc", "public:a:b\nc", "");
+        for (String pattern : patterns) {
+            PermissionIndex index = newIndex(pattern, "r");
+            for (String resource : resources) {
+                assertEquals(pattern + " with " + resource, Pattern.matches(pattern.replaceAll("\\*", ".*"), resource),
+                        index.isGranted(resource, "r"));
+            }
+        }
+    }
+    
+    private static PermissionIndex newIndex(String resource, String action) {
+        return new PermissionIndex(Collections.singletonList(newPermission(resource, action)));
+    }
+    
+    private static PermissionInfo newPermission(String resource, String action) {
+        PermissionInfo result = new PermissionInfo();
+        result.setResource(resource);
+        result.setAction(action);
+        return result;
+    }
+}
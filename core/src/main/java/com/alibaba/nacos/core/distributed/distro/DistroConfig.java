@@ -38,6 +38,10 @@ public class DistroConfig extends Subscriber<ServerConfigChangeEvent> {
     
     private long syncRetryDelayMillis = DistroConstants.DEFAULT_DATA_SYNC_RETRY_DELAY_MILLISECONDS;
     
+    private int syncBatchSize = DistroConstants.DEFAULT_DATA_SYNC_BATCH_SIZE;
+    
+    private long syncBatchWindowMillis = DistroConstants.DEFAULT_DATA_SYNC_BATCH_WINDOW_MILLISECONDS;
+    
     private long verifyIntervalMillis = DistroConstants.DEFAULT_DATA_VERIFY_INTERVAL_MILLISECONDS;
     
     private long verifyTimeoutMillis = DistroConstants.DEFAULT_DATA_VERIFY_TIMEOUT_MILLISECONDS;
@@ -60,6 +64,10 @@ public class DistroConfig extends Subscriber<ServerConfigChangeEvent> {
                 DistroConstants.DEFAULT_DATA_SYNC_TIMEOUT_MILLISECONDS);
         syncRetryDelayMillis = EnvUtil.getProperty(DistroConstants.DATA_SYNC_RETRY_DELAY_MILLISECONDS, Long.class,
                 DistroConstants.DEFAULT_DATA_SYNC_RETRY_DELAY_MILLISECONDS);
+        syncBatchSize = EnvUtil.getProperty(DistroConstants.DATA_SYNC_BATCH_SIZE, Integer.class,
+                DistroConstants.DEFAULT_DATA_SYNC_BATCH_SIZE);
+        syncBatchWindowMillis = EnvUtil.getProperty(DistroConstants.DATA_SYNC_BATCH_WINDOW_MILLISECONDS, Long.class,
+                DistroConstants.DEFAULT_DATA_SYNC_BATCH_WINDOW_MILLISECONDS);
         verifyIntervalMillis = EnvUtil.getProperty(DistroConstants.DATA_VERIFY_INTERVAL_MILLISECONDS, Long.class,
                 DistroConstants.DEFAULT_DATA_VERIFY_INTERVAL_MILLISECONDS);
         verifyTimeoutMillis = EnvUtil.getProperty(DistroConstants.DATA_VERIFY_TIMEOUT_MILLISECONDS, Long.class,
@@ -96,6 +104,26 @@ public class DistroConfig extends Subscriber<ServerConfigChangeEvent> {
         this.syncRetryDelayMillis = syncRetryDelayMillis;
     }
     
+    public int getSyncBatchSize() {
+        return syncBatchSize;
+    }
+    
+    public void setSyncBatchSize(int syncBatchSize) {
+        this.syncBatchSize = syncBatchSize;
+    }
+    
+    public long getSyncBatchWindowMillis() {
+        return syncBatchWindowMillis;
+    }
+    
+    public void setSyncBatchWindowMillis(long syncBatchWindowMillis) {
+        this.syncBatchWindowMillis = syncBatchWindowMillis;
+    }
+    
+    public boolean isSyncBatchEnabled() {
+        return syncBatchSize > 1;
+    }
+    
     public long getVerifyIntervalMillis() {
         return verifyIntervalMillis;
     }
@@ -35,6 +35,20 @@ public class DistroConstants {
     
     public static final long DEFAULT_DATA_SYNC_RETRY_DELAY_MILLISECONDS = 3000L;
     
+    /**
+     * Max count of data in one batch sync request, batch sync is disabled if not larger than 1.
+     *
+     * <p>Only enable batch sync when all servers in cluster support it.
+     */
+    public static final String DATA_SYNC_BATCH_SIZE = "nacos.core.protocol.distro.data.sync.batchSize";
+    
+    public static final int DEFAULT_DATA_SYNC_BATCH_SIZE = 0;
+    
+    public static final String DATA_SYNC_BATCH_WINDOW_MILLISECONDS =
+            "nacos.core.protocol.distro.data.sync.batchWindowMs";
+    
+    public static final long DEFAULT_DATA_SYNC_BATCH_WINDOW_MILLISECONDS = 100L;
+    
     public static final String DATA_VERIFY_INTERVAL_MILLISECONDS = "nacos.core.protocol.distro.data.verify.intervalMs";
     
     public static final long DEFAULT_DATA_VERIFY_INTERVAL_MILLISECONDS = 5000L;
@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.core.distributed.distro;
 
+import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.consistency.DataOperation;
 import com.alibaba.nacos.core.cluster.Member;
 import com.alibaba.nacos.core.cluster.ServerMemberManager;
@@ -23,8 +24,10 @@ import com.alibaba.nacos.core.distributed.distro.component.DistroCallback;
 import com.alibaba.nacos.core.distributed.distro.component.DistroComponentHolder;
 import com.alibaba.nacos.core.distributed.distro.component.DistroDataProcessor;
 import com.alibaba.nacos.core.distributed.distro.component.DistroDataStorage;
+import com.alibaba.nacos.core.distributed.distro.component.DistroDigestHolder;
 import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroDigest;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
 import com.alibaba.nacos.core.distributed.distro.task.DistroTaskEngineHolder;
 import com.alibaba.nacos.core.distributed.distro.task.delay.DistroDelayTask;
@@ -35,6 +38,12 @@ import com.alibaba.nacos.core.utils.Loggers;
 import com.alibaba.nacos.sys.env.EnvUtil;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Distro protocol.
  *
@@ -49,6 +58,8 @@ public class DistroProtocol {
     
     private final DistroTaskEngineHolder distroTaskEngineHolder;
     
+    private final DistroDigestHolder distroDigestHolder = new DistroDigestHolder();
+    
     private volatile boolean isInitialized = false;
     
     public DistroProtocol(ServerMemberManager memberManager, DistroComponentHolder distroComponentHolder,
@@ -170,9 +181,49 @@ public class DistroProtocol {
             Loggers.DISTRO.warn("[DISTRO] Can't find data process for received data {}", resourceType);
             return false;
         }
+        if (DataOperation.DELETE.equals(distroData.getType())) {
+            distroDigestHolder.invalid(distroData.getDistroKey());
+        }
         return dataProcessor.processData(distroData);
     }
     
+    /**
+     * Receive synced batch distro data, find processor to process the data of each type in one pass.
+     *
+     * @param batchData received batch data
+     * @return process result of each data, in the same order as batch
+     */
+    public List<Boolean> onBatchReceive(List<DistroData> batchData) {
+        Loggers.DISTRO.info("[DISTRO] Receive distro batch data, size: {}", batchData.size());
+        Map<String, List<Integer>> indexesOfType = new LinkedHashMap<>();
+        for (int i = 0; i < batchData.size(); i++) {
+            String resourceType = batchData.get(i).getDistroKey().getResourceType();
+            indexesOfType.computeIfAbsent(resourceType, type -> new ArrayList<>()).add(i);
+        }
+        Boolean[] result = new Boolean[batchData.size()];
+        Arrays.fill(result, Boolean.FALSE);
+        for (Map.Entry<String, List<Integer>> entry : indexesOfType.entrySet()) {
+            DistroDataProcessor dataProcessor = distroComponentHolder.findDataProcessor(entry.getKey());
+            if (null == dataProcessor) {
+                Loggers.DISTRO.warn("[DISTRO] Can't find data process for received data {}", entry.getKey());
+                continue;
+            }
+            List<DistroData> dataOfType = new ArrayList<>(entry.getValue().size());
+            for (Integer each : entry.getValue()) {
+                DistroData distroData = batchData.get(each);
+                if (DataOperation.DELETE.equals(distroData.getType())) {
+                    distroDigestHolder.invalid(distroData.getDistroKey());
+                }
+                dataOfType.add(distroData);
+            }
+            List<Boolean> resultOfType = dataProcessor.processBatchData(dataOfType);
+            for (int i = 0; i < resultOfType.size() && i < entry.getValue().size(); i++) {
+                result[entry.getValue().get(i)] = resultOfType.get(i);
+            }
+        }
+        return Arrays.asList(result);
+    }
+    
     /**
      * Receive verify data, find processor to process.
      *
@@ -191,7 +242,44 @@ public class DistroProtocol {
             Loggers.DISTRO.warn("[DISTRO] Can't find verify data process for received data {}", resourceType);
             return false;
         }
-        return dataProcessor.processVerifyData(distroData, sourceAddress);
+        boolean result = dataProcessor.processVerifyData(distroData, sourceAddress);
+        if (dataProcessor.supportVerifyDigest()) {
+            if (result) {
+                distroDigestHolder.verified(distroData.getDistroKey(), sourceAddress);
+            } else {
+                distroDigestHolder.invalid(distroData.getDistroKey());
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Receive verify digest, compare with the keys verified from source server.
+     *
+     * @param distroData    verify digest
+     * @param sourceAddress source server address
+     * @return digest of different nodes, {@code null} if not support digest verify
+     */
+    public DistroData onVerifyDigest(DistroData distroData, String sourceAddress) {
+        String resourceType = distroData.getDistroKey().getResourceType();
+        DistroDataProcessor dataProcessor = distroComponentHolder.findDataProcessor(resourceType);
+        if (null == dataProcessor || !dataProcessor.supportVerifyDigest()) {
+            Loggers.DISTRO.warn("[DISTRO] Can't find digest verify process for received data {}", resourceType);
+            return null;
+        }
+        DistroDigest digest = JacksonUtils.toObj(distroData.getContent(), DistroDigest.class);
+        DistroDigest result = distroDigestHolder.compare(resourceType, sourceAddress, digest, dataProcessor);
+        if (null == result) {
+            Loggers.DISTRO.warn("[DISTRO] Received illegal verify digest {} from {}", resourceType, sourceAddress);
+            return null;
+        }
+        if (Loggers.DISTRO.isDebugEnabled()) {
+            Loggers.DISTRO.debug("[DISTRO] Verify digest {} level {} from {}, different nodes: {}", resourceType,
+                    digest.getLevel(), sourceAddress, result.getIndexes().size());
+        }
+        DistroData resultData = new DistroData(distroData.getDistroKey(), JacksonUtils.toJsonBytes(result));
+        resultData.setType(DataOperation.DIGEST);
+        return resultData;
     }
     
     /**
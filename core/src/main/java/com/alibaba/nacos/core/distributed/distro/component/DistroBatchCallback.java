@@ -0,0 +1,41 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.component;
+
+import java.util.List;
+
+/**
+ * Distro callback for batch data.
+ *
+ * @author nacos
+ */
+public interface DistroBatchCallback {
+    
+    /**
+     * Callback when batch request is processed by target server.
+     *
+     * @param results process result of each data in batch, in the same order as batch
+     */
+    void onResult(List<Boolean> results);
+    
+    /**
+     * Callback when batch request failed, no data in batch is processed successfully.
+     *
+     * @param throwable throwable if execute failed
+     */
+    void onFailed(Throwable throwable);
+}
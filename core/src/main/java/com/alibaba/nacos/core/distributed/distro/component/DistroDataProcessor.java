@@ -17,6 +17,11 @@
 package com.alibaba.nacos.core.distributed.distro.component;
 
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.core.utils.Loggers;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Distro data processor.
@@ -40,6 +45,27 @@ public interface DistroDataProcessor {
      */
     boolean processData(DistroData distroData);
     
+    /**
+     * Process received batch data in one pass.
+     *
+     * <p>Failure of one data should not affect others, so that only the failed data need to be retried.
+     *
+     * @param distroData received batch data
+     * @return process result of each data, in the same order as batch
+     */
+    default List<Boolean> processBatchData(List<DistroData> distroData) {
+        List<Boolean> result = new ArrayList<>(distroData.size());
+        for (DistroData each : distroData) {
+            try {
+                result.add(processData(each));
+            } catch (Exception e) {
+                Loggers.DISTRO.warn("[DISTRO] Process batch data {} failed.", each.getDistroKey(), e);
+                result.add(false);
+            }
+        }
+        return result;
+    }
+    
     /**
      * Process received verify data.
      *
@@ -49,6 +75,29 @@ public interface DistroDataProcessor {
      */
     boolean processVerifyData(DistroData distroData, String sourceAddress);
     
+    /**
+     * Whether this processor support verify data by digest.
+     *
+     * @return {@code true} if {@link #processVerifyKey(DistroKey, String)} is supported
+     */
+    default boolean supportVerifyDigest() {
+        return false;
+    }
+    
+    /**
+     * Process verify key whose digest is same as source server.
+     *
+     * <p>Processor which doesn't support digest verify reports the key as unavailable, then the verify data of it will
+     * be synced.
+     *
+     * @param distroKey     verify key
+     * @param sourceAddress source server address
+     * @return true if the data is available, otherwise false
+     */
+    default boolean processVerifyKey(DistroKey distroKey, String sourceAddress) {
+        return false;
+    }
+    
     /**
      * Process snapshot data.
      *
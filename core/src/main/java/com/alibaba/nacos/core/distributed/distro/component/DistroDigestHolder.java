@@ -0,0 +1,134 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.component;
+
+import com.alibaba.nacos.core.distributed.distro.entity.DistroDigest;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroMerkleTree;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holder of the keys verified from other servers, grouped by resource type and source server into merkle trees.
+ *
+ * <p>The tree of source server is same as the tree built by source server if all keys of source server are verified,
+ * so that the source server only need to send the digest of root in steady state.
+ *
+ * @author nacos
+ */
+public class DistroDigestHolder {
+    
+    private final ConcurrentMap<String, ConcurrentMap<String, DistroMerkleTree>> trees = new ConcurrentHashMap<>();
+    
+    private final ConcurrentMap<String, ConcurrentMap<String, String>> keySources = new ConcurrentHashMap<>();
+    
+    /**
+     * Key is verified successfully from source server.
+     *
+     * @param distroKey     verified key
+     * @param sourceAddress source server address
+     */
+    public void verified(DistroKey distroKey, String sourceAddress) {
+        String resourceType = distroKey.getResourceType();
+        getKeySources(resourceType).compute(distroKey.getResourceKey(), (key, previous) -> {
+            if (null != previous && !previous.equals(sourceAddress)) {
+                getTree(resourceType, previous).remove(key);
+            }
+            getTree(resourceType, sourceAddress).add(key);
+            return sourceAddress;
+        });
+    }
+    
+    /**
+     * Key is invalid, such as verify failed or deleted.
+     *
+     * @param distroKey invalid key
+     */
+    public void invalid(DistroKey distroKey) {
+        String resourceType = distroKey.getResourceType();
+        getKeySources(resourceType).computeIfPresent(distroKey.getResourceKey(), (key, source) -> {
+            getTree(resourceType, source).remove(key);
+            return null;
+        });
+    }
+    
+    /**
+     * Compare digest from source server with local tree.
+     *
+     * <p>Keys in the same nodes will be verified by {@link DistroDataProcessor#processVerifyKey(DistroKey, String)},
+     * and keys in the different leaves will be removed from local tree, which will be added back after verified.
+     *
+     * @param resourceType  resource type
+     * @param sourceAddress source server address
+     * @param digest        digest from source server
+     * @param dataProcessor data processor to verify keys
+     * @return digest with indexes of different nodes, {@code null} if the digest is illegal
+     */
+    public DistroDigest compare(String resourceType, String sourceAddress, DistroDigest digest,
+            DistroDataProcessor dataProcessor) {
+        DistroMerkleTree tree = getTree(resourceType, sourceAddress);
+        int level = digest.getLevel();
+        if (digest.getIndexes().size() != digest.getHashes().size()) {
+            return null;
+        }
+        DistroDigest result = new DistroDigest(level);
+        for (int i = 0; i < digest.getIndexes().size(); i++) {
+            int index = digest.getIndexes().get(i);
+            if (!tree.containsNode(level, index)) {
+                return null;
+            }
+            if (digest.getHashes().get(i) != tree.getNodeHash(level, index)) {
+                result.getIndexes().add(index);
+                if (level == tree.getDepth()) {
+                    invalidAll(resourceType, tree, level, index);
+                }
+            } else if (!verifyAll(resourceType, sourceAddress, tree, level, index, dataProcessor)) {
+                result.getIndexes().add(index);
+            }
+        }
+        return result;
+    }
+    
+    private boolean verifyAll(String resourceType, String sourceAddress, DistroMerkleTree tree, int level, int index,
+            DistroDataProcessor dataProcessor) {
+        boolean result = true;
+        for (String each : tree.getKeys(level, index)) {
+            DistroKey distroKey = new DistroKey(each, resourceType);
+            if (!dataProcessor.processVerifyKey(distroKey, sourceAddress)) {
+                invalid(distroKey);
+                result = false;
+            }
+        }
+        return result;
+    }
+    
+    private void invalidAll(String resourceType, DistroMerkleTree tree, int level, int index) {
+        for (String each : tree.getKeys(level, index)) {
+            invalid(new DistroKey(each, resourceType));
+        }
+    }
+    
+    private DistroMerkleTree getTree(String resourceType, String sourceAddress) {
+        return trees.computeIfAbsent(resourceType, type -> new ConcurrentHashMap<>(4))
+                .computeIfAbsent(sourceAddress, source -> new DistroMerkleTree());
+    }
+    
+    private ConcurrentMap<String, String> getKeySources(String resourceType) {
+        return keySources.computeIfAbsent(resourceType, type -> new ConcurrentHashMap<>(1024));
+    }
+}
@@ -18,6 +18,10 @@ package com.alibaba.nacos.core.distributed.distro.component;
 
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.core.utils.Loggers;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Distro transport agent.
@@ -53,6 +57,38 @@ public interface DistroTransportAgent {
      */
     void syncData(DistroData data, String targetServer, DistroCallback callback);
     
+    /**
+     * Whether support transport batch data.
+     *
+     * @return true if support, otherwise false
+     */
+    default boolean supportBatchTransport() {
+        return false;
+    }
+    
+    /**
+     * Sync batch data with callback.
+     *
+     * <p>Agent which doesn't support batch transport syncs the data one by one by {@link #syncData(DistroData,
+     * String)}.
+     *
+     * @param data         batch data
+     * @param targetServer target server
+     * @param callback     callback
+     */
+    default void syncBatchData(List<DistroData> data, String targetServer, DistroBatchCallback callback) {
+        List<Boolean> results = new ArrayList<>(data.size());
+        for (DistroData each : data) {
+            try {
+                results.add(syncData(each, targetServer));
+            } catch (Exception e) {
+                Loggers.DISTRO.warn("[DISTRO] Sync data {} to {} failed.", each.getDistroKey(), targetServer, e);
+                results.add(false);
+            }
+        }
+        callback.onResult(results);
+    }
+    
     /**
      * Sync verify data.
      *
@@ -73,6 +109,19 @@ public interface DistroTransportAgent {
      */
     void syncVerifyData(DistroData verifyData, String targetServer, DistroCallback callback);
     
+    /**
+     * Sync verify digest, and get the digest of nodes which are different in target server.
+     *
+     * <p>Agent which doesn't support digest verify should return {@code null}, then all verify data will be synced.
+     *
+     * @param digest       verify digest
+     * @param targetServer target server
+     * @return different digest of target server, {@code null} if not support or failed
+     */
+    default DistroData syncVerifyDigest(DistroData digest, String targetServer) {
+        return null;
+    }
+    
     /**
      * get Data from target server.
      *
@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Digest of some nodes in one level of {@link DistroMerkleTree}, used to verify distro data by digest.
+ *
+ * <p>Sent by source server with the hashes of nodes, and replied by target server with the indexes of nodes whose hash
+ * is different from local.
+ *
+ * @author nacos
+ */
+public class DistroDigest {
+    
+    private int level;
+    
+    private List<Integer> indexes = new ArrayList<>();
+    
+    private List<Long> hashes = new ArrayList<>();
+    
+    public DistroDigest() {
+    }
+    
+    public DistroDigest(int level) {
+        this.level = level;
+    }
+    
+    /**
+     * Build digest of nodes in tree.
+     *
+     * @param tree    merkle tree
+     * @param level   level of nodes
+     * @param indexes indexes of nodes
+     * @return digest with hashes of nodes
+     */
+    public static DistroDigest build(DistroMerkleTree tree, int level, List<Integer> indexes) {
+        DistroDigest result = new DistroDigest(level);
+        for (Integer each : indexes) {
+            result.getIndexes().add(each);
+            result.getHashes().add(tree.getNodeHash(level, each));
+        }
+        return result;
+    }
+    
+    public int getLevel() {
+        return level;
+    }
+    
+    public void setLevel(int level) {
+        this.level = level;
+    }
+    
+    public List<Integer> getIndexes() {
+        return indexes;
+    }
+    
+    public void setIndexes(List<Integer> indexes) {
+        this.indexes = indexes;
+    }
+    
+    public List<Long> getHashes() {
+        return hashes;
+    }
+    
+    public void setHashes(List<Long> hashes) {
+        this.hashes = hashes;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.entity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Merkle tree of distro keys, keyed by the hash range of resource key.
+ *
+ * <p>Level {@code 0} is the root and level {@link #getDepth()} are the leaves, each node has {@link #FANOUT} children.
+ * A key belongs to the leaf addressed by the high bits of its hash, and the hash of a node is the xor of the hashes of
+ * all keys in its range, so adding or removing a key only updates one node per level.
+ *
+ * @author nacos
+ */
+public class DistroMerkleTree {
+    
+    public static final int FANOUT = 16;
+    
+    public static final int DEFAULT_DEPTH = 3;
+    
+    private static final int FANOUT_BITS = 4;
+    
+    private static final int MAX_DEPTH = 7;
+    
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private final int depth;
+    
+    private final long[][] nodeHashes;
+    
+    private final Set<String>[] leafKeys;
+    
+    private int size;
+    
+    public DistroMerkleTree() {
+        this(DEFAULT_DEPTH);
+    }
+    
+    @SuppressWarnings("unchecked")
+    public DistroMerkleTree(int depth) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Illegal merkle tree depth " + depth);
+        }
+        this.depth = depth;
+        this.nodeHashes = new long[depth + 1][];
+        for (int i = 0; i <= depth; i++) {
+            nodeHashes[i] = new long[1 << (i * FANOUT_BITS)];
+        }
+        this.leafKeys = new Set[nodeHashes[depth].length];
+    }
+    
+    /**
+     * Build merkle tree for keys.
+     *
+     * @param keys resource keys
+     * @return merkle tree with default depth
+     */
+    public static DistroMerkleTree build(Collection<String> keys) {
+        DistroMerkleTree result = new DistroMerkleTree();
+        for (String each : keys) {
+            result.add(each);
+        }
+        return result;
+    }
+    
+    /**
+     * Add key into tree.
+     *
+     * @param key resource key
+     * @return {@code true} if the key is added, {@code false} if the key is already in tree
+     */
+    public synchronized boolean add(String key) {
+        long hash = hash(key);
+        int leaf = leafIndex(hash);
+        if (null == leafKeys[leaf]) {
+            leafKeys[leaf] = new HashSet<>();
+        }
+        if (!leafKeys[leaf].add(key)) {
+            return false;
+        }
+        updateHash(leaf, hash);
+        size++;
+        return true;
+    }
+    
+    /**
+     * Remove key from tree.
+     *
+     * @param key resource key
+     * @return {@code true} if the key is removed, {@code false} if the key is not in tree
+     */
+    public synchronized boolean remove(String key) {
+        long hash = hash(key);
+        int leaf = leafIndex(hash);
+        if (null == leafKeys[leaf] || !leafKeys[leaf].remove(key)) {
+            return false;
+        }
+        if (leafKeys[leaf].isEmpty()) {
+            leafKeys[leaf] = null;
+        }
+        updateHash(leaf, hash);
+        size--;
+        return true;
+    }
+    
+    private void updateHash(int leaf, long hash) {
+        int index = leaf;
+        for (int level = depth; level >= 0; level--) {
+            nodeHashes[level][index] ^= hash;
+            index >>>= FANOUT_BITS;
+        }
+    }
+    
+    public synchronized long getRootHash() {
+        return nodeHashes[0][0];
+    }
+    
+    /**
+     * Get hash of node.
+     *
+     * @param level level of node, {@code 0} is root
+     * @param index index of node in level
+     * @return hash of node
+     */
+    public synchronized long getNodeHash(int level, int index) {
+        return nodeHashes[level][index];
+    }
+    
+    /**
+     * Get all keys in the range of node.
+     *
+     * @param level level of node, {@code 0} is root
+     * @param index index of node in level
+     * @return keys in the range of node
+     */
+    public synchronized List<String> getKeys(int level, int index) {
+        int shift = (depth - level) * FANOUT_BITS;
+        int from = index << shift;
+        int to = (index + 1) << shift;
+        List<String> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (null != leafKeys[i]) {
+                result.addAll(leafKeys[i]);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Get the indexes of children of node.
+     *
+     * @param index index of node
+     * @return indexes of children in next level
+     */
+    public static List<Integer> children(int index) {
+        List<Integer> result = new ArrayList<>(FANOUT);
+        for (int i = 0; i < FANOUT; i++) {
+            result.add((index << FANOUT_BITS) + i);
+        }
+        return result;
+    }
+    
+    public static List<Integer> root() {
+        return Collections.singletonList(0);
+    }
+    
+    /**
+     * Whether the node is in this tree.
+     *
+     * @param level level of node, {@code 0} is root
+     * @param index index of node in level
+     * @return {@code true} if the node is in this tree
+     */
+    public boolean containsNode(int level, int index) {
+        return level >= 0 && level <= depth && index >= 0 && index < nodeHashes[level].length;
+    }
+    
+    public synchronized boolean contains(String key) {
+        Set<String> keys = leafKeys[leafIndex(hash(key))];
+        return null != keys && keys.contains(key);
+    }
+    
+    public synchronized int size() {
+        return size;
+    }
+    
+    public int getDepth() {
+        return depth;
+    }
+    
+    private int leafIndex(long hash) {
+        return (int) (hash >>> (Long.SIZE - depth * FANOUT_BITS));
+    }
+    
+    private static long hash(String key) {
+        long result = FNV_OFFSET_BASIS;
+        for (int i = 0; i < key.length(); i++) {
+            result ^= key.charAt(i);
+            result *= FNV_PRIME;
+        }
+        // finalize by the mix function of murmur3 so that the high bits are well distributed.
+        result ^= result >>> 33;
+        result *= 0xff51afd7ed558ccdL;
+        result ^= result >>> 33;
+        result *= 0xc4ceb9fe1a85ec53L;
+        result ^= result >>> 33;
+        return result;
+    }
+}
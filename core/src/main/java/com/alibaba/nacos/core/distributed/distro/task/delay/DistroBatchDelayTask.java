@@ -0,0 +1,80 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.task.delay;
+
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Distro delay task which combines the sync actions of multiple keys to the same target server.
+ *
+ * <p>The task is processed when the batch window passed since first action added, or immediately once the count of
+ * actions reaches batch size.
+ *
+ * @author nacos
+ */
+public class DistroBatchDelayTask extends DistroDelayTask {
+    
+    public static final String BATCH_RESOURCE_KEY = DistroBatchDelayTask.class.getSimpleName();
+    
+    private final int batchSize;
+    
+    private final Map<String, DataOperation> actions = new LinkedHashMap<>();
+    
+    public DistroBatchDelayTask(String resourceType, String targetServer, long batchWindow, int batchSize) {
+        super(new DistroKey(BATCH_RESOURCE_KEY, resourceType, targetServer), batchWindow);
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * Add action of key into batch, the action will override the former action of the same key.
+     *
+     * @param resourceKey resource key
+     * @param action      action of key
+     */
+    public void addAction(String resourceKey, DataOperation action) {
+        actions.put(resourceKey, action);
+    }
+    
+    public Map<String, DataOperation> getActions() {
+        return actions;
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    @Override
+    public void merge(AbstractDelayTask task) {
+        if (!(task instanceof DistroBatchDelayTask)) {
+            return;
+        }
+        Map<String, DataOperation> newActions = new LinkedHashMap<>(actions);
+        actions.clear();
+        actions.putAll(((DistroBatchDelayTask) task).getActions());
+        actions.putAll(newActions);
+        if (actions.size() >= batchSize) {
+            setLastProcessTime(0);
+        } else {
+            setLastProcessTime(task.getLastProcessTime());
+        }
+    }
+}
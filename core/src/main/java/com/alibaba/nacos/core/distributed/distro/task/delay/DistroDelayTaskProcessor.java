@@ -18,12 +18,19 @@ package com.alibaba.nacos.core.distributed.distro.task.delay;
 
 import com.alibaba.nacos.common.task.NacosTask;
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.distributed.distro.DistroConfig;
 import com.alibaba.nacos.core.distributed.distro.component.DistroComponentHolder;
+import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
 import com.alibaba.nacos.core.distributed.distro.task.DistroTaskEngineHolder;
 import com.alibaba.nacos.core.distributed.distro.task.execute.DistroSyncChangeTask;
+import com.alibaba.nacos.core.distributed.distro.task.execute.DistroSyncBatchTask;
 import com.alibaba.nacos.core.distributed.distro.task.execute.DistroSyncDeleteTask;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Distro delay task processor.
  *
@@ -46,8 +53,16 @@ public class DistroDelayTaskProcessor implements NacosTaskProcessor {
         if (!(task instanceof DistroDelayTask)) {
             return true;
         }
+        if (task instanceof DistroBatchDelayTask) {
+            processBatchTask((DistroBatchDelayTask) task);
+            return true;
+        }
         DistroDelayTask distroDelayTask = (DistroDelayTask) task;
         DistroKey distroKey = distroDelayTask.getDistroKey();
+        if (isBatchSync(distroKey.getResourceType()) && isSyncAction(distroDelayTask.getAction())) {
+            addToBatch(distroKey, distroDelayTask.getAction());
+            return true;
+        }
         switch (distroDelayTask.getAction()) {
             case DELETE:
                 DistroSyncDeleteTask syncDeleteTask = new DistroSyncDeleteTask(distroKey, distroComponentHolder);
@@ -62,4 +77,47 @@ public class DistroDelayTaskProcessor implements NacosTaskProcessor {
                 return false;
         }
     }
+    
+    private boolean isBatchSync(String resourceType) {
+        if (!DistroConfig.getInstance().isSyncBatchEnabled()) {
+            return false;
+        }
+        DistroTransportAgent transportAgent = distroComponentHolder.findTransportAgent(resourceType);
+        return null != transportAgent && transportAgent.supportBatchTransport();
+    }
+    
+    private boolean isSyncAction(DataOperation action) {
+        return DataOperation.ADD.equals(action) || DataOperation.CHANGE.equals(action) || DataOperation.DELETE
+                .equals(action);
+    }
+    
+    private void addToBatch(DistroKey distroKey, DataOperation action) {
+        DistroConfig distroConfig = DistroConfig.getInstance();
+        DistroBatchDelayTask batchTask = new DistroBatchDelayTask(distroKey.getResourceType(),
+                distroKey.getTargetServer(), distroConfig.getSyncBatchWindowMillis(), distroConfig.getSyncBatchSize());
+        batchTask.addAction(distroKey.getResourceKey(), action);
+        distroTaskEngineHolder.getDelayTaskExecuteEngine().addTask(batchTask.getDistroKey(), batchTask);
+    }
+    
+    private void processBatchTask(DistroBatchDelayTask batchTask) {
+        DistroKey batchKey = batchTask.getDistroKey();
+        int batchSize = Math.max(1, batchTask.getBatchSize());
+        Map<String, DataOperation> batch = new LinkedHashMap<>();
+        for (Map.Entry<String, DataOperation> entry : batchTask.getActions().entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= batchSize) {
+                addBatchSyncTask(batchKey, batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            addBatchSyncTask(batchKey, batch);
+        }
+    }
+    
+    private void addBatchSyncTask(DistroKey batchKey, Map<String, DataOperation> batch) {
+        DistroSyncBatchTask syncBatchTask = new DistroSyncBatchTask(batchKey.getResourceType(),
+                batchKey.getTargetServer(), batch, distroComponentHolder);
+        distroTaskEngineHolder.getExecuteWorkersManager().addTask(batchKey, syncBatchTask);
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.task.execute;
+
+import com.alibaba.nacos.common.task.AbstractExecuteTask;
+import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.distributed.distro.component.DistroBatchCallback;
+import com.alibaba.nacos.core.distributed.distro.component.DistroComponentHolder;
+import com.alibaba.nacos.core.distributed.distro.component.DistroDataStorage;
+import com.alibaba.nacos.core.distributed.distro.component.DistroFailedTaskHandler;
+import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.core.distributed.distro.monitor.DistroRecord;
+import com.alibaba.nacos.core.distributed.distro.monitor.DistroRecordsHolder;
+import com.alibaba.nacos.core.utils.Loggers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distro sync batch task, sync change and delete of multiple keys to target server by one request.
+ *
+ * <p>Each failed data in batch will be retried by {@link DistroFailedTaskHandler} separately.
+ *
+ * @author nacos
+ */
+public class DistroSyncBatchTask extends AbstractExecuteTask {
+    
+    private final String resourceType;
+    
+    private final String targetServer;
+    
+    private final Map<String, DataOperation> actions;
+    
+    private final DistroComponentHolder distroComponentHolder;
+    
+    public DistroSyncBatchTask(String resourceType, String targetServer, Map<String, DataOperation> actions,
+            DistroComponentHolder distroComponentHolder) {
+        this.resourceType = resourceType;
+        this.targetServer = targetServer;
+        this.actions = actions;
+        this.distroComponentHolder = distroComponentHolder;
+    }
+    
+    @Override
+    public void run() {
+        DistroTransportAgent transportAgent = distroComponentHolder.findTransportAgent(resourceType);
+        if (null == transportAgent) {
+            Loggers.DISTRO.warn("No found transport agent for type [{}]", resourceType);
+            return;
+        }
+        List<DistroData> batchData = buildBatchData();
+        if (batchData.isEmpty()) {
+            return;
+        }
+        Loggers.DISTRO.info("[DISTRO-START] {}", toString());
+        try {
+            transportAgent.syncBatchData(batchData, targetServer, new DistroSyncBatchCallback(batchData));
+        } catch (Exception e) {
+            Loggers.DISTRO.warn("[DISTRO] Sync batch data failed.", e);
+            handleFailedData(batchData);
+        }
+    }
+    
+    private List<DistroData> buildBatchData() {
+        DistroDataStorage dataStorage = distroComponentHolder.findDataStorage(resourceType);
+        List<DistroData> result = new ArrayList<>(actions.size());
+        for (Map.Entry<String, DataOperation> entry : actions.entrySet()) {
+            DistroKey distroKey = new DistroKey(entry.getKey(), resourceType, targetServer);
+            DataOperation action = DataOperation.DELETE.equals(entry.getValue()) ? DataOperation.DELETE
+                    : DataOperation.CHANGE;
+            DistroData distroData = DataOperation.DELETE.equals(action) ? new DistroData()
+                    : dataStorage.getDistroData(distroKey);
+            if (null == distroData) {
+                Loggers.DISTRO.warn("[DISTRO] {} with null data to sync, skip", distroKey);
+                continue;
+            }
+            distroData.setDistroKey(distroKey);
+            distroData.setType(action);
+            result.add(distroData);
+        }
+        return result;
+    }
+    
+    private void handleFailedData(List<DistroData> failedData) {
+        DistroFailedTaskHandler failedTaskHandler = distroComponentHolder.findFailedTaskHandler(resourceType);
+        if (null == failedTaskHandler) {
+            Loggers.DISTRO.warn("[DISTRO] Can't find failed task for type {}, so discarded", resourceType);
+            return;
+        }
+        for (DistroData each : failedData) {
+            failedTaskHandler.retry(each.getDistroKey(), each.getType());
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "DistroSyncBatchTask for " + resourceType + " to " + targetServer + " with " + actions.size()
+                + " keys";
+    }
+    
+    private class DistroSyncBatchCallback implements DistroBatchCallback {
+        
+        private final List<DistroData> batchData;
+        
+        private DistroSyncBatchCallback(List<DistroData> batchData) {
+            this.batchData = batchData;
+        }
+        
+        @Override
+        public void onResult(List<Boolean> results) {
+            DistroRecord distroRecord = DistroRecordsHolder.getInstance().getRecord(resourceType);
+            List<DistroData> failedData = new ArrayList<>();
+            for (int i = 0; i < batchData.size(); i++) {
+                if (i < results.size() && Boolean.TRUE.equals(results.get(i))) {
+                    distroRecord.syncSuccess();
+                } else {
+                    distroRecord.syncFail();
+                    failedData.add(batchData.get(i));
+                }
+            }
+            Loggers.DISTRO.info("[DISTRO-END] {} failed: {}", DistroSyncBatchTask.this.toString(), failedData.size());
+            handleFailedData(failedData);
+        }
+        
+        @Override
+        public void onFailed(Throwable throwable) {
+            DistroRecord distroRecord = DistroRecordsHolder.getInstance().getRecord(resourceType);
+            for (int i = 0; i < batchData.size(); i++) {
+                distroRecord.syncFail();
+            }
+            if (null == throwable) {
+                Loggers.DISTRO.info("[DISTRO-END] {} result: false", DistroSyncBatchTask.this.toString());
+            } else {
+                Loggers.DISTRO.warn("[DISTRO] Sync batch data failed.", throwable);
+            }
+            handleFailedData(batchData);
+        }
+    }
+}
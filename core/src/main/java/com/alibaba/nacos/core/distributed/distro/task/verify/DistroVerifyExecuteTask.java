@@ -17,14 +17,24 @@
 package com.alibaba.nacos.core.distributed.distro.task.verify;
 
 import com.alibaba.nacos.common.task.AbstractExecuteTask;
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.alibaba.nacos.consistency.DataOperation;
 import com.alibaba.nacos.core.distributed.distro.component.DistroCallback;
 import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroDigest;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroMerkleTree;
 import com.alibaba.nacos.core.distributed.distro.monitor.DistroRecord;
 import com.alibaba.nacos.core.distributed.distro.monitor.DistroRecordsHolder;
 import com.alibaba.nacos.core.utils.Loggers;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Execute distro verify task.
@@ -37,21 +47,29 @@ public class DistroVerifyExecuteTask extends AbstractExecuteTask {
     
     private final List<DistroData> verifyData;
     
+    private final DistroMerkleTree verifyTree;
+    
     private final String targetServer;
     
     private final String resourceType;
     
     public DistroVerifyExecuteTask(DistroTransportAgent transportAgent, List<DistroData> verifyData,
             String targetServer, String resourceType) {
+        this(transportAgent, verifyData, null, targetServer, resourceType);
+    }
+    
+    public DistroVerifyExecuteTask(DistroTransportAgent transportAgent, List<DistroData> verifyData,
+            DistroMerkleTree verifyTree, String targetServer, String resourceType) {
         this.transportAgent = transportAgent;
         this.verifyData = verifyData;
+        this.verifyTree = verifyTree;
         this.targetServer = targetServer;
         this.resourceType = resourceType;
     }
     
     @Override
     public void run() {
-        for (DistroData each : verifyData) {
+        for (DistroData each : selectVerifyData()) {
             try {
                 if (transportAgent.supportCallbackTransport()) {
                     doSyncVerifyDataWithCallback(each);
@@ -65,6 +83,65 @@ public class DistroVerifyExecuteTask extends AbstractExecuteTask {
         }
     }
     
+    /**
+     * Compare the digest of verify tree with target server level by level, and only verify the data in the different
+     * leaves. If target server doesn't support digest verify, all verify data will be synced.
+     *
+     * @return verify data need to be synced
+     */
+    private List<DistroData> selectVerifyData() {
+        if (null == verifyTree) {
+            return verifyData;
+        }
+        try {
+            return selectVerifyDataByDigest();
+        } catch (Exception e) {
+            Loggers.DISTRO.warn("[DISTRO-FAILED] verify digest for type {} to {} failed, verify all data.",
+                    resourceType, targetServer, e);
+            return verifyData;
+        }
+    }
+    
+    private List<DistroData> selectVerifyDataByDigest() {
+        List<Integer> differentNodes = DistroMerkleTree.root();
+        for (int level = 0; level <= verifyTree.getDepth(); level++) {
+            DistroDigest digest = DistroDigest.build(verifyTree, level, differentNodes);
+            DistroData digestData = new DistroData(new DistroKey(DataOperation.DIGEST.name(), resourceType),
+                    JacksonUtils.toJsonBytes(digest));
+            digestData.setType(DataOperation.DIGEST);
+            DistroData result = transportAgent.syncVerifyDigest(digestData, targetServer);
+            if (null == result) {
+                return verifyData;
+            }
+            differentNodes = JacksonUtils.toObj(result.getContent(), DistroDigest.class).getIndexes();
+            if (differentNodes.isEmpty()) {
+                return Collections.emptyList();
+            }
+            if (level < verifyTree.getDepth()) {
+                differentNodes = expandChildren(differentNodes);
+            }
+        }
+        Set<String> differentKeys = new HashSet<>();
+        for (Integer each : differentNodes) {
+            differentKeys.addAll(verifyTree.getKeys(verifyTree.getDepth(), each));
+        }
+        List<DistroData> result = new LinkedList<>();
+        for (DistroData each : verifyData) {
+            if (differentKeys.contains(each.getDistroKey().getResourceKey())) {
+                result.add(each);
+            }
+        }
+        return result;
+    }
+    
+    private List<Integer> expandChildren(List<Integer> nodes) {
+        List<Integer> result = new ArrayList<>(nodes.size() * DistroMerkleTree.FANOUT);
+        for (Integer each : nodes) {
+            result.addAll(DistroMerkleTree.children(each));
+        }
+        return result;
+    }
+    
     private void doSyncVerifyDataWithCallback(DistroData data) {
         transportAgent.syncVerifyData(data, targetServer, new DistroVerifyCallback());
     }
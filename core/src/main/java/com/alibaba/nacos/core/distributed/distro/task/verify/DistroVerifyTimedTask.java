@@ -22,6 +22,7 @@ import com.alibaba.nacos.core.distributed.distro.component.DistroComponentHolder
 import com.alibaba.nacos.core.distributed.distro.component.DistroDataStorage;
 import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroMerkleTree;
 import com.alibaba.nacos.core.distributed.distro.task.execute.DistroExecuteTaskExecuteEngine;
 import com.alibaba.nacos.core.utils.Loggers;
 
@@ -73,13 +74,22 @@ public class DistroVerifyTimedTask implements Runnable {
         if (null == verifyData || verifyData.isEmpty()) {
             return;
         }
+        DistroMerkleTree verifyTree = buildVerifyTree(verifyData);
         for (Member member : targetServer) {
             DistroTransportAgent agent = distroComponentHolder.findTransportAgent(type);
             if (null == agent) {
                 continue;
             }
             executeTaskExecuteEngine.addTask(member.getAddress() + type,
-                    new DistroVerifyExecuteTask(agent, verifyData, member.getAddress(), type));
+                    new DistroVerifyExecuteTask(agent, verifyData, verifyTree, member.getAddress(), type));
         }
     }
+    
+    private DistroMerkleTree buildVerifyTree(List<DistroData> verifyData) {
+        DistroMerkleTree result = new DistroMerkleTree();
+        for (DistroData each : verifyData) {
+            result.add(each.getDistroKey().getResourceKey());
+        }
+        return result;
+    }
 }
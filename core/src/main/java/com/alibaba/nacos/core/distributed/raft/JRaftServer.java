@@ -25,6 +25,7 @@ import com.alibaba.nacos.common.utils.ThreadUtils;
 import com.alibaba.nacos.consistency.RequestProcessor;
 import com.alibaba.nacos.consistency.SerializeFactory;
 import com.alibaba.nacos.consistency.Serializer;
+import com.alibaba.nacos.consistency.cp.ReadConsistency;
 import com.alibaba.nacos.consistency.cp.RequestProcessor4CP;
 import com.alibaba.nacos.consistency.entity.ReadRequest;
 import com.alibaba.nacos.consistency.entity.Response;
@@ -84,6 +85,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
 /**
@@ -150,6 +152,8 @@ public class JRaftServer {
     
     private int rpcRequestTimeoutMs;
     
+    private long maxReadStalenessMs;
+    
     public JRaftServer() {
         this.conf = new Configuration();
     }
@@ -178,6 +182,9 @@ public class JRaftServer {
         rpcRequestTimeoutMs = ConvertUtils.toInt(raftConfig.getVal(RaftSysConstants.RAFT_RPC_REQUEST_TIMEOUT_MS),
                 RaftSysConstants.DEFAULT_RAFT_RPC_REQUEST_TIMEOUT_MS);
         
+        maxReadStalenessMs = ConvertUtils.toLong(raftConfig.getVal(RaftSysConstants.MAX_READ_STALENESS_MS),
+                RaftSysConstants.DEFAULT_MAX_READ_STALENESS_MS);
+        
         nodeOptions.setSharedElectionTimer(true);
         nodeOptions.setSharedVoteTimer(true);
         nodeOptions.setSharedStepDownTimer(true);
@@ -288,21 +295,25 @@ public class JRaftServer {
             future.completeExceptionally(new NoSuchRaftGroupException(group));
             return future;
         }
+        final ReadConsistency consistency = ReadConsistency
+                .sourceOf(request.getExtendInfoMap().get(ReadConsistency.EXTEND_INFO_KEY));
+        final long startTime = System.currentTimeMillis();
+        future.whenComplete((response, throwable) -> MetricsMonitor.getRaftReadTimer(consistency)
+                .record(System.currentTimeMillis() - startTime, TimeUnit.MILLISECONDS));
         final Node node = tuple.node;
         final RequestProcessor processor = tuple.processor;
+        if (isLocalReadable(tuple, request, consistency, startTime)) {
+            readFromLocal(processor, request, future);
+            return future;
+        }
         try {
             node.readIndex(BytesUtil.EMPTY_BYTES, new ReadIndexClosure() {
                 @Override
                 public void run(Status status, long index, byte[] reqCtx) {
                     if (status.isOk()) {
-                        try {
-                            Response response = processor.onRequest(request);
-                            future.complete(response);
-                        } catch (Throwable t) {
-                            MetricsMonitor.raftReadIndexFailed();
-                            future.completeExceptionally(new ConsistencyException(
-                                    "The conformance protocol is temporarily unavailable for reading", t));
-                        }
+                        // local data has caught up with the commit index confirmed by quorum at start time
+                        tuple.confirmRead(startTime);
+                        readFromLocal(processor, request, future);
                         return;
                     }
                     MetricsMonitor.raftReadIndexFailed();
@@ -322,6 +333,42 @@ public class JRaftServer {
         }
     }
     
+    /**
+     * Whether the request can be read from local data without read index. Local data is known to be caught up with
+     * leader at the last confirmed time of read index, so the staleness of local data is bounded by elapsed time.
+     *
+     * @param tuple       raft group
+     * @param request     read request
+     * @param consistency consistency level of request
+     * @param currentTime current time in milliseconds
+     * @return {@code true} if local data is fresh enough for the consistency level
+     */
+    private boolean isLocalReadable(RaftGroupTuple tuple, ReadRequest request, ReadConsistency consistency,
+            long currentTime) {
+        long elapsed = currentTime - tuple.getReadConfirmedTime();
+        switch (consistency) {
+            case LEADER_LEASE:
+                return tuple.node.isLeader() && elapsed < nodeOptions.getLeaderLeaseTimeoutMs();
+            case FOLLOWER:
+                long maxStalenessMs = ConvertUtils
+                        .toLong(request.getExtendInfoMap().get(ReadConsistency.MAX_STALENESS_MS_KEY),
+                                maxReadStalenessMs);
+                return elapsed <= maxStalenessMs;
+            default:
+                return false;
+        }
+    }
+    
+    private void readFromLocal(RequestProcessor processor, ReadRequest request, CompletableFuture<Response> future) {
+        try {
+            future.complete(processor.onRequest(request));
+        } catch (Throwable t) {
+            MetricsMonitor.raftReadIndexFailed();
+            future.completeExceptionally(
+                    new ConsistencyException("The conformance protocol is temporarily unavailable for reading", t));
+        }
+    }
+    
     public void readFromLeader(final ReadRequest request, final CompletableFuture<Response> future) {
         commit(request.getGroup(), request, future).whenComplete(new BiConsumer<Response, Throwable>() {
             @Override
@@ -548,6 +595,8 @@ public class JRaftServer {
         
         private NacosStateMachine machine;
         
+        private final AtomicLong readConfirmedTime = new AtomicLong();
+        
         @JustForTest
         public RaftGroupTuple() {
         }
@@ -571,6 +620,14 @@ public class JRaftServer {
         public RaftGroupService getRaftGroupService() {
             return raftGroupService;
         }
+        
+        public long getReadConfirmedTime() {
+            return readConfirmedTime.get();
+        }
+        
+        void confirmRead(long confirmedTime) {
+            readConfirmedTime.accumulateAndGet(confirmedTime, Math::max);
+        }
     }
     
 }
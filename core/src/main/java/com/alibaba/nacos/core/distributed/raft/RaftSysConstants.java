@@ -126,6 +126,11 @@ public final class RaftSysConstants {
      */
     public static final boolean DEFAULT_ENABLE_LOG_ENTRY_CHECKSUM = false;
     
+    /**
+     * {@link RaftSysConstants#MAX_READ_STALENESS_MS}
+     */
+    public static final int DEFAULT_MAX_READ_STALENESS_MS = 1000;
+    
     // ========= setting key ========= //
     
     /**
@@ -231,4 +236,9 @@ public final class RaftSysConstants {
      * Whether to enable LogEntry checksum
      */
     public static final String ENABLE_LOG_ENTRY_CHECKSUM = "enable_log_entry_checksum";
+    
+    /**
+     * Default max staleness in milliseconds of follower read, if not specified by read request
+     */
+    public static final String MAX_READ_STALENESS_MS = "max_read_staleness_ms";
 }
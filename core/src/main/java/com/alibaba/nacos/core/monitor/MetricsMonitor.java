@@ -16,6 +16,8 @@
 
 package com.alibaba.nacos.core.monitor;
 
+import com.alibaba.nacos.common.task.engine.NacosShardedDelayTaskExecuteEngine;
+import com.alibaba.nacos.consistency.cp.ReadConsistency;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.ImmutableTag;
 import io.micrometer.core.instrument.Metrics;
@@ -23,7 +25,9 @@ import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -41,6 +45,8 @@ public final class MetricsMonitor {
     
     private static final Timer RAFT_APPLY_READ_TIMER;
     
+    private static final Map<ReadConsistency, Timer> RAFT_READ_TIMERS = new EnumMap<>(ReadConsistency.class);
+    
     private static AtomicInteger longConnection = new AtomicInteger();
     
     static {
@@ -49,6 +55,10 @@ public final class MetricsMonitor {
         
         RAFT_APPLY_LOG_TIMER = NacosMeterRegistry.timer("protocol", "raft_apply_log_timer");
         RAFT_APPLY_READ_TIMER = NacosMeterRegistry.timer("protocol", "raft_apply_read_timer");
+        for (ReadConsistency each : ReadConsistency.values()) {
+            RAFT_READ_TIMERS.put(each,
+                    NacosMeterRegistry.timer("protocol", "raft_read_" + each.name().toLowerCase() + "_timer"));
+        }
         
         List<Tag> tags = new ArrayList<Tag>();
         tags.add(new ImmutableTag("module", "config"));
@@ -77,6 +87,10 @@ public final class MetricsMonitor {
         return RAFT_APPLY_READ_TIMER;
     }
     
+    public static Timer getRaftReadTimer(ReadConsistency consistency) {
+        return RAFT_READ_TIMERS.get(consistency);
+    }
+    
     public static DistributionSummary getRaftReadIndexFailed() {
         return RAFT_READ_INDEX_FAILED;
     }
@@ -84,4 +98,33 @@ public final class MetricsMonitor {
     public static DistributionSummary getRaftFromLeader() {
         return RAFT_FROM_LEADER;
     }
+    
+    /**
+     * Register queue depth, merge count and processing lag of each shard of delay task engine.
+     *
+     * @param module     module of engine
+     * @param engineName name of engine
+     * @param engine     sharded delay task engine
+     */
+    public static void registerDelayTaskEngine(String module, String engineName,
+            NacosShardedDelayTaskExecuteEngine engine) {
+        for (int i = 0; i < engine.getShardCount(); i++) {
+            final int shardIndex = i;
+            Metrics.gauge("nacos_monitor", buildDelayTaskTags(module, "delayTaskQueueSize", engineName, shardIndex),
+                    engine, each -> each.getShardSize(shardIndex));
+            Metrics.gauge("nacos_monitor", buildDelayTaskTags(module, "delayTaskMergeCount", engineName, shardIndex),
+                    engine, each -> each.getShardMergeCount(shardIndex));
+            Metrics.gauge("nacos_monitor", buildDelayTaskTags(module, "delayTaskProcessLag", engineName, shardIndex),
+                    engine, each -> each.getShardProcessLag(shardIndex));
+        }
+    }
+    
+    private static List<Tag> buildDelayTaskTags(String module, String name, String engineName, int shardIndex) {
+        List<Tag> tags = new ArrayList<Tag>();
+        tags.add(new ImmutableTag("module", module));
+        tags.add(new ImmutableTag("name", name));
+        tags.add(new ImmutableTag("engine", engineName));
+        tags.add(new ImmutableTag("shard", String.valueOf(shardIndex)));
+        return tags;
+    }
 }
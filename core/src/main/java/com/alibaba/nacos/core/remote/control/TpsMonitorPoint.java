@@ -21,12 +21,15 @@ import com.alibaba.nacos.core.utils.Loggers;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * tps control point.
@@ -38,6 +41,11 @@ public class TpsMonitorPoint {
     
     public static final int DEFAULT_RECORD_SIZE = 10;
     
+    /**
+     * Max monitor keys to cache the matched rules for each rule snapshot.
+     */
+    private static final int MATCHED_RULES_CACHE_SIZE = 10000;
+    
     private static final String DATETIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
     
     private long startTime;
@@ -46,7 +54,15 @@ public class TpsMonitorPoint {
     
     private TpsRecorder tpsRecorder;
     
-    public Map<String, TpsRecorder> monitorKeysRecorder = new HashMap<String, TpsRecorder>();
+    /**
+     * Recorders of monitor key rules, replaced by a new copy in {@link #applyRule(TpsControlRule)}.
+     */
+    public volatile Map<String, TpsRecorder> monitorKeysRecorder = new MonitorKeysRecorder(16);
+    
+    /**
+     * Matched rule keys of each monitor key, belongs to one state of {@link #monitorKeysRecorder}.
+     */
+    private volatile MatchedRulesCache matchedRules = new MatchedRulesCache(monitorKeysRecorder);
     
     public TpsMonitorPoint(String pointName) {
         this(pointName, -1, "monitor");
@@ -110,7 +126,41 @@ public class TpsMonitorPoint {
     }
     
     private void stopAllMonitorClient() {
-        monitorKeysRecorder.clear();
+        monitorKeysRecorder = new MonitorKeysRecorder(16);
+    }
+    
+    /**
+     * Get the rule keys matched by monitor key, which are matched only once until the rules are changed.
+     *
+     * <p>The rules replaced by {@link #applyRule(TpsControlRule)} or added and removed on {@link #monitorKeysRecorder}
+     * directly drop the cache, the recorders of the matched rule keys are always read from the current rules.
+     *
+     * @param currentMonitorKeysRecorder current monitor key rules
+     * @param monitorKey                 monitor key
+     * @return matched rule keys
+     */
+    List<String> getMatchedRules(Map<String, TpsRecorder> currentMonitorKeysRecorder, String monitorKey) {
+        MatchedRulesCache currentMatchedRules = matchedRules;
+        if (!currentMatchedRules.isValid(currentMonitorKeysRecorder)) {
+            currentMatchedRules = new MatchedRulesCache(currentMonitorKeysRecorder);
+            matchedRules = currentMatchedRules;
+        }
+        List<String> result = currentMatchedRules.matched.get(monitorKey);
+        if (result != null) {
+            return result;
+        }
+        result = new ArrayList<>();
+        for (String ruleKey : currentMonitorKeysRecorder.keySet()) {
+            if (MonitorKeyMatcher.matchWithType(ruleKey, monitorKey)) {
+                result.add(ruleKey);
+            }
+        }
+        // The rules may be changed during matching, only cache the result matched by the rules of the cache.
+        if (currentMatchedRules.isValid(currentMonitorKeysRecorder)
+                && currentMatchedRules.matched.size() < MATCHED_RULES_CACHE_SIZE) {
+            currentMatchedRules.matched.put(monitorKey, result);
+        }
+        return result;
     }
     
     /**
@@ -125,48 +175,55 @@ public class TpsMonitorPoint {
         TpsRecorder.TpsSlot currentTps = tpsRecorder.createSlotIfAbsent(now);
         
         //1.check monitor keys.
+        Map<String, TpsRecorder> currentMonitorKeysRecorder = monitorKeysRecorder;
         List<TpsRecorder.SlotCountHolder> passedSlots = new ArrayList<>();
         for (MonitorKey monitorKey : monitorKeys) {
-            for (Map.Entry<String, TpsRecorder> entry : monitorKeysRecorder.entrySet()) {
-                if (MonitorKeyMatcher.matchWithType(entry.getKey(), monitorKey.build())) {
-                    TpsRecorder tpsRecorderKey = entry.getValue();
-                    TpsRecorder.TpsSlot currentKeySlot = tpsRecorderKey.createSlotIfAbsent(now);
-                    long maxTpsCount = tpsRecorderKey.getMaxCount();
-                    TpsRecorder.SlotCountHolder countHolder = currentKeySlot.getCountHolder(monitorKey.build());
-                    boolean overLimit = maxTpsCount >= 0 && countHolder.count.longValue() >= maxTpsCount;
-                    if (overLimit) {
-                        Loggers.TPS_CONTROL_DETAIL
-                                .info("[{}]Tps over limit ,pointName=[{}],barrier=[{}]，monitorModel={},maxTps={}",
-                                        connectionId, this.getPointName(), entry.getKey(),
-                                        tpsRecorderKey.getMonitorType(), maxTpsCount + "/" + tpsRecorderKey.period);
-                        if (tpsRecorderKey.isInterceptMode()) {
-                            currentKeySlot.getCountHolder(monitorKey.build()).interceptedCount.incrementAndGet();
-                            currentTps.getCountHolder(monitorKey.build()).interceptedCount.incrementAndGet();
-                            return false;
-                        }
-                    } else {
-                        passedSlots.add(countHolder);
+            if (currentMonitorKeysRecorder.isEmpty()) {
+                break;
+            }
+            String monitorKeyString = monitorKey.build();
+            for (String ruleKey : getMatchedRules(currentMonitorKeysRecorder, monitorKeyString)) {
+                TpsRecorder tpsRecorderKey = currentMonitorKeysRecorder.get(ruleKey);
+                if (tpsRecorderKey == null) {
+                    continue;
+                }
+                TpsRecorder.TpsSlot currentKeySlot = tpsRecorderKey.createSlotIfAbsent(now);
+                long maxTpsCount = tpsRecorderKey.getMaxCount();
+                TpsRecorder.SlotCountHolder countHolder = currentKeySlot.getCountHolder(monitorKeyString);
+                boolean overLimit = maxTpsCount >= 0 && countHolder.count.longValue() >= maxTpsCount;
+                if (overLimit) {
+                    Loggers.TPS_CONTROL_DETAIL
+                            .info("[{}]Tps over limit ,pointName=[{}],barrier=[{}]，monitorModel={},maxTps={}",
+                                    connectionId, this.getPointName(), ruleKey,
+                                    tpsRecorderKey.getMonitorType(), maxTpsCount + "/" + tpsRecorderKey.period);
+                    if (tpsRecorderKey.isInterceptMode()) {
+                        countHolder.interceptedCount.increment();
+                        currentTps.getCountHolder(monitorKeyString).interceptedCount.increment();
+                        return false;
                     }
+                } else {
+                    passedSlots.add(countHolder);
                 }
             }
         }
         
         //2.check total tps.
         long maxTps = tpsRecorder.getMaxCount();
-        boolean overLimit = maxTps >= 0 && currentTps.getCountHolder(pointName).count.longValue() >= maxTps;
+        TpsRecorder.SlotCountHolder pointCountHolder = currentTps.getCountHolder(pointName);
+        boolean overLimit = maxTps >= 0 && pointCountHolder.count.longValue() >= maxTps;
         if (overLimit) {
             Loggers.TPS_CONTROL_DETAIL
                     .info("[{}]Tps over limit ,pointName=[{}],barrier=[{}]，monitorType={}", connectionId,
                             this.getPointName(), "pointRule", tpsRecorder.getMonitorType());
             if (tpsRecorder.isInterceptMode()) {
-                currentTps.getCountHolder(pointName).interceptedCount.incrementAndGet();
+                pointCountHolder.interceptedCount.increment();
                 return false;
             }
         }
         
-        currentTps.getCountHolder(pointName).count.incrementAndGet();
+        pointCountHolder.count.increment();
         for (TpsRecorder.SlotCountHolder passedTpsSlot : passedSlots) {
-            passedTpsSlot.count.incrementAndGet();
+            passedTpsSlot.count.increment();
         }
         //3.check pass.
         return true;
@@ -224,7 +281,8 @@ public class TpsMonitorPoint {
                     .info("Clear point  control rule for monitorKeys, pointName=[{}]  ", this.getPointName());
             this.stopAllMonitorClient();
         } else {
-            Map<String, TpsRecorder> monitorKeysRecorderCurrent = this.monitorKeysRecorder;
+            // Copy on write, the requests in flight keep using the rules before.
+            Map<String, TpsRecorder> monitorKeysRecorderCurrent = new MonitorKeysRecorder(this.monitorKeysRecorder);
             
             for (Map.Entry<String, TpsControlRule.Rule> newMonitorRule : newMonitorKeyRules.entrySet()) {
                 if (newMonitorRule.getValue() == null) {
@@ -290,9 +348,137 @@ public class TpsMonitorPoint {
                     iteratorCurrent.remove();
                 }
             }
-            
+            this.monitorKeysRecorder = monitorKeysRecorderCurrent;
+        }
+        
+    }
+    
+    private static long versionOf(Map<String, TpsRecorder> rules) {
+        return rules instanceof MonitorKeysRecorder ? ((MonitorKeysRecorder) rules).version.get() : rules.size();
+    }
+    
+    private static class MatchedRulesCache {
+        
+        private final Map<String, TpsRecorder> rules;
+        
+        private final long rulesVersion;
+        
+        private final Map<String, List<String>> matched = new ConcurrentHashMap<>(16);
+        
+        private MatchedRulesCache(Map<String, TpsRecorder> rules) {
+            this.rules = rules;
+            this.rulesVersion = versionOf(rules);
         }
         
+        private boolean isValid(Map<String, TpsRecorder> currentRules) {
+            return rules == currentRules && rulesVersion == versionOf(currentRules);
+        }
+    }
+    
+    /**
+     * Recorders of monitor key rules, the version is increased after each modification by the methods of map, so that
+     * the matched rules cache of the former rules is dropped.
+     */
+    private static class MonitorKeysRecorder extends ConcurrentHashMap<String, TpsRecorder> {
+        
+        private static final long serialVersionUID = -2725870493219373453L;
+        
+        private final AtomicLong version = new AtomicLong();
+        
+        private MonitorKeysRecorder(int initialCapacity) {
+            super(initialCapacity);
+        }
+        
+        private MonitorKeysRecorder(Map<String, TpsRecorder> recorders) {
+            super(Math.max(16, recorders.size()));
+            super.putAll(recorders);
+        }
+        
+        @Override
+        public TpsRecorder put(String key, TpsRecorder value) {
+            TpsRecorder result = super.put(key, value);
+            version.incrementAndGet();
+            return result;
+        }
+        
+        @Override
+        public void putAll(Map<? extends String, ? extends TpsRecorder> m) {
+            super.putAll(m);
+            version.incrementAndGet();
+        }
+        
+        @Override
+        public TpsRecorder putIfAbsent(String key, TpsRecorder value) {
+            TpsRecorder result = super.putIfAbsent(key, value);
+            version.incrementAndGet();
+            return result;
+        }
+        
+        @Override
+        public TpsRecorder remove(Object key) {
+            TpsRecorder result = super.remove(key);
+            version.incrementAndGet();
+            return result;
+        }
+        
+        @Override
+        public boolean remove(Object key, Object value) {
+            boolean result = super.remove(key, value);
+            version.incrementAndGet();
+            return result;
+        }
+        
+        @Override
+        public TpsRecorder replace(String key, TpsRecorder value) {
+            TpsRecorder result = super.replace(key, value);
+            version.incrementAndGet();
+            return result;
+        }
+        
+        @Override
+        public boolean replace(String key, TpsRecorder oldValue, TpsRecorder newValue) {
+            boolean result = super.replace(key, oldValue, newValue);
+            version.incrementAndGet();
+            return result;
+        }
+        
+        @Override
+        public void clear() {
+            super.clear();
+            version.incrementAndGet();
+        }
+        
+        @Override
+        public TpsRecorder computeIfAbsent(String key,
+                Function<? super String, ? extends TpsRecorder> mappingFunction) {
+            TpsRecorder result = super.computeIfAbsent(key, mappingFunction);
+            version.incrementAndGet();
+            return result;
+        }
+        
+        @Override
+        public TpsRecorder computeIfPresent(String key,
+                BiFunction<? super String, ? super TpsRecorder, ? extends TpsRecorder> remappingFunction) {
+            TpsRecorder result = super.computeIfPresent(key, remappingFunction);
+            version.incrementAndGet();
+            return result;
+        }
+        
+        @Override
+        public TpsRecorder compute(String key,
+                BiFunction<? super String, ? super TpsRecorder, ? extends TpsRecorder> remappingFunction) {
+            TpsRecorder result = super.compute(key, remappingFunction);
+            version.incrementAndGet();
+            return result;
+        }
+        
+        @Override
+        public TpsRecorder merge(String key, TpsRecorder value,
+                BiFunction<? super TpsRecorder, ? super TpsRecorder, ? extends TpsRecorder> remappingFunction) {
+            TpsRecorder result = super.merge(key, value, remappingFunction);
+            version.incrementAndGet();
+            return result;
+        }
     }
     
 }
@@ -17,15 +17,19 @@
 package com.alibaba.nacos.core.remote.control;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * tps record.
  *
+ * <p>Slots are a fixed ring of time windows, a slot is never reset but replaced by a new slot of the current window
+ * with CAS when the window passed, so recording is lock-free.
+ *
  * @author liuzunfei
  * @version $Id: TpsRecorder.java, v 0.1 2021年01月09日 12:38 PM liuzunfei Exp $
  */
@@ -35,18 +39,20 @@ public class TpsRecorder {
     
     TimeUnit period;
     
+    private final long periodMillis;
+    
     private int slotSize;
     
-    private List<TpsSlot> slotList;
+    private final AtomicReferenceArray<TpsSlot> slots;
     
-    private long maxCount = -1;
+    private volatile long maxCount = -1;
     
     private String model;
     
     /**
      * monitor/intercept.
      */
-    private String monitorType = MonitorType.MONITOR.type;
+    private volatile String monitorType = MonitorType.MONITOR.type;
     
     public TpsRecorder(long startTime, TimeUnit period, String model, int recordSize) {
         
@@ -58,14 +64,19 @@ public class TpsRecorder {
             this.startTime = TpsMonitorPoint.getTrimMillsOfHour(startTime);
         }
         this.period = period;
+        this.periodMillis = period.toMillis(1);
         this.model = model;
         this.slotSize = recordSize + 1;
-        slotList = new ArrayList<>(slotSize);
+        slots = new AtomicReferenceArray<>(slotSize);
         for (int i = 0; i < slotSize; i++) {
-            slotList.add(isProtoModel() ? new MultiKeyTpsSlot() : new TpsSlot());
+            slots.set(i, newSlot(0L));
         }
     }
     
+    private TpsSlot newSlot(long time) {
+        return isProtoModel() ? new MultiKeyTpsSlot(time) : new TpsSlot(time);
+    }
+    
     public boolean isProtoModel() {
         return TpsControlRule.Rule.MODEL_PROTO.equalsIgnoreCase(this.model);
     }
@@ -78,6 +89,11 @@ public class TpsRecorder {
         this.model = model;
     }
     
+    private long getWindowIndex(long timeStamp) {
+        long distance = timeStamp - startTime;
+        return (distance < 0 ? distance + periodMillis * slotSize : distance) / periodMillis;
+    }
+    
     /**
      * get slot of the timestamp second,create if not exist.
      *
@@ -85,15 +101,19 @@ public class TpsRecorder {
      * @return tps slot.
      */
     public TpsSlot createSlotIfAbsent(long timeStamp) {
-        long distance = timeStamp - startTime;
-        
-        long diff = (distance < 0 ? distance + period.toMillis(1) * slotSize : distance) / period.toMillis(1);
-        long currentWindowTime = startTime + diff * period.toMillis(1);
-        int index = (int) diff % slotSize;
-        if (slotList.get(index).time != currentWindowTime) {
-            slotList.get(index).reset(currentWindowTime);
+        long diff = getWindowIndex(timeStamp);
+        long currentWindowTime = startTime + diff * periodMillis;
+        int index = (int) (diff % slotSize);
+        TpsSlot slot = slots.get(index);
+        // The slot of a passed window is replaced, a slot of a later window is kept for the late callers.
+        while (slot.time < currentWindowTime) {
+            TpsSlot newSlot = newSlot(currentWindowTime);
+            if (slots.compareAndSet(index, slot, newSlot)) {
+                return newSlot;
+            }
+            slot = slots.get(index);
         }
-        return slotList.get(index);
+        return slot;
     }
     
     /**
@@ -103,11 +123,9 @@ public class TpsRecorder {
      * @return tps slot.
      */
     public TpsSlot getPoint(long timeStamp) {
-        long distance = timeStamp - startTime;
-        long diff = (distance < 0 ? distance + period.toMillis(1) * slotSize : distance) / period.toMillis(1);
-        long currentWindowTime = startTime + diff * period.toMillis(1);
-        int index = (int) diff % slotSize;
-        TpsSlot tpsSlot = slotList.get(index);
+        long diff = getWindowIndex(timeStamp);
+        long currentWindowTime = startTime + diff * periodMillis;
+        TpsSlot tpsSlot = slots.get((int) (diff % slotSize));
         if (tpsSlot.time != currentWindowTime) {
             return null;
         }
@@ -144,22 +162,16 @@ public class TpsRecorder {
     
     static class TpsSlot {
         
-        long time = 0L;
+        final long time;
         
-        private SlotCountHolder countHolder = new SlotCountHolder();
+        private final SlotCountHolder countHolder = new SlotCountHolder();
         
-        public SlotCountHolder getCountHolder(String key) {
-            return countHolder;
+        TpsSlot(long time) {
+            this.time = time;
         }
         
-        public void reset(long second) {
-            synchronized (this) {
-                if (this.time != second) {
-                    this.time = second;
-                    countHolder.count.set(0L);
-                    countHolder.interceptedCount.set(0);
-                }
-            }
+        public SlotCountHolder getCountHolder(String key) {
+            return countHolder;
         }
         
         @Override
@@ -171,30 +183,25 @@ public class TpsRecorder {
     
     static class MultiKeyTpsSlot extends TpsSlot {
         
-        Map<String, SlotCountHolder> keySlots = new HashMap<>(16);
+        final Map<String, SlotCountHolder> keySlots = new ConcurrentHashMap<>(16);
+        
+        MultiKeyTpsSlot(long time) {
+            super(time);
+        }
         
         @Override
         public SlotCountHolder getCountHolder(String key) {
-            if (!keySlots.containsKey(key)) {
-                keySlots.putIfAbsent(key, new SlotCountHolder());
+            SlotCountHolder result = keySlots.get(key);
+            if (result == null) {
+                result = keySlots.computeIfAbsent(key, each -> new SlotCountHolder());
             }
-            return keySlots.get(key);
+            return result;
         }
         
         public Map<String, SlotCountHolder> getKeySlots() {
             return keySlots;
         }
         
-        @Override
-        public void reset(long second) {
-            synchronized (this) {
-                if (this.time != second) {
-                    this.time = second;
-                    keySlots.clear();
-                }
-            }
-        }
-        
         @Override
         public String toString() {
             return "MultiKeyTpsSlot{" + "time=" + time + "}'";
@@ -204,9 +211,9 @@ public class TpsRecorder {
     
     static class SlotCountHolder {
         
-        AtomicLong count = new AtomicLong();
+        final LongAdder count = new LongAdder();
         
-        AtomicLong interceptedCount = new AtomicLong();
+        final LongAdder interceptedCount = new LongAdder();
         
         @Override
         public String toString() {
@@ -214,7 +221,16 @@ public class TpsRecorder {
         }
     }
     
+    /**
+     * Get slots of all windows in the ring.
+     *
+     * @return slots
+     */
     public List<TpsSlot> getSlotList() {
-        return slotList;
+        List<TpsSlot> result = new ArrayList<>(slotSize);
+        for (int i = 0; i < slotSize; i++) {
+            result.add(slots.get(i));
+        }
+        return result;
     }
 }
@@ -24,6 +24,8 @@ import com.alibaba.nacos.api.remote.RequestFuture;
 import com.alibaba.nacos.api.remote.request.Request;
 import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import com.alibaba.nacos.common.remote.codec.PayloadCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadCodecFactory;
 import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedException;
 import com.alibaba.nacos.core.remote.Connection;
 import com.alibaba.nacos.core.remote.ConnectionMeta;
@@ -46,6 +48,11 @@ public class GrpcConnection extends Connection {
     
     private Channel channel;
     
+    /**
+     * codec to encode payload pushed to client, negotiated when connection setup.
+     */
+    private PayloadCodec payloadCodec = PayloadCodecFactory.getDefault();
+    
     public GrpcConnection(ConnectionMeta metaInfo, StreamObserver streamObserver, Channel channel) {
         super(metaInfo);
         this.streamObserver = streamObserver;
@@ -57,7 +64,7 @@ public class GrpcConnection extends Connection {
             //StreamObserver#onNext() is not thread-safe,synchronized is required to avoid direct memory leak.
             synchronized (streamObserver) {
                 
-                Payload payload = GrpcUtils.convert(request);
+                Payload payload = GrpcUtils.convert(request, payloadCodec);
                 traceIfNecessary(payload);
                 streamObserver.onNext(payload);
             }
@@ -149,4 +156,12 @@ public class GrpcConnection extends Connection {
     public boolean isConnected() {
         return channel != null && channel.isOpen() && channel.isActive();
     }
+    
+    public PayloadCodec getPayloadCodec() {
+        return payloadCodec;
+    }
+    
+    public void setPayloadCodec(PayloadCodec payloadCodec) {
+        this.payloadCodec = payloadCodec;
+    }
 }
@@ -27,6 +27,8 @@ import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.api.remote.response.ResponseCode;
 import com.alibaba.nacos.api.remote.response.ServerCheckResponse;
 import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import com.alibaba.nacos.common.remote.codec.PayloadCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadCodecFactory;
 import com.alibaba.nacos.core.remote.Connection;
 import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.RequestHandler;
@@ -75,11 +77,14 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
         
         traceIfNecessary(grpcRequest, true);
         String type = grpcRequest.getMetadata().getType();
+        // response with the same codec as request.
+        PayloadCodec payloadCodec = GrpcUtils.getPayloadCodec(grpcRequest);
         
         //server is on starting.
         if (!ApplicationUtils.isStarted()) {
             Payload payloadResponse = GrpcUtils.convert(
-                    buildErrorResponse(NacosException.INVALID_SERVER_STATUS, "Server is starting,please try later."));
+                    buildErrorResponse(NacosException.INVALID_SERVER_STATUS, "Server is starting,please try later."),
+                    payloadCodec);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             
@@ -89,7 +94,9 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
         
         // server check.
         if (ServerCheckRequest.class.getSimpleName().equals(type)) {
-            Payload serverCheckResponseP = GrpcUtils.convert(new ServerCheckResponse(CONTEXT_KEY_CONN_ID.get()));
+            ServerCheckResponse serverCheckResponse = new ServerCheckResponse(CONTEXT_KEY_CONN_ID.get());
+            serverCheckResponse.setSupportedPayloadCodecs(PayloadCodecFactory.getSupportedCodecs());
+            Payload serverCheckResponseP = GrpcUtils.convert(serverCheckResponse, payloadCodec);
             traceIfNecessary(serverCheckResponseP, false);
             responseObserver.onNext(serverCheckResponseP);
             responseObserver.onCompleted();
@@ -101,7 +108,7 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
         if (requestHandler == null) {
             Loggers.REMOTE_DIGEST.warn(String.format("[%s] No handler for request type : %s :", "grpc", type));
             Payload payloadResponse = GrpcUtils
-                    .convert(buildErrorResponse(NacosException.NO_HANDLER, "RequestHandler Not Found"));
+                    .convert(buildErrorResponse(NacosException.NO_HANDLER, "RequestHandler Not Found"), payloadCodec);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             responseObserver.onCompleted();
@@ -115,7 +122,8 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
             Loggers.REMOTE_DIGEST
                     .warn("[{}] Invalid connection Id ,connection [{}] is un registered ,", "grpc", connectionId);
             Payload payloadResponse = GrpcUtils
-                    .convert(buildErrorResponse(NacosException.UN_REGISTER, "Connection is unregistered."));
+                    .convert(buildErrorResponse(NacosException.UN_REGISTER, "Connection is unregistered."),
+                            payloadCodec);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             responseObserver.onCompleted();
@@ -128,7 +136,8 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
         } catch (Exception e) {
             Loggers.REMOTE_DIGEST
                     .warn("[{}] Invalid request receive from connection [{}] ,error={}", "grpc", connectionId, e);
-            Payload payloadResponse = GrpcUtils.convert(buildErrorResponse(NacosException.BAD_GATEWAY, e.getMessage()));
+            Payload payloadResponse = GrpcUtils
+                    .convert(buildErrorResponse(NacosException.BAD_GATEWAY, e.getMessage()), payloadCodec);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             responseObserver.onCompleted();
@@ -138,7 +147,7 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
         if (parseObj == null) {
             Loggers.REMOTE_DIGEST.warn("[{}] Invalid request receive  ,parse request is null", connectionId);
             Payload payloadResponse = GrpcUtils
-                    .convert(buildErrorResponse(NacosException.BAD_GATEWAY, "Invalid request"));
+                    .convert(buildErrorResponse(NacosException.BAD_GATEWAY, "Invalid request"), payloadCodec);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             responseObserver.onCompleted();
@@ -149,7 +158,7 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
                     .warn("[{}] Invalid request receive  ,parsed payload is not a request,parseObj={}", connectionId,
                             parseObj);
             Payload payloadResponse = GrpcUtils
-                    .convert(buildErrorResponse(NacosException.BAD_GATEWAY, "Invalid request"));
+                    .convert(buildErrorResponse(NacosException.BAD_GATEWAY, "Invalid request"), payloadCodec);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             responseObserver.onCompleted();
@@ -166,7 +175,7 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
             requestMeta.setLabels(connection.getMetaInfo().getLabels());
             connectionManager.refreshActiveTime(requestMeta.getConnectionId());
             Response response = requestHandler.handleRequest(request, requestMeta);
-            Payload payloadResponse = GrpcUtils.convert(response);
+            Payload payloadResponse = GrpcUtils.convert(response, payloadCodec);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             responseObserver.onCompleted();
@@ -176,7 +185,7 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
                             e);
             Payload payloadResponse = GrpcUtils.convert(buildErrorResponse(
                     (e instanceof NacosException) ? ((NacosException) e).getErrCode() : ResponseCode.FAIL.getCode(),
-                    e.getMessage()));
+                    e.getMessage()), payloadCodec);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             responseObserver.onCompleted();
@@ -0,0 +1,57 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.component;
+
+import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+public class DistroDataProcessorTest {
+    
+    private static final String TYPE = "type";
+    
+    @Test
+    public void testProcessVerifyKeyNotSupported() {
+        DistroDataProcessor processor = mock(DistroDataProcessor.class, CALLS_REAL_METHODS);
+        assertFalse(processor.supportVerifyDigest());
+        assertFalse(processor.processVerifyKey(new DistroKey("key", TYPE), "1.1.1.1:8848"));
+    }
+    
+    @Test
+    public void testProcessBatchDataOneByOne() {
+        DistroDataProcessor processor = mock(DistroDataProcessor.class, CALLS_REAL_METHODS);
+        DistroData success = new DistroData(new DistroKey("success", TYPE), new byte[0]);
+        DistroData failed = new DistroData(new DistroKey("failed", TYPE), new byte[0]);
+        DistroData error = new DistroData(new DistroKey("error", TYPE), new byte[0]);
+        doReturn(true).when(processor).processData(success);
+        doReturn(false).when(processor).processData(failed);
+        doThrow(new IllegalStateException("test")).when(processor).processData(error);
+        assertEquals(Arrays.asList(true, false, false),
+                processor.processBatchData(Arrays.asList(success, failed, error)));
+        assertFalse(processor.processBatchData(Arrays.asList(error)).get(0));
+        assertEquals(0, processor.processBatchData(Arrays.<DistroData>asList()).size());
+    }
+}
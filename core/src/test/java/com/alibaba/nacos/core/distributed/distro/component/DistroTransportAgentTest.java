@@ -0,0 +1,64 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.component;
+
+import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+public class DistroTransportAgentTest {
+    
+    private static final String TYPE = "type";
+    
+    private static final String TARGET = "1.1.1.1:8848";
+    
+    @Test
+    public void testSyncBatchDataOneByOne() {
+        DistroTransportAgent agent = mock(DistroTransportAgent.class, CALLS_REAL_METHODS);
+        DistroData success = new DistroData(new DistroKey("success", TYPE), new byte[0]);
+        DistroData failed = new DistroData(new DistroKey("failed", TYPE), new byte[0]);
+        DistroData error = new DistroData(new DistroKey("error", TYPE), new byte[0]);
+        doReturn(true).when(agent).syncData(success, TARGET);
+        doReturn(false).when(agent).syncData(failed, TARGET);
+        doThrow(new IllegalStateException("test")).when(agent).syncData(error, TARGET);
+        AtomicReference<List<Boolean>> results = new AtomicReference<>();
+        agent.syncBatchData(Arrays.asList(success, failed, error), TARGET, new DistroBatchCallback() {
+            @Override
+            public void onResult(List<Boolean> result) {
+                results.set(result);
+            }
+            
+            @Override
+            public void onFailed(Throwable throwable) {
+                throw new AssertionError("should not fail", throwable);
+            }
+        });
+        assertFalse(agent.supportBatchTransport());
+        assertEquals(Arrays.asList(true, false, false), results.get());
+    }
+}
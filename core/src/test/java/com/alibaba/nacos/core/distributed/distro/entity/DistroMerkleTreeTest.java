@@ -0,0 +1,84 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.entity;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DistroMerkleTreeTest {
+    
+    @Test
+    public void testAddAndRemove() {
+        DistroMerkleTree tree = new DistroMerkleTree();
+        assertTrue(tree.add("a"));
+        assertFalse(tree.add("a"));
+        assertTrue(tree.contains("a"));
+        assertNotEquals(0L, tree.getRootHash());
+        assertTrue(tree.remove("a"));
+        assertFalse(tree.remove("a"));
+        assertFalse(tree.contains("a"));
+        assertEquals(0L, tree.getRootHash());
+        assertEquals(0, tree.size());
+    }
+    
+    @Test
+    public void testRootHashIndependentOfOrder() {
+        DistroMerkleTree tree1 = DistroMerkleTree.build(Arrays.asList("a", "b", "c"));
+        DistroMerkleTree tree2 = DistroMerkleTree.build(Arrays.asList("c", "a", "b"));
+        assertEquals(tree1.getRootHash(), tree2.getRootHash());
+        tree2.remove("b");
+        assertNotEquals(tree1.getRootHash(), tree2.getRootHash());
+    }
+    
+    @Test
+    public void testNodeHashAndKeys() {
+        DistroMerkleTree tree = DistroMerkleTree.build(Arrays.asList("a", "b", "c", "d"));
+        long xor = 0L;
+        int keys = 0;
+        for (Integer each : DistroMerkleTree.children(0)) {
+            xor ^= tree.getNodeHash(1, each);
+            keys += tree.getKeys(1, each).size();
+        }
+        assertEquals(tree.getRootHash(), xor);
+        assertEquals(4, keys);
+        List<String> allKeys = tree.getKeys(0, 0);
+        assertEquals(4, allKeys.size());
+        assertTrue(allKeys.containsAll(Arrays.asList("a", "b", "c", "d")));
+    }
+    
+    @Test
+    public void testContainsNode() {
+        DistroMerkleTree tree = new DistroMerkleTree(2);
+        assertTrue(tree.containsNode(0, 0));
+        assertFalse(tree.containsNode(0, 1));
+        assertTrue(tree.containsNode(2, DistroMerkleTree.FANOUT * DistroMerkleTree.FANOUT - 1));
+        assertFalse(tree.containsNode(2, DistroMerkleTree.FANOUT * DistroMerkleTree.FANOUT));
+        assertFalse(tree.containsNode(3, 0));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalDepth() {
+        new DistroMerkleTree(0);
+    }
+}
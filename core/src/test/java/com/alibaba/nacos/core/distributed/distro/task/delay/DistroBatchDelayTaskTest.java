@@ -0,0 +1,63 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.task.delay;
+
+import com.alibaba.nacos.consistency.DataOperation;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DistroBatchDelayTaskTest {
+    
+    private static final String TYPE = "test";
+    
+    private static final String TARGET = "1.1.1.1:8848";
+    
+    @Test
+    public void testMergeKeepsLatestAction() {
+        DistroBatchDelayTask oldTask = newTask("a", DataOperation.CHANGE);
+        oldTask.addAction("b", DataOperation.CHANGE);
+        DistroBatchDelayTask newTask = newTask("a", DataOperation.DELETE);
+        newTask.merge(oldTask);
+        assertEquals(Arrays.asList("a", "b"), Arrays.asList(newTask.getActions().keySet().toArray()));
+        assertEquals(DataOperation.DELETE, newTask.getActions().get("a"));
+        assertEquals(oldTask.getLastProcessTime(), newTask.getLastProcessTime());
+        assertFalse(newTask.shouldProcess());
+    }
+    
+    @Test
+    public void testMergeReachBatchSize() {
+        DistroBatchDelayTask task = newTask("a", DataOperation.CHANGE);
+        for (String each : Arrays.asList("b", "c")) {
+            DistroBatchDelayTask newTask = newTask(each, DataOperation.CHANGE);
+            newTask.merge(task);
+            task = newTask;
+        }
+        assertEquals(3, task.getActions().size());
+        assertTrue(task.shouldProcess());
+    }
+    
+    private DistroBatchDelayTask newTask(String key, DataOperation action) {
+        DistroBatchDelayTask result = new DistroBatchDelayTask(TYPE, TARGET, 10000L, 3);
+        result.addAction(key, action);
+        return result;
+    }
+}
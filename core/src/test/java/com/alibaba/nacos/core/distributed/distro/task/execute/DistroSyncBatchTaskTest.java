@@ -0,0 +1,127 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.task.execute;
+
+import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.distributed.distro.component.DistroBatchCallback;
+import com.alibaba.nacos.core.distributed.distro.component.DistroComponentHolder;
+import com.alibaba.nacos.core.distributed.distro.component.DistroDataStorage;
+import com.alibaba.nacos.core.distributed.distro.component.DistroFailedTaskHandler;
+import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.core.distributed.distro.monitor.DistroRecord;
+import com.alibaba.nacos.core.distributed.distro.monitor.DistroRecordsHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DistroSyncBatchTaskTest {
+    
+    private static final String TYPE = "test";
+    
+    private static final String TARGET = "1.1.1.1:8848";
+    
+    @Mock
+    private DistroTransportAgent transportAgent;
+    
+    @Mock
+    private DistroDataStorage dataStorage;
+    
+    @Mock
+    private DistroFailedTaskHandler failedTaskHandler;
+    
+    private DistroSyncBatchTask syncBatchTask;
+    
+    @Before
+    public void setUp() {
+        DistroComponentHolder componentHolder = new DistroComponentHolder();
+        componentHolder.registerTransportAgent(TYPE, transportAgent);
+        componentHolder.registerDataStorage(TYPE, dataStorage);
+        componentHolder.registerFailedTaskHandler(TYPE, failedTaskHandler);
+        Map<String, DataOperation> actions = new LinkedHashMap<>();
+        actions.put("a", DataOperation.CHANGE);
+        actions.put("b", DataOperation.DELETE);
+        actions.put("c", DataOperation.ADD);
+        actions.put("d", DataOperation.CHANGE);
+        syncBatchTask = new DistroSyncBatchTask(TYPE, TARGET, actions, componentHolder);
+        when(dataStorage.getDistroData(any(DistroKey.class)))
+                .thenAnswer(invocation -> new DistroData(invocation.getArgument(0), new byte[0]));
+        when(dataStorage.getDistroData(new DistroKey("d", TYPE, TARGET))).thenReturn(null);
+    }
+    
+    @After
+    @SuppressWarnings("unchecked")
+    public void tearDown() {
+        Map<String, DistroRecord> records = (Map<String, DistroRecord>) ReflectionTestUtils
+                .getField(DistroRecordsHolder.getInstance(), "distroRecords");
+        records.remove(TYPE);
+    }
+    
+    @Test
+    public void testRunWithPartialFailed() {
+        syncBatchTask.run();
+        List<DistroData> batchData = captureBatchData();
+        assertEquals(3, batchData.size());
+        assertEquals(DataOperation.CHANGE, batchData.get(0).getType());
+        assertEquals(DataOperation.DELETE, batchData.get(1).getType());
+        assertEquals(DataOperation.CHANGE, batchData.get(2).getType());
+        ArgumentCaptor<DistroBatchCallback> callback = ArgumentCaptor.forClass(DistroBatchCallback.class);
+        verify(transportAgent).syncBatchData(any(), eq(TARGET), callback.capture());
+        callback.getValue().onResult(Arrays.asList(true, false, true));
+        verify(failedTaskHandler).retry(new DistroKey("b", TYPE, TARGET), DataOperation.DELETE);
+        verify(failedTaskHandler, times(1)).retry(any(DistroKey.class), any(DataOperation.class));
+    }
+    
+    @Test
+    public void testRunWithAllFailed() {
+        syncBatchTask.run();
+        ArgumentCaptor<DistroBatchCallback> callback = ArgumentCaptor.forClass(DistroBatchCallback.class);
+        verify(transportAgent).syncBatchData(any(), eq(TARGET), callback.capture());
+        callback.getValue().onFailed(null);
+        verify(failedTaskHandler).retry(new DistroKey("a", TYPE, TARGET), DataOperation.CHANGE);
+        verify(failedTaskHandler).retry(new DistroKey("b", TYPE, TARGET), DataOperation.DELETE);
+        verify(failedTaskHandler).retry(new DistroKey("c", TYPE, TARGET), DataOperation.CHANGE);
+        verify(failedTaskHandler, never()).retry(new DistroKey("d", TYPE, TARGET), DataOperation.CHANGE);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<DistroData> captureBatchData() {
+        ArgumentCaptor<List<DistroData>> batchData = ArgumentCaptor.forClass(List.class);
+        verify(transportAgent).syncBatchData(batchData.capture(), eq(TARGET), any(DistroBatchCallback.class));
+        return batchData.getValue();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.task.verify;
+
+import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.distributed.distro.DistroProtocol;
+import com.alibaba.nacos.core.distributed.distro.component.DistroComponentHolder;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroMerkleTree;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of one distro verify round from one server to another in steady state, by per key verify and by merkle
+ * tree digest verify. Target server is simulated by {@link LocalDistroTransportAgent} in the same process, and the
+ * sent messages and bytes of each round are reported as auxiliary counters.
+ *
+ * <p>Run {@link #main(String[])} in test classpath, it is not a unit test and will not be executed by surefire.
+ *
+ * @author nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistroVerifyBenchmark {
+    
+    private static final String TYPE = "benchmark";
+    
+    private static final String SOURCE = "1.1.1.1:8848";
+    
+    private static final String TARGET = "2.2.2.2:8848";
+    
+    @Param({"10000", "100000"})
+    private int clientCount;
+    
+    @Param({"perKey", "digest"})
+    private String verifyType;
+    
+    private LocalDistroTransportAgent transportAgent;
+    
+    private List<DistroData> verifyData;
+    
+    private DistroMerkleTree verifyTree;
+    
+    @Setup
+    public void setUp() {
+        EnvUtil.setIsStandalone(true);
+        DistroComponentHolder componentHolder = new DistroComponentHolder();
+        LocalDistroDataProcessor targetProcessor = new LocalDistroDataProcessor(TYPE);
+        componentHolder.registerDataProcessor(targetProcessor);
+        transportAgent = new LocalDistroTransportAgent(new DistroProtocol(null, componentHolder, null), SOURCE);
+        verifyData = new ArrayList<>(clientCount);
+        for (int i = 0; i < clientCount; i++) {
+            String clientId = System.currentTimeMillis() + "_10.0." + (i >> 16) + "." + (i & 0xff) + "_" + i;
+            DistroKey distroKey = new DistroKey(clientId, TYPE);
+            DistroData data = new DistroData(distroKey, clientId.getBytes(StandardCharsets.UTF_8));
+            data.setType(DataOperation.VERIFY);
+            verifyData.add(data);
+            targetProcessor.getKeys().add(clientId);
+        }
+        if ("digest".equals(verifyType)) {
+            verifyTree = new DistroMerkleTree();
+            for (DistroData each : verifyData) {
+                verifyTree.add(each.getDistroKey().getResourceKey());
+            }
+        }
+        // first round to make target server verified all keys.
+        newTask().run();
+    }
+    
+    /**
+     * One verify round to target server.
+     *
+     * @param counters counters of sent messages and bytes
+     */
+    @Benchmark
+    public void verify(TransportCounters counters) {
+        transportAgent.reset();
+        newTask().run();
+        counters.messages += transportAgent.getMessages();
+        counters.bytes += transportAgent.getBytes();
+    }
+    
+    private DistroVerifyExecuteTask newTask() {
+        return new DistroVerifyExecuteTask(transportAgent, verifyData, verifyTree, TARGET, TYPE);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(DistroVerifyBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+    
+    /**
+     * Sent messages and bytes, reported by total count during the iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TransportCounters {
+        
+        public long messages;
+        
+        public long bytes;
+        
+        @Setup(Level.Iteration)
+        public void reset() {
+            messages = 0;
+            bytes = 0;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.task.verify;
+
+import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.distributed.distro.DistroProtocol;
+import com.alibaba.nacos.core.distributed.distro.component.DistroComponentHolder;
+import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroMerkleTree;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DistroVerifyExecuteTaskTest {
+    
+    private static final String TYPE = "test";
+    
+    private static final String SOURCE = "1.1.1.1:8848";
+    
+    private static final String TARGET = "2.2.2.2:8848";
+    
+    private static final int COUNT = 1000;
+    
+    private LocalDistroDataProcessor targetProcessor;
+    
+    private LocalDistroTransportAgent transportAgent;
+    
+    private List<DistroData> verifyData;
+    
+    private DistroMerkleTree verifyTree;
+    
+    @Mock
+    private DistroTransportAgent digestUnsupportedAgent;
+    
+    @Before
+    public void setUp() {
+        EnvUtil.setIsStandalone(true);
+        DistroComponentHolder componentHolder = new DistroComponentHolder();
+        targetProcessor = new LocalDistroDataProcessor(TYPE);
+        componentHolder.registerDataProcessor(targetProcessor);
+        transportAgent = new LocalDistroTransportAgent(new DistroProtocol(null, componentHolder, null), SOURCE);
+        verifyData = new ArrayList<>(COUNT);
+        verifyTree = new DistroMerkleTree();
+        for (int i = 0; i < COUNT; i++) {
+            DistroData data = new DistroData(new DistroKey("client" + i, TYPE), new byte[0]);
+            data.setType(DataOperation.VERIFY);
+            verifyData.add(data);
+            verifyTree.add("client" + i);
+            targetProcessor.getKeys().add("client" + i);
+        }
+    }
+    
+    @After
+    public void tearDown() {
+        EnvUtil.setIsStandalone(null);
+    }
+    
+    @Test
+    public void testVerifyAllDataForFirstTime() {
+        newTask().run();
+        // 4 levels of digest and all verify data.
+        assertEquals(4 + COUNT, transportAgent.getMessages());
+    }
+    
+    @Test
+    public void testVerifyOnlyRootDigestInSteadyState() {
+        newTask().run();
+        transportAgent.reset();
+        long verifiedCount = targetProcessor.getVerifiedCount();
+        newTask().run();
+        assertEquals(1, transportAgent.getMessages());
+        assertEquals(verifiedCount + COUNT, targetProcessor.getVerifiedCount());
+    }
+    
+    @Test
+    public void testVerifyDifferentLeafOnly() {
+        newTask().run();
+        targetProcessor.getKeys().remove("client0");
+        transportAgent.reset();
+        newTask().run();
+        int leafSize = getLeafKeys("client0").size();
+        assertEquals(4 + leafSize, transportAgent.getMessages());
+        transportAgent.reset();
+        newTask().run();
+        // client0 is still missing in target, so the leaf keeps different until client0 synced.
+        assertEquals(4 + leafSize, transportAgent.getMessages());
+        targetProcessor.getKeys().add("client0");
+        newTask().run();
+        transportAgent.reset();
+        newTask().run();
+        assertEquals(1, transportAgent.getMessages());
+    }
+    
+    @Test
+    public void testVerifyAllDataIfDigestUnsupported() {
+        new DistroVerifyExecuteTask(digestUnsupportedAgent, verifyData, verifyTree, TARGET, TYPE).run();
+        verify(digestUnsupportedAgent).syncVerifyDigest(any(DistroData.class), eq(TARGET));
+        verify(digestUnsupportedAgent, times(COUNT)).syncVerifyData(any(DistroData.class), eq(TARGET));
+    }
+    
+    private List<String> getLeafKeys(String key) {
+        int leafCount = verifyTree.getKeys(0, 0).size();
+        for (int i = 0; leafCount > 0; i++) {
+            List<String> result = verifyTree.getKeys(verifyTree.getDepth(), i);
+            if (result.contains(key)) {
+                return result;
+            }
+            leafCount -= result.size();
+        }
+        throw new IllegalStateException(key + " not in verify tree");
+    }
+    
+    private DistroVerifyExecuteTask newTask() {
+        return new DistroVerifyExecuteTask(transportAgent, verifyData, verifyTree, TARGET, TYPE);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.task.verify;
+
+import com.alibaba.nacos.core.distributed.distro.component.DistroDataProcessor;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Data processor stand-in of target server, which holds the keys synced from source server.
+ *
+ * @author nacos
+ */
+public class LocalDistroDataProcessor implements DistroDataProcessor {
+    
+    private final String type;
+    
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+    
+    private long verifiedCount;
+    
+    public LocalDistroDataProcessor(String type) {
+        this.type = type;
+    }
+    
+    @Override
+    public String processType() {
+        return type;
+    }
+    
+    @Override
+    public boolean processData(DistroData distroData) {
+        return keys.add(distroData.getDistroKey().getResourceKey());
+    }
+    
+    @Override
+    public boolean processVerifyData(DistroData distroData, String sourceAddress) {
+        return processVerifyKey(distroData.getDistroKey(), sourceAddress);
+    }
+    
+    @Override
+    public boolean supportVerifyDigest() {
+        return true;
+    }
+    
+    @Override
+    public boolean processVerifyKey(DistroKey distroKey, String sourceAddress) {
+        verifiedCount++;
+        return keys.contains(distroKey.getResourceKey());
+    }
+    
+    @Override
+    public boolean processSnapshot(DistroData distroData) {
+        return true;
+    }
+    
+    public Set<String> getKeys() {
+        return keys;
+    }
+    
+    public long getVerifiedCount() {
+        return verifiedCount;
+    }
+}
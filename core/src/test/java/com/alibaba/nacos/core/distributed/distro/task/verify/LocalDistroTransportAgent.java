@@ -0,0 +1,106 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.task.verify;
+
+import com.alibaba.nacos.core.distributed.distro.DistroProtocol;
+import com.alibaba.nacos.core.distributed.distro.component.DistroCallback;
+import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+
+/**
+ * Transport agent stand-in which delivers data to the distro protocol of target server in the same process, and
+ * counts the sent messages and bytes.
+ *
+ * @author nacos
+ */
+public class LocalDistroTransportAgent implements DistroTransportAgent {
+    
+    private final DistroProtocol targetProtocol;
+    
+    private final String sourceAddress;
+    
+    private long messages;
+    
+    private long bytes;
+    
+    public LocalDistroTransportAgent(DistroProtocol targetProtocol, String sourceAddress) {
+        this.targetProtocol = targetProtocol;
+        this.sourceAddress = sourceAddress;
+    }
+    
+    @Override
+    public boolean supportCallbackTransport() {
+        return false;
+    }
+    
+    @Override
+    public boolean syncData(DistroData data, String targetServer) {
+        record(data);
+        return targetProtocol.onReceive(data);
+    }
+    
+    @Override
+    public void syncData(DistroData data, String targetServer, DistroCallback callback) {
+        throw new UnsupportedOperationException();
+    }
+    
+    @Override
+    public boolean syncVerifyData(DistroData verifyData, String targetServer) {
+        record(verifyData);
+        return targetProtocol.onVerify(verifyData, sourceAddress);
+    }
+    
+    @Override
+    public void syncVerifyData(DistroData verifyData, String targetServer, DistroCallback callback) {
+        throw new UnsupportedOperationException();
+    }
+    
+    @Override
+    public DistroData syncVerifyDigest(DistroData digest, String targetServer) {
+        record(digest);
+        return targetProtocol.onVerifyDigest(digest, sourceAddress);
+    }
+    
+    @Override
+    public DistroData getData(DistroKey key, String targetServer) {
+        throw new UnsupportedOperationException();
+    }
+    
+    @Override
+    public DistroData getDatumSnapshot(String targetServer) {
+        throw new UnsupportedOperationException();
+    }
+    
+    private void record(DistroData data) {
+        messages++;
+        bytes += null == data.getContent() ? 0 : data.getContent().length;
+    }
+    
+    public long getMessages() {
+        return messages;
+    }
+    
+    public long getBytes() {
+        return bytes;
+    }
+    
+    public void reset() {
+        messages = 0;
+        bytes = 0;
+    }
+}
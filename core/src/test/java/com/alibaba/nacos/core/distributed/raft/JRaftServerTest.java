@@ -17,6 +17,7 @@
 package com.alibaba.nacos.core.distributed.raft;
 
 import com.alibaba.nacos.consistency.RequestProcessor;
+import com.alibaba.nacos.consistency.cp.ReadConsistency;
 import com.alibaba.nacos.consistency.cp.RequestProcessor4CP;
 import com.alibaba.nacos.consistency.entity.ReadRequest;
 import com.alibaba.nacos.consistency.entity.Response;
@@ -25,6 +26,7 @@ import com.alibaba.nacos.core.distributed.raft.utils.FailoverClosure;
 import com.alipay.sofa.jraft.CliService;
 import com.alipay.sofa.jraft.Node;
 import com.alipay.sofa.jraft.RaftGroupService;
+import com.alipay.sofa.jraft.closure.ReadIndexClosure;
 import com.alipay.sofa.jraft.core.NodeImpl;
 import com.alipay.sofa.jraft.core.State;
 import com.alipay.sofa.jraft.error.RemotingException;
@@ -72,6 +74,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -270,6 +273,36 @@ public class JRaftServerTest {
         verify(cliClientServiceMock).getRpcClient();
     }
     
+    @Test
+    public void testGetWithReadConsistency() throws Exception {
+        Response response = Response.newBuilder().setSuccess(true).build();
+        when(requestProcessor.onRequest(any(ReadRequest.class))).thenReturn(response);
+        when(node.isLeader()).thenReturn(false, true);
+        doAnswer(invocation -> {
+            ((ReadIndexClosure) invocation.getArgument(1)).run(Status.OK(), 1L, null);
+            return null;
+        }).when(node).readIndex(any(), any(ReadIndexClosure.class));
+        
+        // no read index confirmed yet, follower read should be linearizable.
+        Assert.assertEquals(response, server.get(buildReadRequest(ReadConsistency.FOLLOWER)).get());
+        verify(node, times(1)).readIndex(any(), any(ReadIndexClosure.class));
+        Assert.assertEquals(response, server.get(buildReadRequest(ReadConsistency.FOLLOWER)).get());
+        verify(node, times(1)).readIndex(any(), any(ReadIndexClosure.class));
+        Assert.assertEquals(response, server.get(buildReadRequest(ReadConsistency.LINEARIZABLE)).get());
+        verify(node, times(2)).readIndex(any(), any(ReadIndexClosure.class));
+        // not leader, lease read should be linearizable.
+        Assert.assertEquals(response, server.get(buildReadRequest(ReadConsistency.LEADER_LEASE)).get());
+        verify(node, times(3)).readIndex(any(), any(ReadIndexClosure.class));
+        Assert.assertEquals(response, server.get(buildReadRequest(ReadConsistency.LEADER_LEASE)).get());
+        verify(node, times(3)).readIndex(any(), any(ReadIndexClosure.class));
+        verify(requestProcessor, times(5)).onRequest(any(ReadRequest.class));
+    }
+    
+    private ReadRequest buildReadRequest(ReadConsistency consistency) {
+        return ReadRequest.newBuilder().setGroup("test_nacos")
+                .putExtendInfo(ReadConsistency.EXTEND_INFO_KEY, consistency.name()).build();
+    }
+    
     @Test
     public void testRegisterSelfToCluster() {
         PeerId selfPeerId = new PeerId("4.4.4.4", 8080);
@@ -0,0 +1,126 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote.control;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark of {@link TpsMonitorPoint#applyTps(String, List)} by 32 threads, with a point rule and client ip rules of
+ * fuzzy and proto model, as the requests of different clients pass through {@link TpsControlRequestFilter}.
+ *
+ * <p>Run {@link #main(String[])} in test classpath, it is not a unit test and will not be executed by surefire.
+ *
+ * @author nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(1)
+public class TpsMonitorPointBenchmark {
+    
+    private static final int CLIENT_COUNT = 256;
+    
+    private static final long MAX_COUNT = Long.MAX_VALUE;
+    
+    private final AtomicInteger clientIndex = new AtomicInteger();
+    
+    private TpsMonitorPoint point;
+    
+    /**
+     * Prepare the point with rules which never intercept, so that all requests are counted.
+     */
+    @Setup
+    public void setUp() {
+        point = new TpsMonitorPoint("benchmark");
+        TpsControlRule rule = new TpsControlRule();
+        rule.setPointName("benchmark");
+        rule.setPointRule(new TpsControlRule.Rule(MAX_COUNT, TimeUnit.SECONDS, TpsControlRule.Rule.MODEL_FUZZY,
+                MonitorType.INTERCEPT.type));
+        Map<String, TpsControlRule.Rule> monitorKeyRule = new HashMap<>(4);
+        monitorKeyRule.put("clientIp:10.0.*", new TpsControlRule.Rule(MAX_COUNT, TimeUnit.SECONDS,
+                TpsControlRule.Rule.MODEL_FUZZY, MonitorType.INTERCEPT.type));
+        monitorKeyRule.put("clientIp:*", new TpsControlRule.Rule(MAX_COUNT, TimeUnit.SECONDS,
+                TpsControlRule.Rule.MODEL_PROTO, MonitorType.INTERCEPT.type));
+        monitorKeyRule.put("clientIp:10.1.*", new TpsControlRule.Rule(MAX_COUNT, TimeUnit.MINUTES,
+                TpsControlRule.Rule.MODEL_FUZZY, MonitorType.MONITOR.type));
+        rule.setMonitorKeyRule(monitorKeyRule);
+        point.applyRule(rule);
+    }
+    
+    /**
+     * One request of a client.
+     *
+     * @param client monitor keys of the client
+     * @return whether passed
+     */
+    @Benchmark
+    public boolean applyTps(Client client) {
+        return point.applyTps(client.connectionId, client.monitorKeys);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(TpsMonitorPointBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+    
+    /**
+     * Client of each benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Client {
+        
+        private String connectionId;
+        
+        private List<MonitorKey> monitorKeys;
+        
+        /**
+         * Assign a client ip to the thread.
+         *
+         * @param benchmark benchmark state
+         */
+        @Setup
+        public void setUp(TpsMonitorPointBenchmark benchmark) {
+            int index = benchmark.clientIndex.getAndIncrement() % CLIENT_COUNT;
+            connectionId = "connection-" + index;
+            monitorKeys = Collections.singletonList(new ClientIpMonitorKey("10." + (index & 1) + ".0." + index));
+        }
+    }
+}
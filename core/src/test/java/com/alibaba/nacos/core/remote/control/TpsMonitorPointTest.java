@@ -19,6 +19,9 @@ package com.alibaba.nacos.core.remote.control;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
 /**
  * {@link TpsMonitorPoint} unit tests.
  *
@@ -39,4 +42,71 @@ public class TpsMonitorPointTest {
     
         TpsMonitorPoint.getTrimMillsOfHour(current);
     }
+    
+    @Test
+    public void testRuleChangeInvalidatesMatchedRules() {
+        TpsMonitorPoint point = new TpsMonitorPoint("test");
+        TpsControlRule rule = new TpsControlRule();
+        rule.getMonitorKeyRule().put("clientIp:127.0.0.1", interceptAllRule());
+        point.applyRule(rule);
+        Assert.assertFalse(applyTps(point, "127.0.0.1"));
+        Assert.assertTrue(applyTps(point, "127.0.0.2"));
+        
+        // 127.0.0.2 matched no rule before, the new rule should be matched.
+        TpsControlRule newRule = new TpsControlRule();
+        newRule.getMonitorKeyRule().put("clientIp:127.0.0.*", interceptAllRule());
+        point.applyRule(newRule);
+        Assert.assertFalse(applyTps(point, "127.0.0.1"));
+        Assert.assertFalse(applyTps(point, "127.0.0.2"));
+        
+        point.applyRule(new TpsControlRule());
+        Assert.assertTrue(applyTps(point, "127.0.0.1"));
+        Assert.assertTrue(applyTps(point, "127.0.0.2"));
+    }
+    
+    @Test
+    public void testModifyMonitorKeysRecorderInvalidatesMatchedRules() {
+        TpsMonitorPoint point = new TpsMonitorPoint("test");
+        Assert.assertTrue(applyTps(point, "127.0.0.3"));
+        
+        TpsRecorder recorder = new TpsRecorder(System.currentTimeMillis(), TimeUnit.SECONDS,
+                TpsControlRule.Rule.MODEL_FUZZY, TpsMonitorPoint.DEFAULT_RECORD_SIZE);
+        recorder.setMaxCount(0);
+        recorder.setMonitorType(MonitorType.INTERCEPT.type);
+        point.monitorKeysRecorder.put("clientIp:127.0.0.3", recorder);
+        Assert.assertFalse(applyTps(point, "127.0.0.3"));
+        
+        point.monitorKeysRecorder.remove("clientIp:127.0.0.3");
+        Assert.assertTrue(applyTps(point, "127.0.0.3"));
+    }
+    
+    @Test
+    public void testReplaceMonitorKeyWithSameSizeInvalidatesMatchedRules() {
+        TpsMonitorPoint point = new TpsMonitorPoint("test");
+        point.monitorKeysRecorder.put("clientIp:127.0.0.3", interceptRecorder());
+        Assert.assertFalse(applyTps(point, "127.0.0.3"));
+        Assert.assertTrue(applyTps(point, "127.0.0.4"));
+        
+        point.monitorKeysRecorder.remove("clientIp:127.0.0.3");
+        point.monitorKeysRecorder.put("clientIp:127.0.0.4", interceptRecorder());
+        Assert.assertTrue(applyTps(point, "127.0.0.3"));
+        Assert.assertFalse(applyTps(point, "127.0.0.4"));
+    }
+    
+    private TpsRecorder interceptRecorder() {
+        TpsRecorder recorder = new TpsRecorder(System.currentTimeMillis(), TimeUnit.SECONDS,
+                TpsControlRule.Rule.MODEL_FUZZY, TpsMonitorPoint.DEFAULT_RECORD_SIZE);
+        recorder.setMaxCount(0);
+        recorder.setMonitorType(MonitorType.INTERCEPT.type);
+        return recorder;
+    }
+    
+    private TpsControlRule.Rule interceptAllRule() {
+        return new TpsControlRule.Rule(0, TimeUnit.SECONDS, TpsControlRule.Rule.MODEL_FUZZY,
+                MonitorType.INTERCEPT.type);
+    }
+    
+    private boolean applyTps(TpsMonitorPoint point, String clientIp) {
+        return point.applyTps("connectionId", Collections.singletonList(new ClientIpMonitorKey(clientIp)));
+    }
 }
@@ -20,6 +20,9 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -60,4 +63,54 @@ public class TpsRecorderTest {
         
         Assert.assertFalse(tpsRecorder.isInterceptMode());
     }
+    
+    @Test
+    public void testConcurrentIncreaseAcrossRollover() throws Exception {
+        // only 2 slots, every window replaces the slot of the window before the last one.
+        final TpsRecorder recorder = new TpsRecorder(start, TimeUnit.SECONDS, TpsControlRule.Rule.MODEL_FUZZY, 1);
+        final int threadCount = 8;
+        final int increaseTimes = 1000;
+        final int windowCount = 10;
+        final CyclicBarrier barrier = new CyclicBarrier(threadCount);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int window = 0; window < windowCount; window++) {
+                        long timeStamp = start + TimeUnit.SECONDS.toMillis(window);
+                        barrier.await();
+                        for (int j = 0; j < increaseTimes; j++) {
+                            recorder.createSlotIfAbsent(timeStamp + j % 1000).getCountHolder("test").count.increment();
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // the last two windows are still in the ring and none of the increases is lost or carried over.
+        for (int window = windowCount - 2; window < windowCount; window++) {
+            TpsRecorder.TpsSlot slot = recorder.getPoint(start + TimeUnit.SECONDS.toMillis(window));
+            Assert.assertNotNull(slot);
+            Assert.assertEquals(threadCount * increaseTimes, slot.getCountHolder("test").count.sum());
+        }
+        Assert.assertNull(recorder.getPoint(start + TimeUnit.SECONDS.toMillis(windowCount - 3)));
+    }
+    
+    @Test
+    public void testLateCallerNotResetNewerSlot() {
+        TpsRecorder recorder = new TpsRecorder(start, TimeUnit.SECONDS, TpsControlRule.Rule.MODEL_FUZZY, 1);
+        long newer = start + TimeUnit.SECONDS.toMillis(3);
+        recorder.createSlotIfAbsent(newer).getCountHolder("test").count.increment();
+        
+        // same slot index of an older window.
+        TpsRecorder.TpsSlot slot = recorder.createSlotIfAbsent(start + TimeUnit.SECONDS.toMillis(1));
+        Assert.assertEquals(newer, slot.time);
+        Assert.assertEquals(1, recorder.getPoint(newer).getCountHolder("test").count.sum());
+    }
 }
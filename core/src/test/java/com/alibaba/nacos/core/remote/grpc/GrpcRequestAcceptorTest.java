@@ -30,6 +30,8 @@ import com.alibaba.nacos.api.remote.response.HealthCheckResponse;
 import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.api.remote.response.ServerCheckResponse;
 import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import com.alibaba.nacos.common.remote.codec.PayloadCodecFactory;
+import com.alibaba.nacos.common.remote.codec.SmilePayloadCodec;
 import com.alibaba.nacos.core.remote.Connection;
 import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.ConnectionMeta;
@@ -184,6 +186,39 @@ public class GrpcRequestAcceptorTest {
         ApplicationUtils.setStarted(false);
     }
     
+    @Test
+    public void testServerCheckRequestWithSmileCodec() {
+        ApplicationUtils.setStarted(true);
+        ServerCheckRequest serverCheckRequest = new ServerCheckRequest();
+        serverCheckRequest.setRequestId(requestId);
+        Payload request = GrpcUtils.convert(serverCheckRequest, PayloadCodecFactory.getCodec(SmilePayloadCodec.NAME));
+        
+        StreamObserver<Payload> streamObserver = new StreamObserver<Payload>() {
+            @Override
+            public void onNext(Payload payload) {
+                System.out.println("Receive data from server: " + payload);
+                Assert.assertEquals(SmilePayloadCodec.NAME, payload.getBody().getTypeUrl());
+                Object res = GrpcUtils.parse(payload);
+                Assert.assertTrue(res instanceof ServerCheckResponse);
+                Assert.assertTrue(((ServerCheckResponse) res).getSupportedPayloadCodecs()
+                        .contains(SmilePayloadCodec.NAME));
+            }
+            
+            @Override
+            public void onError(Throwable throwable) {
+                Assert.fail(throwable.getMessage());
+            }
+            
+            @Override
+            public void onCompleted() {
+                System.out.println("complete");
+            }
+        };
+        
+        streamStub.request(request, streamObserver);
+        ApplicationUtils.setStarted(false);
+    }
+    
     @Test
     public void testNoRequestHandler() {
         ApplicationUtils.setStarted(true);
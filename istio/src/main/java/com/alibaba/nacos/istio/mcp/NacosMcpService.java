@@ -23,7 +23,13 @@ import istio.mcp.v1alpha1.Mcp;
 import istio.mcp.v1alpha1.ResourceOuterClass;
 import istio.mcp.v1alpha1.ResourceSourceGrpc;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -36,41 +42,27 @@ import java.util.concurrent.atomic.AtomicInteger;
 @org.springframework.stereotype.Service
 public class NacosMcpService extends ResourceSourceGrpc.ResourceSourceImplBase {
     
+    private static final String NACKED_VERSION = "";
+    
     private final AtomicInteger connectIdGenerator = new AtomicInteger(0);
     
-    private final Map<Integer, StreamObserver<Mcp.Resources>> connnections = new ConcurrentHashMap<>(16);
+    private final Map<Integer, SinkConnection> connnections = new ConcurrentHashMap<>(16);
     
-    private Map<String, ResourceOuterClass.Resource> resourceMapCache;
+    private volatile Map<String, ResourceOuterClass.Resource> resourceMapCache = Collections.emptyMap();
     
     /**
      * Send resources to connections.
      *
+     * <p>Each sink is only sent the resources which versions are different from the sent ones. Incremental sinks
+     * receive the changed and removed resources, other sinks receive all resources when any resource changed.
+     *
      * @param resourceMap all mcp resource
      */
     public void sendResources(Map<String, ResourceOuterClass.Resource> resourceMap) {
         resourceMapCache = resourceMap;
-        Loggers.MAIN.info("send resources for mcp,count : {}", resourceMap.size());
-        Mcp.Resources resources = generateResponse(resourceMap);
-        if (Loggers.MAIN.isDebugEnabled()) {
-            Loggers.MAIN.debug("mcp resources:{}", resources.toString());
-        }
-        for (StreamObserver<Mcp.Resources> observer : connnections.values()) {
-            Loggers.MAIN.info("mcp send to:{}", observer.toString());
-            observer.onNext(resources);
+        for (SinkConnection connection : connnections.values()) {
+            connection.sendResources(resourceMap);
         }
-        
-    }
-    
-    /**
-     * generate response by resource.
-     *
-     * @param resourceMap all mcp resource
-     * @return mcp resources.
-     */
-    private Mcp.Resources generateResponse(Map<String, ResourceOuterClass.Resource> resourceMap) {
-        return Mcp.Resources.newBuilder().addAllResources(resourceMap.values())
-                .setCollection(CollectionTypes.SERVICE_ENTRY).setNonce(String.valueOf(System.currentTimeMillis()))
-                .build();
     }
     
     @Override
@@ -78,7 +70,8 @@ public class NacosMcpService extends ResourceSourceGrpc.ResourceSourceImplBase {
             StreamObserver<Mcp.Resources> responseObserver) {
         
         int id = connectIdGenerator.incrementAndGet();
-        connnections.put(id, responseObserver);
+        SinkConnection sinkConnection = new SinkConnection(responseObserver);
+        connnections.put(id, sinkConnection);
         
         return new StreamObserver<Mcp.RequestResources>() {
             
@@ -93,12 +86,14 @@ public class NacosMcpService extends ResourceSourceGrpc.ResourceSourceImplBase {
                     
                     Loggers.MAIN.error("NACK error code: {}, message: {}", value.getErrorDetail().getCode(),
                             value.getErrorDetail().getMessage());
+                    sinkConnection.nack(value.getResponseNonce());
                     return;
                 }
                 
                 if (StringUtils.isNotBlank(value.getResponseNonce())) {
                     // This is a response:
                     Loggers.MAIN.info("ACK nonce: {}, type: {}", value.getResponseNonce(), value.getCollection());
+                    sinkConnection.ack(value.getResponseNonce());
                     return;
                 }
                 
@@ -110,8 +105,8 @@ public class NacosMcpService extends ResourceSourceGrpc.ResourceSourceImplBase {
                     responseObserver.onNext(resources);
                     return;
                 }
-                Mcp.Resources resources = generateResponse(resourceMapCache);
-                responseObserver.onNext(resources);
+                sinkConnection.subscribe(value.getIncremental(), value.getInitialResourceVersionsMap());
+                sinkConnection.sendResources(resourceMapCache);
             }
             
             @Override
@@ -122,8 +117,119 @@ public class NacosMcpService extends ResourceSourceGrpc.ResourceSourceImplBase {
             
             @Override
             public void onCompleted() {
+                connnections.remove(connectionId);
                 responseObserver.onCompleted();
             }
         };
     }
+    
+    /**
+     * Connection of mcp sink, which tracks the resource versions sent to the sink.
+     */
+    private static class SinkConnection {
+        
+        private final StreamObserver<Mcp.Resources> observer;
+        
+        /**
+         * Versions of resources sent to sink by resource name, {@link #NACKED_VERSION} if rejected by sink.
+         */
+        private final Map<String, String> sentVersions = new HashMap<>(16);
+        
+        /**
+         * Resources sent to sink and waiting for ACK, the key is nonce of response.
+         */
+        private final Map<String, Set<String>> pendingResources = new HashMap<>(4);
+        
+        private boolean subscribed;
+        
+        private boolean incremental;
+        
+        /**
+         * Whether the sink is waiting for a response, even if nothing changed. It is set by subscribing and NACK.
+         */
+        private boolean responseRequired;
+        
+        private long nonceGenerator;
+        
+        SinkConnection(StreamObserver<Mcp.Resources> observer) {
+            this.observer = observer;
+        }
+        
+        synchronized void subscribe(boolean incremental, Map<String, String> initialResourceVersions) {
+            this.subscribed = true;
+            this.incremental = incremental;
+            this.responseRequired = true;
+            sentVersions.clear();
+            pendingResources.clear();
+            if (incremental) {
+                sentVersions.putAll(initialResourceVersions);
+            }
+        }
+        
+        synchronized void ack(String nonce) {
+            pendingResources.remove(nonce);
+        }
+        
+        synchronized void nack(String nonce) {
+            responseRequired = true;
+            Set<String> rejected = pendingResources.remove(nonce);
+            if (null == rejected) {
+                return;
+            }
+            // Mark rejected resources to send them again in next push.
+            for (String name : rejected) {
+                sentVersions.put(name, NACKED_VERSION);
+            }
+        }
+        
+        synchronized void sendResources(Map<String, ResourceOuterClass.Resource> resourceMap) {
+            if (!subscribed) {
+                return;
+            }
+            Map<String, ResourceOuterClass.Resource> current = new HashMap<>(resourceMap.size());
+            List<ResourceOuterClass.Resource> changed = new ArrayList<>();
+            for (ResourceOuterClass.Resource resource : resourceMap.values()) {
+                String name = resource.getMetadata().getName();
+                current.put(name, resource);
+                if (!resource.getMetadata().getVersion().equals(sentVersions.get(name))) {
+                    changed.add(resource);
+                }
+            }
+            List<String> removed = new ArrayList<>();
+            for (String name : sentVersions.keySet()) {
+                if (!current.containsKey(name)) {
+                    removed.add(name);
+                }
+            }
+            if (changed.isEmpty() && removed.isEmpty() && !responseRequired) {
+                return;
+            }
+            responseRequired = false;
+            Mcp.Resources.Builder builder = Mcp.Resources.newBuilder().setCollection(CollectionTypes.SERVICE_ENTRY)
+                    .setNonce(System.currentTimeMillis() + "-" + nonceGenerator++).setIncremental(incremental);
+            Set<String> pending = new HashSet<>();
+            if (incremental) {
+                builder.addAllResources(changed).addAllRemovedResources(removed);
+                for (ResourceOuterClass.Resource resource : changed) {
+                    pending.add(resource.getMetadata().getName());
+                }
+                pending.addAll(removed);
+            } else {
+                builder.addAllResources(current.values());
+                pending.addAll(current.keySet());
+            }
+            sentVersions.clear();
+            for (ResourceOuterClass.Resource resource : current.values()) {
+                sentVersions.put(resource.getMetadata().getName(), resource.getMetadata().getVersion());
+            }
+            Mcp.Resources resources = builder.build();
+            pendingResources.put(resources.getNonce(), pending);
+            Loggers.MAIN.info("mcp send to:{}, incremental:{}, changed:{}, removed:{}", observer, incremental,
+                    changed.size(), removed.size());
+            if (Loggers.MAIN.isDebugEnabled()) {
+                Loggers.MAIN.debug("mcp resources:{}", resources.toString());
+            }
+            observer.onNext(resources);
+        }
+    }
 }
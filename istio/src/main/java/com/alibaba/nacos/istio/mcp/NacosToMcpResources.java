@@ -19,6 +19,12 @@ package com.alibaba.nacos.istio.mcp;
 import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFactory;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
 import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
@@ -26,6 +32,7 @@ import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.Timestamp;
 import istio.mcp.v1alpha1.MetadataOuterClass;
 import istio.mcp.v1alpha1.ResourceOuterClass;
@@ -35,12 +42,15 @@ import istio.networking.v1alpha3.WorkloadEntryOuterClass;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.security.NoSuchAlgorithmException;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Nacos MCP server.
@@ -51,18 +61,24 @@ import java.util.concurrent.ConcurrentHashMap;
  * @since 1.2.1
  */
 @org.springframework.stereotype.Service
-public class NacosToMcpResources {
+public class NacosToMcpResources extends Subscriber<ServiceEvent.ServiceChangedEvent> {
     
     private final Map<String, ResourceOuterClass.Resource> resourceMap = new ConcurrentHashMap<>(16);
     
     private final Map<String, Long> revisionMap = new ConcurrentHashMap<>(16);
     
+    private final Set<Service> changedServices = ConcurrentHashMap.newKeySet();
+    
+    private final AtomicBoolean deltaPushScheduled = new AtomicBoolean(false);
+    
     private static final String SERVICE_NAME_SPLITTER = "nacos";
     
     private static final String MESSAGE_TYPE_URL = "type.googleapis.com/istio.networking.v1alpha3.ServiceEntry";
     
     private static final long MCP_PUSH_PERIOD_MILLISECONDS = 10000L;
     
+    private static final long MCP_DELTA_PUSH_DELAY_MILLISECONDS = 500L;
+    
     private static final String SEPARATOR = ".";
     
     private static final String DEFAULT_SUFFIX = ".DEFAULT-GROUP";
@@ -89,11 +105,56 @@ public class NacosToMcpResources {
     @Autowired
     private NamingMetadataManager namingMetadataManager;
     
+    /**
+     * Start to watch service changes and push them to mcp sinks.
+     */
     public void start() {
+        NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
         GlobalExecutor
                 .scheduleMcpPushTask(new McpPushTask(), MCP_PUSH_PERIOD_MILLISECONDS * 2, MCP_PUSH_PERIOD_MILLISECONDS);
     }
     
+    @Override
+    public void onEvent(ServiceEvent.ServiceChangedEvent event) {
+        changedServices.add(event.getService());
+        if (deltaPushScheduled.compareAndSet(false, true)) {
+            GlobalExecutor.scheduleMcpDeltaPushTask(new McpDeltaPushTask(), MCP_DELTA_PUSH_DELAY_MILLISECONDS);
+        }
+    }
+    
+    @Override
+    public Class<? extends Event> subscribeType() {
+        return ServiceEvent.ServiceChangedEvent.class;
+    }
+    
+    /**
+     * Push the resources of changed services, changes in the push delay window are merged into one push.
+     */
+    private class McpDeltaPushTask implements Runnable {
+        
+        @Override
+        public void run() {
+            deltaPushScheduled.set(false);
+            boolean changed = false;
+            synchronized (resourceMap) {
+                Iterator<Service> iterator = changedServices.iterator();
+                while (iterator.hasNext()) {
+                    Service service = iterator.next();
+                    iterator.remove();
+                    changed |= refreshResource(service);
+                }
+            }
+            if (changed) {
+                sendResources();
+            }
+        }
+    }
+    
+    /**
+     * Reconcile all services periodically, to find out services missed by events, such as removed services.
+     *
+     * <p>Sinks which have not applied the latest resources, such as NACK ones, are also retried by this task.
+     */
     private class McpPushTask implements Runnable {
         
         @Override
@@ -103,57 +164,68 @@ public class NacosToMcpResources {
             
             boolean changed = false;
             
-            // Query all services to see if any of them have changes:
-            Set<String> namespaces = serviceManager.getAllNamespaces();
-            Set<String> allServices = new HashSet<>();
-            for (String namespace : namespaces) {
-                
-                Set<Service> services = serviceManager.getSingletons(namespace);
-                
-                if (services.isEmpty()) {
-                    continue;
+            synchronized (resourceMap) {
+                Set<String> allServices = new HashSet<>();
+                for (String namespace : serviceManager.getAllNamespaces()) {
+                    for (Service service : serviceManager.getSingletons(namespace)) {
+                        String convertedName = convertName(service);
+                        allServices.add(convertedName);
+                        // Service not changed:
+                        if (resourceMap.containsKey(convertedName) && revisionMap.get(convertedName)
+                                .equals(service.getRevision())) {
+                            continue;
+                        }
+                        changed |= refreshResource(service);
+                    }
                 }
                 
-                for (Service service : services) {
-                    String convertedName = convertName(service);
-                    allServices.add(convertedName);
-                    // Service not changed:
-                    if (revisionMap.containsKey(convertedName) && revisionMap.get(convertedName)
-                            .equals(service.getRevision())) {
-                        continue;
-                    }
-                    // Update the resource:
-                    ServiceInfo serviceInfo = serviceStorage.getData(service);
-                    changed = true;
-                    if (!serviceInfo.validate()) {
-                        resourceMap.remove(convertedName);
-                        revisionMap.remove(convertedName);
-                        continue;
+                Iterator<String> iterator = resourceMap.keySet().iterator();
+                while (iterator.hasNext()) {
+                    String key = iterator.next();
+                    if (!allServices.contains(key)) {
+                        changed = true;
+                        iterator.remove();
+                        revisionMap.remove(key);
                     }
-                    
-                    resourceMap.put(convertedName, convertService(service));
-                    revisionMap.put(convertedName, service.getRevision());
                 }
             }
             
-            for (String key : resourceMap.keySet()) {
-                if (!allServices.contains(key)) {
-                    changed = true;
-                    resourceMap.remove(key);
-                    revisionMap.remove(key);
-                }
-            }
-            if (!changed) {
-                // If no service changed, just return:
-                return;
+            if (changed) {
+                nacosMcpOverXdsService.sendResources(resourceMap);
             }
-            
-            nacosMcpOverXdsService.sendResources(resourceMap);
+            // Only the resources not applied by sinks will be sent, so idle mesh has no push traffic.
             nacosMcpService.sendResources(resourceMap);
-            
         }
     }
     
+    /**
+     * Rebuild the resource of service, and the resource is replaced only when its content changed.
+     *
+     * @param service service
+     * @return {@code true} if the resource of service changed
+     */
+    private boolean refreshResource(Service service) {
+        String convertedName = convertName(service);
+        ServiceInfo serviceInfo = serviceStorage.getData(service);
+        if (!serviceInfo.validate()) {
+            revisionMap.remove(convertedName);
+            return null != resourceMap.remove(convertedName);
+        }
+        revisionMap.put(convertedName, service.getRevision());
+        ResourceOuterClass.Resource resource = convertService(service, serviceInfo);
+        ResourceOuterClass.Resource current = resourceMap.get(convertedName);
+        if (null != current && current.getMetadata().getVersion().equals(resource.getMetadata().getVersion())) {
+            return false;
+        }
+        resourceMap.put(convertedName, resource);
+        return true;
+    }
+    
+    private void sendResources() {
+        nacosMcpOverXdsService.sendResources(resourceMap);
+        nacosMcpService.sendResources(resourceMap);
+    }
+    
     private String convertName(Service service) {
         if (!Constants.DEFAULT_GROUP.equals(service.getGroup())) {
             return service.getName() + SEPARATOR + service.getGroup() + SEPARATOR + service.getNamespace();
@@ -162,15 +234,13 @@ public class NacosToMcpResources {
         return service.getName() + DEFAULT_SUFFIX + SEPARATOR + service.getNamespace();
     }
     
-    private ResourceOuterClass.Resource convertService(Service service) {
+    private ResourceOuterClass.Resource convertService(Service service, ServiceInfo serviceInfo) {
         String serviceName = convertName(service);
         ServiceEntryOuterClass.ServiceEntry.Builder serviceEntryBuilder = ServiceEntryOuterClass.ServiceEntry
                 .newBuilder().setResolution(ServiceEntryOuterClass.ServiceEntry.Resolution.STATIC)
                 .setLocation(ServiceEntryOuterClass.ServiceEntry.Location.MESH_INTERNAL)
                 .addHosts(serviceName + SEPARATOR + SERVICE_NAME_SPLITTER);
         
-        ServiceInfo serviceInfo = serviceStorage.getData(service);
-        
         List<Instance> hosts = serviceInfo.getHosts();
         
         int port = 0;
@@ -201,12 +271,23 @@ public class NacosToMcpResources {
         ServiceMetadata serviceMetadataGetter = serviceMetadata.orElseGet(ServiceMetadata::new);
         
         Any any = Any.newBuilder().setValue(serviceEntry.toByteString()).setTypeUrl(MESSAGE_TYPE_URL).build();
-        MetadataOuterClass.Metadata metadata = MetadataOuterClass.Metadata.newBuilder()
+        MetadataOuterClass.Metadata.Builder metadataBuilder = MetadataOuterClass.Metadata.newBuilder()
                 .setName(SERVICE_NAME_SPLITTER + "/" + serviceName)
-                .putAllAnnotations(serviceMetadataGetter.getExtendData()).putAnnotations(VIRTUAL_ANNOTATION, DEFAULT_VIRTUAL)
+                .putAllAnnotations(serviceMetadataGetter.getExtendData()).putAnnotations(VIRTUAL_ANNOTATION, DEFAULT_VIRTUAL);
+        // The version of resource is the digest of its content, so the sinks could find out the changed resources.
+        String version = digest(any.toByteString().concat(metadataBuilder.build().toByteString()));
+        MetadataOuterClass.Metadata metadata = metadataBuilder
                 .setCreateTime(Timestamp.newBuilder().setSeconds(System.currentTimeMillis() / 1000).build())
-                .setVersion(serviceInfo.getChecksum()).build();
+                .setVersion(version).build();
         
         return ResourceOuterClass.Resource.newBuilder().setBody(any).setMetadata(metadata).build();
     }
+    
+    private String digest(ByteString content) {
+        try {
+            return MD5Utils.md5Hex(content.toByteArray());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.istio.mcp;
+
+import com.google.rpc.Status;
+import io.grpc.stub.StreamObserver;
+import istio.mcp.v1alpha1.Mcp;
+import istio.mcp.v1alpha1.MetadataOuterClass;
+import istio.mcp.v1alpha1.ResourceOuterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * {@link NacosMcpService} unit test.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class NacosMcpServiceTest {
+    
+    @Mock
+    private StreamObserver<Mcp.Resources> responseObserver;
+    
+    private NacosMcpService nacosMcpService;
+    
+    private StreamObserver<Mcp.RequestResources> requestObserver;
+    
+    @Before
+    public void setUp() {
+        nacosMcpService = new NacosMcpService();
+        nacosMcpService.sendResources(resources("a", "v1", "b", "v1"));
+        requestObserver = nacosMcpService.establishResourceStream(responseObserver);
+    }
+    
+    @Test
+    public void testSubscribeSendAllResources() {
+        subscribe(true, Collections.emptyMap());
+        Mcp.Resources sent = lastSent(1);
+        assertEquals(CollectionTypes.SERVICE_ENTRY, sent.getCollection());
+        assertTrue(sent.getIncremental());
+        assertEquals(names("a", "b"), resourceNames(sent));
+    }
+    
+    @Test
+    public void testSubscribeWithInitialVersions() {
+        Map<String, String> initialVersions = new HashMap<>(2);
+        initialVersions.put("a", "v1");
+        initialVersions.put("c", "v1");
+        subscribe(true, initialVersions);
+        Mcp.Resources sent = lastSent(1);
+        assertEquals(names("b"), resourceNames(sent));
+        assertEquals(Collections.singletonList("c"), sent.getRemovedResourcesList());
+    }
+    
+    @Test
+    public void testAckedResourcesNotSentAgain() {
+        subscribe(true, Collections.emptyMap());
+        ack(lastSent(1).getNonce());
+        
+        nacosMcpService.sendResources(resources("a", "v1", "b", "v1"));
+        verify(responseObserver, times(1)).onNext(any());
+    }
+    
+    @Test
+    public void testDeltaAfterAck() {
+        subscribe(true, Collections.emptyMap());
+        ack(lastSent(1).getNonce());
+        
+        nacosMcpService.sendResources(resources("a", "v2", "b", "v1"));
+        Mcp.Resources sent = lastSent(2);
+        assertTrue(sent.getIncremental());
+        assertEquals(names("a"), resourceNames(sent));
+        assertEquals("v2", sent.getResources(0).getMetadata().getVersion());
+        assertTrue(sent.getRemovedResourcesList().isEmpty());
+        ack(sent.getNonce());
+        
+        nacosMcpService.sendResources(resources("a", "v2"));
+        sent = lastSent(3);
+        assertTrue(sent.getResourcesList().isEmpty());
+        assertEquals(Collections.singletonList("b"), sent.getRemovedResourcesList());
+    }
+    
+    @Test
+    public void testNackResendRejectedResources() {
+        subscribe(true, Collections.emptyMap());
+        Mcp.Resources rejected = lastSent(1);
+        nack(rejected.getNonce());
+        
+        // Nothing changed, but the rejected resources should be sent again.
+        nacosMcpService.sendResources(resources("a", "v1", "b", "v1"));
+        Mcp.Resources sent = lastSent(2);
+        assertEquals(names("a", "b"), resourceNames(sent));
+        assertNotEquals(rejected.getNonce(), sent.getNonce());
+    }
+    
+    @Test
+    public void testNackOnlyResendResourcesOfNackedResponse() {
+        subscribe(true, Collections.emptyMap());
+        ack(lastSent(1).getNonce());
+        nacosMcpService.sendResources(resources("a", "v2", "b", "v1"));
+        nack(lastSent(2).getNonce());
+        
+        nacosMcpService.sendResources(resources("a", "v2", "b", "v1"));
+        assertEquals(names("a"), resourceNames(lastSent(3)));
+    }
+    
+    @Test
+    public void testNotIncrementalSendAllResourcesWhenChanged() {
+        subscribe(false, Collections.emptyMap());
+        ack(lastSent(1).getNonce());
+        
+        nacosMcpService.sendResources(resources("a", "v2", "b", "v1"));
+        Mcp.Resources sent = lastSent(2);
+        assertFalse(sent.getIncremental());
+        assertEquals(names("a", "b"), resourceNames(sent));
+        assertTrue(sent.getRemovedResourcesList().isEmpty());
+    }
+    
+    @Test
+    public void testSubscribeRespondedWithoutResources() {
+        nacosMcpService.sendResources(Collections.emptyMap());
+        subscribe(false, Collections.emptyMap());
+        Mcp.Resources sent = lastSent(1);
+        assertFalse(sent.getIncremental());
+        assertTrue(sent.getResourcesList().isEmpty());
+    }
+    
+    @Test
+    public void testSubscribeRespondedWhenNothingChanged() {
+        Map<String, String> initialVersions = new HashMap<>(2);
+        initialVersions.put("a", "v1");
+        initialVersions.put("b", "v1");
+        subscribe(true, initialVersions);
+        Mcp.Resources sent = lastSent(1);
+        assertTrue(sent.getResourcesList().isEmpty());
+        assertTrue(sent.getRemovedResourcesList().isEmpty());
+        ack(sent.getNonce());
+        
+        // Only the later push without change is skipped.
+        nacosMcpService.sendResources(resources("a", "v1", "b", "v1"));
+        verify(responseObserver, times(1)).onNext(any());
+    }
+    
+    @Test
+    public void testNackRespondedWhenNothingChanged() {
+        nacosMcpService.sendResources(Collections.emptyMap());
+        subscribe(false, Collections.emptyMap());
+        nack(lastSent(1).getNonce());
+        
+        nacosMcpService.sendResources(Collections.emptyMap());
+        lastSent(2);
+        nacosMcpService.sendResources(Collections.emptyMap());
+        lastSent(2);
+    }
+    
+    private void subscribe(boolean incremental, Map<String, String> initialVersions) {
+        requestObserver.onNext(Mcp.RequestResources.newBuilder().setCollection(CollectionTypes.SERVICE_ENTRY)
+                .setIncremental(incremental).putAllInitialResourceVersions(initialVersions).build());
+    }
+    
+    private void ack(String nonce) {
+        requestObserver.onNext(Mcp.RequestResources.newBuilder().setCollection(CollectionTypes.SERVICE_ENTRY)
+                .setResponseNonce(nonce).build());
+    }
+    
+    private void nack(String nonce) {
+        requestObserver.onNext(Mcp.RequestResources.newBuilder().setCollection(CollectionTypes.SERVICE_ENTRY)
+                .setResponseNonce(nonce).setErrorDetail(Status.newBuilder().setCode(3).setMessage("invalid"))
+                .build());
+    }
+    
+    private Mcp.Resources lastSent(int expectedTimes) {
+        ArgumentCaptor<Mcp.Resources> captor = ArgumentCaptor.forClass(Mcp.Resources.class);
+        verify(responseObserver, times(expectedTimes)).onNext(captor.capture());
+        return captor.getValue();
+    }
+    
+    private Map<String, ResourceOuterClass.Resource> resources(String... nameAndVersions) {
+        Map<String, ResourceOuterClass.Resource> result = new HashMap<>(nameAndVersions.length);
+        for (int i = 0; i < nameAndVersions.length; i += 2) {
+            MetadataOuterClass.Metadata metadata = MetadataOuterClass.Metadata.newBuilder()
+                    .setName(nameAndVersions[i]).setVersion(nameAndVersions[i + 1]).build();
+            result.put(nameAndVersions[i], ResourceOuterClass.Resource.newBuilder().setMetadata(metadata).build());
+        }
+        return result;
+    }
+    
+    private Set<String> resourceNames(Mcp.Resources resources) {
+        Set<String> result = new HashSet<>();
+        for (ResourceOuterClass.Resource resource : resources.getResourcesList()) {
+            result.add(resource.getMetadata().getName());
+        }
+        return result;
+    }
+    
+    private Set<String> names(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+}
@@ -198,6 +198,20 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
         return false;
     }
     
+    @Override
+    public boolean supportVerifyDigest() {
+        return true;
+    }
+    
+    @Override
+    public boolean processVerifyKey(DistroKey distroKey, String sourceAddress) {
+        if (clientManager.verifyClient(distroKey.getResourceKey())) {
+            return true;
+        }
+        Loggers.DISTRO.info("client {} is invalid, verify digest from {}", distroKey.getResourceKey(), sourceAddress);
+        return false;
+    }
+    
     @Override
     public boolean processSnapshot(DistroData distroData) {
         ClientSyncDatumSnapshot snapshot = ApplicationUtils.getBean(Serializer.class)
@@ -27,18 +27,23 @@ import com.alibaba.nacos.core.cluster.NodeState;
 import com.alibaba.nacos.core.cluster.ServerMemberManager;
 import com.alibaba.nacos.core.cluster.remote.ClusterRpcClientProxy;
 import com.alibaba.nacos.core.distributed.distro.DistroConfig;
+import com.alibaba.nacos.core.distributed.distro.component.DistroBatchCallback;
 import com.alibaba.nacos.core.distributed.distro.component.DistroCallback;
 import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
 import com.alibaba.nacos.core.distributed.distro.exception.DistroException;
+import com.alibaba.nacos.naming.cluster.remote.request.DistroBatchDataRequest;
 import com.alibaba.nacos.naming.cluster.remote.request.DistroDataRequest;
+import com.alibaba.nacos.naming.cluster.remote.response.DistroBatchDataResponse;
 import com.alibaba.nacos.naming.cluster.remote.response.DistroDataResponse;
 import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.monitor.NamingTpsMonitor;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Executor;
 
 /**
@@ -98,6 +103,26 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
         }
     }
     
+    @Override
+    public boolean supportBatchTransport() {
+        return true;
+    }
+    
+    @Override
+    public void syncBatchData(List<DistroData> data, String targetServer, DistroBatchCallback callback) {
+        if (isNoExistTarget(targetServer)) {
+            callback.onResult(Collections.nCopies(data.size(), Boolean.TRUE));
+            return;
+        }
+        DistroBatchDataRequest request = new DistroBatchDataRequest(data);
+        Member member = memberManager.find(targetServer);
+        try {
+            clusterRpcClientProxy.asyncRequest(member, request, new DistroBatchRpcCallbackWrapper(callback, member));
+        } catch (NacosException nacosException) {
+            callback.onFailed(nacosException);
+        }
+    }
+    
     @Override
     public boolean syncVerifyData(DistroData verifyData, String targetServer) {
         if (isNoExistTarget(targetServer)) {
@@ -137,6 +162,29 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
         }
     }
     
+    @Override
+    public DistroData syncVerifyDigest(DistroData digest, String targetServer) {
+        if (isNoExistTarget(targetServer)) {
+            return null;
+        }
+        DistroDataRequest request = new DistroDataRequest(digest, DataOperation.DIGEST);
+        Member member = memberManager.find(targetServer);
+        if (checkTargetServerStatusUnhealthy(member)) {
+            Loggers.DISTRO.warn("[DISTRO] Cancel distro verify digest caused by target server {} unhealthy",
+                    targetServer);
+            return null;
+        }
+        try {
+            Response response = clusterRpcClientProxy.sendRequest(member, request);
+            if (checkResponse(response)) {
+                return ((DistroDataResponse) response).getDistroData();
+            }
+        } catch (NacosException e) {
+            Loggers.DISTRO.error("[DISTRO-FAILED] Verify distro digest failed! ", e);
+        }
+        return null;
+    }
+    
     @Override
     public DistroData getData(DistroKey key, String targetServer) {
         Member member = memberManager.find(targetServer);
@@ -237,6 +285,51 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
         }
     }
     
+    private class DistroBatchRpcCallbackWrapper implements RequestCallBack<Response> {
+        
+        private final DistroBatchCallback distroCallback;
+        
+        private final Member member;
+        
+        private DistroBatchRpcCallbackWrapper(DistroBatchCallback distroCallback, Member member) {
+            this.distroCallback = distroCallback;
+            this.member = member;
+        }
+        
+        @Override
+        public Executor getExecutor() {
+            return GlobalExecutor.getCallbackExecutor();
+        }
+        
+        @Override
+        public long getTimeout() {
+            return DistroConfig.getInstance().getSyncTimeoutMillis();
+        }
+        
+        @Override
+        public void onResponse(Response response) {
+            if (!checkResponse(response)) {
+                NamingTpsMonitor.distroSyncFail(member.getAddress(), member.getIp());
+                distroCallback.onFailed(null);
+                return;
+            }
+            List<Boolean> results = ((DistroBatchDataResponse) response).getResults();
+            for (Boolean each : results) {
+                if (Boolean.TRUE.equals(each)) {
+                    NamingTpsMonitor.distroSyncSuccess(member.getAddress(), member.getIp());
+                } else {
+                    NamingTpsMonitor.distroSyncFail(member.getAddress(), member.getIp());
+                }
+            }
+            distroCallback.onResult(results);
+        }
+        
+        @Override
+        public void onException(Throwable e) {
+            distroCallback.onFailed(e);
+        }
+    }
+    
     private class DistroVerifyCallbackWrapper implements RequestCallBack<Response> {
         
         private final String targetServer;
@@ -43,4 +43,18 @@ public class PushConstants {
     public static final String PUSH_TASK_RETRY_DELAY = "nacos.naming.push.pushTaskRetryDelay";
     
     public static final long DEFAULT_PUSH_TASK_RETRY_DELAY = 1000L;
+    
+    /**
+     * Whether push changed instances only to the subscribers which support delta push.
+     */
+    public static final String PUSH_DELTA_ENABLED = "nacos.naming.push.deltaEnabled";
+    
+    public static final boolean DEFAULT_PUSH_DELTA_ENABLED = false;
+    
+    /**
+     * Max revisions of each service kept for computing delta push, older revisions will fall back to full push.
+     */
+    public static final String PUSH_DELTA_HISTORY_SIZE = "nacos.naming.push.deltaHistorySize";
+    
+    public static final int DEFAULT_PUSH_DELTA_HISTORY_SIZE = 8;
 }
@@ -18,10 +18,17 @@ package com.alibaba.nacos.naming.core.v2.index;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
+import com.alibaba.nacos.common.utils.ConcurrentHashSet;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFactory;
 import com.alibaba.nacos.naming.core.v2.metadata.InstanceMetadata;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
@@ -31,20 +38,26 @@ import com.alibaba.nacos.naming.utils.InstanceUtil;
 import org.springframework.stereotype.Component;
 
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service storage.
  *
+ * <p>Storage keeps a materialized view of instances for each service. The view is updated incrementally by client
+ * operation events, only the changed clients will be re-parsed. The {@link ServiceInfo} returned by storage is a
+ * snapshot shared by all readers, it will be replaced by a new snapshot when view changed and should not be modified.
+ *
  * @author xiweng.yy
  */
 @Component
-public class ServiceStorage {
+public class ServiceStorage extends SmartSubscriber {
     
     private final ClientServiceIndexesManager serviceIndexesManager;
     
@@ -58,6 +71,8 @@ public class ServiceStorage {
     
     private final ConcurrentMap<Service, Set<String>> serviceClusterIndex;
     
+    private final ConcurrentMap<Service, ServiceView> serviceViews;
+    
     public ServiceStorage(ClientServiceIndexesManager serviceIndexesManager, ClientManagerDelegate clientManager,
             SwitchDomain switchDomain, NamingMetadataManager metadataManager) {
         this.serviceIndexesManager = serviceIndexesManager;
@@ -66,31 +81,124 @@ public class ServiceStorage {
         this.metadataManager = metadataManager;
         this.serviceDataIndexes = new ConcurrentHashMap<>();
         this.serviceClusterIndex = new ConcurrentHashMap<>();
+        this.serviceViews = new ConcurrentHashMap<>();
+        NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
     }
     
     public Set<String> getClusters(Service service) {
         return serviceClusterIndex.getOrDefault(service, new HashSet<>());
     }
     
+    /**
+     * Get service info snapshot of service, if view of service has changed, the snapshot will be refreshed.
+     *
+     * @param service service
+     * @return service info snapshot
+     */
     public ServiceInfo getData(Service service) {
-        return serviceDataIndexes.containsKey(service) ? serviceDataIndexes.get(service) : getPushData(service);
+        ServiceView view = serviceViews.get(service);
+        boolean changed = null == view || view.hasPendingChange();
+        return !changed && serviceDataIndexes.containsKey(service) ? serviceDataIndexes.get(service)
+                : getPushData(service);
     }
     
+    /**
+     * Get service info snapshot of service for push, pending changes of view will be applied before return.
+     *
+     * @param service service
+     * @return service info snapshot
+     */
     public ServiceInfo getPushData(Service service) {
-        ServiceInfo result = emptyServiceInfo(service);
         if (!ServiceManager.getInstance().containSingleton(service)) {
+            return emptyServiceInfo(service);
+        }
+        ServiceView view = serviceViews.computeIfAbsent(service, key -> new ServiceView());
+        synchronized (view) {
+            ServiceInfo current = serviceDataIndexes.get(service);
+            if (!applyChanges(service, view) && null != current) {
+                return current;
+            }
+            ServiceInfo result = emptyServiceInfo(service);
+            result.setHosts(buildSnapshot(service, view));
+            view.revision++;
+            serviceDataIndexes.put(service, result);
             return result;
         }
-        result.setHosts(getAllInstancesFromIndex(service));
-        serviceDataIndexes.put(service, result);
-        return result;
     }
     
+    /**
+     * Get revision of service view, revision will increase when the snapshot of service changed.
+     *
+     * @param service service
+     * @return revision of service view, {@code 0} if view not built.
+     */
+    public long getRevision(Service service) {
+        ServiceView view = serviceViews.get(service);
+        return null == view ? 0L : view.revision;
+    }
+    
+    /**
+     * Mark all instances of service should be re-parsed when next read, such as instance metadata changed.
+     *
+     * @param service service
+     */
+    public void markServiceChanged(Service service) {
+        ServiceView view = serviceViews.get(service);
+        if (null != view) {
+            view.fullRefresh.set(true);
+        }
+    }
+    
+    /**
+     * Remove view and snapshot of service.
+     *
+     * @param service service
+     */
     public void removeData(Service service) {
+        serviceViews.remove(service);
         serviceDataIndexes.remove(service);
         serviceClusterIndex.remove(service);
     }
     
+    @Override
+    public List<Class<? extends Event>> subscribeTypes() {
+        List<Class<? extends Event>> result = new LinkedList<>();
+        result.add(ClientOperationEvent.ClientRegisterServiceEvent.class);
+        result.add(ClientOperationEvent.ClientDeregisterServiceEvent.class);
+        result.add(ClientEvent.ClientChangedEvent.class);
+        result.add(ClientEvent.ClientDisconnectEvent.class);
+        return result;
+    }
+    
+    @Override
+    public void onEvent(Event event) {
+        if (event instanceof ClientEvent) {
+            Client client = ((ClientEvent) event).getClient();
+            for (Service each : client.getAllPublishedService()) {
+                markClientChanged(each, client.getClientId());
+            }
+        } else if (event instanceof ClientOperationEvent.ClientRegisterServiceEvent
+                || event instanceof ClientOperationEvent.ClientDeregisterServiceEvent) {
+            ClientOperationEvent operationEvent = (ClientOperationEvent) event;
+            markClientChanged(operationEvent.getService(), operationEvent.getClientId());
+        }
+    }
+    
+    /**
+     * Mark the instance of client in service should be re-parsed when next read. It should be called before publishing
+     * {@link com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent.ServiceChangedEvent} if the instance is
+     * changed in place, because the push may read the view before {@link ClientEvent.ClientChangedEvent} is handled.
+     *
+     * @param service  service
+     * @param clientId id of changed client
+     */
+    public void markClientChanged(Service service, String clientId) {
+        ServiceView view = serviceViews.get(service);
+        if (null != view) {
+            view.changedClients.add(clientId);
+        }
+    }
+    
     private ServiceInfo emptyServiceInfo(Service service) {
         ServiceInfo result = new ServiceInfo();
         result.setName(service.getName());
@@ -100,16 +208,47 @@ public class ServiceStorage {
         return result;
     }
     
-    private List<Instance> getAllInstancesFromIndex(Service service) {
-        Set<Instance> result = new HashSet<>();
-        Set<String> clusters = new HashSet<>();
-        for (String each : serviceIndexesManager.getAllClientsRegisteredService(service)) {
-            Optional<InstancePublishInfo> instancePublishInfo = getInstanceInfo(each, service);
-            if (instancePublishInfo.isPresent()) {
-                Instance instance = parseInstance(service, instancePublishInfo.get());
-                result.add(instance);
-                clusters.add(instance.getClusterName());
+    /**
+     * Apply pending changes into view.
+     *
+     * @param service service
+     * @param view    view of service
+     * @return {@code true} if instances of view changed, otherwise {@code false}
+     */
+    private boolean applyChanges(Service service, ServiceView view) {
+        if (view.fullRefresh.getAndSet(false)) {
+            view.changedClients.clear();
+            view.instances.clear();
+            for (String each : serviceIndexesManager.getAllClientsRegisteredService(service)) {
+                getInstanceInfo(each, service)
+                        .ifPresent(info -> view.instances.put(each, parseInstance(service, info)));
             }
+            return true;
+        }
+        boolean result = false;
+        Iterator<String> iterator = view.changedClients.iterator();
+        while (iterator.hasNext()) {
+            String clientId = iterator.next();
+            iterator.remove();
+            result |= applyClientChange(service, view, clientId);
+        }
+        return result;
+    }
+    
+    private boolean applyClientChange(Service service, ServiceView view, String clientId) {
+        Optional<InstancePublishInfo> instancePublishInfo = getInstanceInfo(clientId, service);
+        if (!instancePublishInfo.isPresent()) {
+            return null != view.instances.remove(clientId);
+        }
+        Instance instance = parseInstance(service, instancePublishInfo.get());
+        return !instance.equals(view.instances.put(clientId, instance));
+    }
+    
+    private List<Instance> buildSnapshot(Service service, ServiceView view) {
+        Set<Instance> result = new HashSet<>(view.instances.values());
+        Set<String> clusters = new HashSet<>();
+        for (Instance each : result) {
+            clusters.add(each.getClusterName());
         }
         // cache clusters of this service
         serviceClusterIndex.put(service, clusters);
@@ -131,4 +270,23 @@ public class ServiceStorage {
         metadata.ifPresent(instanceMetadata -> InstanceUtil.updateInstanceMetadata(result, instanceMetadata));
         return result;
     }
+    
+    /**
+     * Materialized view of instances of one service, key is client id. The parsed instance in view will never be
+     * modified, a changed client will be re-parsed to a new instance so that the snapshots built before are stable.
+     */
+    private static class ServiceView {
+        
+        private final ConcurrentMap<String, Instance> instances = new ConcurrentHashMap<>();
+        
+        private final Set<String> changedClients = new ConcurrentHashSet<>();
+        
+        private final AtomicBoolean fullRefresh = new AtomicBoolean(true);
+        
+        private volatile long revision;
+        
+        private boolean hasPendingChange() {
+            return fullRefresh.get() || !changedClients.isEmpty();
+        }
+    }
 }
@@ -28,6 +28,7 @@ import com.alibaba.nacos.consistency.entity.WriteRequest;
 import com.alibaba.nacos.consistency.snapshot.SnapshotOperation;
 import com.alibaba.nacos.core.distributed.ProtocolManager;
 import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
+import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.constants.Constants;
 import org.springframework.stereotype.Component;
@@ -47,6 +48,8 @@ public class InstanceMetadataProcessor extends RequestProcessor4CP {
     
     private final NamingMetadataManager namingMetadataManager;
     
+    private final ServiceStorage serviceStorage;
+    
     private final Serializer serializer;
     
     private final Type processType;
@@ -56,8 +59,10 @@ public class InstanceMetadataProcessor extends RequestProcessor4CP {
     private final ReentrantReadWriteLock.ReadLock readLock;
     
     @SuppressWarnings("unchecked")
-    public InstanceMetadataProcessor(NamingMetadataManager namingMetadataManager, ProtocolManager protocolManager) {
+    public InstanceMetadataProcessor(NamingMetadataManager namingMetadataManager, ServiceStorage serviceStorage,
+            ProtocolManager protocolManager) {
         this.namingMetadataManager = namingMetadataManager;
+        this.serviceStorage = serviceStorage;
         this.serializer = SerializeFactory.getDefault();
         this.processType = TypeUtils.parameterize(MetadataOperation.class, InstanceMetadata.class);
         this.lock = new ReentrantReadWriteLock();
@@ -103,12 +108,14 @@ public class InstanceMetadataProcessor extends RequestProcessor4CP {
     private void updateInstanceMetadata(MetadataOperation<InstanceMetadata> op) {
         Service service = Service.newService(op.getNamespace(), op.getGroup(), op.getServiceName());
         namingMetadataManager.updateInstanceMetadata(service, op.getTag(), op.getMetadata());
+        serviceStorage.markServiceChanged(service);
         NotifyCenter.publishEvent(new ServiceEvent.ServiceChangedEvent(service, true));
     }
     
     private void deleteInstanceMetadata(MetadataOperation<InstanceMetadata> op) {
         Service service = Service.newService(op.getNamespace(), op.getGroup(), op.getServiceName());
         namingMetadataManager.removeInstanceMetadata(service, op.getTag());
+        serviceStorage.markServiceChanged(service);
     }
     
     @Override
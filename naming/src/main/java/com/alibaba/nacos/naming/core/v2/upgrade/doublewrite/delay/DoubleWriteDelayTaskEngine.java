@@ -17,7 +17,8 @@
 package com.alibaba.nacos.naming.core.v2.upgrade.doublewrite.delay;
 
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
-import com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine;
+import com.alibaba.nacos.common.task.engine.NacosShardedDelayTaskExecuteEngine;
+import com.alibaba.nacos.core.monitor.MetricsMonitor;
 import com.alibaba.nacos.naming.misc.Loggers;
 import org.springframework.stereotype.Component;
 
@@ -27,12 +28,13 @@ import org.springframework.stereotype.Component;
  * @author xiweng.yy
  */
 @Component
-public class DoubleWriteDelayTaskEngine extends NacosDelayTaskExecuteEngine {
+public class DoubleWriteDelayTaskEngine extends NacosShardedDelayTaskExecuteEngine {
     
     public DoubleWriteDelayTaskEngine() {
         super(DoubleWriteDelayTaskEngine.class.getSimpleName(), Loggers.SRV_LOG);
         addProcessor("v1", new ServiceChangeV1Task.ServiceChangeV1TaskProcessor());
         addProcessor("v2", new ServiceChangeV2Task.ServiceChangeV2TaskProcessor());
+        MetricsMonitor.registerDelayTaskEngine("naming", DoubleWriteDelayTaskEngine.class.getSimpleName(), this);
     }
     
     @Override
@@ -17,6 +17,8 @@
 package com.alibaba.nacos.naming.healthcheck;
 
 import com.alibaba.nacos.naming.healthcheck.heartbeat.BeatCheckTask;
+import com.alibaba.nacos.naming.healthcheck.heartbeat.ClientBeatCheckTaskV2;
+import com.alibaba.nacos.naming.healthcheck.heartbeat.ClientBeatCheckWheel;
 import com.alibaba.nacos.naming.healthcheck.interceptor.HealthCheckTaskInterceptWrapper;
 import com.alibaba.nacos.naming.healthcheck.v2.HealthCheckTaskV2;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
@@ -65,6 +67,10 @@ public class HealthCheckReactor {
      * @param task client beat check task
      */
     public static void scheduleCheck(BeatCheckTask task) {
+        if (task instanceof ClientBeatCheckTaskV2) {
+            ClientBeatCheckWheel.getInstance().schedule((ClientBeatCheckTaskV2) task);
+            return;
+        }
         Runnable wrapperTask =
                 task instanceof NacosHealthCheckTask ? new HealthCheckTaskInterceptWrapper((NacosHealthCheckTask) task)
                         : task;
@@ -78,6 +84,10 @@ public class HealthCheckReactor {
      * @param task client beat check task
      */
     public static void cancelCheck(BeatCheckTask task) {
+        if (task instanceof ClientBeatCheckTaskV2) {
+            ClientBeatCheckWheel.getInstance().cancel((ClientBeatCheckTaskV2) task);
+            return;
+        }
         ScheduledFuture scheduledFuture = futureMap.get(task.taskKey());
         if (scheduledFuture == null) {
             return;
@@ -0,0 +1,206 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.healthcheck.heartbeat;
+
+import com.alibaba.nacos.common.task.HashedTimingWheel;
+import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
+import com.alibaba.nacos.naming.healthcheck.interceptor.HealthCheckTaskInterceptWrapper;
+import com.alibaba.nacos.naming.misc.GlobalExecutor;
+import com.alibaba.nacos.naming.misc.Loggers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing wheel to schedule beat check tasks of ephemeral clients.
+ *
+ * <p>Instead of scheduling one fixed delay future for each client, beat check of all clients are put into one
+ * {@link HashedTimingWheel}. Heartbeat does not touch the wheel, when the check of a client is due, the ticking thread
+ * skips the check and puts it into the bucket one check interval later if all instances of client received heartbeat in
+ * last check interval, since no instance can be beat time out then. The checks really expired in one tick are split into
+ * batches and run by a fixed number of worker threads, then the checks are put into wheel again.
+ *
+ * @author nacos
+ */
+public class ClientBeatCheckWheel {
+    
+    private static final long TICK_MILLIS = 500L;
+    
+    private static final long CHECK_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    
+    private final HashedTimingWheel wheel;
+    
+    private final long checkIntervalMillis;
+    
+    private final int workerCount;
+    
+    private final Executor workerExecutor;
+    
+    private final ConcurrentMap<String, CheckEntry> entries = new ConcurrentHashMap<>();
+    
+    private final List<CheckEntry> expiredEntries = new ArrayList<>();
+    
+    ClientBeatCheckWheel(long tickMillis, long checkIntervalMillis, int workerCount, Executor workerExecutor) {
+        int wheelSize = (int) (checkIntervalMillis / tickMillis) + 1;
+        this.wheel = new HashedTimingWheel(tickMillis, TimeUnit.MILLISECONDS, wheelSize);
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.workerCount = Math.max(1, workerCount);
+        this.workerExecutor = workerExecutor;
+    }
+    
+    public static ClientBeatCheckWheel getInstance() {
+        return Holder.INSTANCE;
+    }
+    
+    /**
+     * Schedule beat check task of client, the first check will be due after check interval.
+     *
+     * @param task beat check task
+     */
+    public void schedule(ClientBeatCheckTaskV2 task) {
+        entries.computeIfAbsent(task.getClient().getClientId(), clientId -> {
+            CheckEntry result = new CheckEntry(task);
+            result.arm();
+            return result;
+        });
+    }
+    
+    /**
+     * Cancel beat check task of client.
+     *
+     * @param task beat check task
+     */
+    public void cancel(ClientBeatCheckTaskV2 task) {
+        CheckEntry entry = entries.remove(task.getClient().getClientId());
+        if (null != entry) {
+            entry.cancel();
+        }
+    }
+    
+    /**
+     * Get the number of clients scheduled in wheel.
+     *
+     * @return number of clients
+     */
+    public int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Advance the wheel and dispatch the expired checks to workers in batches.
+     */
+    public synchronized void tick() {
+        wheel.tick();
+        if (expiredEntries.isEmpty()) {
+            return;
+        }
+        int batchCount = Math.min(workerCount, expiredEntries.size());
+        List<List<CheckEntry>> batches = new ArrayList<>(batchCount);
+        for (int i = 0; i < batchCount; i++) {
+            batches.add(new ArrayList<>(expiredEntries.size() / batchCount + 1));
+        }
+        for (int i = 0; i < expiredEntries.size(); i++) {
+            batches.get(i % batchCount).add(expiredEntries.get(i));
+        }
+        expiredEntries.clear();
+        for (List<CheckEntry> each : batches) {
+            workerExecutor.execute(() -> runChecks(each));
+        }
+    }
+    
+    private void runChecks(List<CheckEntry> batch) {
+        for (CheckEntry each : batch) {
+            try {
+                each.wrapper.run();
+            } catch (Exception e) {
+                Loggers.SRV_LOG.warn("Exception while processing client beat check.", e);
+            } finally {
+                each.arm();
+            }
+        }
+    }
+    
+    private class CheckEntry implements Runnable {
+        
+        private final ClientBeatCheckTaskV2 task;
+        
+        private final Runnable wrapper;
+        
+        private HashedTimingWheel.Timeout timeout;
+        
+        private boolean cancelled;
+        
+        private CheckEntry(ClientBeatCheckTaskV2 task) {
+            this.task = task;
+            this.wrapper = new HealthCheckTaskInterceptWrapper(task);
+        }
+        
+        /**
+         * Called by ticking thread when the check is due.
+         */
+        @Override
+        public void run() {
+            if (isAllInstancesBeatInInterval()) {
+                arm();
+            } else {
+                expiredEntries.add(this);
+            }
+        }
+        
+        private synchronized void arm() {
+            if (!cancelled) {
+                timeout = wheel.newTimeout(this, checkIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        
+        private synchronized void cancel() {
+            cancelled = true;
+            timeout.cancel();
+        }
+        
+        private boolean isAllInstancesBeatInInterval() {
+            Collection<InstancePublishInfo> instances = task.getClient().getAllInstancePublishInfo();
+            if (instances.isEmpty()) {
+                return false;
+            }
+            long currentTime = System.currentTimeMillis();
+            for (InstancePublishInfo each : instances) {
+                long lastHeartBeatTime = ((HealthCheckInstancePublishInfo) each).getLastHeartBeatTime();
+                if (currentTime - lastHeartBeatTime >= checkIntervalMillis) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    private static class Holder {
+        
+        private static final ClientBeatCheckWheel INSTANCE = new ClientBeatCheckWheel(TICK_MILLIS,
+                CHECK_INTERVAL_MILLIS, GlobalExecutor.NAMING_HEALTH_THREAD_COUNT, GlobalExecutor::executeNamingHealth);
+        
+        static {
+            GlobalExecutor.scheduleNamingHealth(INSTANCE::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -119,10 +119,12 @@ public class GlobalExecutor {
             .newFixedExecutorService(ClassUtils.getCanonicalName(NamingApp.class), 2,
                     new NameThreadFactory("com.alibaba.nacos.naming.tcp.check.worker"));
     
+    public static final int NAMING_HEALTH_THREAD_COUNT = Integer
+            .max(Integer.getInteger("com.alibaba.nacos.naming.health.thread.num", DEFAULT_THREAD_COUNT), 1);
+    
     private static final ScheduledExecutorService NAMING_HEALTH_EXECUTOR = ExecutorFactory.Managed
-            .newScheduledExecutorService(ClassUtils.getCanonicalName(NamingApp.class),
-                    Integer.max(Integer.getInteger("com.alibaba.nacos.naming.health.thread.num", DEFAULT_THREAD_COUNT),
-                            1), new NameThreadFactory("com.alibaba.nacos.naming.health"));
+            .newScheduledExecutorService(ClassUtils.getCanonicalName(NamingApp.class), NAMING_HEALTH_THREAD_COUNT,
+                    new NameThreadFactory("com.alibaba.nacos.naming.health"));
     
     private static final ScheduledExecutorService RETRANSMITTER_EXECUTOR = ExecutorFactory.Managed
             .newSingleScheduledExecutorService(ClassUtils.getCanonicalName(NamingApp.class),
@@ -183,6 +185,10 @@ public class GlobalExecutor {
         NAMING_TIMER_EXECUTOR.scheduleAtFixedRate(runnable, initialDelay, period, TimeUnit.MILLISECONDS);
     }
     
+    public static void scheduleMcpDeltaPushTask(Runnable runnable, long delay) {
+        NAMING_TIMER_EXECUTOR.schedule(runnable, delay, TimeUnit.MILLISECONDS);
+    }
+    
     public static ScheduledFuture submitClusterVersionJudge(Runnable runnable, long delay) {
         return NAMING_TIMER_EXECUTOR.schedule(runnable, delay, TimeUnit.MILLISECONDS);
     }
@@ -264,6 +270,10 @@ public class GlobalExecutor {
         TCP_SUPER_SENSE_EXECUTOR.schedule(runnable, delay, unit);
     }
     
+    public static void executeNamingHealth(Runnable command) {
+        NAMING_HEALTH_EXECUTOR.execute(command);
+    }
+    
     public static ScheduledFuture<?> scheduleNamingHealth(Runnable command, long delay, TimeUnit unit) {
         return NAMING_HEALTH_EXECUTOR.schedule(command, delay, unit);
     }
@@ -62,13 +62,13 @@ public class NamingSubscriberServiceV2Impl extends SmartSubscriber implements Na
     
     public NamingSubscriberServiceV2Impl(ClientManagerDelegate clientManager,
             ClientServiceIndexesManager indexesManager, ServiceStorage serviceStorage,
-            NamingMetadataManager metadataManager, PushExecutorDelegate pushExecutor, UpgradeJudgement upgradeJudgement,
-            SwitchDomain switchDomain) {
+            NamingMetadataManager metadataManager, PushExecutorDelegate pushExecutor, ServicePushChangeLog pushChangeLog,
+            UpgradeJudgement upgradeJudgement, SwitchDomain switchDomain) {
         this.clientManager = clientManager;
         this.indexesManager = indexesManager;
         this.upgradeJudgement = upgradeJudgement;
         this.delayTaskEngine = new PushDelayTaskExecuteEngine(clientManager, indexesManager, serviceStorage,
-                metadataManager, pushExecutor, switchDomain);
+                metadataManager, pushExecutor, pushChangeLog, switchDomain);
         NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
         
     }
@@ -39,6 +39,10 @@ public class PushConfig extends Subscriber<ServerConfigChangeEvent> {
     
     private long pushTaskRetryDelay = PushConstants.DEFAULT_PUSH_TASK_RETRY_DELAY;
     
+    private boolean pushDeltaEnabled = PushConstants.DEFAULT_PUSH_DELTA_ENABLED;
+    
+    private int pushDeltaHistorySize = PushConstants.DEFAULT_PUSH_DELTA_HISTORY_SIZE;
+    
     private PushConfig() {
         try {
             getPushConfigFromEnv();
@@ -55,6 +59,10 @@ public class PushConfig extends Subscriber<ServerConfigChangeEvent> {
                 .getProperty(PushConstants.PUSH_TASK_TIMEOUT, Long.class, PushConstants.DEFAULT_PUSH_TASK_TIMEOUT);
         pushTaskRetryDelay = EnvUtil.getProperty(PushConstants.PUSH_TASK_RETRY_DELAY, Long.class,
                 PushConstants.DEFAULT_PUSH_TASK_RETRY_DELAY);
+        pushDeltaEnabled = EnvUtil.getProperty(PushConstants.PUSH_DELTA_ENABLED, Boolean.class,
+                PushConstants.DEFAULT_PUSH_DELTA_ENABLED);
+        pushDeltaHistorySize = EnvUtil.getProperty(PushConstants.PUSH_DELTA_HISTORY_SIZE, Integer.class,
+                PushConstants.DEFAULT_PUSH_DELTA_HISTORY_SIZE);
     }
     
     public static PushConfig getInstance() {
@@ -73,6 +81,14 @@ public class PushConfig extends Subscriber<ServerConfigChangeEvent> {
         return pushTaskRetryDelay;
     }
     
+    public boolean isPushDeltaEnabled() {
+        return pushDeltaEnabled;
+    }
+    
+    public int getPushDeltaHistorySize() {
+        return pushDeltaHistorySize;
+    }
+    
     @Override
     public void onEvent(ServerConfigChangeEvent event) {
         try {
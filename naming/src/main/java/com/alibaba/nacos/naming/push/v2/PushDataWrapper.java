@@ -17,6 +17,7 @@
 package com.alibaba.nacos.naming.push.v2;
 
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -29,19 +30,42 @@ import java.util.Optional;
  */
 public class PushDataWrapper {
     
+    private final Service service;
+    
     private final ServiceInfo originalData;
     
+    private final long revision;
+    
     private final Map<String, Object> processedDatum;
     
     public PushDataWrapper(ServiceInfo originalData) {
+        this(null, originalData, 0L);
+    }
+    
+    public PushDataWrapper(Service service, ServiceInfo originalData, long revision) {
+        this.service = service;
         this.originalData = originalData;
+        this.revision = revision;
         processedDatum = new HashMap<>(1);
     }
     
+    public Service getService() {
+        return service;
+    }
+    
     public ServiceInfo getOriginalData() {
         return originalData;
     }
     
+    /**
+     * Revision of original data recorded in {@link ServicePushChangeLog}, {@code 0} means delta push is disabled.
+     *
+     * @return revision of original data
+     */
+    public long getRevision() {
+        return revision;
+    }
+    
     public <T> Optional<T> getProcessedPushData(String key) {
         return Optional.ofNullable((T) processedDatum.get(key));
     }
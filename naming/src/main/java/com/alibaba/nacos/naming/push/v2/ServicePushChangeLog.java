@@ -0,0 +1,245 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
+import com.alibaba.nacos.naming.core.v2.client.Client;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
+import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFactory;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded change log of pushed service info, used to build delta push for subscribers.
+ *
+ * <p>Each pushed service info is recorded with a revision. Subscriber acknowledges a revision when push success, and
+ * next push will only carry the changed instances since acknowledged revision. If the acknowledged revision has been
+ * evicted from change log, full service info will be pushed.
+ *
+ * @author nacos
+ */
+@Component
+public class ServicePushChangeLog extends SmartSubscriber {
+    
+    /**
+     * Revision is unique among all services, so that a revision recorded by an evicted history can't be mistaken.
+     */
+    private final AtomicLong revisionGenerator = new AtomicLong(0);
+    
+    private final ConcurrentMap<Service, ServicePushHistory> histories = new ConcurrentHashMap<>();
+    
+    public ServicePushChangeLog() {
+        NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
+    }
+    
+    /**
+     * Record the service info which will be pushed.
+     *
+     * @param service     service
+     * @param serviceInfo service info which will be pushed
+     * @return revision of the service info, if the instances are same as latest revision, return latest revision
+     */
+    public long record(Service service, ServiceInfo serviceInfo) {
+        ServicePushHistory history = histories.computeIfAbsent(service, key -> new ServicePushHistory());
+        return history.record(serviceInfo, revisionGenerator, PushConfig.getInstance().getPushDeltaHistorySize());
+    }
+    
+    /**
+     * Build delta push request from {@code baseRevision} to {@code revision}.
+     *
+     * @param service      service
+     * @param serviceInfo  service info of {@code revision}
+     * @param baseRevision revision acknowledged by subscriber
+     * @param revision     target revision
+     * @return delta request, empty if base revision has been evicted or delta is not smaller than full push
+     */
+    public Optional<NotifySubscriberDeltaRequest> buildDeltaRequest(Service service, ServiceInfo serviceInfo,
+            long baseRevision, long revision) {
+        ServicePushHistory history = histories.get(service);
+        if (null == history) {
+            return Optional.empty();
+        }
+        return history.buildDeltaRequest(serviceInfo, baseRevision, revision);
+    }
+    
+    /**
+     * Get the latest revision acknowledged by client.
+     *
+     * @param service  service
+     * @param clientId client id
+     * @return acknowledged revision, {@code 0} if no revision acknowledged.
+     */
+    public long getAckedRevision(Service service, String clientId) {
+        ServicePushHistory history = histories.get(service);
+        if (null == history) {
+            return 0L;
+        }
+        return history.ackedRevisions.getOrDefault(clientId, 0L);
+    }
+    
+    /**
+     * Client acknowledge the revision after push success.
+     *
+     * @param service  service
+     * @param clientId client id
+     * @param revision pushed revision
+     */
+    public void ack(Service service, String clientId, long revision) {
+        ServicePushHistory history = histories.get(service);
+        if (null == history || revision <= 0) {
+            return;
+        }
+        history.ackedRevisions.merge(clientId, revision, Math::max);
+    }
+    
+    /**
+     * Invalidate the revision acknowledged by client, so that next push will be full push.
+     *
+     * @param service  service
+     * @param clientId client id
+     */
+    public void invalidate(Service service, String clientId) {
+        ServicePushHistory history = histories.get(service);
+        if (null != history) {
+            history.ackedRevisions.remove(clientId);
+        }
+    }
+    
+    @Override
+    public List<Class<? extends Event>> subscribeTypes() {
+        List<Class<? extends Event>> result = new LinkedList<>();
+        result.add(ClientOperationEvent.ClientUnsubscribeServiceEvent.class);
+        result.add(ClientEvent.ClientDisconnectEvent.class);
+        result.add(MetadataEvent.ServiceMetadataEvent.class);
+        return result;
+    }
+    
+    @Override
+    public void onEvent(Event event) {
+        if (event instanceof ClientEvent.ClientDisconnectEvent) {
+            Client client = ((ClientEvent.ClientDisconnectEvent) event).getClient();
+            for (Service each : client.getAllSubscribeService()) {
+                removeClient(each, client.getClientId());
+            }
+        } else if (event instanceof ClientOperationEvent.ClientUnsubscribeServiceEvent) {
+            ClientOperationEvent operationEvent = (ClientOperationEvent) event;
+            removeClient(operationEvent.getService(), operationEvent.getClientId());
+        } else if (event instanceof MetadataEvent.ServiceMetadataEvent) {
+            MetadataEvent.ServiceMetadataEvent metadataEvent = (MetadataEvent.ServiceMetadataEvent) event;
+            if (metadataEvent.isExpired()) {
+                // The service is removed.
+                histories.remove(metadataEvent.getService());
+            }
+        }
+    }
+    
+    private void removeClient(Service service, String clientId) {
+        histories.computeIfPresent(service, (key, history) -> {
+            history.ackedRevisions.remove(clientId);
+            return history.ackedRevisions.isEmpty() ? null : history;
+        });
+    }
+    
+    private static class ServicePushHistory {
+        
+        private final ConcurrentMap<String, Long> ackedRevisions = new ConcurrentHashMap<>();
+        
+        private final LinkedHashMap<Long, Map<String, Instance>> snapshots = new LinkedHashMap<>();
+        
+        private long latestRevision;
+        
+        private Map<String, Instance> latestSnapshot;
+        
+        private synchronized long record(ServiceInfo serviceInfo, AtomicLong revisionGenerator, int maxSize) {
+            Map<String, Instance> snapshot = buildSnapshot(serviceInfo);
+            if (null != latestSnapshot && latestSnapshot.equals(snapshot)) {
+                return latestRevision;
+            }
+            latestRevision = revisionGenerator.incrementAndGet();
+            latestSnapshot = snapshot;
+            snapshots.put(latestRevision, snapshot);
+            // The snapshots older than all acknowledged revisions can't be the base of delta any more, and only the
+            // latest one is kept if no revision is acknowledged.
+            long minAckedRevision = latestRevision;
+            for (Long each : ackedRevisions.values()) {
+                minAckedRevision = Math.min(minAckedRevision, each);
+            }
+            Iterator<Long> iterator = snapshots.keySet().iterator();
+            while (iterator.hasNext()) {
+                long revision = iterator.next();
+                if (revision >= minAckedRevision && snapshots.size() <= Math.max(1, maxSize)) {
+                    break;
+                }
+                iterator.remove();
+            }
+            return latestRevision;
+        }
+        
+        private Map<String, Instance> buildSnapshot(ServiceInfo serviceInfo) {
+            Map<String, Instance> result = new HashMap<>(serviceInfo.getHosts().size());
+            for (Instance each : serviceInfo.getHosts()) {
+                result.put(NotifySubscriberDeltaRequest.buildInstanceKey(each), each);
+            }
+            return result;
+        }
+        
+        private synchronized Optional<NotifySubscriberDeltaRequest> buildDeltaRequest(ServiceInfo serviceInfo,
+                long baseRevision, long revision) {
+            Map<String, Instance> base = snapshots.get(baseRevision);
+            Map<String, Instance> target = snapshots.get(revision);
+            if (null == base || null == target) {
+                return Optional.empty();
+            }
+            NotifySubscriberDeltaRequest result = NotifySubscriberDeltaRequest
+                    .buildDeltaRequest(serviceInfo, baseRevision, revision);
+            for (Map.Entry<String, Instance> entry : target.entrySet()) {
+                Instance old = base.get(entry.getKey());
+                if (null == old) {
+                    result.getAddedInstances().add(entry.getValue());
+                } else if (!old.equals(entry.getValue())) {
+                    result.getChangedInstances().add(entry.getValue());
+                }
+            }
+            for (Map.Entry<String, Instance> entry : base.entrySet()) {
+                if (!target.containsKey(entry.getKey())) {
+                    result.getRemovedInstances().add(entry.getValue());
+                }
+            }
+            int deltaSize = result.getAddedInstances().size() + result.getChangedInstances().size() + result
+                    .getRemovedInstances().size();
+            return deltaSize < target.size() ? Optional.of(result) : Optional.empty();
+        }
+    }
+}
@@ -45,4 +45,15 @@ public interface PushExecutor {
      * @param callBack   callback
      */
     void doPushWithCallback(String clientId, Subscriber subscriber, PushDataWrapper data, PushCallBack callBack);
+    
+    /**
+     * Whether the client supports delta push.
+     *
+     * @param clientId   client id
+     * @param subscriber subscriber
+     * @return {@code true} if delta push can be sent to the client
+     */
+    default boolean isSupportDeltaPush(String clientId, Subscriber subscriber) {
+        return false;
+    }
 }
@@ -52,6 +52,11 @@ public class PushExecutorDelegate implements PushExecutor {
         getPushExecuteService(clientId, subscriber).doPushWithCallback(clientId, subscriber, data, callBack);
     }
     
+    @Override
+    public boolean isSupportDeltaPush(String clientId, Subscriber subscriber) {
+        return getPushExecuteService(clientId, subscriber).isSupportDeltaPush(clientId, subscriber);
+    }
+    
     private PushExecutor getPushExecuteService(String clientId, Subscriber subscriber) {
         Optional<SpiPushExecutor> result = SpiImplPushExecutorHolder.getInstance()
                 .findPushExecutorSpiImpl(clientId, subscriber);
@@ -16,14 +16,22 @@
 
 package com.alibaba.nacos.naming.push.v2.executor;
 
+import com.alibaba.nacos.api.ability.ClientAbilities;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.remote.PushCallBack;
+import com.alibaba.nacos.api.remote.request.ServerRequest;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.RpcPushService;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.pojo.Subscriber;
 import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
+import com.alibaba.nacos.naming.push.v2.ServicePushChangeLog;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 /**
  * Push execute service for rpc.
  *
@@ -32,21 +40,67 @@ import org.springframework.stereotype.Component;
 @Component
 public class PushExecutorRpcImpl implements PushExecutor {
     
+    private static final String DELTA_PUSH_DATA_KEY_PREFIX = "delta@";
+    
     private final RpcPushService pushService;
     
-    public PushExecutorRpcImpl(RpcPushService pushService) {
+    private final ConnectionManager connectionManager;
+    
+    private final ServicePushChangeLog pushChangeLog;
+    
+    public PushExecutorRpcImpl(RpcPushService pushService, ConnectionManager connectionManager,
+            ServicePushChangeLog pushChangeLog) {
         this.pushService = pushService;
+        this.connectionManager = connectionManager;
+        this.pushChangeLog = pushChangeLog;
     }
     
     @Override
     public void doPush(String clientId, Subscriber subscriber, PushDataWrapper data) {
-        pushService.pushWithoutAck(clientId, NotifySubscriberRequest.buildSuccessResponse(data.getOriginalData()));
+        pushService.pushWithoutAck(clientId, buildFullPushRequest(data));
     }
     
     @Override
     public void doPushWithCallback(String clientId, Subscriber subscriber, PushDataWrapper data,
             PushCallBack callBack) {
-        pushService.pushWithCallback(clientId, NotifySubscriberRequest.buildSuccessResponse(data.getOriginalData()),
-                callBack, GlobalExecutor.getCallbackExecutor());
+        pushService.pushWithCallback(clientId, buildPushRequest(clientId, subscriber, data), callBack,
+                GlobalExecutor.getCallbackExecutor());
+    }
+    
+    private ServerRequest buildPushRequest(String clientId, Subscriber subscriber, PushDataWrapper data) {
+        if (data.getRevision() <= 0 || !isSupportDeltaPush(clientId, subscriber)) {
+            return buildFullPushRequest(data);
+        }
+        long baseRevision = pushChangeLog.getAckedRevision(data.getService(), clientId);
+        if (baseRevision <= 0) {
+            return buildFullPushRequest(data);
+        }
+        String key = DELTA_PUSH_DATA_KEY_PREFIX + baseRevision;
+        Optional<ServerRequest> deltaRequest = data.getProcessedPushData(key);
+        if (!deltaRequest.isPresent()) {
+            // Cache the delta or full request for the other subscribers with same acknowledged revision.
+            Optional<NotifySubscriberDeltaRequest> delta = pushChangeLog
+                    .buildDeltaRequest(data.getService(), data.getOriginalData(), baseRevision, data.getRevision());
+            deltaRequest = Optional.of(delta.isPresent() ? delta.get() : buildFullPushRequest(data));
+            data.addProcessedPushData(key, deltaRequest.get());
+        }
+        return deltaRequest.get();
+    }
+    
+    private NotifySubscriberRequest buildFullPushRequest(PushDataWrapper data) {
+        NotifySubscriberRequest result = NotifySubscriberRequest.buildSuccessResponse(data.getOriginalData());
+        result.setRevision(data.getRevision());
+        return result;
+    }
+    
+    @Override
+    public boolean isSupportDeltaPush(String clientId, Subscriber subscriber) {
+        Connection connection = connectionManager.getConnection(clientId);
+        if (null == connection) {
+            return false;
+        }
+        ClientAbilities abilities = connection.getAbilities();
+        return null != abilities && null != abilities.getNamingAbility() && abilities.getNamingAbility()
+                .isSupportDeltaPush();
     }
 }
@@ -18,7 +18,8 @@ package com.alibaba.nacos.naming.push.v2.task;
 
 import com.alibaba.nacos.common.task.NacosTask;
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
-import com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine;
+import com.alibaba.nacos.common.task.engine.NacosShardedDelayTaskExecuteEngine;
+import com.alibaba.nacos.core.monitor.MetricsMonitor;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.index.ClientServiceIndexesManager;
 import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
@@ -27,6 +28,7 @@ import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.misc.NamingExecuteTaskDispatcher;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
+import com.alibaba.nacos.naming.push.v2.ServicePushChangeLog;
 import com.alibaba.nacos.naming.push.v2.executor.PushExecutor;
 
 /**
@@ -34,7 +36,7 @@ import com.alibaba.nacos.naming.push.v2.executor.PushExecutor;
  *
  * @author xiweng.yy
  */
-public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
+public class PushDelayTaskExecuteEngine extends NacosShardedDelayTaskExecuteEngine {
     
     private final ClientManager clientManager;
     
@@ -46,19 +48,24 @@ public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
 
     private final PushExecutor pushExecutor;
     
+    private final ServicePushChangeLog pushChangeLog;
+    
     private final SwitchDomain switchDomain;
     
     public PushDelayTaskExecuteEngine(ClientManager clientManager, ClientServiceIndexesManager indexesManager,
                                       ServiceStorage serviceStorage, NamingMetadataManager metadataManager,
-                                      PushExecutor pushExecutor, SwitchDomain switchDomain) {
+                                      PushExecutor pushExecutor, ServicePushChangeLog pushChangeLog,
+                                      SwitchDomain switchDomain) {
         super(PushDelayTaskExecuteEngine.class.getSimpleName(), Loggers.PUSH);
         this.clientManager = clientManager;
         this.indexesManager = indexesManager;
         this.serviceStorage = serviceStorage;
         this.metadataManager = metadataManager;
         this.pushExecutor = pushExecutor;
+        this.pushChangeLog = pushChangeLog;
         this.switchDomain = switchDomain;
         setDefaultTaskProcessor(new PushDelayTaskProcessor(this));
+        MetricsMonitor.registerDelayTaskEngine("naming", PushDelayTaskExecuteEngine.class.getSimpleName(), this);
     }
     
     public ClientManager getClientManager() {
@@ -81,12 +88,16 @@ public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
         return pushExecutor;
     }
     
+    public ServicePushChangeLog getPushChangeLog() {
+        return pushChangeLog;
+    }
+    
     @Override
-    protected void processTasks() {
+    protected void processTasks(int shardIndex) {
         if (!switchDomain.isPushEnabled()) {
             return;
         }
-        super.processTasks();
+        super.processTasks(shardIndex);
     }
     
     private static class PushDelayTaskProcessor implements NacosTaskProcessor {
@@ -32,6 +32,8 @@ import com.alibaba.nacos.naming.push.v2.hook.PushResultHookHolder;
 import com.alibaba.nacos.naming.utils.ServiceUtil;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Nacos naming push execute task.
@@ -55,16 +57,11 @@ public class PushExecuteTask extends AbstractExecuteTask {
     @Override
     public void run() {
         try {
-            PushDataWrapper wrapper = generatePushData();
-            for (String each : getTargetClientIds()) {
-                Client client = delayTaskEngine.getClientManager().getClient(each);
-                if (null == client) {
-                    // means this client has disconnect
-                    continue;
-                }
-                Subscriber subscriber = delayTaskEngine.getClientManager().getClient(each).getSubscriber(service);
-                delayTaskEngine.getPushExecutor().doPushWithCallback(each, subscriber, wrapper,
-                        new NamingPushCallback(each, subscriber, wrapper.getOriginalData(), delayTask.isPushToAll()));
+            Map<String, Subscriber> targetSubscribers = getTargetSubscribers();
+            PushDataWrapper wrapper = generatePushData(targetSubscribers);
+            for (Map.Entry<String, Subscriber> each : targetSubscribers.entrySet()) {
+                delayTaskEngine.getPushExecutor().doPushWithCallback(each.getKey(), each.getValue(), wrapper,
+                        new NamingPushCallback(each.getKey(), each.getValue(), wrapper, delayTask.isPushToAll()));
             }
         } catch (Exception e) {
             Loggers.PUSH.error("Push task for service" + service.getGroupedServiceName() + " execute failed ", e);
@@ -72,11 +69,28 @@ public class PushExecuteTask extends AbstractExecuteTask {
         }
     }
     
-    private PushDataWrapper generatePushData() {
+    private PushDataWrapper generatePushData(Map<String, Subscriber> targetSubscribers) {
         ServiceInfo serviceInfo = delayTaskEngine.getServiceStorage().getPushData(service);
         ServiceMetadata serviceMetadata = delayTaskEngine.getMetadataManager().getServiceMetadata(service).orElse(null);
         serviceInfo = ServiceUtil.selectInstancesWithHealthyProtection(serviceInfo, serviceMetadata, false, true);
-        return new PushDataWrapper(serviceInfo);
+        if (!PushConfig.getInstance().isPushDeltaEnabled() || !isAnySupportDeltaPush(targetSubscribers)) {
+            return new PushDataWrapper(serviceInfo);
+        }
+        long revision = delayTaskEngine.getPushChangeLog().record(service, serviceInfo);
+        return new PushDataWrapper(service, serviceInfo, revision);
+    }
+    
+    /**
+     * Only record the push data into change log when any target can receive delta push, otherwise the history is
+     * useless.
+     */
+    private boolean isAnySupportDeltaPush(Map<String, Subscriber> targetSubscribers) {
+        for (Map.Entry<String, Subscriber> each : targetSubscribers.entrySet()) {
+            if (delayTaskEngine.getPushExecutor().isSupportDeltaPush(each.getKey(), each.getValue())) {
+                return true;
+            }
+        }
+        return false;
     }
     
     private Collection<String> getTargetClientIds() {
@@ -84,6 +98,19 @@ public class PushExecuteTask extends AbstractExecuteTask {
                 : delayTask.getTargetClients();
     }
     
+    private Map<String, Subscriber> getTargetSubscribers() {
+        Map<String, Subscriber> result = new LinkedHashMap<>();
+        for (String each : getTargetClientIds()) {
+            Client client = delayTaskEngine.getClientManager().getClient(each);
+            if (null == client) {
+                // means this client has disconnect
+                continue;
+            }
+            result.put(each, client.getSubscriber(service));
+        }
+        return result;
+    }
+    
     private class NamingPushCallback implements PushCallBack {
         
         private final String clientId;
@@ -92,6 +119,8 @@ public class PushExecuteTask extends AbstractExecuteTask {
         
         private final ServiceInfo serviceInfo;
         
+        private final long revision;
+        
         /**
          * Record the push task execute start time.
          */
@@ -99,11 +128,12 @@ public class PushExecuteTask extends AbstractExecuteTask {
         
         private final boolean isPushToAll;
         
-        private NamingPushCallback(String clientId, Subscriber subscriber, ServiceInfo serviceInfo,
+        private NamingPushCallback(String clientId, Subscriber subscriber, PushDataWrapper wrapper,
                 boolean isPushToAll) {
             this.clientId = clientId;
             this.subscriber = subscriber;
-            this.serviceInfo = serviceInfo;
+            this.serviceInfo = wrapper.getOriginalData();
+            this.revision = wrapper.getRevision();
             this.isPushToAll = isPushToAll;
             this.executeStartTime = System.currentTimeMillis();
         }
@@ -128,6 +158,9 @@ public class PushExecuteTask extends AbstractExecuteTask {
                         pushCostTimeForNetWork, pushCostTimeForAll, subscriber.getIp(), service,
                         serviceInfo.getHosts().size());
             }
+            if (revision > 0) {
+                delayTaskEngine.getPushChangeLog().ack(service, clientId, revision);
+            }
             PushResult result = PushResult
                     .pushSuccess(service, clientId, serviceInfo, subscriber, pushCostTimeForNetWork, pushCostTimeForAll,
                             serviceLevelAgreementTime, isPushToAll);
@@ -139,6 +172,10 @@ public class PushExecuteTask extends AbstractExecuteTask {
             long pushCostTime = System.currentTimeMillis() - executeStartTime;
             Loggers.PUSH.error("[PUSH-FAIL] {}ms, {}, reason={}, target={}", pushCostTime, service, e.getMessage(),
                     subscriber.getIp());
+            if (revision > 0) {
+                // client might reject the delta push, so retry with full push.
+                delayTaskEngine.getPushChangeLog().invalidate(service, clientId);
+            }
             if (!(e instanceof NoRequiredRetryException)) {
                 Loggers.PUSH.error("Reason detail: ", e);
                 delayTaskEngine.addTask(service,
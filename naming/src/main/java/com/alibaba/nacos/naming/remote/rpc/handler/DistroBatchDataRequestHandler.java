@@ -0,0 +1,47 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.remote.rpc.handler;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.request.RequestMeta;
+import com.alibaba.nacos.core.distributed.distro.DistroProtocol;
+import com.alibaba.nacos.core.remote.RequestHandler;
+import com.alibaba.nacos.naming.cluster.remote.request.DistroBatchDataRequest;
+import com.alibaba.nacos.naming.cluster.remote.response.DistroBatchDataResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Distro batch data request handler.
+ *
+ * @author nacos
+ */
+@Component
+public class DistroBatchDataRequestHandler extends RequestHandler<DistroBatchDataRequest, DistroBatchDataResponse> {
+    
+    private final DistroProtocol distroProtocol;
+    
+    public DistroBatchDataRequestHandler(DistroProtocol distroProtocol) {
+        this.distroProtocol = distroProtocol;
+    }
+    
+    @Override
+    public DistroBatchDataResponse handle(DistroBatchDataRequest request, RequestMeta meta) throws NacosException {
+        DistroBatchDataResponse result = new DistroBatchDataResponse();
+        result.setResults(distroProtocol.onBatchReceive(request.getDistroData()));
+        return result;
+    }
+}
@@ -49,6 +49,8 @@ public class DistroDataRequestHandler extends RequestHandler<DistroDataRequest,
             switch (request.getDataOperation()) {
                 case VERIFY:
                     return handleVerify(request.getDistroData(), meta);
+                case DIGEST:
+                    return handleVerifyDigest(request.getDistroData(), meta);
                 case SNAPSHOT:
                     return handleSnapshot();
                 case ADD:
@@ -77,6 +79,17 @@ public class DistroDataRequestHandler extends RequestHandler<DistroDataRequest,
         return result;
     }
     
+    private DistroDataResponse handleVerifyDigest(DistroData distroData, RequestMeta meta) {
+        DistroDataResponse result = new DistroDataResponse();
+        DistroData digestData = distroProtocol.onVerifyDigest(distroData, meta.getClientIp());
+        if (null == digestData) {
+            result.setErrorInfo(ResponseCode.FAIL.getCode(), "[DISTRO-FAILED] distro digest verify failed");
+        } else {
+            result.setDistroData(digestData);
+        }
+        return result;
+    }
+    
     private DistroDataResponse handleSnapshot() {
         DistroDataResponse result = new DistroDataResponse();
         DistroData distroData = distroProtocol.onSnapshot(DistroClientDataProcessor.TYPE);
@@ -26,6 +26,8 @@ import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import com.alibaba.nacos.common.utils.StringUtils;
 
@@ -80,6 +82,14 @@ public class LabelSelector extends ExpressionSelector implements Selector {
     
     private static final char CAND = '&';
     
+    private static final int SELECTION_CACHE_MAX_SIZE = 10000;
+    
+    /**
+     * Provider entities selected for each consumer, reused until the labels of the consumer or the entities with the
+     * label values of the consumer are changed in CMDB.
+     */
+    private transient volatile Cache<String, Selection> selectionCache;
+    
     static {
         SUPPORTED_INNER_CONNCETORS.add(String.valueOf(CEQUAL));
         SUPPORTED_OUTER_CONNCETORS.add(String.valueOf(CAND));
@@ -92,6 +102,7 @@ public class LabelSelector extends ExpressionSelector implements Selector {
     
     public void setLabels(Set<String> labels) {
         this.labels = labels;
+        this.selectionCache = null;
     }
     
     public LabelSelector() {
@@ -112,22 +123,16 @@ public class LabelSelector extends ExpressionSelector implements Selector {
             return providers;
         }
     
+        // Providers matched are the ones with all the label values of the consumer, which is the intersection of
+        // the entities of each label value in CMDB label index.
+        Set<String> selectedIps = getSelection(consumer).selectedIps;
+        if (selectedIps == null) {
+            return providers;
+        }
+        
         List<T> instanceList = new ArrayList<>();
         for (T instance : providers) {
-        
-            boolean matched = true;
-            for (String labelName : getLabels()) {
-            
-                String consumerLabelValue = getCmdbReader()
-                        .queryLabel(consumer, PreservedEntityTypes.ip.name(), labelName);
-            
-                if (StringUtils.isNotBlank(consumerLabelValue) && !StringUtils.equals(consumerLabelValue,
-                        getCmdbReader().queryLabel(instance.getIp(), PreservedEntityTypes.ip.name(), labelName))) {
-                    matched = false;
-                    break;
-                }
-            }
-            if (matched) {
+            if (selectedIps.contains(instance.getIp())) {
                 instanceList.add(instance);
             }
         }
@@ -139,6 +144,81 @@ public class LabelSelector extends ExpressionSelector implements Selector {
         return instanceList;
     }
     
+    private Selection getSelection(String consumer) {
+        CmdbReader cmdbReader = getCmdbReader();
+        Cache<String, Selection> cache = getSelectionCache();
+        Selection result = cache.getIfPresent(consumer);
+        if (result == null || !result.isValid(cmdbReader, consumer)) {
+            result = new Selection(cmdbReader, consumer, labels);
+            cache.put(consumer, result);
+        }
+        return result;
+    }
+    
+    private Cache<String, Selection> getSelectionCache() {
+        Cache<String, Selection> result = selectionCache;
+        if (result == null) {
+            result = CacheBuilder.newBuilder().maximumSize(SELECTION_CACHE_MAX_SIZE).build();
+            selectionCache = result;
+        }
+        return result;
+    }
+    
+    /**
+     * Selection of a consumer, with the label values of the consumer and their revisions when selected.
+     */
+    private static class Selection {
+        
+        private final String[] labelNames;
+        
+        private final String[] labelValues;
+        
+        private final long[] revisions;
+        
+        /**
+         * Ips of the providers with all the label values of the consumer, null if the consumer has no label value.
+         */
+        private final Set<String> selectedIps;
+        
+        private Selection(CmdbReader cmdbReader, String consumer, Set<String> labels) {
+            String entityType = PreservedEntityTypes.ip.name();
+            labelNames = labels.toArray(new String[0]);
+            labelValues = new String[labelNames.length];
+            revisions = new long[labelNames.length];
+            Set<String> ips = null;
+            for (int i = 0; i < labelNames.length; i++) {
+                labelValues[i] = cmdbReader.queryLabel(consumer, entityType, labelNames[i]);
+                if (StringUtils.isBlank(labelValues[i])) {
+                    continue;
+                }
+                // Revision is read before the entities, so the selection is never newer than its revision.
+                revisions[i] = cmdbReader.queryLabelRevision(entityType, labelNames[i], labelValues[i]);
+                Set<String> labelIps = cmdbReader.queryEntityNamesByLabel(entityType, labelNames[i], labelValues[i]);
+                if (ips == null) {
+                    ips = new HashSet<>(labelIps);
+                } else {
+                    ips.retainAll(labelIps);
+                }
+            }
+            selectedIps = ips;
+        }
+        
+        private boolean isValid(CmdbReader cmdbReader, String consumer) {
+            String entityType = PreservedEntityTypes.ip.name();
+            for (int i = 0; i < labelNames.length; i++) {
+                String labelValue = cmdbReader.queryLabel(consumer, entityType, labelNames[i]);
+                if (!StringUtils.equals(labelValue, labelValues[i])) {
+                    return false;
+                }
+                if (StringUtils.isNotBlank(labelValue)
+                        && cmdbReader.queryLabelRevision(entityType, labelNames[i], labelValue) != revisions[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
     /**
      * Expression interpreter for label selector.
      *
@@ -18,7 +18,11 @@ package com.alibaba.nacos.naming.core.v2.index;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
@@ -36,7 +40,6 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
@@ -130,15 +133,92 @@ public class ServiceStorageTest {
     }
     
     @Test
-    public void testGetAllInstancesFromIndex()
-            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        Class<ServiceStorage> serviceStorageClass = ServiceStorage.class;
-        Method getAllInstancesFromIndex = serviceStorageClass
-                .getDeclaredMethod("getAllInstancesFromIndex", Service.class);
-        getAllInstancesFromIndex.setAccessible(true);
-        List<Instance> list = (List<Instance>) getAllInstancesFromIndex.invoke(serviceStorage, SERVICE);
-        
-        Assert.assertNotNull(list);
+    public void testGetPushDataIncrementally() {
+        Service singleton = ServiceManager.getInstance().getSingleton(SERVICE);
+        try {
+            Client client = Mockito.mock(Client.class);
+            InstancePublishInfo instance = new InstancePublishInfo("1.1.1.1", 8848);
+            instance.setHealthy(true);
+            Mockito.when(clientManagerDelegate.getClient(NACOS)).thenReturn(client);
+            Mockito.when(client.getInstancePublishInfo(singleton)).thenReturn(instance);
+            Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(singleton))
+                    .thenReturn(Collections.singletonList(NACOS));
+            serviceStorage.removeData(singleton);
+            ServiceInfo first = serviceStorage.getPushData(singleton);
+            Assert.assertEquals(1, first.getHosts().size());
+            Assert.assertEquals(1L, serviceStorage.getRevision(singleton));
+            Assert.assertSame(first, serviceStorage.getData(singleton));
+            
+            InstancePublishInfo unhealthy = new InstancePublishInfo("1.1.1.1", 8848);
+            Mockito.when(client.getInstancePublishInfo(singleton)).thenReturn(unhealthy);
+            serviceStorage.onEvent(new ClientOperationEvent.ClientRegisterServiceEvent(singleton, NACOS));
+            ServiceInfo second = serviceStorage.getData(singleton);
+            Assert.assertNotSame(first, second);
+            Assert.assertTrue(first.getHosts().get(0).isHealthy());
+            Assert.assertFalse(second.getHosts().get(0).isHealthy());
+            Assert.assertEquals(2L, serviceStorage.getRevision(singleton));
+            
+            serviceStorage.onEvent(new ClientOperationEvent.ClientRegisterServiceEvent(singleton, NACOS));
+            Assert.assertSame(second, serviceStorage.getPushData(singleton));
+            Assert.assertEquals(2L, serviceStorage.getRevision(singleton));
+            
+            Mockito.when(client.getInstancePublishInfo(singleton)).thenReturn(null);
+            serviceStorage.onEvent(new ClientOperationEvent.ClientDeregisterServiceEvent(singleton, NACOS));
+            Assert.assertTrue(serviceStorage.getPushData(singleton).getHosts().isEmpty());
+            Assert.assertTrue(serviceStorage.getClusters(singleton).isEmpty());
+            Assert.assertEquals(3L, serviceStorage.getRevision(singleton));
+            // only changed client is re-parsed, full index is only used when view built.
+            Mockito.verify(clientServiceIndexesManager).getAllClientsRegisteredService(singleton);
+        } finally {
+            ServiceManager.getInstance().removeSingleton(singleton);
+        }
+    }
+    
+    @Test
+    public void testMarkClientChangedBeforeClientChangedEvent() {
+        Service singleton = ServiceManager.getInstance().getSingleton(SERVICE);
+        try {
+            Client client = Mockito.mock(Client.class);
+            InstancePublishInfo instance = new InstancePublishInfo("1.1.1.1", 8848);
+            instance.setHealthy(true);
+            Mockito.when(client.getClientId()).thenReturn(NACOS);
+            Mockito.when(client.getAllPublishedService()).thenReturn(Collections.singletonList(singleton));
+            Mockito.when(clientManagerDelegate.getClient(NACOS)).thenReturn(client);
+            Mockito.when(client.getInstancePublishInfo(singleton)).thenReturn(instance);
+            Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(singleton))
+                    .thenReturn(Collections.singletonList(NACOS));
+            serviceStorage.removeData(singleton);
+            Assert.assertTrue(serviceStorage.getPushData(singleton).getHosts().get(0).isHealthy());
+            
+            // The beat checker changes the instance in place and marks it before publishing service changed event,
+            // the push of service changed event may read the view before client changed event is handled.
+            instance.setHealthy(false);
+            serviceStorage.markClientChanged(singleton, NACOS);
+            ServiceInfo pushed = serviceStorage.getPushData(singleton);
+            Assert.assertFalse(pushed.getHosts().get(0).isHealthy());
+            Assert.assertEquals(2L, serviceStorage.getRevision(singleton));
+            
+            serviceStorage.onEvent(new ClientEvent.ClientChangedEvent(client));
+            Assert.assertSame(pushed, serviceStorage.getPushData(singleton));
+            Assert.assertEquals(2L, serviceStorage.getRevision(singleton));
+        } finally {
+            ServiceManager.getInstance().removeSingleton(singleton);
+        }
+    }
+    
+    @Test
+    public void testMarkServiceChanged() {
+        Service singleton = ServiceManager.getInstance().getSingleton(SERVICE);
+        try {
+            serviceStorage.removeData(singleton);
+            ServiceInfo first = serviceStorage.getPushData(singleton);
+            Assert.assertSame(first, serviceStorage.getPushData(singleton));
+            serviceStorage.markServiceChanged(singleton);
+            Assert.assertNotSame(first, serviceStorage.getPushData(singleton));
+            Mockito.verify(clientServiceIndexesManager, Mockito.times(2)).getAllClientsRegisteredService(singleton);
+        } finally {
+            ServiceManager.getInstance().removeSingleton(singleton);
+        }
     }
     
     @Test
@@ -21,6 +21,7 @@ import com.alibaba.nacos.common.utils.InternetAddressUtil;
 import com.alibaba.nacos.naming.consistency.KeyBuilder;
 import com.alibaba.nacos.naming.core.DistroMapper;
 import com.alibaba.nacos.naming.core.v2.client.impl.IpPortBasedClient;
+import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
 import com.alibaba.nacos.naming.core.v2.metadata.InstanceMetadata;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
@@ -42,6 +43,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -73,6 +76,9 @@ public class ClientBeatCheckTaskV2Test {
     @Mock
     private DistroMapper distroMapper;
     
+    @Mock
+    private ServiceStorage serviceStorage;
+    
     private IpPortBasedClient client;
     
     @Before
@@ -81,6 +87,7 @@ public class ClientBeatCheckTaskV2Test {
         when(applicationContext.getBean(GlobalConfig.class)).thenReturn(globalConfig);
         when(applicationContext.getBean(DistroMapper.class)).thenReturn(distroMapper);
         when(distroMapper.responsible(anyString())).thenReturn(true);
+        lenient().when(applicationContext.getBean(ServiceStorage.class)).thenReturn(serviceStorage);
         ApplicationUtils.injectContext(applicationContext);
         client = new IpPortBasedClient(CLIENT_ID, true);
         beatCheckTask = new ClientBeatCheckTaskV2(client);
@@ -104,6 +111,7 @@ public class ClientBeatCheckTaskV2Test {
         beatCheckTask.run();
         assertFalse(client.getAllInstancePublishInfo().isEmpty());
         assertFalse(client.getInstancePublishInfo(Service.newService(NAMESPACE, GROUP_NAME, SERVICE_NAME)).isHealthy());
+        verify(serviceStorage).markClientChanged(Service.newService(NAMESPACE, GROUP_NAME, SERVICE_NAME), CLIENT_ID);
     }
     
     @Test
@@ -0,0 +1,245 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.healthcheck.heartbeat;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.naming.core.v2.client.impl.IpPortBasedClient;
+import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.healthcheck.interceptor.HealthCheckTaskInterceptWrapper;
+import com.alibaba.nacos.naming.misc.SwitchDomain;
+import com.alibaba.nacos.sys.utils.ApplicationUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark of ephemeral client beat check in steady state, all clients send heartbeat in each check interval.
+ *
+ * <p>{@code scheduler} schedules one fixed delay future for each client in a scheduled thread pool as before, and
+ * {@code wheel} puts all checks into {@link ClientBeatCheckWheel}. Each invocation lasts one check interval while the
+ * benchmark thread sends heartbeats, the cpu time of the check threads and the executed checks are reported as
+ * auxiliary counters.
+ *
+ * <p>Run {@link #main(String[])} in test classpath, it is not a unit test and will not be executed by surefire.
+ *
+ * @author nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ClientBeatCheckWheelBenchmark {
+    
+    private static final long TICK_MILLIS = 50L;
+    
+    private static final long CHECK_INTERVAL_MILLIS = 500L;
+    
+    private static final int HEARTBEAT_SLICES = 10;
+    
+    private static final int WORKER_COUNT = 2;
+    
+    @Param({"10000", "100000", "500000"})
+    private int clientCount;
+    
+    @Param({"scheduler", "wheel"})
+    private String checkType;
+    
+    private final List<Thread> checkThreads = new CopyOnWriteArrayList<>();
+    
+    private final ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+    
+    private final AtomicInteger checks = new AtomicInteger();
+    
+    private final AtomicInteger expired = new AtomicInteger();
+    
+    private HealthCheckInstancePublishInfo[] instances;
+    
+    private ScheduledExecutorService scheduler;
+    
+    private ExecutorService workers;
+    
+    @Setup
+    public void setUp() {
+        GenericApplicationContext context = new GenericApplicationContext();
+        SwitchDomain switchDomain = new SwitchDomain();
+        switchDomain.setHealthCheckEnabled(false);
+        context.registerBean(SwitchDomain.class, () -> switchDomain);
+        context.refresh();
+        ApplicationUtils.injectContext(context);
+        ThreadFactory threadFactory = runnable -> {
+            Thread result = new Thread(runnable, "beat-check-benchmark");
+            result.setDaemon(true);
+            checkThreads.add(result);
+            return result;
+        };
+        scheduler = Executors.newScheduledThreadPool("wheel".equals(checkType) ? 1 : WORKER_COUNT, threadFactory);
+        workers = Executors.newFixedThreadPool(WORKER_COUNT, threadFactory);
+        ClientBeatCheckWheel wheel = new ClientBeatCheckWheel(TICK_MILLIS, CHECK_INTERVAL_MILLIS, WORKER_COUNT,
+                workers);
+        if ("wheel".equals(checkType)) {
+            scheduler.scheduleWithFixedDelay(wheel::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        Service service = Service.newService("benchmark", "benchmark", "benchmark");
+        instances = new HealthCheckInstancePublishInfo[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            String ip = "10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+            IpPortBasedClient client = new IpPortBasedClient(ip + ":8848#true", true);
+            instances[i] = new HealthCheckInstancePublishInfo(ip, 8848);
+            client.putServiceInstance(service, instances[i]);
+            CountingBeatCheckTask task = new CountingBeatCheckTask(client, checks, expired);
+            if ("wheel".equals(checkType)) {
+                wheel.schedule(task);
+            } else {
+                long initialDelay = CHECK_INTERVAL_MILLIS * i / clientCount + 1;
+                scheduler.scheduleWithFixedDelay(new HealthCheckTaskInterceptWrapper(task), initialDelay,
+                        CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+    
+    /**
+     * One check interval, heartbeats of all clients are sent in slices during the interval.
+     *
+     * @param counters cpu time of check threads, executed checks and instances found expired
+     * @throws InterruptedException if interrupted
+     */
+    @Benchmark
+    public void checkInterval(CheckCounters counters) throws InterruptedException {
+        long startCpuNanos = getCheckThreadsCpuNanos();
+        final int startChecks = checks.get();
+        final int startExpired = expired.get();
+        int sliceSize = clientCount / HEARTBEAT_SLICES;
+        for (int i = 0; i < HEARTBEAT_SLICES; i++) {
+            long currentTime = System.currentTimeMillis();
+            for (int j = i * sliceSize; j < (i + 1) * sliceSize; j++) {
+                instances[j].setLastHeartBeatTime(currentTime);
+            }
+            TimeUnit.MILLISECONDS.sleep(CHECK_INTERVAL_MILLIS / HEARTBEAT_SLICES);
+        }
+        counters.cpuMillis += TimeUnit.NANOSECONDS.toMillis(getCheckThreadsCpuNanos() - startCpuNanos);
+        counters.checks += checks.get() - startChecks;
+        counters.expired += expired.get() - startExpired;
+    }
+    
+    private long getCheckThreadsCpuNanos() {
+        long result = 0L;
+        for (Thread each : checkThreads) {
+            result += Math.max(0L, threadMxBean.getThreadCpuTime(each.getId()));
+        }
+        return result;
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(ClientBeatCheckWheelBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+    
+    /**
+     * Cpu time of check threads and executed checks, reported by total count during the iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CheckCounters {
+        
+        public long cpuMillis;
+        
+        public long checks;
+        
+        public long expired;
+        
+        /**
+         * Reset counters before each iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            cpuMillis = 0;
+            checks = 0;
+            expired = 0;
+        }
+    }
+    
+    private static class CountingBeatCheckTask extends ClientBeatCheckTaskV2 {
+        
+        private final AtomicInteger checks;
+        
+        private final AtomicInteger expired;
+        
+        private CountingBeatCheckTask(IpPortBasedClient client, AtomicInteger checks, AtomicInteger expired) {
+            super(client);
+            this.checks = checks;
+            this.expired = expired;
+        }
+        
+        @Override
+        public void passIntercept() {
+            afterIntercept();
+        }
+        
+        /**
+         * Health check is disabled to avoid the other beans used by interceptors, so the check reads heartbeat of all
+         * instances as the beat checkers do without metadata lookup, which is the lower bound of real check cost.
+         */
+        @Override
+        public void afterIntercept() {
+            long currentTime = System.currentTimeMillis();
+            for (Service each : getClient().getAllPublishedService()) {
+                HealthCheckInstancePublishInfo instance = (HealthCheckInstancePublishInfo) getClient()
+                        .getInstancePublishInfo(each);
+                if (currentTime - instance.getLastHeartBeatTime() > Constants.DEFAULT_HEART_BEAT_TIMEOUT) {
+                    expired.incrementAndGet();
+                }
+            }
+            checks.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.healthcheck.heartbeat;
+
+import com.alibaba.nacos.naming.core.v2.client.impl.IpPortBasedClient;
+import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class ClientBeatCheckWheelTest {
+    
+    private static final long TICK_MILLIS = 10L;
+    
+    private static final long CHECK_INTERVAL_MILLIS = 200L;
+    
+    private ClientBeatCheckWheel wheel;
+    
+    private IpPortBasedClient client;
+    
+    private HealthCheckInstancePublishInfo instance;
+    
+    private CountingBeatCheckTask task;
+    
+    @Before
+    public void setUp() {
+        wheel = new ClientBeatCheckWheel(TICK_MILLIS, CHECK_INTERVAL_MILLIS, 2, Runnable::run);
+        client = new IpPortBasedClient("1.1.1.1:8848#true", true);
+        instance = new HealthCheckInstancePublishInfo("1.1.1.1", 8848);
+        client.putServiceInstance(Service.newService("N", "G", "S"), instance);
+        task = new CountingBeatCheckTask(client);
+    }
+    
+    @Test
+    public void testScheduleAndRearm() throws InterruptedException {
+        wheel.schedule(task);
+        wheel.schedule(new CountingBeatCheckTask(client));
+        assertEquals(1, wheel.size());
+        tickFor(CHECK_INTERVAL_MILLIS / 2);
+        assertEquals(0, task.count.get());
+        tickFor(CHECK_INTERVAL_MILLIS);
+        assertEquals(1, task.count.get());
+        tickFor(CHECK_INTERVAL_MILLIS);
+        assertEquals(2, task.count.get());
+    }
+    
+    @Test
+    public void testSkipCheckAfterHeartbeat() throws InterruptedException {
+        wheel.schedule(task);
+        tickFor(CHECK_INTERVAL_MILLIS / 2);
+        instance.setLastHeartBeatTime(System.currentTimeMillis());
+        tickFor(CHECK_INTERVAL_MILLIS * 3 / 4);
+        assertEquals(0, task.count.get());
+        tickFor(CHECK_INTERVAL_MILLIS);
+        assertEquals(1, task.count.get());
+    }
+    
+    @Test
+    public void testCancel() throws InterruptedException {
+        wheel.schedule(task);
+        wheel.cancel(task);
+        assertEquals(0, wheel.size());
+        tickFor(CHECK_INTERVAL_MILLIS * 2);
+        assertEquals(0, task.count.get());
+    }
+    
+    private void tickFor(long millis) throws InterruptedException {
+        long end = System.currentTimeMillis() + millis;
+        while (System.currentTimeMillis() < end) {
+            TimeUnit.MILLISECONDS.sleep(TICK_MILLIS);
+            wheel.tick();
+        }
+    }
+    
+    private static class CountingBeatCheckTask extends ClientBeatCheckTaskV2 {
+        
+        private final AtomicInteger count = new AtomicInteger();
+        
+        private CountingBeatCheckTask(IpPortBasedClient client) {
+            super(client);
+        }
+        
+        @Override
+        public void passIntercept() {
+            count.incrementAndGet();
+        }
+        
+        @Override
+        public void afterIntercept() {
+            count.incrementAndGet();
+        }
+    }
+}
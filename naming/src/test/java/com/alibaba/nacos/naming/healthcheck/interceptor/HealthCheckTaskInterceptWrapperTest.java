@@ -19,6 +19,7 @@ package com.alibaba.nacos.naming.healthcheck.interceptor;
 import com.alibaba.nacos.api.naming.PreservedMetadataKeys;
 import com.alibaba.nacos.naming.core.DistroMapper;
 import com.alibaba.nacos.naming.core.v2.client.impl.IpPortBasedClient;
+import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
 import com.alibaba.nacos.naming.core.v2.metadata.InstanceMetadata;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
@@ -41,6 +42,7 @@ import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -80,6 +82,9 @@ public class HealthCheckTaskInterceptWrapperTest {
     @Mock
     private UpgradeJudgement upgradeJudgement;
     
+    @Mock
+    private ServiceStorage serviceStorage;
+    
     private IpPortBasedClient client;
     
     @Before
@@ -89,6 +94,7 @@ public class HealthCheckTaskInterceptWrapperTest {
         when(applicationContext.getBean(SwitchDomain.class)).thenReturn(switchDomain);
         when(applicationContext.getBean(DistroMapper.class)).thenReturn(distroMapper);
         when(applicationContext.getBean(UpgradeJudgement.class)).thenReturn(upgradeJudgement);
+        lenient().when(applicationContext.getBean(ServiceStorage.class)).thenReturn(serviceStorage);
         ApplicationUtils.injectContext(applicationContext);
         client = new IpPortBasedClient(CLIENT_ID, true);
         when(switchDomain.isHealthCheckEnabled()).thenReturn(true);
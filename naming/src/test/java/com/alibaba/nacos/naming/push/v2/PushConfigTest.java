@@ -27,6 +27,7 @@ import org.springframework.mock.env.MockEnvironment;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class PushConfigTest {
     
@@ -40,6 +41,8 @@ public class PushConfigTest {
     
     private long pushTaskRetryDelay = PushConstants.DEFAULT_PUSH_TASK_RETRY_DELAY * 2;
     
+    private int pushDeltaHistorySize = PushConstants.DEFAULT_PUSH_DELTA_HISTORY_SIZE * 2;
+    
     @Before
     public void setUp() throws Exception {
         mockEnvironment = new MockEnvironment();
@@ -52,10 +55,14 @@ public class PushConfigTest {
         mockEnvironment.setProperty(PushConstants.PUSH_TASK_DELAY, String.valueOf(pushTaskDelay));
         mockEnvironment.setProperty(PushConstants.PUSH_TASK_TIMEOUT, String.valueOf(pushTaskTimeout));
         mockEnvironment.setProperty(PushConstants.PUSH_TASK_RETRY_DELAY, String.valueOf(pushTaskRetryDelay));
+        mockEnvironment.setProperty(PushConstants.PUSH_DELTA_ENABLED, String.valueOf(true));
+        mockEnvironment.setProperty(PushConstants.PUSH_DELTA_HISTORY_SIZE, String.valueOf(pushDeltaHistorySize));
         NotifyCenter.publishEvent(ServerConfigChangeEvent.newEvent());
         TimeUnit.SECONDS.sleep(1);
         assertEquals(pushTaskDelay, pushConfig.getPushTaskDelay());
         assertEquals(pushTaskTimeout, pushConfig.getPushTaskTimeout());
         assertEquals(pushTaskRetryDelay, pushConfig.getPushTaskRetryDelay());
+        assertTrue(pushConfig.isPushDeltaEnabled());
+        assertEquals(pushDeltaHistorySize, pushConfig.getPushDeltaHistorySize());
     }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ServicePushChangeLogTest {
+    
+    private final Service service = Service.newService("N", "G", "S");
+    
+    private final String clientId = "testClient";
+    
+    private ServicePushChangeLog pushChangeLog;
+    
+    @Before
+    public void setUp() {
+        EnvUtil.setEnvironment(new MockEnvironment());
+        pushChangeLog = new ServicePushChangeLog();
+        ReflectionTestUtils.setField(PushConfig.getInstance(), "pushDeltaHistorySize", 2);
+    }
+    
+    @After
+    public void tearDown() {
+        ReflectionTestUtils.setField(PushConfig.getInstance(), "pushDeltaHistorySize", 8);
+    }
+    
+    @Test
+    public void testRecord() {
+        long revision = pushChangeLog.record(service, buildServiceInfo("1.1.1.1", "1.1.1.2"));
+        assertEquals(revision, pushChangeLog.record(service, buildServiceInfo("1.1.1.1", "1.1.1.2")));
+        assertNotEquals(revision, pushChangeLog.record(service, buildServiceInfo("1.1.1.1")));
+    }
+    
+    @Test
+    public void testBuildDeltaRequest() {
+        long baseRevision = pushChangeLog
+                .record(service, buildServiceInfo("1.1.1.1", "1.1.1.2", "1.1.1.3", "1.1.1.4", "1.1.1.5"));
+        pushChangeLog.ack(service, clientId, baseRevision);
+        ServiceInfo serviceInfo = buildServiceInfo("1.1.1.1", "1.1.1.2", "1.1.1.4", "1.1.1.5", "1.1.1.6");
+        serviceInfo.getHosts().get(1).setHealthy(false);
+        long revision = pushChangeLog.record(service, serviceInfo);
+        Optional<NotifySubscriberDeltaRequest> actual = pushChangeLog
+                .buildDeltaRequest(service, serviceInfo, baseRevision, revision);
+        assertTrue(actual.isPresent());
+        assertEquals(baseRevision, actual.get().getBaseRevision());
+        assertEquals(revision, actual.get().getRevision());
+        assertEquals("1.1.1.6", actual.get().getAddedInstances().get(0).getIp());
+        assertEquals("1.1.1.3", actual.get().getRemovedInstances().get(0).getIp());
+        assertEquals("1.1.1.2", actual.get().getChangedInstances().get(0).getIp());
+    }
+    
+    @Test
+    public void testBuildDeltaRequestForEvictedRevision() {
+        long baseRevision = pushChangeLog.record(service, buildServiceInfo("1.1.1.1", "1.1.1.2", "1.1.1.3"));
+        pushChangeLog.ack(service, clientId, baseRevision);
+        pushChangeLog.record(service, buildServiceInfo("1.1.1.1", "1.1.1.2"));
+        ServiceInfo serviceInfo = buildServiceInfo("1.1.1.1");
+        long revision = pushChangeLog.record(service, serviceInfo);
+        assertFalse(pushChangeLog.buildDeltaRequest(service, serviceInfo, baseRevision, revision).isPresent());
+    }
+    
+    @Test
+    public void testBuildDeltaRequestLargerThanFull() {
+        long baseRevision = pushChangeLog.record(service, buildServiceInfo("1.1.1.1"));
+        pushChangeLog.ack(service, clientId, baseRevision);
+        ServiceInfo serviceInfo = buildServiceInfo("1.1.1.2");
+        long revision = pushChangeLog.record(service, serviceInfo);
+        assertFalse(pushChangeLog.buildDeltaRequest(service, serviceInfo, baseRevision, revision).isPresent());
+    }
+    
+    @Test
+    public void testAckAndInvalidate() {
+        long revision = pushChangeLog.record(service, buildServiceInfo("1.1.1.1"));
+        assertEquals(0L, pushChangeLog.getAckedRevision(service, clientId));
+        pushChangeLog.ack(service, clientId, revision);
+        pushChangeLog.ack(service, clientId, revision - 1);
+        assertEquals(revision, pushChangeLog.getAckedRevision(service, clientId));
+        pushChangeLog.invalidate(service, clientId);
+        assertEquals(0L, pushChangeLog.getAckedRevision(service, clientId));
+    }
+    
+    @Test
+    public void testOnClientUnsubscribe() {
+        long revision = pushChangeLog.record(service, buildServiceInfo("1.1.1.1"));
+        pushChangeLog.ack(service, clientId, revision);
+        pushChangeLog.onEvent(new ClientOperationEvent.ClientUnsubscribeServiceEvent(service, clientId));
+        assertEquals(0L, pushChangeLog.getAckedRevision(service, clientId));
+        assertFalse(pushChangeLog.buildDeltaRequest(service, new ServiceInfo(), revision, revision).isPresent());
+    }
+    
+    @Test
+    public void testRecordOnlyKeepRevisionsFromMinAcked() {
+        long firstRevision = pushChangeLog.record(service, buildServiceInfo("1.1.1.1", "1.1.1.2"));
+        ServiceInfo serviceInfo = buildServiceInfo("1.1.1.1", "1.1.1.2", "1.1.1.3");
+        long revision = pushChangeLog.record(service, serviceInfo);
+        // No revision acknowledged, only the latest one is kept.
+        assertFalse(pushChangeLog.buildDeltaRequest(service, serviceInfo, firstRevision, revision).isPresent());
+        pushChangeLog.ack(service, clientId, revision);
+        ServiceInfo newServiceInfo = buildServiceInfo("1.1.1.1", "1.1.1.2", "1.1.1.3", "1.1.1.4");
+        long newRevision = pushChangeLog.record(service, newServiceInfo);
+        assertTrue(pushChangeLog.buildDeltaRequest(service, newServiceInfo, revision, newRevision).isPresent());
+    }
+    
+    @Test
+    public void testOnServiceRemoved() {
+        long revision = pushChangeLog.record(service, buildServiceInfo("1.1.1.1"));
+        pushChangeLog.ack(service, clientId, revision);
+        pushChangeLog.onEvent(new MetadataEvent.ServiceMetadataEvent(service, false));
+        assertEquals(revision, pushChangeLog.getAckedRevision(service, clientId));
+        pushChangeLog.onEvent(new MetadataEvent.ServiceMetadataEvent(service, true));
+        assertEquals(0L, pushChangeLog.getAckedRevision(service, clientId));
+    }
+    
+    private ServiceInfo buildServiceInfo(String... ips) {
+        ServiceInfo result = new ServiceInfo("G@@S");
+        for (String each : ips) {
+            Instance instance = new Instance();
+            instance.setIp(each);
+            instance.setPort(8848);
+            result.addHost(instance);
+        }
+        return result;
+    }
+}
@@ -16,16 +16,25 @@
 
 package com.alibaba.nacos.naming.push.v2.executor;
 
+import com.alibaba.nacos.api.ability.ClientAbilities;
+import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.remote.PushCallBack;
+import com.alibaba.nacos.api.remote.request.ServerRequest;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.RpcPushService;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.pojo.Subscriber;
 import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
+import com.alibaba.nacos.naming.push.v2.ServicePushChangeLog;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -34,10 +43,12 @@ import org.mockito.stubbing.Answer;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PushExecutorRpcImplTest {
@@ -47,12 +58,22 @@ public class PushExecutorRpcImplTest {
     @Mock
     private RpcPushService pushService;
     
+    @Mock
+    private ConnectionManager connectionManager;
+    
+    @Mock
+    private Connection connection;
+    
     @Mock
     private Subscriber subscriber;
     
     @Mock
     private PushCallBack pushCallBack;
     
+    private final Service service = Service.newService("N", "G", "S");
+    
+    private final ServicePushChangeLog pushChangeLog = new ServicePushChangeLog();
+    
     private PushDataWrapper pushData;
     
     private PushExecutorRpcImpl pushExecutor;
@@ -60,8 +81,8 @@ public class PushExecutorRpcImplTest {
     @Before
     public void setUp() throws Exception {
         pushData = new PushDataWrapper(new ServiceInfo("G@@S"));
-        pushExecutor = new PushExecutorRpcImpl(pushService);
-        doAnswer(new CallbackAnswer()).when(pushService)
+        pushExecutor = new PushExecutorRpcImpl(pushService, connectionManager, pushChangeLog);
+        lenient().doAnswer(new CallbackAnswer()).when(pushService)
                 .pushWithCallback(eq(rpcClientId), any(NotifySubscriberRequest.class), eq(pushCallBack),
                         eq(GlobalExecutor.getCallbackExecutor()));
     }
@@ -78,6 +99,57 @@ public class PushExecutorRpcImplTest {
         verify(pushCallBack).onSuccess();
     }
     
+    @Test
+    public void testDoPushWithCallbackForDelta() {
+        ClientAbilities abilities = new ClientAbilities();
+        abilities.getNamingAbility().setSupportDeltaPush(true);
+        when(connectionManager.getConnection(rpcClientId)).thenReturn(connection);
+        when(connection.getAbilities()).thenReturn(abilities);
+        ServiceInfo baseServiceInfo = new ServiceInfo("G@@S");
+        baseServiceInfo.addHost(createInstance("1.1.1.1"));
+        baseServiceInfo.addHost(createInstance("1.1.1.2"));
+        long baseRevision = pushChangeLog.record(service, baseServiceInfo);
+        pushChangeLog.ack(service, rpcClientId, baseRevision);
+        ServiceInfo serviceInfo = new ServiceInfo("G@@S");
+        serviceInfo.addHost(createInstance("1.1.1.1"));
+        serviceInfo.addHost(createInstance("1.1.1.2"));
+        serviceInfo.addHost(createInstance("1.1.1.3"));
+        long revision = pushChangeLog.record(service, serviceInfo);
+        PushDataWrapper deltaPushData = new PushDataWrapper(service, serviceInfo, revision);
+        pushExecutor.doPushWithCallback(rpcClientId, subscriber, deltaPushData, pushCallBack);
+        ArgumentCaptor<ServerRequest> captor = ArgumentCaptor.forClass(ServerRequest.class);
+        verify(pushService).pushWithCallback(eq(rpcClientId), captor.capture(), eq(pushCallBack),
+                eq(GlobalExecutor.getCallbackExecutor()));
+        assertTrue(captor.getValue() instanceof NotifySubscriberDeltaRequest);
+        NotifySubscriberDeltaRequest deltaRequest = (NotifySubscriberDeltaRequest) captor.getValue();
+        assertEquals(baseRevision, deltaRequest.getBaseRevision());
+        assertEquals(revision, deltaRequest.getRevision());
+        assertEquals(1, deltaRequest.getAddedInstances().size());
+        assertTrue(deltaRequest.getRemovedInstances().isEmpty());
+        assertTrue(deltaRequest.getChangedInstances().isEmpty());
+    }
+    
+    @Test
+    public void testDoPushWithCallbackForUnsupportedDelta() {
+        ServiceInfo serviceInfo = pushData.getOriginalData();
+        long revision = pushChangeLog.record(service, serviceInfo);
+        pushChangeLog.ack(service, rpcClientId, revision);
+        PushDataWrapper revisionPushData = new PushDataWrapper(service, serviceInfo, revision);
+        pushExecutor.doPushWithCallback(rpcClientId, subscriber, revisionPushData, pushCallBack);
+        ArgumentCaptor<ServerRequest> captor = ArgumentCaptor.forClass(ServerRequest.class);
+        verify(pushService).pushWithCallback(eq(rpcClientId), captor.capture(), eq(pushCallBack),
+                eq(GlobalExecutor.getCallbackExecutor()));
+        assertTrue(captor.getValue() instanceof NotifySubscriberRequest);
+        assertEquals(revision, ((NotifySubscriberRequest) captor.getValue()).getRevision());
+    }
+    
+    private Instance createInstance(String ip) {
+        Instance result = new Instance();
+        result.setIp(ip);
+        result.setPort(8848);
+        return result;
+    }
+    
     private class CallbackAnswer implements Answer<Void> {
         
         @Override
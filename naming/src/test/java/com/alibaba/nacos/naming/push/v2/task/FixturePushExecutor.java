@@ -27,6 +27,8 @@ public class FixturePushExecutor implements PushExecutor {
     
     private Throwable failedException;
     
+    private boolean supportDeltaPush;
+    
     @Override
     public void doPush(String clientId, Subscriber subscriber, PushDataWrapper data) {
     }
@@ -41,6 +43,11 @@ public class FixturePushExecutor implements PushExecutor {
         }
     }
     
+    @Override
+    public boolean isSupportDeltaPush(String clientId, Subscriber subscriber) {
+        return supportDeltaPush;
+    }
+    
     public void setShouldSuccess(boolean shouldSuccess) {
         this.shouldSuccess = shouldSuccess;
     }
@@ -48,4 +55,8 @@ public class FixturePushExecutor implements PushExecutor {
     public void setFailedException(Throwable failedException) {
         this.failedException = failedException;
     }
+    
+    public void setSupportDeltaPush(boolean supportDeltaPush) {
+        this.supportDeltaPush = supportDeltaPush;
+    }
 }
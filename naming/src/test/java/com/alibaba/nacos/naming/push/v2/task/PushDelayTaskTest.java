@@ -30,7 +30,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
- * For Understand this test case, Please Read {@link com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine#addTask(Object,
+ * For Understand this test case, Please Read {@link com.alibaba.nacos.common.task.engine.NacosShardedDelayTaskExecuteEngine#addTask(Object,
  * AbstractDelayTask)}.
  *
  * @author xiweng.yy
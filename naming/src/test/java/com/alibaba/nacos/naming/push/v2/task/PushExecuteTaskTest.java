@@ -27,18 +27,25 @@ import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.monitor.MetricsMonitor;
 import com.alibaba.nacos.naming.pojo.Subscriber;
 import com.alibaba.nacos.naming.push.v2.NoRequiredRetryException;
+import com.alibaba.nacos.naming.push.v2.PushConfig;
+import com.alibaba.nacos.naming.push.v2.ServicePushChangeLog;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -81,8 +88,12 @@ public class PushExecuteTaskTest {
     @Mock
     private Subscriber subscriber;
     
+    private final ServicePushChangeLog pushChangeLog = new ServicePushChangeLog();
+    
     @Before
     public void setUp() {
+        EnvUtil.setEnvironment(new MockEnvironment());
+        ReflectionTestUtils.setField(PushConfig.getInstance(), "pushDeltaEnabled", false);
         MetricsMonitor.resetAll();
         when(indexesManager.getAllClientsSubscribeService(service)).thenReturn(Collections.singletonList(clientId));
         when(clientManager.getClient(clientId)).thenReturn(client);
@@ -106,6 +117,49 @@ public class PushExecuteTaskTest {
         assertEquals(1, MetricsMonitor.getTotalPushMonitor().get());
     }
     
+    @After
+    public void tearDown() {
+        ReflectionTestUtils.setField(PushConfig.getInstance(), "pushDeltaEnabled", false);
+    }
+    
+    @Test
+    public void testRunSuccessWithDeltaEnabled() {
+        ReflectionTestUtils.setField(PushConfig.getInstance(), "pushDeltaEnabled", true);
+        when(delayTaskExecuteEngine.getPushChangeLog()).thenReturn(pushChangeLog);
+        pushExecutor.setSupportDeltaPush(true);
+        PushDelayTask delayTask = new PushDelayTask(service, 0L);
+        PushExecuteTask executeTask = new PushExecuteTask(service, delayTaskExecuteEngine, delayTask);
+        executeTask.run();
+        assertEquals(1, MetricsMonitor.getTotalPushMonitor().get());
+        assertTrue(pushChangeLog.getAckedRevision(service, clientId) > 0);
+    }
+    
+    @Test
+    public void testRunWithDeltaEnabledWithoutDeltaSubscriber() {
+        ReflectionTestUtils.setField(PushConfig.getInstance(), "pushDeltaEnabled", true);
+        PushDelayTask delayTask = new PushDelayTask(service, 0L);
+        PushExecuteTask executeTask = new PushExecuteTask(service, delayTaskExecuteEngine, delayTask);
+        executeTask.run();
+        assertEquals(1, MetricsMonitor.getTotalPushMonitor().get());
+        verify(delayTaskExecuteEngine, never()).getPushChangeLog();
+    }
+    
+    @Test
+    public void testRunFailedWithDeltaEnabled() {
+        ReflectionTestUtils.setField(PushConfig.getInstance(), "pushDeltaEnabled", true);
+        when(delayTaskExecuteEngine.getPushChangeLog()).thenReturn(pushChangeLog);
+        long revision = pushChangeLog.record(service, new ServiceInfo("G@@S"));
+        pushChangeLog.ack(service, clientId, revision);
+        pushExecutor.setSupportDeltaPush(true);
+        PushDelayTask delayTask = new PushDelayTask(service, 0L);
+        PushExecuteTask executeTask = new PushExecuteTask(service, delayTaskExecuteEngine, delayTask);
+        pushExecutor.setShouldSuccess(false);
+        pushExecutor.setFailedException(new RuntimeException());
+        executeTask.run();
+        assertEquals(0L, pushChangeLog.getAckedRevision(service, clientId));
+        verify(delayTaskExecuteEngine).addTask(eq(service), any(PushDelayTask.class));
+    }
+    
     @Test
     public void testRunSuccessForPushSingle() {
         PushDelayTask delayTask = new PushDelayTask(service, 0L, clientId);
@@ -16,13 +16,27 @@
 
 package com.alibaba.nacos.naming.selector;
 
+import com.alibaba.nacos.api.cmdb.pojo.Entity;
+import com.alibaba.nacos.api.cmdb.pojo.PreservedEntityTypes;
 import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.cmdb.memory.CmdbProvider;
+import com.alibaba.nacos.cmdb.service.CmdbReader;
 import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import org.junit.Assert;
 import org.junit.Test;
+import org.springframework.context.support.GenericApplicationContext;
 
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LabelSelectorTest {
     
@@ -40,4 +54,65 @@ public class LabelSelectorTest {
         Assert.assertEquals("B", labs[1]);
     }
     
+    @Test
+    public void testSelect() throws Exception {
+        CmdbProvider cmdbProvider = newCmdbProvider();
+        cmdbProvider.updateEntity(newEntity("1.1.1.1", "site-a", "rack-1"));
+        cmdbProvider.updateEntity(newEntity("2.2.2.2", "site-a", "rack-1"));
+        cmdbProvider.updateEntity(newEntity("3.3.3.3", "site-a", "rack-2"));
+        cmdbProvider.updateEntity(newEntity("4.4.4.4", "site-b", "rack-1"));
+        LabelSelector selector = new LabelSelector();
+        selector.setLabels(new HashSet<>(Arrays.asList("site", "rack")));
+        List<Instance> providers = Arrays
+                .asList(newInstance("2.2.2.2"), newInstance("3.3.3.3"), newInstance("4.4.4.4"));
+        
+        Assert.assertEquals(Collections.singletonList(providers.get(0)), selector.select("1.1.1.1", providers));
+        
+        cmdbProvider.updateEntity(newEntity("3.3.3.3", "site-a", "rack-1"));
+        Assert.assertEquals(providers.subList(0, 2), selector.select("1.1.1.1", providers));
+        
+        cmdbProvider.updateEntity(newEntity("1.1.1.1", "site-b", "rack-1"));
+        Assert.assertEquals(Collections.singletonList(providers.get(2)), selector.select("1.1.1.1", providers));
+        
+        cmdbProvider.removeEntity("4.4.4.4", PreservedEntityTypes.ip.name());
+        Assert.assertEquals(providers, selector.select("1.1.1.1", providers));
+        Assert.assertEquals(providers, selector.select("5.5.5.5", providers));
+    }
+    
+    private CmdbProvider newCmdbProvider() throws Exception {
+        CmdbProvider result = new CmdbProvider();
+        Map<String, Map<String, Entity>> entityMap = new ConcurrentHashMap<>();
+        entityMap.put(PreservedEntityTypes.ip.name(), new ConcurrentHashMap<>());
+        injectObject(result, "entityMap", entityMap);
+        injectObject(result, "entityTypeSet", Collections.singleton(PreservedEntityTypes.ip.name()));
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(CmdbReader.class, () -> result);
+        context.refresh();
+        ApplicationUtils.injectContext(context);
+        return result;
+    }
+    
+    private Entity newEntity(String ip, String site, String rack) {
+        Entity result = new Entity();
+        result.setType(PreservedEntityTypes.ip.name());
+        result.setName(ip);
+        Map<String, String> labels = new HashMap<>();
+        labels.put("site", site);
+        labels.put("rack", rack);
+        result.setLabels(labels);
+        return result;
+    }
+    
+    private Instance newInstance(String ip) {
+        Instance result = new Instance();
+        result.setIp(ip);
+        return result;
+    }
+    
+    private void injectObject(Object target, String fieldName, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+    
 }